@@ -1,19 +1,162 @@
-//package com.iotmining.services.notification.configuration;
-//
-//
-//import com.iotmining.services.notification.grpc.CriticalAlertServiceImpl;
-//import io.grpc.Server;
-//import io.grpc.ServerBuilder;
-//import org.springframework.context.annotation.Bean;
-//import org.springframework.context.annotation.Configuration;
-//
-//@Configuration
-//public class GrpcServerConfig {
-//
-//    @Bean
-//    public Server grpcServer(CriticalAlertServiceImpl criticalAlertService) {
-//        return ServerBuilder.forPort(9090)
-//                .addService(criticalAlertService)
-//                .build();
-//    }
-//}
+package com.iotmining.services.notification.configuration;
+
+import com.iotmining.services.notification.grpc.CriticalAlertServiceImpl;
+import com.iotmining.services.notification.grpc.GrpcMetricsInterceptor;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.NettyServerBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC server ({@code grpc.server.port}, 9090 by default) next to the HTTP server, on its own threads:
+ * <ul>
+ *     <li>Netty boss and worker event loops, on the native epoll transport when available (Linux) and NIO otherwise;</li>
+ *     <li>a bounded application executor ({@code grpc-app-N}) for the service methods, separate from the servlet
+ *     pool so REST and gRPC can be sized independently. When its queue is full, new calls fail fast.</li>
+ * </ul>
+ * The services never block a call thread (deliveries complete asynchronously), so
+ * {@code grpc.server.direct-executor=true} may run calls directly on the event loops and skip a thread hop.
+ * Leave it off when the Redis idempotency store is used, since claiming a key is a blocking round trip.
+ * <p>
+ * Keepalive, per-connection call concurrency and message size limits come from {@link GrpcServerProperties}; every
+ * call is measured by {@link GrpcMetricsInterceptor}.
+ */
+@Configuration
+@Slf4j
+@ConditionalOnProperty(name = "grpc.server.enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcServerConfig {
+
+    /**
+     * Event loops and application executor of the gRPC server. Kept in one holder rather than exposed as executor
+     * beans, so they cannot be picked up as the application's default task executor or scheduler.
+     */
+    @Bean
+    public GrpcTransport grpcTransport(GrpcServerProperties properties, MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                properties.getExecutorThreads(), properties.getExecutorThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getExecutorQueueCapacity()),
+                new DefaultThreadFactory("grpc-app", true),
+                new ThreadPoolExecutor.AbortPolicy());
+        return new GrpcTransport(
+                eventLoopGroup(properties, properties.getBossThreads(), "grpc-boss"),
+                eventLoopGroup(properties, properties.getWorkerThreads(), "grpc-worker"),
+                ExecutorServiceMetrics.monitor(meterRegistry, executor, "grpc.server.executor"));
+    }
+
+    @Bean
+    public Server grpcServer(CriticalAlertServiceImpl criticalAlertService,
+                             GrpcServerProperties properties,
+                             GrpcTransport grpcTransport,
+                             MeterRegistry meterRegistry) {
+        NettyServerBuilder builder = NettyServerBuilder.forPort(properties.getPort())
+                .bossEventLoopGroup(grpcTransport.boss())
+                .workerEventLoopGroup(grpcTransport.worker())
+                .channelType(serverChannelType(properties))
+                .keepAliveTime(properties.getKeepaliveTime().toMillis(), TimeUnit.MILLISECONDS)
+                .keepAliveTimeout(properties.getKeepaliveTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .permitKeepAliveTime(properties.getPermitKeepaliveTime().toMillis(), TimeUnit.MILLISECONDS)
+                .maxConnectionIdle(properties.getMaxConnectionIdle().toMillis(), TimeUnit.MILLISECONDS)
+                .maxConcurrentCallsPerConnection(properties.getMaxConcurrentCallsPerConnection())
+                .maxInboundMessageSize((int) properties.getMaxInboundMessageSize().toBytes())
+                .maxInboundMetadataSize((int) properties.getMaxInboundMetadataSize().toBytes())
+                .addService(ServerInterceptors.intercept(criticalAlertService, new GrpcMetricsInterceptor(meterRegistry)));
+        if (properties.isDirectExecutor()) {
+            builder.directExecutor();
+        } else {
+            builder.executor(grpcTransport.executor());
+        }
+        log.info("gRPC server configured on port {} with {} transport", properties.getPort(), useEpoll(properties) ? "epoll" : "NIO");
+        return builder.build();
+    }
+
+    /**
+     * Starts the server with the application context and drains in-flight calls on shutdown, before the
+     * {@link GrpcTransport} threads are released.
+     */
+    @Bean
+    public SmartLifecycle grpcServerLifecycle(Server grpcServer, GrpcServerProperties properties) {
+        return new SmartLifecycle() {
+            private volatile boolean running;
+
+            @Override
+            public void start() {
+                try {
+                    grpcServer.start();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to start gRPC server", e);
+                }
+                running = true;
+                log.info("gRPC server listening on port {}", grpcServer.getPort());
+            }
+
+            @Override
+            public void stop() {
+                grpcServer.shutdown();
+                try {
+                    if (!grpcServer.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                        grpcServer.shutdownNow();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    grpcServer.shutdownNow();
+                }
+                running = false;
+                log.info("gRPC server stopped.");
+            }
+
+            @Override
+            public boolean isRunning() {
+                return running;
+            }
+        };
+    }
+
+    /**
+     * Closed by the container after the server lifecycle has stopped, i.e. once no call uses these threads anymore.
+     */
+    public record GrpcTransport(EventLoopGroup boss, EventLoopGroup worker, ExecutorService executor) implements AutoCloseable {
+        @Override
+        public void close() {
+            executor.shutdown();
+            worker.shutdownGracefully();
+            boss.shutdownGracefully();
+        }
+    }
+
+    private static EventLoopGroup eventLoopGroup(GrpcServerProperties properties, int threads, String name) {
+        DefaultThreadFactory threadFactory = new DefaultThreadFactory(name, true);
+        return useEpoll(properties)
+                ? new EpollEventLoopGroup(threads, threadFactory)
+                : new NioEventLoopGroup(threads, threadFactory);
+    }
+
+    private static Class<? extends ServerChannel> serverChannelType(GrpcServerProperties properties) {
+        return useEpoll(properties) ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+    }
+
+    private static boolean useEpoll(GrpcServerProperties properties) {
+        return properties.isNativeTransport() && Epoll.isAvailable();
+    }
+}
@@ -0,0 +1,59 @@
+package com.iotmining.services.notification.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Transport and threading settings of the gRPC server ({@code grpc.server.*}), sized independently of the
+ * servlet container that serves REST.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "grpc.server")
+@Data
+public class GrpcServerProperties {
+
+    private int port = 9090;
+
+    /** Use the native epoll transport when it is available (Linux); falls back to NIO otherwise. */
+    private boolean nativeTransport = true;
+
+    /** Event loop threads accepting connections. */
+    private int bossThreads = 1;
+
+    /** Event loop threads doing the network I/O; 0 means Netty's default (twice the number of cores). */
+    private int workerThreads = 0;
+
+    /** Run calls directly on the event loops instead of the application executor; see {@link GrpcServerConfig}. */
+    private boolean directExecutor = false;
+
+    /** Threads of the application executor that runs the service methods. */
+    private int executorThreads = 16;
+
+    /** Calls waiting for an application thread; beyond this new calls are failed rather than queued. */
+    private int executorQueueCapacity = 1000;
+
+    /** Interval of server-side keepalive pings on idle connections. */
+    private Duration keepaliveTime = Duration.ofSeconds(30);
+
+    /** Time to wait for a keepalive ack before closing the connection. */
+    private Duration keepaliveTimeout = Duration.ofSeconds(10);
+
+    /** Most aggressive keepalive interval clients may use before being told to back off. */
+    private Duration permitKeepaliveTime = Duration.ofSeconds(10);
+
+    /** Close connections that have had no active call for this long. */
+    private Duration maxConnectionIdle = Duration.ofMinutes(30);
+
+    private int maxConcurrentCallsPerConnection = 1000;
+
+    private DataSize maxInboundMessageSize = DataSize.ofMegabytes(4);
+
+    private DataSize maxInboundMetadataSize = DataSize.ofKilobytes(8);
+
+    /** Time to let in-flight calls finish on shutdown before they are cancelled. */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,46 @@
+package com.iotmining.services.notification.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iotmining.services.notification.services.idempotency.CaffeineIdempotencyStore;
+import com.iotmining.services.notification.services.idempotency.IdempotencyStore;
+import com.iotmining.services.notification.services.idempotency.NoOpIdempotencyStore;
+import com.iotmining.services.notification.services.idempotency.RedisIdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.time.Duration;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.idempotency.store", havingValue = "local", matchIfMissing = true)
+    public IdempotencyStore localIdempotencyStore(
+            @Value("${notification.idempotency.max-entries:100000}") long maxEntries,
+            @Value("${notification.idempotency.window:PT10M}") Duration window,
+            MeterRegistry meterRegistry
+    ) {
+        return new CaffeineIdempotencyStore(maxEntries, window, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.idempotency.store", havingValue = "redis")
+    public IdempotencyStore redisIdempotencyStore(
+            LettuceConnectionFactory connectionFactory,
+            ObjectMapper mapper,
+            @Value("${notification.idempotency.window:PT10M}") Duration window,
+            MeterRegistry meterRegistry
+    ) {
+        return new RedisIdempotencyStore(connectionFactory, mapper, window, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.idempotency.store", havingValue = "none")
+    public IdempotencyStore noOpIdempotencyStore() {
+        return new NoOpIdempotencyStore();
+    }
+}
@@ -0,0 +1,70 @@
+package com.iotmining.services.notification.configuration;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Consumer side of the Kafka ingestion path, built from the {@code kafka.consumer.*} settings.
+ * <p>
+ * Records are delivered to the listener in batches and auto-commit is off: the listener acknowledges a batch only
+ * once every record in it has been delivered, so a crash replays undelivered records instead of losing them.
+ * Values are consumed as raw bytes and decoded per record by the listener (JSON or protobuf), see
+ * {@link com.iotmining.services.notification.services.consumer.NotificationRecordDecoder}.
+ */
+@Configuration
+@EnableKafka
+@ConditionalOnProperty(name = "kafka.consumer.enabled", havingValue = "true")
+public class KafkaConsumerConfig {
+
+    @Bean
+    public ConsumerFactory<String, byte[]> notificationConsumerFactory(
+            @Value("${kafka.bootstrap-servers}") String bootstrapServers,
+            @Value("${kafka.consumer.group-id}") String groupId,
+            @Value("${kafka.consumer.auto-offset-reset:earliest}") String autoOffsetReset,
+            @Value("${kafka.consumer.key-deserializer}") String keyDeserializer,
+            @Value("${kafka.consumer.value-deserializer}") String valueDeserializer,
+            @Value("${kafka.consumer.max-poll-records:500}") int maxPollRecords,
+            @Value("${kafka.consumer.fetch-min-bytes:65536}") int fetchMinBytes,
+            @Value("${kafka.consumer.fetch-max-wait-ms:100}") int fetchMaxWaitMs,
+            @Value("${kafka.consumer.max-poll-interval-ms:300000}") int maxPollIntervalMs
+    ) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, keyDeserializer);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, valueDeserializer);
+        // Offsets are committed by the listener after delivery, never in the background
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        // Let the broker fill larger fetches instead of answering every poll with a handful of records
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, fetchMinBytes);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, fetchMaxWaitMs);
+        props.put(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG, maxPollIntervalMs);
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> notificationListenerContainerFactory(
+            ConsumerFactory<String, byte[]> notificationConsumerFactory,
+            @Value("${kafka.consumer.concurrency:3}") int concurrency
+    ) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(notificationConsumerFactory);
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+}
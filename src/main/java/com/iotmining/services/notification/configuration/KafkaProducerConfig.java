@@ -0,0 +1,57 @@
+package com.iotmining.services.notification.configuration;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Producer side of the Kafka path (re-queueing, retry topics, delivery-status events), built from
+ * {@code kafka.producer.*}.
+ * <p>
+ * Tuned for throughput: records wait up to {@code linger-ms} to fill {@code batch-size} batches, which are
+ * compressed as a whole. Idempotence with {@code acks=all} keeps retries from duplicating or reordering records.
+ * Like the consumer side, it only exists with {@code kafka.consumer.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "kafka.consumer.enabled", havingValue = "true")
+public class KafkaProducerConfig {
+
+    @Bean
+    public ProducerFactory<String, byte[]> notificationProducerFactory(
+            @Value("${kafka.bootstrap-servers:localhost:9092}") String bootstrapServers,
+            @Value("${kafka.producer.linger-ms:10}") int lingerMs,
+            @Value("${kafka.producer.batch-size:65536}") int batchSize,
+            @Value("${kafka.producer.compression-type:lz4}") String compressionType,
+            @Value("${kafka.producer.buffer-memory:67108864}") long bufferMemory,
+            @Value("${kafka.producer.delivery-timeout-ms:120000}") int deliveryTimeoutMs
+    ) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, bufferMemory);
+        props.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        return new DefaultKafkaProducerFactory<>(props);
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> notificationKafkaTemplate(ProducerFactory<String, byte[]> notificationProducerFactory) {
+        return new KafkaTemplate<>(notificationProducerFactory);
+    }
+}
@@ -0,0 +1,57 @@
+package com.iotmining.services.notification.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iotmining.services.notification.websocket.InboxSequence;
+import com.iotmining.services.notification.websocket.InboxSpill;
+import com.iotmining.services.notification.websocket.LocalInboxSequence;
+import com.iotmining.services.notification.websocket.NoOpInboxSpill;
+import com.iotmining.services.notification.websocket.RedisInboxSequence;
+import com.iotmining.services.notification.websocket.RedisInboxSpill;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Selects where notifications pushed out of the in-memory WebSocket inbox go:
+ * {@code notification.websocket.inbox-spill=none} (default, dropped) or {@code redis}; and where inbox sequence numbers
+ * come from: node-local, or a Redis counter per user when {@code notification.websocket.cluster=redis}.
+ */
+@Configuration
+public class NotificationInboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.websocket.inbox-spill", havingValue = "none", matchIfMissing = true)
+    public InboxSpill noOpInboxSpill() {
+        return new NoOpInboxSpill();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.websocket.inbox-spill", havingValue = "redis")
+    public InboxSpill redisInboxSpill(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper mapper,
+            @Value("${notification.websocket.inbox-spill-capacity:1000}") int capacity,
+            @Value("${notification.websocket.inbox-retention:PT24H}") Duration retention
+    ) {
+        return new RedisInboxSpill(redisTemplate, mapper, capacity, retention);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.websocket.cluster", havingValue = "local", matchIfMissing = true)
+    public InboxSequence localInboxSequence() {
+        return new LocalInboxSequence();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.websocket.cluster", havingValue = "redis")
+    public InboxSequence redisInboxSequence(
+            StringRedisTemplate redisTemplate,
+            @Value("${notification.websocket.inbox-retention:PT24H}") Duration retention
+    ) {
+        return new RedisInboxSequence(redisTemplate, retention);
+    }
+}
@@ -0,0 +1,71 @@
+package com.iotmining.services.notification.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iotmining.services.notification.websocket.AckTracker;
+import com.iotmining.services.notification.websocket.LocalWebSocketCluster;
+import com.iotmining.services.notification.websocket.RedisWebSocketCluster;
+import com.iotmining.services.notification.websocket.WebSocketCluster;
+import com.iotmining.services.notification.websocket.WebSocketSessionRegistry;
+import com.iotmining.services.notification.websocket.WebSocketTopicIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Selects how WebSocket frames reach users connected to other nodes: {@code notification.websocket.cluster=local}
+ * (default, single node) or {@code redis} (session directory and relay over Redis, see {@link RedisWebSocketCluster}).
+ */
+@Configuration
+public class WebSocketClusterConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.websocket.cluster", havingValue = "local", matchIfMissing = true)
+    public WebSocketCluster localWebSocketCluster() {
+        return new LocalWebSocketCluster();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.websocket.cluster", havingValue = "redis")
+    public RedisWebSocketCluster redisWebSocketCluster(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper mapper,
+            WebSocketSessionRegistry sessionRegistry,
+            WebSocketTopicIndex topicIndex,
+            AckTracker ackTracker,
+            @Value("${notification.websocket.cluster-node-id:${eureka.instance.instance-id:}}") String nodeId,
+            @Value("${notification.websocket.cluster-heartbeat:PT30S}") Duration heartbeat,
+            @Value("${notification.websocket.cluster-entry-ttl:PT2M}") Duration entryTtl,
+            @Value("${notification.websocket.cluster-batch-window:PT0.005S}") Duration batchWindow,
+            @Value("${notification.websocket.cluster-max-batch:100}") int maxBatch,
+            @Value("${notification.websocket.cluster-negative-lookup-ttl:PT1S}") Duration negativeLookupTtl,
+            MeterRegistry meterRegistry
+    ) {
+        return new RedisWebSocketCluster(nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId,
+                redisTemplate, mapper, sessionRegistry, topicIndex, ackTracker, heartbeat, entryTtl, batchWindow, maxBatch, negativeLookupTtl,
+                meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.websocket.cluster", havingValue = "redis")
+    public RedisMessageListenerContainer webSocketRelayListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                         RedisWebSocketCluster cluster) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cluster, List.of(
+                new ChannelTopic(cluster.nodeChannel()),
+                new ChannelTopic(cluster.ackChannel()),
+                new ChannelTopic(RedisWebSocketCluster.TOPIC_CHANNEL),
+                new ChannelTopic(RedisWebSocketCluster.PRESENCE_CHANNEL)));
+        return container;
+    }
+}
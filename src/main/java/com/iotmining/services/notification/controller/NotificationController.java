@@ -1,14 +1,36 @@
 package com.iotmining.services.notification.controller;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.iotmining.common.base.notifications.dto.BaseResponse;
 import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import com.iotmining.services.notification.dto.BatchItemResult;
+import com.iotmining.services.notification.dto.DeadLetterSummary;
+import com.iotmining.services.notification.dto.DeliveryStatus;
+import com.iotmining.services.notification.dto.MultiChannelNotificationResponse;
+import com.iotmining.services.notification.enums.DeliveryState;
+import com.iotmining.services.notification.filter.NotificationRateLimitFilter;
+import com.iotmining.services.notification.services.retry.DeadLetterStore;
+import com.iotmining.services.notification.services.status.DeliveryStatusTracker;
 import com.iotmining.services.notification.services.dispatcher.NotificationDispatcher;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -23,17 +45,31 @@ import java.util.UUID;
 @RequestMapping("/api/notifications")
 public class NotificationController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final NotificationDispatcher dispatcher;
+    private final DeliveryStatusTracker statusTracker;
+    private final DeadLetterStore deadLetterStore;
+    private final ObjectWriter batchResultWriter;
 
     /**
      * Constructs a new NotificationController with the necessary dispatcher.
      * Spring's @Autowired handles the injection of the NotificationDispatcher.
      *
-     * @param dispatcher The service responsible for dispatching notifications to appropriate handlers.
+     * @param dispatcher      The service responsible for dispatching notifications to appropriate handlers.
+     * @param statusTracker   The store of delivery outcomes for notifications accepted asynchronously.
+     * @param deadLetterStore The store of notifications whose delivery retries are exhausted.
+     * @param mapper          The shared ObjectMapper, used to build the writer for streamed batch results.
      */
     @Autowired
-    public NotificationController(NotificationDispatcher dispatcher) {
+    public NotificationController(NotificationDispatcher dispatcher,
+                                  DeliveryStatusTracker statusTracker,
+                                  DeadLetterStore deadLetterStore,
+                                  ObjectMapper mapper) {
         this.dispatcher = dispatcher;
+        this.statusTracker = statusTracker;
+        this.deadLetterStore = deadLetterStore;
+        this.batchResultWriter = mapper.writerFor(BatchItemResult.class);
     }
 
     /**
@@ -42,12 +78,15 @@ public class NotificationController {
      * for local traceability, dispatches the notification through the NotificationDispatcher,
      * and returns a standardized BaseResponse.
      *
+     * The body is taken as raw bytes so the dispatcher can bind it in a single streaming pass
+     * instead of first materializing a JSON tree.
+     *
      * @param requestBody The JSON payload containing the notification details.
      * @return A {@link BaseResponse} indicating the success or failure of the notification dispatch.
      * The response includes the correlation ID (if available from the dispatcher) and delivery status.
      */
     @PostMapping("/send")
-    public BaseResponse<NotificationResponse> send(@RequestBody JsonNode requestBody) {
+    public BaseResponse<NotificationResponse> send(@RequestBody byte[] requestBody) {
         // Generate a unique internal ID for this specific incoming HTTP request.
         // This ID helps trace the request's journey within this controller method and its immediate downstream calls.
         String internalRequestId = UUID.randomUUID().toString();
@@ -63,8 +102,10 @@ public class NotificationController {
 
             // Log a debug snippet of the incoming request body.
             // This is useful for detailed debugging of request payloads without logging the entire (potentially large or sensitive) body at higher levels.
-            log.debug("Request body (Internal ID: {}, first 200 chars): {}",
-                    internalRequestId, requestBody.toString().substring(0, Math.min(requestBody.toString().length(), 200)));
+            if (log.isDebugEnabled()) {
+                log.debug("Request body (Internal ID: {}, first 200 bytes): {}",
+                        internalRequestId, new String(requestBody, 0, Math.min(requestBody.length, 200), StandardCharsets.UTF_8));
+            }
 
             // Dispatch the notification request to the NotificationDispatcher service.
             // The dispatcher is responsible for parsing the payload, identifying the notification type,
@@ -100,10 +141,166 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Handles POST requests to the /api/notifications/send/multi endpoint.
+     * Same envelope as /send, but a {@code channels} array (e.g. ["SMS", "WEB", "TELEGRAM"]) may replace {@code type}.
+     * The payload is parsed once and delivered on all channels in parallel.
+     *
+     * @param requestBody The JSON payload containing the notification details and target channels.
+     * @return A {@link BaseResponse} with the per-channel outcome. It is flagged delivered only if every channel delivered.
+     */
+    @PostMapping("/send/multi")
+    public BaseResponse<MultiChannelNotificationResponse> sendMulti(@RequestBody byte[] requestBody) {
+        String internalRequestId = UUID.randomUUID().toString();
+        MDC.put("internalRequestId", internalRequestId);
+
+        try {
+            log.info("Received multi-channel notification send request (Internal ID: {})", internalRequestId);
+            MultiChannelNotificationResponse response = dispatcher.dispatchFanOut(requestBody, null);
+
+            log.info("Multi-channel dispatch completed (Internal ID: {}). Delivered on {}/{} channel(s)",
+                    internalRequestId, response.getDeliveredCount(), response.getChannels().size());
+            return BaseResponse.success(response.getCorrelationId().toString(), response, response.isDelivered());
+
+        } catch (Exception e) {
+            log.error("Error dispatching multi-channel notification (Internal ID: {}): {}", internalRequestId, e.getMessage(), e);
+            return BaseResponse.failure(internalRequestId, "Error: " + e.getMessage());
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    /**
+     * Handles POST requests to /api/notifications/send?mode=async.
+     * The request is validated and bound on the calling thread, then handed off for delivery, so the response
+     * no longer waits for the provider. Answers 202 Accepted with a Location header pointing at the status endpoint.
+     *
+     * Only the caller that submitted the notification can read its status.
+     *
+     * @param requestBody The JSON payload containing the notification details (same shape as for /send).
+     * @param callerId    The caller authenticated by {@link NotificationRateLimitFilter}.
+     * @return 202 Accepted with the pending {@link DeliveryStatus}, or 400 if the request cannot be bound.
+     */
+    @PostMapping(value = "/send", params = "mode=async")
+    public ResponseEntity<BaseResponse<DeliveryStatus>> sendAsync(
+            @RequestBody byte[] requestBody,
+            @RequestAttribute(name = NotificationRateLimitFilter.CALLER_ID_ATTRIBUTE, required = false) UUID callerId) {
+        if (callerId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing X-User-ID header or valid Bearer token");
+        }
+        String internalRequestId = UUID.randomUUID().toString();
+        MDC.put("internalRequestId", internalRequestId);
+
+        try {
+            log.info("Received async notification send request (Internal ID: {})", internalRequestId);
+            DeliveryStatus status = dispatcher.submit(requestBody, callerId);
+            String correlationId = status.getCorrelationId().toString();
+
+            URI statusUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/api/notifications/status/{correlationId}")
+                    .buildAndExpand(correlationId)
+                    .toUri();
+            log.info("Notification accepted for async delivery (Internal ID: {}, Correlation-ID: {})",
+                    internalRequestId, correlationId);
+            return ResponseEntity.accepted()
+                    .location(statusUri)
+                    .body(BaseResponse.success(correlationId, status, false));
+
+        } catch (Exception e) {
+            log.error("Error accepting notification (Internal ID: {}): {}", internalRequestId, e.getMessage(), e);
+            HttpStatus status = e instanceof ResponseStatusException rse
+                    ? HttpStatus.valueOf(rse.getStatusCode().value()) : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status).body(BaseResponse.failure(internalRequestId, "Error: " + e.getMessage()));
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    /**
+     * Returns the delivery status of a notification accepted with mode=async, to the caller that submitted it.
+     *
+     * @param correlationId The correlation ID returned when the notification was accepted.
+     * @param callerId      The caller authenticated by {@link NotificationRateLimitFilter}.
+     * @return The current {@link DeliveryStatus}, or 404 once it is unknown, has expired or belongs to another caller.
+     */
+    @GetMapping("/status/{correlationId}")
+    public ResponseEntity<BaseResponse<DeliveryStatus>> status(
+            @PathVariable UUID correlationId,
+            @RequestAttribute(name = NotificationRateLimitFilter.CALLER_ID_ATTRIBUTE, required = false) UUID callerId) {
+        if (callerId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing X-User-ID header or valid Bearer token");
+        }
+        return statusTracker.find(correlationId, callerId)
+                .map(status -> ResponseEntity.ok(BaseResponse.success(correlationId.toString(), status,
+                        status.getState() == DeliveryState.DELIVERED)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(BaseResponse.failure(correlationId.toString(), "Unknown or expired correlationId")));
+    }
+
+    /**
+     * Returns the most recent notifications whose delivery retries are exhausted, newest first.
+     * Requires a service token with {@code scope=admin} (checked by {@link NotificationRateLimitFilter}); only the
+     * summary of each entry is returned, never the payload (phone numbers, chat ids, message text).
+     *
+     * @param limit Maximum number of entries to return.
+     */
+    @GetMapping("/dead-letters")
+    public BaseResponse<List<DeadLetterSummary>> deadLetters(@RequestParam(defaultValue = "100") int limit) {
+        List<DeadLetterSummary> entries = deadLetterStore.recent(Math.max(0, limit)).stream()
+                .map(DeadLetterSummary::of)
+                .toList();
+        return BaseResponse.success(null, entries, true);
+    }
+
+    /**
+     * Handles POST requests to the /api/notifications/send/batch endpoint.
+     * The body is NDJSON (one notification request per line, same shape as for /send). Lines are read and
+     * dispatched in chunks, and one {@link BatchItemResult} per line is streamed back as NDJSON as soon as its
+     * chunk completes, so neither the request nor the response is ever held in memory as a whole.
+     * Every line is rate-limited as the authenticated caller's, whichever user it targets.
+     *
+     * @param body     The NDJSON request body.
+     * @param callerId The caller authenticated by {@link NotificationRateLimitFilter}.
+     * @return A streaming NDJSON body with one result per non-blank request line, in input order.
+     */
+    @PostMapping(value = "/send/batch", consumes = NDJSON, produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> sendBatch(
+            InputStream body,
+            @RequestAttribute(name = NotificationRateLimitFilter.CALLER_ID_ATTRIBUTE, required = false) UUID callerId) {
+        if (callerId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing X-User-ID header or valid Bearer token");
+        }
+        String internalRequestId = UUID.randomUUID().toString();
+        log.info("Received notification batch request from user {} (Internal ID: {})", callerId, internalRequestId);
+
+        StreamingResponseBody stream = out -> {
+            // Runs on the MVC async executor, so the MDC has to be set up again here.
+            MDC.put("internalRequestId", internalRequestId);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                dispatcher.dispatchBatch(reader.lines(), callerId, result -> {
+                    try {
+                        // writeValue(OutputStream, ...) would close the response stream, so write bytes instead
+                        out.write(batchResultWriter.writeValueAsBytes(result));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                out.flush();
+            } catch (UncheckedIOException e) {
+                log.error("Error streaming batch results (Internal ID: {}): {}", internalRequestId, e.getMessage());
+                throw e.getCause();
+            } finally {
+                MDC.clear();
+            }
+        };
+        return ResponseEntity.ok().header("Content-Type", NDJSON).body(stream);
+    }
+
     // in com.iotmining.services.notification.controller.NotificationController
     @PostMapping("/internal/send")
     public BaseResponse<NotificationResponse> internalSend(
-            @RequestBody com.fasterxml.jackson.databind.JsonNode requestBody,
+            @RequestBody byte[] requestBody,
             @RequestHeader("X-Prospect-ID") String prospectId) {
 
         String internalRequestId = java.util.UUID.randomUUID().toString();
@@ -111,13 +308,8 @@ public class NotificationController {
         org.slf4j.MDC.put("prospectId", prospectId);
 
         try {
-            // Ensure 'userId' exists for dispatcher (it expects a textual UUID)
-            com.fasterxml.jackson.databind.node.ObjectNode mutable = requestBody.deepCopy();
-            if (!mutable.hasNonNull("userId")) {
-                mutable.put("userId", prospectId);
-            }
-
-            NotificationResponse response = dispatcher.dispatch(mutable);
+            // The prospect ID stands in for 'userId' when the request carries none (dispatcher expects a textual UUID)
+            NotificationResponse response = dispatcher.dispatch(requestBody, prospectId);
             String correlationId = response.getCorrelationId() != null ? response.getCorrelationId().toString() : null;
             return BaseResponse.success(correlationId, response, response.isDelivered());
 
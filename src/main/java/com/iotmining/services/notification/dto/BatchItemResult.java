@@ -0,0 +1,40 @@
+package com.iotmining.services.notification.dto;
+
+import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one item of a batch dispatch. {@code index} is the 0-based position of the item in the batch.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchItemResult {
+
+    public static final String DELIVERED = "DELIVERED";
+    public static final String FAILED = "FAILED";
+    public static final String REJECTED = "REJECTED";
+    public static final String RATE_LIMITED = "RATE_LIMITED";
+
+    private int index;
+    private UUID correlationId;
+    private String channel;
+    private boolean delivered;
+    private String status;
+    private String message;
+
+    public static BatchItemResult of(int index, UUID correlationId, NotificationResponse response) {
+        return new BatchItemResult(index, correlationId, response.getChannel(), response.isDelivered(),
+                response.isDelivered() ? DELIVERED : FAILED, response.getMessage());
+    }
+
+    public static BatchItemResult failed(int index, UUID correlationId, String channel, String status, String message) {
+        return new BatchItemResult(index, correlationId, channel, false, status, message);
+    }
+}
@@ -0,0 +1,26 @@
+package com.iotmining.services.notification.dto;
+
+import com.iotmining.common.base.notifications.dto.NotificationWrapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * A notification whose delivery retries are exhausted. {@code attempts} counts the first attempt and every retry.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeadLetter {
+    private UUID correlationId;
+    private String channel;
+    private UUID userId;
+    private int attempts;
+    private String reason;
+    private long failedAt;
+    private NotificationWrapper<Object> notification;
+}
@@ -0,0 +1,28 @@
+package com.iotmining.services.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * What the dead-letter endpoint exposes of a {@link DeadLetter}: who and what failed, and why, but not the payload.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeadLetterSummary {
+    private UUID correlationId;
+    private String type;
+    private UUID userId;
+    private String reason;
+    private long failedAt;
+
+    public static DeadLetterSummary of(DeadLetter deadLetter) {
+        return new DeadLetterSummary(deadLetter.getCorrelationId(), deadLetter.getChannel(), deadLetter.getUserId(),
+                deadLetter.getReason(), deadLetter.getFailedAt());
+    }
+}
@@ -0,0 +1,39 @@
+package com.iotmining.services.notification.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import com.iotmining.services.notification.enums.DeliveryState;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Delivery status of an accepted notification, as exposed by the status endpoint.
+ * {@code channels} holds the latest handler response per channel.
+ * {@code awaitingAck} are the channels whose final outcome is still to come (e.g. a WEB notification sent but not
+ * yet acknowledged), {@code settled} the ones whose outcome is final.
+ * {@code ownerId} is the caller that submitted the notification, the only one allowed to read its status.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeliveryStatus {
+    private UUID correlationId;
+    private DeliveryState state;
+    private Map<String, NotificationResponse> channels;
+    private String error;
+    private long acceptedAt;
+    private long updatedAt;
+    @JsonIgnore
+    private Set<String> awaitingAck;
+    @JsonIgnore
+    private Set<String> settled;
+    @JsonIgnore
+    private UUID ownerId;
+}
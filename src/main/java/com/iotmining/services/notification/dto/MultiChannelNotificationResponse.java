@@ -0,0 +1,31 @@
+package com.iotmining.services.notification.dto;
+
+import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Aggregated outcome of a notification fanned out to several channels.
+ * {@code channels} holds each channel's handler response, keyed by notification type, in request order.
+ * {@code delivered} is true only if every channel delivered; {@code deliveredCount} tells partial outcomes apart.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MultiChannelNotificationResponse {
+    private UUID correlationId;
+    private boolean delivered;
+    private int deliveredCount;
+    private Map<String, NotificationResponse> channels;
+
+    public static MultiChannelNotificationResponse of(UUID correlationId, Map<String, NotificationResponse> channels) {
+        int deliveredCount = (int) channels.values().stream().filter(NotificationResponse::isDelivered).count();
+        return new MultiChannelNotificationResponse(correlationId, deliveredCount == channels.size(), deliveredCount, channels);
+    }
+}
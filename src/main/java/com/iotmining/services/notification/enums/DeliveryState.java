@@ -0,0 +1,7 @@
+package com.iotmining.services.notification.enums;
+
+public enum DeliveryState {
+    PENDING,
+    DELIVERED,
+    FAILED
+}
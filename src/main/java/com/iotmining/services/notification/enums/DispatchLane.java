@@ -0,0 +1,27 @@
+package com.iotmining.services.notification.enums;
+
+/**
+ * Dispatch lanes of the priority-laned dispatch stage, highest first.
+ */
+public enum DispatchLane {
+    CRITICAL,
+    HIGH,
+    MEDIUM,
+    LOW;
+
+    /**
+     * Maps a request priority name onto its dispatch lane. Unknown or missing priorities go to MEDIUM,
+     * the same default the request reader applies.
+     */
+    public static DispatchLane forPriority(String requestPriority) {
+        if (requestPriority == null) {
+            return MEDIUM;
+        }
+        return switch (requestPriority.toUpperCase()) {
+            case "CRITICAL" -> CRITICAL;
+            case "HIGH" -> HIGH;
+            case "LOW" -> LOW;
+            default -> MEDIUM;
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.iotmining.services.notification.exceptions;
+
+/**
+ * Thrown when a notification's deadline passed before its delivery was attempted; the caller has already given up,
+ * so the work is discarded instead of completed.
+ */
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.iotmining.services.notification.exceptions;
+
+/**
+ * Thrown by a handler when the provider rejected a notification in a way no retry can fix (e.g. a 4xx response other
+ * than 429); the caller gets a failed response and the notification is dead-lettered without being retried.
+ */
+public class PermanentDeliveryException extends RuntimeException {
+    public PermanentDeliveryException(String message) {
+        super(message);
+    }
+}
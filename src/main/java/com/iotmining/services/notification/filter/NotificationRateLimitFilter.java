@@ -34,9 +34,18 @@ public class NotificationRateLimitFilter extends OncePerRequestFilter {
     private final Bucket4jRateLimiterService rateLimiterService;
 
     private static final String PUBLIC_URI   = "/api/notifications/send";
+    private static final String MULTI_URI    = "/api/notifications/send/multi";
+    private static final String BATCH_URI    = "/api/notifications/send/batch";
     private static final String INTERNAL_URI = "/api/notifications/internal/send";
+    private static final String DEAD_LETTERS_URI = "/api/notifications/dead-letters";
+    private static final String STATUS_URI_PREFIX = "/api/notifications/status/";
     private static final String EXPECTED_AUDIENCE = "notification-service";
 
+    /**
+     * Request attribute holding the authenticated caller's userId (a {@link UUID}) on the public and status endpoints.
+     */
+    public static final String CALLER_ID_ATTRIBUTE = NotificationRateLimitFilter.class.getName() + ".callerId";
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     @NotNull HttpServletResponse response,
@@ -49,46 +58,8 @@ public class NotificationRateLimitFilter extends OncePerRequestFilter {
         if (INTERNAL_URI.equals(uri)) {
             log.debug("Processing INTERNAL notification request. URI: {}", uri);
 
-            String authHeader = Optional.ofNullable(request.getHeader("Authorization"))
-                    .orElse(request.getHeader("authorization"));
-            if (authHeader == null || !authHeader.toLowerCase(Locale.ROOT).startsWith("bearer ")) {
-                reject(response, HttpStatus.UNAUTHORIZED, "Missing or invalid Authorization header");
-                return;
-            }
-
-            final Jws<Claims> jws;
-            try {
-                jws = JwtUtil.validateToken(authHeader.substring(7));
-            } catch (JwtException e) {
-                log.warn("Invalid internal JWT: {}", e.getMessage());
-                reject(response, HttpStatus.UNAUTHORIZED, "Invalid JWT: " + e.getMessage());
-                return;
-            }
-
-            Claims claims = jws.getBody();
-
-            // scope=internal
-            boolean scopeOk = false;
-            Object scope = claims.get("scope");
-            if (scope instanceof String s) {
-                scopeOk = "internal".equalsIgnoreCase(s.trim());
-            } else if (scope instanceof Iterable<?> it) {
-                for (Object o : it) {
-                    if (o != null && "internal".equalsIgnoreCase(String.valueOf(o))) {
-                        scopeOk = true; break;
-                    }
-                }
-            }
-            if (!scopeOk) {
-                reject(response, HttpStatus.FORBIDDEN, "JWT missing required scope=internal");
-                return;
-            }
-
-            // audience
-            String aud = Optional.ofNullable(claims.get("aud", String.class))
-                    .orElse(claims.getAudience());
-            if (aud == null || !EXPECTED_AUDIENCE.equalsIgnoreCase(aud)) {
-                reject(response, HttpStatus.FORBIDDEN, "Invalid JWT audience");
+            Claims claims = authenticateService(request, response, "internal");
+            if (claims == null) {
                 return;
             }
 
@@ -125,37 +96,33 @@ public class NotificationRateLimitFilter extends OncePerRequestFilter {
             return;
         }
 
-        // ===== PUBLIC (post-registration)
-        if (PUBLIC_URI.equals(uri)) {
-            String userIdStr = request.getHeader("X-User-ID");
-            log.debug("Processing PUBLIC notification request. URI: {}", uri);
-
-            if (userIdStr == null) {
-                String authHeader = Optional.ofNullable(request.getHeader("Authorization"))
-                        .orElse(request.getHeader("authorization"));
-                if (authHeader != null && authHeader.toLowerCase(Locale.ROOT).startsWith("bearer ")) {
-                    try {
-                        Jws<Claims> claims = JwtUtil.validateToken(authHeader.substring(7));
-                        userIdStr = claims.getBody().get("userId", String.class);
-                        log.debug("User ID extracted from JWT: {}", userIdStr);
-                    } catch (JwtException e) {
-                        log.warn("Invalid JWT during user ID extraction: {}", e.getMessage());
-                        reject(response, HttpStatus.UNAUTHORIZED, "Invalid JWT: " + e.getMessage());
-                        return;
-                    }
-                }
+        // ===== DEAD LETTERS (operators only: they expose every user's failed deliveries)
+        if (DEAD_LETTERS_URI.equals(uri)) {
+            log.debug("Processing ADMIN request. URI: {}", uri);
+            if (authenticateService(request, response, "admin") == null) {
+                return;
             }
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-            if (userIdStr == null) {
-                reject(response, HttpStatus.BAD_REQUEST, "Missing X-User-ID header or valid Bearer token");
+        // ===== STATUS (the caller that submitted the notification; polling is not charged)
+        if (uri.startsWith(STATUS_URI_PREFIX)) {
+            log.debug("Processing STATUS request. URI: {}", uri);
+            UUID userId = authenticateUser(request, response);
+            if (userId == null) {
                 return;
             }
+            request.setAttribute(CALLER_ID_ATTRIBUTE, userId);
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-            final UUID userId;
-            try {
-                userId = UUID.fromString(userIdStr);
-            } catch (IllegalArgumentException e) {
-                reject(response, HttpStatus.BAD_REQUEST, "Invalid UUID format for userId: " + userIdStr);
+        // ===== PUBLIC (post-registration)
+        if (PUBLIC_URI.equals(uri) || MULTI_URI.equals(uri) || BATCH_URI.equals(uri)) {
+            log.debug("Processing PUBLIC notification request. URI: {}", uri);
+            UUID userId = authenticateUser(request, response);
+            if (userId == null) {
                 return;
             }
 
@@ -168,6 +135,8 @@ public class NotificationRateLimitFilter extends OncePerRequestFilter {
                 reject(response, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded: " + ex.getMessage());
                 return;
             }
+            // The batch endpoint charges every item to the caller, async sends record it as the status owner
+            request.setAttribute(CALLER_ID_ATTRIBUTE, userId);
         } else {
             log.trace("Skipping rate limit filter for URI: {}", uri);
         }
@@ -175,6 +144,96 @@ public class NotificationRateLimitFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Resolves the end user behind {@code request}, from the {@code X-User-ID} header or else the {@code userId}
+     * claim of its Bearer token.
+     *
+     * @return the user's id, or {@code null} once the request has been rejected.
+     */
+    private UUID authenticateUser(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String userIdStr = request.getHeader("X-User-ID");
+
+        if (userIdStr == null) {
+            String authHeader = Optional.ofNullable(request.getHeader("Authorization"))
+                    .orElse(request.getHeader("authorization"));
+            if (authHeader != null && authHeader.toLowerCase(Locale.ROOT).startsWith("bearer ")) {
+                try {
+                    Jws<Claims> claims = JwtUtil.validateToken(authHeader.substring(7));
+                    userIdStr = claims.getBody().get("userId", String.class);
+                    log.debug("User ID extracted from JWT: {}", userIdStr);
+                } catch (JwtException e) {
+                    log.warn("Invalid JWT during user ID extraction: {}", e.getMessage());
+                    reject(response, HttpStatus.UNAUTHORIZED, "Invalid JWT: " + e.getMessage());
+                    return null;
+                }
+            }
+        }
+
+        if (userIdStr == null) {
+            reject(response, HttpStatus.BAD_REQUEST, "Missing X-User-ID header or valid Bearer token");
+            return null;
+        }
+
+        try {
+            return UUID.fromString(userIdStr);
+        } catch (IllegalArgumentException e) {
+            reject(response, HttpStatus.BAD_REQUEST, "Invalid UUID format for userId: " + userIdStr);
+            return null;
+        }
+    }
+
+    /**
+     * Validates the service-to-service Bearer token of {@code request}: signature, {@code scope} and audience.
+     *
+     * @return the token's claims, or {@code null} once the request has been rejected.
+     */
+    private Claims authenticateService(HttpServletRequest request, HttpServletResponse response, String requiredScope)
+            throws IOException {
+        String authHeader = Optional.ofNullable(request.getHeader("Authorization"))
+                .orElse(request.getHeader("authorization"));
+        if (authHeader == null || !authHeader.toLowerCase(Locale.ROOT).startsWith("bearer ")) {
+            reject(response, HttpStatus.UNAUTHORIZED, "Missing or invalid Authorization header");
+            return null;
+        }
+
+        final Jws<Claims> jws;
+        try {
+            jws = JwtUtil.validateToken(authHeader.substring(7));
+        } catch (JwtException e) {
+            log.warn("Invalid {} JWT: {}", requiredScope, e.getMessage());
+            reject(response, HttpStatus.UNAUTHORIZED, "Invalid JWT: " + e.getMessage());
+            return null;
+        }
+
+        Claims claims = jws.getBody();
+
+        // scope
+        boolean scopeOk = false;
+        Object scope = claims.get("scope");
+        if (scope instanceof String s) {
+            scopeOk = requiredScope.equalsIgnoreCase(s.trim());
+        } else if (scope instanceof Iterable<?> it) {
+            for (Object o : it) {
+                if (o != null && requiredScope.equalsIgnoreCase(String.valueOf(o))) {
+                    scopeOk = true; break;
+                }
+            }
+        }
+        if (!scopeOk) {
+            reject(response, HttpStatus.FORBIDDEN, "JWT missing required scope=" + requiredScope);
+            return null;
+        }
+
+        // audience
+        String aud = Optional.ofNullable(claims.get("aud", String.class))
+                .orElse(claims.getAudience());
+        if (aud == null || !EXPECTED_AUDIENCE.equalsIgnoreCase(aud)) {
+            reject(response, HttpStatus.FORBIDDEN, "Invalid JWT audience");
+            return null;
+        }
+        return claims;
+    }
+
     private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
         response.setStatus(status.value());
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
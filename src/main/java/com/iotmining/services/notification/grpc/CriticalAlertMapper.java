@@ -0,0 +1,158 @@
+package com.iotmining.services.notification.grpc;
+
+import com.iotmining.common.base.notifications.dto.BaseRequest;
+import com.iotmining.common.base.notifications.dto.NotificationWrapper;
+import com.iotmining.services.notification.handler.NotificationHandler;
+import com.iotmining.services.notification.services.dispatcher.BoundNotification;
+import com.iotmining.services.notification.services.dispatcher.NotificationDispatcher;
+import com.iotmining.services.notification.services.dispatcher.NotificationRequestReader;
+import io.grpc.Context;
+import io.grpc.Deadline;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps a {@link CriticalAlertProto.CriticalAlert} into one bound notification per requested channel.
+ * <p>
+ * Each channel's payload is bound from the alert's {@code meta} map (e.g. phone number, chatId, device token) plus
+ * {@code title} (the alert type), {@code message} and {@code metadata}, so every handler finds the fields it knows
+ * and ignores the rest. Channels with the same payload class share one bound payload. An alert without channels
+ * goes to {@code grpc.critical-alert.default-channels}. The correlationId is taken from the alert's
+ * {@code correlationId} field or {@code meta.correlationId} when present, so clients can retry a call without the
+ * alert being delivered twice. The deadline of the gRPC call, if the client set one, becomes the notifications'
+ * deadline, so work the client has stopped waiting for is discarded instead of delivered.
+ */
+@Component
+public class CriticalAlertMapper {
+
+    static final String CORRELATION_ID_META = "correlationId";
+    private static final String SOURCE_APP = "grpc";
+
+    private final NotificationDispatcher dispatcher;
+    private final NotificationRequestReader requestReader;
+    private final List<String> defaultChannels;
+
+    public CriticalAlertMapper(NotificationDispatcher dispatcher,
+                               NotificationRequestReader requestReader,
+                               @Value("${grpc.critical-alert.default-channels:WEB}") String[] defaultChannels) {
+        this.dispatcher = dispatcher;
+        this.requestReader = requestReader;
+        this.defaultChannels = Arrays.stream(defaultChannels).map(String::trim).filter(c -> !c.isEmpty()).toList();
+    }
+
+    /**
+     * @return the channels to deliver to, in request order and without duplicates.
+     * @throws IllegalArgumentException if the userId, priority or a channel is invalid.
+     */
+    public List<BoundNotification> toNotifications(CriticalAlertProto.CriticalAlert alert) {
+        UUID userId = parseUuid(alert.getUserId(), "userId");
+        UUID correlationId = correlationIdOf(alert);
+        BaseRequest.Priority priority = parsePriority(alert.getPriority());
+        long timestamp = parseTimestamp(alert.getTimestamp());
+        Instant deadline = callDeadline();
+
+        Map<String, NotificationHandler<?>> handlers = new LinkedHashMap<>();
+        for (String channel : alert.getChannelsCount() > 0 ? alert.getChannelsList() : defaultChannels) {
+            String type = channel.trim().toUpperCase();
+            try {
+                handlers.putIfAbsent(type, dispatcher.resolveHandler(type));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Unsupported channel: " + channel, e);
+            }
+        }
+        if (handlers.isEmpty()) {
+            throw new IllegalArgumentException("No channels requested and none configured by default");
+        }
+
+        Map<String, Object> fields = new HashMap<>(alert.getMetaMap());
+        fields.put("title", alert.getType());
+        fields.put("message", alert.getMessage());
+        fields.put("type", alert.getType());
+        fields.put("metadata", new HashMap<>(alert.getMetaMap()));
+
+        Map<Class<?>, Object> payloads = new HashMap<>();
+        List<BoundNotification> targets = new ArrayList<>(handlers.size());
+        for (NotificationHandler<?> handler : handlers.values()) {
+            Object payload = payloads.computeIfAbsent(handler.payloadType(), type -> requestReader.bindPayload(fields, type));
+            NotificationWrapper<Object> wrapper = new NotificationWrapper<>();
+            wrapper.setType(handler.getType());
+            wrapper.setPayload(payload);
+            wrapper.setCorrelationId(correlationId);
+            wrapper.setUserId(userId);
+            wrapper.setSourceApp(SOURCE_APP);
+            wrapper.setRetryCount(0);
+            wrapper.setPriority(priority);
+            wrapper.setTimestamp(timestamp);
+            targets.add(new BoundNotification(handler, wrapper, deadline));
+        }
+        return targets;
+    }
+
+    /**
+     * The alert's {@code correlationId} field, else {@code meta.correlationId}, else a new random id.
+     *
+     * @throws IllegalArgumentException if the given id is not a UUID.
+     */
+    public static UUID correlationIdOf(CriticalAlertProto.CriticalAlert alert) {
+        String correlation = !alert.getCorrelationId().isBlank()
+                ? alert.getCorrelationId()
+                : alert.getMetaMap().get(CORRELATION_ID_META);
+        return correlation != null ? parseUuid(correlation, CORRELATION_ID_META) : UUID.randomUUID();
+    }
+
+    /**
+     * The deadline of the gRPC call being served on this thread, as a wall-clock instant, or {@code null}.
+     */
+    private static Instant callDeadline() {
+        Deadline deadline = Context.current().getDeadline();
+        return deadline != null ? Instant.now().plusNanos(deadline.timeRemaining(TimeUnit.NANOSECONDS)) : null;
+    }
+
+    private static UUID parseUuid(String value, String field) {
+        try {
+            return UUID.fromString(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": '" + value + "'");
+        }
+    }
+
+    private static BaseRequest.Priority parsePriority(String value) {
+        if (value == null || value.isBlank()) {
+            return BaseRequest.Priority.HIGH;
+        }
+        try {
+            return BaseRequest.Priority.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid priority: '" + value + "'");
+        }
+    }
+
+    /**
+     * Accepts epoch milliseconds or an ISO-8601 instant; anything else (including blank) means "now".
+     */
+    private static long parseTimestamp(String value) {
+        if (value == null || value.isBlank()) {
+            return System.currentTimeMillis();
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            try {
+                return Instant.parse(value.trim()).toEpochMilli();
+            } catch (DateTimeParseException ignored) {
+                return System.currentTimeMillis();
+            }
+        }
+    }
+}
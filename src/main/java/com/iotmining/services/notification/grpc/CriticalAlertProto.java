@@ -1,3065 +0,0 @@
-// Generated by the protocol buffer compiler.  DO NOT EDIT!
-// source: src/main/proto/vms_alert_critical.proto
-
-// Protobuf Java Version: 3.25.3
-package com.iotmining.services.notification.grpc;
-
-public final class CriticalAlertProto {
-  private CriticalAlertProto() {}
-  public static void registerAllExtensions(
-      com.google.protobuf.ExtensionRegistryLite registry) {
-  }
-
-  public static void registerAllExtensions(
-      com.google.protobuf.ExtensionRegistry registry) {
-    registerAllExtensions(
-        (com.google.protobuf.ExtensionRegistryLite) registry);
-  }
-  public interface MetaOrBuilder extends
-      // @@protoc_insertion_point(interface_extends:com.iotmining.services.notification.grpc.Meta)
-      com.google.protobuf.MessageOrBuilder {
-
-    /**
-     * <code>string fcmToken = 1;</code>
-     * @return The fcmToken.
-     */
-    java.lang.String getFcmToken();
-    /**
-     * <code>string fcmToken = 1;</code>
-     * @return The bytes for fcmToken.
-     */
-    com.google.protobuf.ByteString
-        getFcmTokenBytes();
-
-    /**
-     * <code>string email = 2;</code>
-     * @return The email.
-     */
-    java.lang.String getEmail();
-    /**
-     * <code>string email = 2;</code>
-     * @return The bytes for email.
-     */
-    com.google.protobuf.ByteString
-        getEmailBytes();
-
-    /**
-     * <code>string phone = 3;</code>
-     * @return The phone.
-     */
-    java.lang.String getPhone();
-    /**
-     * <code>string phone = 3;</code>
-     * @return The bytes for phone.
-     */
-    com.google.protobuf.ByteString
-        getPhoneBytes();
-  }
-  /**
-   * <pre>
-   * Define the Meta structure
-   * </pre>
-   *
-   * Protobuf type {@code com.iotmining.services.notification.grpc.Meta}
-   */
-  public static final class Meta extends
-      com.google.protobuf.GeneratedMessageV3 implements
-      // @@protoc_insertion_point(message_implements:com.iotmining.services.notification.grpc.Meta)
-      MetaOrBuilder {
-  private static final long serialVersionUID = 0L;
-    // Use Meta.newBuilder() to construct.
-    private Meta(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
-      super(builder);
-    }
-    private Meta() {
-      fcmToken_ = "";
-      email_ = "";
-      phone_ = "";
-    }
-
-    @java.lang.Override
-    @SuppressWarnings({"unused"})
-    protected java.lang.Object newInstance(
-        UnusedPrivateParameter unused) {
-      return new Meta();
-    }
-
-    public static final com.google.protobuf.Descriptors.Descriptor
-        getDescriptor() {
-      return com.iotmining.services.notification.grpc.CriticalAlertProto.internal_static_com_iotmining_services_notification_grpc_Meta_descriptor;
-    }
-
-    @java.lang.Override
-    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-        internalGetFieldAccessorTable() {
-      return com.iotmining.services.notification.grpc.CriticalAlertProto.internal_static_com_iotmining_services_notification_grpc_Meta_fieldAccessorTable
-          .ensureFieldAccessorsInitialized(
-              com.iotmining.services.notification.grpc.CriticalAlertProto.Meta.class, com.iotmining.services.notification.grpc.CriticalAlertProto.Meta.Builder.class);
-    }
-
-    public static final int FCMTOKEN_FIELD_NUMBER = 1;
-    @SuppressWarnings("serial")
-    private volatile java.lang.Object fcmToken_ = "";
-    /**
-     * <code>string fcmToken = 1;</code>
-     * @return The fcmToken.
-     */
-    @java.lang.Override
-    public java.lang.String getFcmToken() {
-      java.lang.Object ref = fcmToken_;
-      if (ref instanceof java.lang.String) {
-        return (java.lang.String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        java.lang.String s = bs.toStringUtf8();
-        fcmToken_ = s;
-        return s;
-      }
-    }
-    /**
-     * <code>string fcmToken = 1;</code>
-     * @return The bytes for fcmToken.
-     */
-    @java.lang.Override
-    public com.google.protobuf.ByteString
-        getFcmTokenBytes() {
-      java.lang.Object ref = fcmToken_;
-      if (ref instanceof java.lang.String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8(
-                (java.lang.String) ref);
-        fcmToken_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
-    }
-
-    public static final int EMAIL_FIELD_NUMBER = 2;
-    @SuppressWarnings("serial")
-    private volatile java.lang.Object email_ = "";
-    /**
-     * <code>string email = 2;</code>
-     * @return The email.
-     */
-    @java.lang.Override
-    public java.lang.String getEmail() {
-      java.lang.Object ref = email_;
-      if (ref instanceof java.lang.String) {
-        return (java.lang.String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        java.lang.String s = bs.toStringUtf8();
-        email_ = s;
-        return s;
-      }
-    }
-    /**
-     * <code>string email = 2;</code>
-     * @return The bytes for email.
-     */
-    @java.lang.Override
-    public com.google.protobuf.ByteString
-        getEmailBytes() {
-      java.lang.Object ref = email_;
-      if (ref instanceof java.lang.String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8(
-                (java.lang.String) ref);
-        email_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
-    }
-
-    public static final int PHONE_FIELD_NUMBER = 3;
-    @SuppressWarnings("serial")
-    private volatile java.lang.Object phone_ = "";
-    /**
-     * <code>string phone = 3;</code>
-     * @return The phone.
-     */
-    @java.lang.Override
-    public java.lang.String getPhone() {
-      java.lang.Object ref = phone_;
-      if (ref instanceof java.lang.String) {
-        return (java.lang.String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        java.lang.String s = bs.toStringUtf8();
-        phone_ = s;
-        return s;
-      }
-    }
-    /**
-     * <code>string phone = 3;</code>
-     * @return The bytes for phone.
-     */
-    @java.lang.Override
-    public com.google.protobuf.ByteString
-        getPhoneBytes() {
-      java.lang.Object ref = phone_;
-      if (ref instanceof java.lang.String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8(
-                (java.lang.String) ref);
-        phone_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
-    }
-
-    private byte memoizedIsInitialized = -1;
-    @java.lang.Override
-    public final boolean isInitialized() {
-      byte isInitialized = memoizedIsInitialized;
-      if (isInitialized == 1) return true;
-      if (isInitialized == 0) return false;
-
-      memoizedIsInitialized = 1;
-      return true;
-    }
-
-    @java.lang.Override
-    public void writeTo(com.google.protobuf.CodedOutputStream output)
-                        throws java.io.IOException {
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(fcmToken_)) {
-        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, fcmToken_);
-      }
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(email_)) {
-        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, email_);
-      }
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(phone_)) {
-        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, phone_);
-      }
-      getUnknownFields().writeTo(output);
-    }
-
-    @java.lang.Override
-    public int getSerializedSize() {
-      int size = memoizedSize;
-      if (size != -1) return size;
-
-      size = 0;
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(fcmToken_)) {
-        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, fcmToken_);
-      }
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(email_)) {
-        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, email_);
-      }
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(phone_)) {
-        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, phone_);
-      }
-      size += getUnknownFields().getSerializedSize();
-      memoizedSize = size;
-      return size;
-    }
-
-    @java.lang.Override
-    public boolean equals(final java.lang.Object obj) {
-      if (obj == this) {
-       return true;
-      }
-      if (!(obj instanceof com.iotmining.services.notification.grpc.CriticalAlertProto.Meta)) {
-        return super.equals(obj);
-      }
-      com.iotmining.services.notification.grpc.CriticalAlertProto.Meta other = (com.iotmining.services.notification.grpc.CriticalAlertProto.Meta) obj;
-
-      if (!getFcmToken()
-          .equals(other.getFcmToken())) return false;
-      if (!getEmail()
-          .equals(other.getEmail())) return false;
-      if (!getPhone()
-          .equals(other.getPhone())) return false;
-      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
-      return true;
-    }
-
-    @java.lang.Override
-    public int hashCode() {
-      if (memoizedHashCode != 0) {
-        return memoizedHashCode;
-      }
-      int hash = 41;
-      hash = (19 * hash) + getDescriptor().hashCode();
-      hash = (37 * hash) + FCMTOKEN_FIELD_NUMBER;
-      hash = (53 * hash) + getFcmToken().hashCode();
-      hash = (37 * hash) + EMAIL_FIELD_NUMBER;
-      hash = (53 * hash) + getEmail().hashCode();
-      hash = (37 * hash) + PHONE_FIELD_NUMBER;
-      hash = (53 * hash) + getPhone().hashCode();
-      hash = (29 * hash) + getUnknownFields().hashCode();
-      memoizedHashCode = hash;
-      return hash;
-    }
-
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.Meta parseFrom(
-        java.nio.ByteBuffer data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.Meta parseFrom(
-        java.nio.ByteBuffer data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.Meta parseFrom(
-        com.google.protobuf.ByteString data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.Meta parseFrom(
-        com.google.protobuf.ByteString data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.Meta parseFrom(byte[] data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.Meta parseFrom(
-        byte[] data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.Meta parseFrom(java.io.InputStream input)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.Meta parseFrom(
-        java.io.InputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input, extensionRegistry);
-    }
-
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.Meta parseDelimitedFrom(java.io.InputStream input)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseDelimitedWithIOException(PARSER, input);
-    }
-
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.Meta parseDelimitedFrom(
-        java.io.InputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.Meta parseFrom(
-        com.google.protobuf.CodedInputStream input)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.Meta parseFrom(
-        com.google.protobuf.CodedInputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input, extensionRegistry);
-    }
-
-    @java.lang.Override
-    public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder() {
-      return DEFAULT_INSTANCE.toBuilder();
-    }
-    public static Builder newBuilder(com.iotmining.services.notification.grpc.CriticalAlertProto.Meta prototype) {
-      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
-    }
-    @java.lang.Override
-    public Builder toBuilder() {
-      return this == DEFAULT_INSTANCE
-          ? new Builder() : new Builder().mergeFrom(this);
-    }
-
-    @java.lang.Override
-    protected Builder newBuilderForType(
-        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
-      Builder builder = new Builder(parent);
-      return builder;
-    }
-    /**
-     * <pre>
-     * Define the Meta structure
-     * </pre>
-     *
-     * Protobuf type {@code com.iotmining.services.notification.grpc.Meta}
-     */
-    public static final class Builder extends
-        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
-        // @@protoc_insertion_point(builder_implements:com.iotmining.services.notification.grpc.Meta)
-        com.iotmining.services.notification.grpc.CriticalAlertProto.MetaOrBuilder {
-      public static final com.google.protobuf.Descriptors.Descriptor
-          getDescriptor() {
-        return com.iotmining.services.notification.grpc.CriticalAlertProto.internal_static_com_iotmining_services_notification_grpc_Meta_descriptor;
-      }
-
-      @java.lang.Override
-      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-          internalGetFieldAccessorTable() {
-        return com.iotmining.services.notification.grpc.CriticalAlertProto.internal_static_com_iotmining_services_notification_grpc_Meta_fieldAccessorTable
-            .ensureFieldAccessorsInitialized(
-                com.iotmining.services.notification.grpc.CriticalAlertProto.Meta.class, com.iotmining.services.notification.grpc.CriticalAlertProto.Meta.Builder.class);
-      }
-
-      // Construct using com.iotmining.services.notification.grpc.CriticalAlertProto.Meta.newBuilder()
-      private Builder() {
-
-      }
-
-      private Builder(
-          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
-        super(parent);
-
-      }
-      @java.lang.Override
-      public Builder clear() {
-        super.clear();
-        bitField0_ = 0;
-        fcmToken_ = "";
-        email_ = "";
-        phone_ = "";
-        return this;
-      }
-
-      @java.lang.Override
-      public com.google.protobuf.Descriptors.Descriptor
-          getDescriptorForType() {
-        return com.iotmining.services.notification.grpc.CriticalAlertProto.internal_static_com_iotmining_services_notification_grpc_Meta_descriptor;
-      }
-
-      @java.lang.Override
-      public com.iotmining.services.notification.grpc.CriticalAlertProto.Meta getDefaultInstanceForType() {
-        return com.iotmining.services.notification.grpc.CriticalAlertProto.Meta.getDefaultInstance();
-      }
-
-      @java.lang.Override
-      public com.iotmining.services.notification.grpc.CriticalAlertProto.Meta build() {
-        com.iotmining.services.notification.grpc.CriticalAlertProto.Meta result = buildPartial();
-        if (!result.isInitialized()) {
-          throw newUninitializedMessageException(result);
-        }
-        return result;
-      }
-
-      @java.lang.Override
-      public com.iotmining.services.notification.grpc.CriticalAlertProto.Meta buildPartial() {
-        com.iotmining.services.notification.grpc.CriticalAlertProto.Meta result = new com.iotmining.services.notification.grpc.CriticalAlertProto.Meta(this);
-        if (bitField0_ != 0) { buildPartial0(result); }
-        onBuilt();
-        return result;
-      }
-
-      private void buildPartial0(com.iotmining.services.notification.grpc.CriticalAlertProto.Meta result) {
-        int from_bitField0_ = bitField0_;
-        if (((from_bitField0_ & 0x00000001) != 0)) {
-          result.fcmToken_ = fcmToken_;
-        }
-        if (((from_bitField0_ & 0x00000002) != 0)) {
-          result.email_ = email_;
-        }
-        if (((from_bitField0_ & 0x00000004) != 0)) {
-          result.phone_ = phone_;
-        }
-      }
-
-      @java.lang.Override
-      public Builder clone() {
-        return super.clone();
-      }
-      @java.lang.Override
-      public Builder setField(
-          com.google.protobuf.Descriptors.FieldDescriptor field,
-          java.lang.Object value) {
-        return super.setField(field, value);
-      }
-      @java.lang.Override
-      public Builder clearField(
-          com.google.protobuf.Descriptors.FieldDescriptor field) {
-        return super.clearField(field);
-      }
-      @java.lang.Override
-      public Builder clearOneof(
-          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
-        return super.clearOneof(oneof);
-      }
-      @java.lang.Override
-      public Builder setRepeatedField(
-          com.google.protobuf.Descriptors.FieldDescriptor field,
-          int index, java.lang.Object value) {
-        return super.setRepeatedField(field, index, value);
-      }
-      @java.lang.Override
-      public Builder addRepeatedField(
-          com.google.protobuf.Descriptors.FieldDescriptor field,
-          java.lang.Object value) {
-        return super.addRepeatedField(field, value);
-      }
-      @java.lang.Override
-      public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.iotmining.services.notification.grpc.CriticalAlertProto.Meta) {
-          return mergeFrom((com.iotmining.services.notification.grpc.CriticalAlertProto.Meta)other);
-        } else {
-          super.mergeFrom(other);
-          return this;
-        }
-      }
-
-      public Builder mergeFrom(com.iotmining.services.notification.grpc.CriticalAlertProto.Meta other) {
-        if (other == com.iotmining.services.notification.grpc.CriticalAlertProto.Meta.getDefaultInstance()) return this;
-        if (!other.getFcmToken().isEmpty()) {
-          fcmToken_ = other.fcmToken_;
-          bitField0_ |= 0x00000001;
-          onChanged();
-        }
-        if (!other.getEmail().isEmpty()) {
-          email_ = other.email_;
-          bitField0_ |= 0x00000002;
-          onChanged();
-        }
-        if (!other.getPhone().isEmpty()) {
-          phone_ = other.phone_;
-          bitField0_ |= 0x00000004;
-          onChanged();
-        }
-        this.mergeUnknownFields(other.getUnknownFields());
-        onChanged();
-        return this;
-      }
-
-      @java.lang.Override
-      public final boolean isInitialized() {
-        return true;
-      }
-
-      @java.lang.Override
-      public Builder mergeFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws java.io.IOException {
-        if (extensionRegistry == null) {
-          throw new java.lang.NullPointerException();
-        }
-        try {
-          boolean done = false;
-          while (!done) {
-            int tag = input.readTag();
-            switch (tag) {
-              case 0:
-                done = true;
-                break;
-              case 10: {
-                fcmToken_ = input.readStringRequireUtf8();
-                bitField0_ |= 0x00000001;
-                break;
-              } // case 10
-              case 18: {
-                email_ = input.readStringRequireUtf8();
-                bitField0_ |= 0x00000002;
-                break;
-              } // case 18
-              case 26: {
-                phone_ = input.readStringRequireUtf8();
-                bitField0_ |= 0x00000004;
-                break;
-              } // case 26
-              default: {
-                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
-                  done = true; // was an endgroup tag
-                }
-                break;
-              } // default:
-            } // switch (tag)
-          } // while (!done)
-        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          throw e.unwrapIOException();
-        } finally {
-          onChanged();
-        } // finally
-        return this;
-      }
-      private int bitField0_;
-
-      private java.lang.Object fcmToken_ = "";
-      /**
-       * <code>string fcmToken = 1;</code>
-       * @return The fcmToken.
-       */
-      public java.lang.String getFcmToken() {
-        java.lang.Object ref = fcmToken_;
-        if (!(ref instanceof java.lang.String)) {
-          com.google.protobuf.ByteString bs =
-              (com.google.protobuf.ByteString) ref;
-          java.lang.String s = bs.toStringUtf8();
-          fcmToken_ = s;
-          return s;
-        } else {
-          return (java.lang.String) ref;
-        }
-      }
-      /**
-       * <code>string fcmToken = 1;</code>
-       * @return The bytes for fcmToken.
-       */
-      public com.google.protobuf.ByteString
-          getFcmTokenBytes() {
-        java.lang.Object ref = fcmToken_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (java.lang.String) ref);
-          fcmToken_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
-      }
-      /**
-       * <code>string fcmToken = 1;</code>
-       * @param value The fcmToken to set.
-       * @return This builder for chaining.
-       */
-      public Builder setFcmToken(
-          java.lang.String value) {
-        if (value == null) { throw new NullPointerException(); }
-        fcmToken_ = value;
-        bitField0_ |= 0x00000001;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string fcmToken = 1;</code>
-       * @return This builder for chaining.
-       */
-      public Builder clearFcmToken() {
-        fcmToken_ = getDefaultInstance().getFcmToken();
-        bitField0_ = (bitField0_ & ~0x00000001);
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string fcmToken = 1;</code>
-       * @param value The bytes for fcmToken to set.
-       * @return This builder for chaining.
-       */
-      public Builder setFcmTokenBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) { throw new NullPointerException(); }
-        checkByteStringIsUtf8(value);
-        fcmToken_ = value;
-        bitField0_ |= 0x00000001;
-        onChanged();
-        return this;
-      }
-
-      private java.lang.Object email_ = "";
-      /**
-       * <code>string email = 2;</code>
-       * @return The email.
-       */
-      public java.lang.String getEmail() {
-        java.lang.Object ref = email_;
-        if (!(ref instanceof java.lang.String)) {
-          com.google.protobuf.ByteString bs =
-              (com.google.protobuf.ByteString) ref;
-          java.lang.String s = bs.toStringUtf8();
-          email_ = s;
-          return s;
-        } else {
-          return (java.lang.String) ref;
-        }
-      }
-      /**
-       * <code>string email = 2;</code>
-       * @return The bytes for email.
-       */
-      public com.google.protobuf.ByteString
-          getEmailBytes() {
-        java.lang.Object ref = email_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (java.lang.String) ref);
-          email_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
-      }
-      /**
-       * <code>string email = 2;</code>
-       * @param value The email to set.
-       * @return This builder for chaining.
-       */
-      public Builder setEmail(
-          java.lang.String value) {
-        if (value == null) { throw new NullPointerException(); }
-        email_ = value;
-        bitField0_ |= 0x00000002;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string email = 2;</code>
-       * @return This builder for chaining.
-       */
-      public Builder clearEmail() {
-        email_ = getDefaultInstance().getEmail();
-        bitField0_ = (bitField0_ & ~0x00000002);
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string email = 2;</code>
-       * @param value The bytes for email to set.
-       * @return This builder for chaining.
-       */
-      public Builder setEmailBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) { throw new NullPointerException(); }
-        checkByteStringIsUtf8(value);
-        email_ = value;
-        bitField0_ |= 0x00000002;
-        onChanged();
-        return this;
-      }
-
-      private java.lang.Object phone_ = "";
-      /**
-       * <code>string phone = 3;</code>
-       * @return The phone.
-       */
-      public java.lang.String getPhone() {
-        java.lang.Object ref = phone_;
-        if (!(ref instanceof java.lang.String)) {
-          com.google.protobuf.ByteString bs =
-              (com.google.protobuf.ByteString) ref;
-          java.lang.String s = bs.toStringUtf8();
-          phone_ = s;
-          return s;
-        } else {
-          return (java.lang.String) ref;
-        }
-      }
-      /**
-       * <code>string phone = 3;</code>
-       * @return The bytes for phone.
-       */
-      public com.google.protobuf.ByteString
-          getPhoneBytes() {
-        java.lang.Object ref = phone_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (java.lang.String) ref);
-          phone_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
-      }
-      /**
-       * <code>string phone = 3;</code>
-       * @param value The phone to set.
-       * @return This builder for chaining.
-       */
-      public Builder setPhone(
-          java.lang.String value) {
-        if (value == null) { throw new NullPointerException(); }
-        phone_ = value;
-        bitField0_ |= 0x00000004;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string phone = 3;</code>
-       * @return This builder for chaining.
-       */
-      public Builder clearPhone() {
-        phone_ = getDefaultInstance().getPhone();
-        bitField0_ = (bitField0_ & ~0x00000004);
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string phone = 3;</code>
-       * @param value The bytes for phone to set.
-       * @return This builder for chaining.
-       */
-      public Builder setPhoneBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) { throw new NullPointerException(); }
-        checkByteStringIsUtf8(value);
-        phone_ = value;
-        bitField0_ |= 0x00000004;
-        onChanged();
-        return this;
-      }
-      @java.lang.Override
-      public final Builder setUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.setUnknownFields(unknownFields);
-      }
-
-      @java.lang.Override
-      public final Builder mergeUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.mergeUnknownFields(unknownFields);
-      }
-
-
-      // @@protoc_insertion_point(builder_scope:com.iotmining.services.notification.grpc.Meta)
-    }
-
-    // @@protoc_insertion_point(class_scope:com.iotmining.services.notification.grpc.Meta)
-    private static final com.iotmining.services.notification.grpc.CriticalAlertProto.Meta DEFAULT_INSTANCE;
-    static {
-      DEFAULT_INSTANCE = new com.iotmining.services.notification.grpc.CriticalAlertProto.Meta();
-    }
-
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.Meta getDefaultInstance() {
-      return DEFAULT_INSTANCE;
-    }
-
-    private static final com.google.protobuf.Parser<Meta>
-        PARSER = new com.google.protobuf.AbstractParser<Meta>() {
-      @java.lang.Override
-      public Meta parsePartialFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws com.google.protobuf.InvalidProtocolBufferException {
-        Builder builder = newBuilder();
-        try {
-          builder.mergeFrom(input, extensionRegistry);
-        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          throw e.setUnfinishedMessage(builder.buildPartial());
-        } catch (com.google.protobuf.UninitializedMessageException e) {
-          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
-        } catch (java.io.IOException e) {
-          throw new com.google.protobuf.InvalidProtocolBufferException(e)
-              .setUnfinishedMessage(builder.buildPartial());
-        }
-        return builder.buildPartial();
-      }
-    };
-
-    public static com.google.protobuf.Parser<Meta> parser() {
-      return PARSER;
-    }
-
-    @java.lang.Override
-    public com.google.protobuf.Parser<Meta> getParserForType() {
-      return PARSER;
-    }
-
-    @java.lang.Override
-    public com.iotmining.services.notification.grpc.CriticalAlertProto.Meta getDefaultInstanceForType() {
-      return DEFAULT_INSTANCE;
-    }
-
-  }
-
-  public interface CriticalAlertOrBuilder extends
-      // @@protoc_insertion_point(interface_extends:com.iotmining.services.notification.grpc.CriticalAlert)
-      com.google.protobuf.MessageOrBuilder {
-
-    /**
-     * <code>string userId = 1;</code>
-     * @return The userId.
-     */
-    java.lang.String getUserId();
-    /**
-     * <code>string userId = 1;</code>
-     * @return The bytes for userId.
-     */
-    com.google.protobuf.ByteString
-        getUserIdBytes();
-
-    /**
-     * <code>string type = 2;</code>
-     * @return The type.
-     */
-    java.lang.String getType();
-    /**
-     * <code>string type = 2;</code>
-     * @return The bytes for type.
-     */
-    com.google.protobuf.ByteString
-        getTypeBytes();
-
-    /**
-     * <code>string priority = 3;</code>
-     * @return The priority.
-     */
-    java.lang.String getPriority();
-    /**
-     * <code>string priority = 3;</code>
-     * @return The bytes for priority.
-     */
-    com.google.protobuf.ByteString
-        getPriorityBytes();
-
-    /**
-     * <code>string message = 4;</code>
-     * @return The message.
-     */
-    java.lang.String getMessage();
-    /**
-     * <code>string message = 4;</code>
-     * @return The bytes for message.
-     */
-    com.google.protobuf.ByteString
-        getMessageBytes();
-
-    /**
-     * <code>string timestamp = 5;</code>
-     * @return The timestamp.
-     */
-    java.lang.String getTimestamp();
-    /**
-     * <code>string timestamp = 5;</code>
-     * @return The bytes for timestamp.
-     */
-    com.google.protobuf.ByteString
-        getTimestampBytes();
-
-    /**
-     * <code>repeated string channels = 6;</code>
-     * @return A list containing the channels.
-     */
-    java.util.List<java.lang.String>
-        getChannelsList();
-    /**
-     * <code>repeated string channels = 6;</code>
-     * @return The count of channels.
-     */
-    int getChannelsCount();
-    /**
-     * <code>repeated string channels = 6;</code>
-     * @param index The index of the element to return.
-     * @return The channels at the given index.
-     */
-    java.lang.String getChannels(int index);
-    /**
-     * <code>repeated string channels = 6;</code>
-     * @param index The index of the value to return.
-     * @return The bytes of the channels at the given index.
-     */
-    com.google.protobuf.ByteString
-        getChannelsBytes(int index);
-
-    /**
-     * <code>.com.iotmining.services.notification.grpc.Meta meta = 7;</code>
-     * @return Whether the meta field is set.
-     */
-    boolean hasMeta();
-    /**
-     * <code>.com.iotmining.services.notification.grpc.Meta meta = 7;</code>
-     * @return The meta.
-     */
-    com.iotmining.services.notification.grpc.CriticalAlertProto.Meta getMeta();
-    /**
-     * <code>.com.iotmining.services.notification.grpc.Meta meta = 7;</code>
-     */
-    com.iotmining.services.notification.grpc.CriticalAlertProto.MetaOrBuilder getMetaOrBuilder();
-  }
-  /**
-   * <pre>
-   * Define the payload structure for the critical alert
-   * </pre>
-   *
-   * Protobuf type {@code com.iotmining.services.notification.grpc.CriticalAlert}
-   */
-  public static final class CriticalAlert extends
-      com.google.protobuf.GeneratedMessageV3 implements
-      // @@protoc_insertion_point(message_implements:com.iotmining.services.notification.grpc.CriticalAlert)
-      CriticalAlertOrBuilder {
-  private static final long serialVersionUID = 0L;
-    // Use CriticalAlert.newBuilder() to construct.
-    private CriticalAlert(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
-      super(builder);
-    }
-    private CriticalAlert() {
-      userId_ = "";
-      type_ = "";
-      priority_ = "";
-      message_ = "";
-      timestamp_ = "";
-      channels_ =
-          com.google.protobuf.LazyStringArrayList.emptyList();
-    }
-
-    @java.lang.Override
-    @SuppressWarnings({"unused"})
-    protected java.lang.Object newInstance(
-        UnusedPrivateParameter unused) {
-      return new CriticalAlert();
-    }
-
-    public static final com.google.protobuf.Descriptors.Descriptor
-        getDescriptor() {
-      return com.iotmining.services.notification.grpc.CriticalAlertProto.internal_static_com_iotmining_services_notification_grpc_CriticalAlert_descriptor;
-    }
-
-    @java.lang.Override
-    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-        internalGetFieldAccessorTable() {
-      return com.iotmining.services.notification.grpc.CriticalAlertProto.internal_static_com_iotmining_services_notification_grpc_CriticalAlert_fieldAccessorTable
-          .ensureFieldAccessorsInitialized(
-              com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert.class, com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert.Builder.class);
-    }
-
-    private int bitField0_;
-    public static final int USERID_FIELD_NUMBER = 1;
-    @SuppressWarnings("serial")
-    private volatile java.lang.Object userId_ = "";
-    /**
-     * <code>string userId = 1;</code>
-     * @return The userId.
-     */
-    @java.lang.Override
-    public java.lang.String getUserId() {
-      java.lang.Object ref = userId_;
-      if (ref instanceof java.lang.String) {
-        return (java.lang.String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        java.lang.String s = bs.toStringUtf8();
-        userId_ = s;
-        return s;
-      }
-    }
-    /**
-     * <code>string userId = 1;</code>
-     * @return The bytes for userId.
-     */
-    @java.lang.Override
-    public com.google.protobuf.ByteString
-        getUserIdBytes() {
-      java.lang.Object ref = userId_;
-      if (ref instanceof java.lang.String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8(
-                (java.lang.String) ref);
-        userId_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
-    }
-
-    public static final int TYPE_FIELD_NUMBER = 2;
-    @SuppressWarnings("serial")
-    private volatile java.lang.Object type_ = "";
-    /**
-     * <code>string type = 2;</code>
-     * @return The type.
-     */
-    @java.lang.Override
-    public java.lang.String getType() {
-      java.lang.Object ref = type_;
-      if (ref instanceof java.lang.String) {
-        return (java.lang.String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        java.lang.String s = bs.toStringUtf8();
-        type_ = s;
-        return s;
-      }
-    }
-    /**
-     * <code>string type = 2;</code>
-     * @return The bytes for type.
-     */
-    @java.lang.Override
-    public com.google.protobuf.ByteString
-        getTypeBytes() {
-      java.lang.Object ref = type_;
-      if (ref instanceof java.lang.String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8(
-                (java.lang.String) ref);
-        type_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
-    }
-
-    public static final int PRIORITY_FIELD_NUMBER = 3;
-    @SuppressWarnings("serial")
-    private volatile java.lang.Object priority_ = "";
-    /**
-     * <code>string priority = 3;</code>
-     * @return The priority.
-     */
-    @java.lang.Override
-    public java.lang.String getPriority() {
-      java.lang.Object ref = priority_;
-      if (ref instanceof java.lang.String) {
-        return (java.lang.String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        java.lang.String s = bs.toStringUtf8();
-        priority_ = s;
-        return s;
-      }
-    }
-    /**
-     * <code>string priority = 3;</code>
-     * @return The bytes for priority.
-     */
-    @java.lang.Override
-    public com.google.protobuf.ByteString
-        getPriorityBytes() {
-      java.lang.Object ref = priority_;
-      if (ref instanceof java.lang.String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8(
-                (java.lang.String) ref);
-        priority_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
-    }
-
-    public static final int MESSAGE_FIELD_NUMBER = 4;
-    @SuppressWarnings("serial")
-    private volatile java.lang.Object message_ = "";
-    /**
-     * <code>string message = 4;</code>
-     * @return The message.
-     */
-    @java.lang.Override
-    public java.lang.String getMessage() {
-      java.lang.Object ref = message_;
-      if (ref instanceof java.lang.String) {
-        return (java.lang.String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        java.lang.String s = bs.toStringUtf8();
-        message_ = s;
-        return s;
-      }
-    }
-    /**
-     * <code>string message = 4;</code>
-     * @return The bytes for message.
-     */
-    @java.lang.Override
-    public com.google.protobuf.ByteString
-        getMessageBytes() {
-      java.lang.Object ref = message_;
-      if (ref instanceof java.lang.String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8(
-                (java.lang.String) ref);
-        message_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
-    }
-
-    public static final int TIMESTAMP_FIELD_NUMBER = 5;
-    @SuppressWarnings("serial")
-    private volatile java.lang.Object timestamp_ = "";
-    /**
-     * <code>string timestamp = 5;</code>
-     * @return The timestamp.
-     */
-    @java.lang.Override
-    public java.lang.String getTimestamp() {
-      java.lang.Object ref = timestamp_;
-      if (ref instanceof java.lang.String) {
-        return (java.lang.String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        java.lang.String s = bs.toStringUtf8();
-        timestamp_ = s;
-        return s;
-      }
-    }
-    /**
-     * <code>string timestamp = 5;</code>
-     * @return The bytes for timestamp.
-     */
-    @java.lang.Override
-    public com.google.protobuf.ByteString
-        getTimestampBytes() {
-      java.lang.Object ref = timestamp_;
-      if (ref instanceof java.lang.String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8(
-                (java.lang.String) ref);
-        timestamp_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
-    }
-
-    public static final int CHANNELS_FIELD_NUMBER = 6;
-    @SuppressWarnings("serial")
-    private com.google.protobuf.LazyStringArrayList channels_ =
-        com.google.protobuf.LazyStringArrayList.emptyList();
-    /**
-     * <code>repeated string channels = 6;</code>
-     * @return A list containing the channels.
-     */
-    public com.google.protobuf.ProtocolStringList
-        getChannelsList() {
-      return channels_;
-    }
-    /**
-     * <code>repeated string channels = 6;</code>
-     * @return The count of channels.
-     */
-    public int getChannelsCount() {
-      return channels_.size();
-    }
-    /**
-     * <code>repeated string channels = 6;</code>
-     * @param index The index of the element to return.
-     * @return The channels at the given index.
-     */
-    public java.lang.String getChannels(int index) {
-      return channels_.get(index);
-    }
-    /**
-     * <code>repeated string channels = 6;</code>
-     * @param index The index of the value to return.
-     * @return The bytes of the channels at the given index.
-     */
-    public com.google.protobuf.ByteString
-        getChannelsBytes(int index) {
-      return channels_.getByteString(index);
-    }
-
-    public static final int META_FIELD_NUMBER = 7;
-    private com.iotmining.services.notification.grpc.CriticalAlertProto.Meta meta_;
-    /**
-     * <code>.com.iotmining.services.notification.grpc.Meta meta = 7;</code>
-     * @return Whether the meta field is set.
-     */
-    @java.lang.Override
-    public boolean hasMeta() {
-      return ((bitField0_ & 0x00000001) != 0);
-    }
-    /**
-     * <code>.com.iotmining.services.notification.grpc.Meta meta = 7;</code>
-     * @return The meta.
-     */
-    @java.lang.Override
-    public com.iotmining.services.notification.grpc.CriticalAlertProto.Meta getMeta() {
-      return meta_ == null ? com.iotmining.services.notification.grpc.CriticalAlertProto.Meta.getDefaultInstance() : meta_;
-    }
-    /**
-     * <code>.com.iotmining.services.notification.grpc.Meta meta = 7;</code>
-     */
-    @java.lang.Override
-    public com.iotmining.services.notification.grpc.CriticalAlertProto.MetaOrBuilder getMetaOrBuilder() {
-      return meta_ == null ? com.iotmining.services.notification.grpc.CriticalAlertProto.Meta.getDefaultInstance() : meta_;
-    }
-
-    private byte memoizedIsInitialized = -1;
-    @java.lang.Override
-    public final boolean isInitialized() {
-      byte isInitialized = memoizedIsInitialized;
-      if (isInitialized == 1) return true;
-      if (isInitialized == 0) return false;
-
-      memoizedIsInitialized = 1;
-      return true;
-    }
-
-    @java.lang.Override
-    public void writeTo(com.google.protobuf.CodedOutputStream output)
-                        throws java.io.IOException {
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(userId_)) {
-        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, userId_);
-      }
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(type_)) {
-        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, type_);
-      }
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(priority_)) {
-        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, priority_);
-      }
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(message_)) {
-        com.google.protobuf.GeneratedMessageV3.writeString(output, 4, message_);
-      }
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(timestamp_)) {
-        com.google.protobuf.GeneratedMessageV3.writeString(output, 5, timestamp_);
-      }
-      for (int i = 0; i < channels_.size(); i++) {
-        com.google.protobuf.GeneratedMessageV3.writeString(output, 6, channels_.getRaw(i));
-      }
-      if (((bitField0_ & 0x00000001) != 0)) {
-        output.writeMessage(7, getMeta());
-      }
-      getUnknownFields().writeTo(output);
-    }
-
-    @java.lang.Override
-    public int getSerializedSize() {
-      int size = memoizedSize;
-      if (size != -1) return size;
-
-      size = 0;
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(userId_)) {
-        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, userId_);
-      }
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(type_)) {
-        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, type_);
-      }
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(priority_)) {
-        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, priority_);
-      }
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(message_)) {
-        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(4, message_);
-      }
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(timestamp_)) {
-        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(5, timestamp_);
-      }
-      {
-        int dataSize = 0;
-        for (int i = 0; i < channels_.size(); i++) {
-          dataSize += computeStringSizeNoTag(channels_.getRaw(i));
-        }
-        size += dataSize;
-        size += 1 * getChannelsList().size();
-      }
-      if (((bitField0_ & 0x00000001) != 0)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(7, getMeta());
-      }
-      size += getUnknownFields().getSerializedSize();
-      memoizedSize = size;
-      return size;
-    }
-
-    @java.lang.Override
-    public boolean equals(final java.lang.Object obj) {
-      if (obj == this) {
-       return true;
-      }
-      if (!(obj instanceof com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert)) {
-        return super.equals(obj);
-      }
-      com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert other = (com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert) obj;
-
-      if (!getUserId()
-          .equals(other.getUserId())) return false;
-      if (!getType()
-          .equals(other.getType())) return false;
-      if (!getPriority()
-          .equals(other.getPriority())) return false;
-      if (!getMessage()
-          .equals(other.getMessage())) return false;
-      if (!getTimestamp()
-          .equals(other.getTimestamp())) return false;
-      if (!getChannelsList()
-          .equals(other.getChannelsList())) return false;
-      if (hasMeta() != other.hasMeta()) return false;
-      if (hasMeta()) {
-        if (!getMeta()
-            .equals(other.getMeta())) return false;
-      }
-      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
-      return true;
-    }
-
-    @java.lang.Override
-    public int hashCode() {
-      if (memoizedHashCode != 0) {
-        return memoizedHashCode;
-      }
-      int hash = 41;
-      hash = (19 * hash) + getDescriptor().hashCode();
-      hash = (37 * hash) + USERID_FIELD_NUMBER;
-      hash = (53 * hash) + getUserId().hashCode();
-      hash = (37 * hash) + TYPE_FIELD_NUMBER;
-      hash = (53 * hash) + getType().hashCode();
-      hash = (37 * hash) + PRIORITY_FIELD_NUMBER;
-      hash = (53 * hash) + getPriority().hashCode();
-      hash = (37 * hash) + MESSAGE_FIELD_NUMBER;
-      hash = (53 * hash) + getMessage().hashCode();
-      hash = (37 * hash) + TIMESTAMP_FIELD_NUMBER;
-      hash = (53 * hash) + getTimestamp().hashCode();
-      if (getChannelsCount() > 0) {
-        hash = (37 * hash) + CHANNELS_FIELD_NUMBER;
-        hash = (53 * hash) + getChannelsList().hashCode();
-      }
-      if (hasMeta()) {
-        hash = (37 * hash) + META_FIELD_NUMBER;
-        hash = (53 * hash) + getMeta().hashCode();
-      }
-      hash = (29 * hash) + getUnknownFields().hashCode();
-      memoizedHashCode = hash;
-      return hash;
-    }
-
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert parseFrom(
-        java.nio.ByteBuffer data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert parseFrom(
-        java.nio.ByteBuffer data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert parseFrom(
-        com.google.protobuf.ByteString data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert parseFrom(
-        com.google.protobuf.ByteString data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert parseFrom(byte[] data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert parseFrom(
-        byte[] data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert parseFrom(java.io.InputStream input)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert parseFrom(
-        java.io.InputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input, extensionRegistry);
-    }
-
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert parseDelimitedFrom(java.io.InputStream input)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseDelimitedWithIOException(PARSER, input);
-    }
-
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert parseDelimitedFrom(
-        java.io.InputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert parseFrom(
-        com.google.protobuf.CodedInputStream input)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert parseFrom(
-        com.google.protobuf.CodedInputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input, extensionRegistry);
-    }
-
-    @java.lang.Override
-    public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder() {
-      return DEFAULT_INSTANCE.toBuilder();
-    }
-    public static Builder newBuilder(com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert prototype) {
-      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
-    }
-    @java.lang.Override
-    public Builder toBuilder() {
-      return this == DEFAULT_INSTANCE
-          ? new Builder() : new Builder().mergeFrom(this);
-    }
-
-    @java.lang.Override
-    protected Builder newBuilderForType(
-        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
-      Builder builder = new Builder(parent);
-      return builder;
-    }
-    /**
-     * <pre>
-     * Define the payload structure for the critical alert
-     * </pre>
-     *
-     * Protobuf type {@code com.iotmining.services.notification.grpc.CriticalAlert}
-     */
-    public static final class Builder extends
-        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
-        // @@protoc_insertion_point(builder_implements:com.iotmining.services.notification.grpc.CriticalAlert)
-        com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlertOrBuilder {
-      public static final com.google.protobuf.Descriptors.Descriptor
-          getDescriptor() {
-        return com.iotmining.services.notification.grpc.CriticalAlertProto.internal_static_com_iotmining_services_notification_grpc_CriticalAlert_descriptor;
-      }
-
-      @java.lang.Override
-      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-          internalGetFieldAccessorTable() {
-        return com.iotmining.services.notification.grpc.CriticalAlertProto.internal_static_com_iotmining_services_notification_grpc_CriticalAlert_fieldAccessorTable
-            .ensureFieldAccessorsInitialized(
-                com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert.class, com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert.Builder.class);
-      }
-
-      // Construct using com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert.newBuilder()
-      private Builder() {
-        maybeForceBuilderInitialization();
-      }
-
-      private Builder(
-          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
-        super(parent);
-        maybeForceBuilderInitialization();
-      }
-      private void maybeForceBuilderInitialization() {
-        if (com.google.protobuf.GeneratedMessageV3
-                .alwaysUseFieldBuilders) {
-          getMetaFieldBuilder();
-        }
-      }
-      @java.lang.Override
-      public Builder clear() {
-        super.clear();
-        bitField0_ = 0;
-        userId_ = "";
-        type_ = "";
-        priority_ = "";
-        message_ = "";
-        timestamp_ = "";
-        channels_ =
-            com.google.protobuf.LazyStringArrayList.emptyList();
-        meta_ = null;
-        if (metaBuilder_ != null) {
-          metaBuilder_.dispose();
-          metaBuilder_ = null;
-        }
-        return this;
-      }
-
-      @java.lang.Override
-      public com.google.protobuf.Descriptors.Descriptor
-          getDescriptorForType() {
-        return com.iotmining.services.notification.grpc.CriticalAlertProto.internal_static_com_iotmining_services_notification_grpc_CriticalAlert_descriptor;
-      }
-
-      @java.lang.Override
-      public com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert getDefaultInstanceForType() {
-        return com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert.getDefaultInstance();
-      }
-
-      @java.lang.Override
-      public com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert build() {
-        com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert result = buildPartial();
-        if (!result.isInitialized()) {
-          throw newUninitializedMessageException(result);
-        }
-        return result;
-      }
-
-      @java.lang.Override
-      public com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert buildPartial() {
-        com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert result = new com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert(this);
-        if (bitField0_ != 0) { buildPartial0(result); }
-        onBuilt();
-        return result;
-      }
-
-      private void buildPartial0(com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert result) {
-        int from_bitField0_ = bitField0_;
-        if (((from_bitField0_ & 0x00000001) != 0)) {
-          result.userId_ = userId_;
-        }
-        if (((from_bitField0_ & 0x00000002) != 0)) {
-          result.type_ = type_;
-        }
-        if (((from_bitField0_ & 0x00000004) != 0)) {
-          result.priority_ = priority_;
-        }
-        if (((from_bitField0_ & 0x00000008) != 0)) {
-          result.message_ = message_;
-        }
-        if (((from_bitField0_ & 0x00000010) != 0)) {
-          result.timestamp_ = timestamp_;
-        }
-        if (((from_bitField0_ & 0x00000020) != 0)) {
-          channels_.makeImmutable();
-          result.channels_ = channels_;
-        }
-        int to_bitField0_ = 0;
-        if (((from_bitField0_ & 0x00000040) != 0)) {
-          result.meta_ = metaBuilder_ == null
-              ? meta_
-              : metaBuilder_.build();
-          to_bitField0_ |= 0x00000001;
-        }
-        result.bitField0_ |= to_bitField0_;
-      }
-
-      @java.lang.Override
-      public Builder clone() {
-        return super.clone();
-      }
-      @java.lang.Override
-      public Builder setField(
-          com.google.protobuf.Descriptors.FieldDescriptor field,
-          java.lang.Object value) {
-        return super.setField(field, value);
-      }
-      @java.lang.Override
-      public Builder clearField(
-          com.google.protobuf.Descriptors.FieldDescriptor field) {
-        return super.clearField(field);
-      }
-      @java.lang.Override
-      public Builder clearOneof(
-          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
-        return super.clearOneof(oneof);
-      }
-      @java.lang.Override
-      public Builder setRepeatedField(
-          com.google.protobuf.Descriptors.FieldDescriptor field,
-          int index, java.lang.Object value) {
-        return super.setRepeatedField(field, index, value);
-      }
-      @java.lang.Override
-      public Builder addRepeatedField(
-          com.google.protobuf.Descriptors.FieldDescriptor field,
-          java.lang.Object value) {
-        return super.addRepeatedField(field, value);
-      }
-      @java.lang.Override
-      public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert) {
-          return mergeFrom((com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert)other);
-        } else {
-          super.mergeFrom(other);
-          return this;
-        }
-      }
-
-      public Builder mergeFrom(com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert other) {
-        if (other == com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert.getDefaultInstance()) return this;
-        if (!other.getUserId().isEmpty()) {
-          userId_ = other.userId_;
-          bitField0_ |= 0x00000001;
-          onChanged();
-        }
-        if (!other.getType().isEmpty()) {
-          type_ = other.type_;
-          bitField0_ |= 0x00000002;
-          onChanged();
-        }
-        if (!other.getPriority().isEmpty()) {
-          priority_ = other.priority_;
-          bitField0_ |= 0x00000004;
-          onChanged();
-        }
-        if (!other.getMessage().isEmpty()) {
-          message_ = other.message_;
-          bitField0_ |= 0x00000008;
-          onChanged();
-        }
-        if (!other.getTimestamp().isEmpty()) {
-          timestamp_ = other.timestamp_;
-          bitField0_ |= 0x00000010;
-          onChanged();
-        }
-        if (!other.channels_.isEmpty()) {
-          if (channels_.isEmpty()) {
-            channels_ = other.channels_;
-            bitField0_ |= 0x00000020;
-          } else {
-            ensureChannelsIsMutable();
-            channels_.addAll(other.channels_);
-          }
-          onChanged();
-        }
-        if (other.hasMeta()) {
-          mergeMeta(other.getMeta());
-        }
-        this.mergeUnknownFields(other.getUnknownFields());
-        onChanged();
-        return this;
-      }
-
-      @java.lang.Override
-      public final boolean isInitialized() {
-        return true;
-      }
-
-      @java.lang.Override
-      public Builder mergeFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws java.io.IOException {
-        if (extensionRegistry == null) {
-          throw new java.lang.NullPointerException();
-        }
-        try {
-          boolean done = false;
-          while (!done) {
-            int tag = input.readTag();
-            switch (tag) {
-              case 0:
-                done = true;
-                break;
-              case 10: {
-                userId_ = input.readStringRequireUtf8();
-                bitField0_ |= 0x00000001;
-                break;
-              } // case 10
-              case 18: {
-                type_ = input.readStringRequireUtf8();
-                bitField0_ |= 0x00000002;
-                break;
-              } // case 18
-              case 26: {
-                priority_ = input.readStringRequireUtf8();
-                bitField0_ |= 0x00000004;
-                break;
-              } // case 26
-              case 34: {
-                message_ = input.readStringRequireUtf8();
-                bitField0_ |= 0x00000008;
-                break;
-              } // case 34
-              case 42: {
-                timestamp_ = input.readStringRequireUtf8();
-                bitField0_ |= 0x00000010;
-                break;
-              } // case 42
-              case 50: {
-                java.lang.String s = input.readStringRequireUtf8();
-                ensureChannelsIsMutable();
-                channels_.add(s);
-                break;
-              } // case 50
-              case 58: {
-                input.readMessage(
-                    getMetaFieldBuilder().getBuilder(),
-                    extensionRegistry);
-                bitField0_ |= 0x00000040;
-                break;
-              } // case 58
-              default: {
-                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
-                  done = true; // was an endgroup tag
-                }
-                break;
-              } // default:
-            } // switch (tag)
-          } // while (!done)
-        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          throw e.unwrapIOException();
-        } finally {
-          onChanged();
-        } // finally
-        return this;
-      }
-      private int bitField0_;
-
-      private java.lang.Object userId_ = "";
-      /**
-       * <code>string userId = 1;</code>
-       * @return The userId.
-       */
-      public java.lang.String getUserId() {
-        java.lang.Object ref = userId_;
-        if (!(ref instanceof java.lang.String)) {
-          com.google.protobuf.ByteString bs =
-              (com.google.protobuf.ByteString) ref;
-          java.lang.String s = bs.toStringUtf8();
-          userId_ = s;
-          return s;
-        } else {
-          return (java.lang.String) ref;
-        }
-      }
-      /**
-       * <code>string userId = 1;</code>
-       * @return The bytes for userId.
-       */
-      public com.google.protobuf.ByteString
-          getUserIdBytes() {
-        java.lang.Object ref = userId_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (java.lang.String) ref);
-          userId_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
-      }
-      /**
-       * <code>string userId = 1;</code>
-       * @param value The userId to set.
-       * @return This builder for chaining.
-       */
-      public Builder setUserId(
-          java.lang.String value) {
-        if (value == null) { throw new NullPointerException(); }
-        userId_ = value;
-        bitField0_ |= 0x00000001;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string userId = 1;</code>
-       * @return This builder for chaining.
-       */
-      public Builder clearUserId() {
-        userId_ = getDefaultInstance().getUserId();
-        bitField0_ = (bitField0_ & ~0x00000001);
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string userId = 1;</code>
-       * @param value The bytes for userId to set.
-       * @return This builder for chaining.
-       */
-      public Builder setUserIdBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) { throw new NullPointerException(); }
-        checkByteStringIsUtf8(value);
-        userId_ = value;
-        bitField0_ |= 0x00000001;
-        onChanged();
-        return this;
-      }
-
-      private java.lang.Object type_ = "";
-      /**
-       * <code>string type = 2;</code>
-       * @return The type.
-       */
-      public java.lang.String getType() {
-        java.lang.Object ref = type_;
-        if (!(ref instanceof java.lang.String)) {
-          com.google.protobuf.ByteString bs =
-              (com.google.protobuf.ByteString) ref;
-          java.lang.String s = bs.toStringUtf8();
-          type_ = s;
-          return s;
-        } else {
-          return (java.lang.String) ref;
-        }
-      }
-      /**
-       * <code>string type = 2;</code>
-       * @return The bytes for type.
-       */
-      public com.google.protobuf.ByteString
-          getTypeBytes() {
-        java.lang.Object ref = type_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (java.lang.String) ref);
-          type_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
-      }
-      /**
-       * <code>string type = 2;</code>
-       * @param value The type to set.
-       * @return This builder for chaining.
-       */
-      public Builder setType(
-          java.lang.String value) {
-        if (value == null) { throw new NullPointerException(); }
-        type_ = value;
-        bitField0_ |= 0x00000002;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string type = 2;</code>
-       * @return This builder for chaining.
-       */
-      public Builder clearType() {
-        type_ = getDefaultInstance().getType();
-        bitField0_ = (bitField0_ & ~0x00000002);
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string type = 2;</code>
-       * @param value The bytes for type to set.
-       * @return This builder for chaining.
-       */
-      public Builder setTypeBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) { throw new NullPointerException(); }
-        checkByteStringIsUtf8(value);
-        type_ = value;
-        bitField0_ |= 0x00000002;
-        onChanged();
-        return this;
-      }
-
-      private java.lang.Object priority_ = "";
-      /**
-       * <code>string priority = 3;</code>
-       * @return The priority.
-       */
-      public java.lang.String getPriority() {
-        java.lang.Object ref = priority_;
-        if (!(ref instanceof java.lang.String)) {
-          com.google.protobuf.ByteString bs =
-              (com.google.protobuf.ByteString) ref;
-          java.lang.String s = bs.toStringUtf8();
-          priority_ = s;
-          return s;
-        } else {
-          return (java.lang.String) ref;
-        }
-      }
-      /**
-       * <code>string priority = 3;</code>
-       * @return The bytes for priority.
-       */
-      public com.google.protobuf.ByteString
-          getPriorityBytes() {
-        java.lang.Object ref = priority_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (java.lang.String) ref);
-          priority_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
-      }
-      /**
-       * <code>string priority = 3;</code>
-       * @param value The priority to set.
-       * @return This builder for chaining.
-       */
-      public Builder setPriority(
-          java.lang.String value) {
-        if (value == null) { throw new NullPointerException(); }
-        priority_ = value;
-        bitField0_ |= 0x00000004;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string priority = 3;</code>
-       * @return This builder for chaining.
-       */
-      public Builder clearPriority() {
-        priority_ = getDefaultInstance().getPriority();
-        bitField0_ = (bitField0_ & ~0x00000004);
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string priority = 3;</code>
-       * @param value The bytes for priority to set.
-       * @return This builder for chaining.
-       */
-      public Builder setPriorityBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) { throw new NullPointerException(); }
-        checkByteStringIsUtf8(value);
-        priority_ = value;
-        bitField0_ |= 0x00000004;
-        onChanged();
-        return this;
-      }
-
-      private java.lang.Object message_ = "";
-      /**
-       * <code>string message = 4;</code>
-       * @return The message.
-       */
-      public java.lang.String getMessage() {
-        java.lang.Object ref = message_;
-        if (!(ref instanceof java.lang.String)) {
-          com.google.protobuf.ByteString bs =
-              (com.google.protobuf.ByteString) ref;
-          java.lang.String s = bs.toStringUtf8();
-          message_ = s;
-          return s;
-        } else {
-          return (java.lang.String) ref;
-        }
-      }
-      /**
-       * <code>string message = 4;</code>
-       * @return The bytes for message.
-       */
-      public com.google.protobuf.ByteString
-          getMessageBytes() {
-        java.lang.Object ref = message_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (java.lang.String) ref);
-          message_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
-      }
-      /**
-       * <code>string message = 4;</code>
-       * @param value The message to set.
-       * @return This builder for chaining.
-       */
-      public Builder setMessage(
-          java.lang.String value) {
-        if (value == null) { throw new NullPointerException(); }
-        message_ = value;
-        bitField0_ |= 0x00000008;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string message = 4;</code>
-       * @return This builder for chaining.
-       */
-      public Builder clearMessage() {
-        message_ = getDefaultInstance().getMessage();
-        bitField0_ = (bitField0_ & ~0x00000008);
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string message = 4;</code>
-       * @param value The bytes for message to set.
-       * @return This builder for chaining.
-       */
-      public Builder setMessageBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) { throw new NullPointerException(); }
-        checkByteStringIsUtf8(value);
-        message_ = value;
-        bitField0_ |= 0x00000008;
-        onChanged();
-        return this;
-      }
-
-      private java.lang.Object timestamp_ = "";
-      /**
-       * <code>string timestamp = 5;</code>
-       * @return The timestamp.
-       */
-      public java.lang.String getTimestamp() {
-        java.lang.Object ref = timestamp_;
-        if (!(ref instanceof java.lang.String)) {
-          com.google.protobuf.ByteString bs =
-              (com.google.protobuf.ByteString) ref;
-          java.lang.String s = bs.toStringUtf8();
-          timestamp_ = s;
-          return s;
-        } else {
-          return (java.lang.String) ref;
-        }
-      }
-      /**
-       * <code>string timestamp = 5;</code>
-       * @return The bytes for timestamp.
-       */
-      public com.google.protobuf.ByteString
-          getTimestampBytes() {
-        java.lang.Object ref = timestamp_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (java.lang.String) ref);
-          timestamp_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
-      }
-      /**
-       * <code>string timestamp = 5;</code>
-       * @param value The timestamp to set.
-       * @return This builder for chaining.
-       */
-      public Builder setTimestamp(
-          java.lang.String value) {
-        if (value == null) { throw new NullPointerException(); }
-        timestamp_ = value;
-        bitField0_ |= 0x00000010;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string timestamp = 5;</code>
-       * @return This builder for chaining.
-       */
-      public Builder clearTimestamp() {
-        timestamp_ = getDefaultInstance().getTimestamp();
-        bitField0_ = (bitField0_ & ~0x00000010);
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string timestamp = 5;</code>
-       * @param value The bytes for timestamp to set.
-       * @return This builder for chaining.
-       */
-      public Builder setTimestampBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) { throw new NullPointerException(); }
-        checkByteStringIsUtf8(value);
-        timestamp_ = value;
-        bitField0_ |= 0x00000010;
-        onChanged();
-        return this;
-      }
-
-      private com.google.protobuf.LazyStringArrayList channels_ =
-          com.google.protobuf.LazyStringArrayList.emptyList();
-      private void ensureChannelsIsMutable() {
-        if (!channels_.isModifiable()) {
-          channels_ = new com.google.protobuf.LazyStringArrayList(channels_);
-        }
-        bitField0_ |= 0x00000020;
-      }
-      /**
-       * <code>repeated string channels = 6;</code>
-       * @return A list containing the channels.
-       */
-      public com.google.protobuf.ProtocolStringList
-          getChannelsList() {
-        channels_.makeImmutable();
-        return channels_;
-      }
-      /**
-       * <code>repeated string channels = 6;</code>
-       * @return The count of channels.
-       */
-      public int getChannelsCount() {
-        return channels_.size();
-      }
-      /**
-       * <code>repeated string channels = 6;</code>
-       * @param index The index of the element to return.
-       * @return The channels at the given index.
-       */
-      public java.lang.String getChannels(int index) {
-        return channels_.get(index);
-      }
-      /**
-       * <code>repeated string channels = 6;</code>
-       * @param index The index of the value to return.
-       * @return The bytes of the channels at the given index.
-       */
-      public com.google.protobuf.ByteString
-          getChannelsBytes(int index) {
-        return channels_.getByteString(index);
-      }
-      /**
-       * <code>repeated string channels = 6;</code>
-       * @param index The index to set the value at.
-       * @param value The channels to set.
-       * @return This builder for chaining.
-       */
-      public Builder setChannels(
-          int index, java.lang.String value) {
-        if (value == null) { throw new NullPointerException(); }
-        ensureChannelsIsMutable();
-        channels_.set(index, value);
-        bitField0_ |= 0x00000020;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>repeated string channels = 6;</code>
-       * @param value The channels to add.
-       * @return This builder for chaining.
-       */
-      public Builder addChannels(
-          java.lang.String value) {
-        if (value == null) { throw new NullPointerException(); }
-        ensureChannelsIsMutable();
-        channels_.add(value);
-        bitField0_ |= 0x00000020;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>repeated string channels = 6;</code>
-       * @param values The channels to add.
-       * @return This builder for chaining.
-       */
-      public Builder addAllChannels(
-          java.lang.Iterable<java.lang.String> values) {
-        ensureChannelsIsMutable();
-        com.google.protobuf.AbstractMessageLite.Builder.addAll(
-            values, channels_);
-        bitField0_ |= 0x00000020;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>repeated string channels = 6;</code>
-       * @return This builder for chaining.
-       */
-      public Builder clearChannels() {
-        channels_ =
-          com.google.protobuf.LazyStringArrayList.emptyList();
-        bitField0_ = (bitField0_ & ~0x00000020);;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>repeated string channels = 6;</code>
-       * @param value The bytes of the channels to add.
-       * @return This builder for chaining.
-       */
-      public Builder addChannelsBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) { throw new NullPointerException(); }
-        checkByteStringIsUtf8(value);
-        ensureChannelsIsMutable();
-        channels_.add(value);
-        bitField0_ |= 0x00000020;
-        onChanged();
-        return this;
-      }
-
-      private com.iotmining.services.notification.grpc.CriticalAlertProto.Meta meta_;
-      private com.google.protobuf.SingleFieldBuilderV3<
-          com.iotmining.services.notification.grpc.CriticalAlertProto.Meta, com.iotmining.services.notification.grpc.CriticalAlertProto.Meta.Builder, com.iotmining.services.notification.grpc.CriticalAlertProto.MetaOrBuilder> metaBuilder_;
-      /**
-       * <code>.com.iotmining.services.notification.grpc.Meta meta = 7;</code>
-       * @return Whether the meta field is set.
-       */
-      public boolean hasMeta() {
-        return ((bitField0_ & 0x00000040) != 0);
-      }
-      /**
-       * <code>.com.iotmining.services.notification.grpc.Meta meta = 7;</code>
-       * @return The meta.
-       */
-      public com.iotmining.services.notification.grpc.CriticalAlertProto.Meta getMeta() {
-        if (metaBuilder_ == null) {
-          return meta_ == null ? com.iotmining.services.notification.grpc.CriticalAlertProto.Meta.getDefaultInstance() : meta_;
-        } else {
-          return metaBuilder_.getMessage();
-        }
-      }
-      /**
-       * <code>.com.iotmining.services.notification.grpc.Meta meta = 7;</code>
-       */
-      public Builder setMeta(com.iotmining.services.notification.grpc.CriticalAlertProto.Meta value) {
-        if (metaBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          meta_ = value;
-        } else {
-          metaBuilder_.setMessage(value);
-        }
-        bitField0_ |= 0x00000040;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>.com.iotmining.services.notification.grpc.Meta meta = 7;</code>
-       */
-      public Builder setMeta(
-          com.iotmining.services.notification.grpc.CriticalAlertProto.Meta.Builder builderForValue) {
-        if (metaBuilder_ == null) {
-          meta_ = builderForValue.build();
-        } else {
-          metaBuilder_.setMessage(builderForValue.build());
-        }
-        bitField0_ |= 0x00000040;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>.com.iotmining.services.notification.grpc.Meta meta = 7;</code>
-       */
-      public Builder mergeMeta(com.iotmining.services.notification.grpc.CriticalAlertProto.Meta value) {
-        if (metaBuilder_ == null) {
-          if (((bitField0_ & 0x00000040) != 0) &&
-            meta_ != null &&
-            meta_ != com.iotmining.services.notification.grpc.CriticalAlertProto.Meta.getDefaultInstance()) {
-            getMetaBuilder().mergeFrom(value);
-          } else {
-            meta_ = value;
-          }
-        } else {
-          metaBuilder_.mergeFrom(value);
-        }
-        if (meta_ != null) {
-          bitField0_ |= 0x00000040;
-          onChanged();
-        }
-        return this;
-      }
-      /**
-       * <code>.com.iotmining.services.notification.grpc.Meta meta = 7;</code>
-       */
-      public Builder clearMeta() {
-        bitField0_ = (bitField0_ & ~0x00000040);
-        meta_ = null;
-        if (metaBuilder_ != null) {
-          metaBuilder_.dispose();
-          metaBuilder_ = null;
-        }
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>.com.iotmining.services.notification.grpc.Meta meta = 7;</code>
-       */
-      public com.iotmining.services.notification.grpc.CriticalAlertProto.Meta.Builder getMetaBuilder() {
-        bitField0_ |= 0x00000040;
-        onChanged();
-        return getMetaFieldBuilder().getBuilder();
-      }
-      /**
-       * <code>.com.iotmining.services.notification.grpc.Meta meta = 7;</code>
-       */
-      public com.iotmining.services.notification.grpc.CriticalAlertProto.MetaOrBuilder getMetaOrBuilder() {
-        if (metaBuilder_ != null) {
-          return metaBuilder_.getMessageOrBuilder();
-        } else {
-          return meta_ == null ?
-              com.iotmining.services.notification.grpc.CriticalAlertProto.Meta.getDefaultInstance() : meta_;
-        }
-      }
-      /**
-       * <code>.com.iotmining.services.notification.grpc.Meta meta = 7;</code>
-       */
-      private com.google.protobuf.SingleFieldBuilderV3<
-          com.iotmining.services.notification.grpc.CriticalAlertProto.Meta, com.iotmining.services.notification.grpc.CriticalAlertProto.Meta.Builder, com.iotmining.services.notification.grpc.CriticalAlertProto.MetaOrBuilder> 
-          getMetaFieldBuilder() {
-        if (metaBuilder_ == null) {
-          metaBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
-              com.iotmining.services.notification.grpc.CriticalAlertProto.Meta, com.iotmining.services.notification.grpc.CriticalAlertProto.Meta.Builder, com.iotmining.services.notification.grpc.CriticalAlertProto.MetaOrBuilder>(
-                  getMeta(),
-                  getParentForChildren(),
-                  isClean());
-          meta_ = null;
-        }
-        return metaBuilder_;
-      }
-      @java.lang.Override
-      public final Builder setUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.setUnknownFields(unknownFields);
-      }
-
-      @java.lang.Override
-      public final Builder mergeUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.mergeUnknownFields(unknownFields);
-      }
-
-
-      // @@protoc_insertion_point(builder_scope:com.iotmining.services.notification.grpc.CriticalAlert)
-    }
-
-    // @@protoc_insertion_point(class_scope:com.iotmining.services.notification.grpc.CriticalAlert)
-    private static final com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert DEFAULT_INSTANCE;
-    static {
-      DEFAULT_INSTANCE = new com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert();
-    }
-
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert getDefaultInstance() {
-      return DEFAULT_INSTANCE;
-    }
-
-    private static final com.google.protobuf.Parser<CriticalAlert>
-        PARSER = new com.google.protobuf.AbstractParser<CriticalAlert>() {
-      @java.lang.Override
-      public CriticalAlert parsePartialFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws com.google.protobuf.InvalidProtocolBufferException {
-        Builder builder = newBuilder();
-        try {
-          builder.mergeFrom(input, extensionRegistry);
-        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          throw e.setUnfinishedMessage(builder.buildPartial());
-        } catch (com.google.protobuf.UninitializedMessageException e) {
-          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
-        } catch (java.io.IOException e) {
-          throw new com.google.protobuf.InvalidProtocolBufferException(e)
-              .setUnfinishedMessage(builder.buildPartial());
-        }
-        return builder.buildPartial();
-      }
-    };
-
-    public static com.google.protobuf.Parser<CriticalAlert> parser() {
-      return PARSER;
-    }
-
-    @java.lang.Override
-    public com.google.protobuf.Parser<CriticalAlert> getParserForType() {
-      return PARSER;
-    }
-
-    @java.lang.Override
-    public com.iotmining.services.notification.grpc.CriticalAlertProto.CriticalAlert getDefaultInstanceForType() {
-      return DEFAULT_INSTANCE;
-    }
-
-  }
-
-  public interface AlertResponseOrBuilder extends
-      // @@protoc_insertion_point(interface_extends:com.iotmining.services.notification.grpc.AlertResponse)
-      com.google.protobuf.MessageOrBuilder {
-
-    /**
-     * <code>string status = 1;</code>
-     * @return The status.
-     */
-    java.lang.String getStatus();
-    /**
-     * <code>string status = 1;</code>
-     * @return The bytes for status.
-     */
-    com.google.protobuf.ByteString
-        getStatusBytes();
-  }
-  /**
-   * Protobuf type {@code com.iotmining.services.notification.grpc.AlertResponse}
-   */
-  public static final class AlertResponse extends
-      com.google.protobuf.GeneratedMessageV3 implements
-      // @@protoc_insertion_point(message_implements:com.iotmining.services.notification.grpc.AlertResponse)
-      AlertResponseOrBuilder {
-  private static final long serialVersionUID = 0L;
-    // Use AlertResponse.newBuilder() to construct.
-    private AlertResponse(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
-      super(builder);
-    }
-    private AlertResponse() {
-      status_ = "";
-    }
-
-    @java.lang.Override
-    @SuppressWarnings({"unused"})
-    protected java.lang.Object newInstance(
-        UnusedPrivateParameter unused) {
-      return new AlertResponse();
-    }
-
-    public static final com.google.protobuf.Descriptors.Descriptor
-        getDescriptor() {
-      return com.iotmining.services.notification.grpc.CriticalAlertProto.internal_static_com_iotmining_services_notification_grpc_AlertResponse_descriptor;
-    }
-
-    @java.lang.Override
-    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-        internalGetFieldAccessorTable() {
-      return com.iotmining.services.notification.grpc.CriticalAlertProto.internal_static_com_iotmining_services_notification_grpc_AlertResponse_fieldAccessorTable
-          .ensureFieldAccessorsInitialized(
-              com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse.class, com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse.Builder.class);
-    }
-
-    public static final int STATUS_FIELD_NUMBER = 1;
-    @SuppressWarnings("serial")
-    private volatile java.lang.Object status_ = "";
-    /**
-     * <code>string status = 1;</code>
-     * @return The status.
-     */
-    @java.lang.Override
-    public java.lang.String getStatus() {
-      java.lang.Object ref = status_;
-      if (ref instanceof java.lang.String) {
-        return (java.lang.String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        java.lang.String s = bs.toStringUtf8();
-        status_ = s;
-        return s;
-      }
-    }
-    /**
-     * <code>string status = 1;</code>
-     * @return The bytes for status.
-     */
-    @java.lang.Override
-    public com.google.protobuf.ByteString
-        getStatusBytes() {
-      java.lang.Object ref = status_;
-      if (ref instanceof java.lang.String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8(
-                (java.lang.String) ref);
-        status_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
-    }
-
-    private byte memoizedIsInitialized = -1;
-    @java.lang.Override
-    public final boolean isInitialized() {
-      byte isInitialized = memoizedIsInitialized;
-      if (isInitialized == 1) return true;
-      if (isInitialized == 0) return false;
-
-      memoizedIsInitialized = 1;
-      return true;
-    }
-
-    @java.lang.Override
-    public void writeTo(com.google.protobuf.CodedOutputStream output)
-                        throws java.io.IOException {
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(status_)) {
-        com.google.protobuf.GeneratedMessageV3.writeString(output, 1, status_);
-      }
-      getUnknownFields().writeTo(output);
-    }
-
-    @java.lang.Override
-    public int getSerializedSize() {
-      int size = memoizedSize;
-      if (size != -1) return size;
-
-      size = 0;
-      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(status_)) {
-        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, status_);
-      }
-      size += getUnknownFields().getSerializedSize();
-      memoizedSize = size;
-      return size;
-    }
-
-    @java.lang.Override
-    public boolean equals(final java.lang.Object obj) {
-      if (obj == this) {
-       return true;
-      }
-      if (!(obj instanceof com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse)) {
-        return super.equals(obj);
-      }
-      com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse other = (com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse) obj;
-
-      if (!getStatus()
-          .equals(other.getStatus())) return false;
-      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
-      return true;
-    }
-
-    @java.lang.Override
-    public int hashCode() {
-      if (memoizedHashCode != 0) {
-        return memoizedHashCode;
-      }
-      int hash = 41;
-      hash = (19 * hash) + getDescriptor().hashCode();
-      hash = (37 * hash) + STATUS_FIELD_NUMBER;
-      hash = (53 * hash) + getStatus().hashCode();
-      hash = (29 * hash) + getUnknownFields().hashCode();
-      memoizedHashCode = hash;
-      return hash;
-    }
-
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse parseFrom(
-        java.nio.ByteBuffer data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse parseFrom(
-        java.nio.ByteBuffer data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse parseFrom(
-        com.google.protobuf.ByteString data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse parseFrom(
-        com.google.protobuf.ByteString data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse parseFrom(byte[] data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse parseFrom(
-        byte[] data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse parseFrom(java.io.InputStream input)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse parseFrom(
-        java.io.InputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input, extensionRegistry);
-    }
-
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse parseDelimitedFrom(java.io.InputStream input)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseDelimitedWithIOException(PARSER, input);
-    }
-
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse parseDelimitedFrom(
-        java.io.InputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse parseFrom(
-        com.google.protobuf.CodedInputStream input)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input);
-    }
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse parseFrom(
-        com.google.protobuf.CodedInputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input, extensionRegistry);
-    }
-
-    @java.lang.Override
-    public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder() {
-      return DEFAULT_INSTANCE.toBuilder();
-    }
-    public static Builder newBuilder(com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse prototype) {
-      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
-    }
-    @java.lang.Override
-    public Builder toBuilder() {
-      return this == DEFAULT_INSTANCE
-          ? new Builder() : new Builder().mergeFrom(this);
-    }
-
-    @java.lang.Override
-    protected Builder newBuilderForType(
-        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
-      Builder builder = new Builder(parent);
-      return builder;
-    }
-    /**
-     * Protobuf type {@code com.iotmining.services.notification.grpc.AlertResponse}
-     */
-    public static final class Builder extends
-        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
-        // @@protoc_insertion_point(builder_implements:com.iotmining.services.notification.grpc.AlertResponse)
-        com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponseOrBuilder {
-      public static final com.google.protobuf.Descriptors.Descriptor
-          getDescriptor() {
-        return com.iotmining.services.notification.grpc.CriticalAlertProto.internal_static_com_iotmining_services_notification_grpc_AlertResponse_descriptor;
-      }
-
-      @java.lang.Override
-      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-          internalGetFieldAccessorTable() {
-        return com.iotmining.services.notification.grpc.CriticalAlertProto.internal_static_com_iotmining_services_notification_grpc_AlertResponse_fieldAccessorTable
-            .ensureFieldAccessorsInitialized(
-                com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse.class, com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse.Builder.class);
-      }
-
-      // Construct using com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse.newBuilder()
-      private Builder() {
-
-      }
-
-      private Builder(
-          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
-        super(parent);
-
-      }
-      @java.lang.Override
-      public Builder clear() {
-        super.clear();
-        bitField0_ = 0;
-        status_ = "";
-        return this;
-      }
-
-      @java.lang.Override
-      public com.google.protobuf.Descriptors.Descriptor
-          getDescriptorForType() {
-        return com.iotmining.services.notification.grpc.CriticalAlertProto.internal_static_com_iotmining_services_notification_grpc_AlertResponse_descriptor;
-      }
-
-      @java.lang.Override
-      public com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse getDefaultInstanceForType() {
-        return com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse.getDefaultInstance();
-      }
-
-      @java.lang.Override
-      public com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse build() {
-        com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse result = buildPartial();
-        if (!result.isInitialized()) {
-          throw newUninitializedMessageException(result);
-        }
-        return result;
-      }
-
-      @java.lang.Override
-      public com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse buildPartial() {
-        com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse result = new com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse(this);
-        if (bitField0_ != 0) { buildPartial0(result); }
-        onBuilt();
-        return result;
-      }
-
-      private void buildPartial0(com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse result) {
-        int from_bitField0_ = bitField0_;
-        if (((from_bitField0_ & 0x00000001) != 0)) {
-          result.status_ = status_;
-        }
-      }
-
-      @java.lang.Override
-      public Builder clone() {
-        return super.clone();
-      }
-      @java.lang.Override
-      public Builder setField(
-          com.google.protobuf.Descriptors.FieldDescriptor field,
-          java.lang.Object value) {
-        return super.setField(field, value);
-      }
-      @java.lang.Override
-      public Builder clearField(
-          com.google.protobuf.Descriptors.FieldDescriptor field) {
-        return super.clearField(field);
-      }
-      @java.lang.Override
-      public Builder clearOneof(
-          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
-        return super.clearOneof(oneof);
-      }
-      @java.lang.Override
-      public Builder setRepeatedField(
-          com.google.protobuf.Descriptors.FieldDescriptor field,
-          int index, java.lang.Object value) {
-        return super.setRepeatedField(field, index, value);
-      }
-      @java.lang.Override
-      public Builder addRepeatedField(
-          com.google.protobuf.Descriptors.FieldDescriptor field,
-          java.lang.Object value) {
-        return super.addRepeatedField(field, value);
-      }
-      @java.lang.Override
-      public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse) {
-          return mergeFrom((com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse)other);
-        } else {
-          super.mergeFrom(other);
-          return this;
-        }
-      }
-
-      public Builder mergeFrom(com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse other) {
-        if (other == com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse.getDefaultInstance()) return this;
-        if (!other.getStatus().isEmpty()) {
-          status_ = other.status_;
-          bitField0_ |= 0x00000001;
-          onChanged();
-        }
-        this.mergeUnknownFields(other.getUnknownFields());
-        onChanged();
-        return this;
-      }
-
-      @java.lang.Override
-      public final boolean isInitialized() {
-        return true;
-      }
-
-      @java.lang.Override
-      public Builder mergeFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws java.io.IOException {
-        if (extensionRegistry == null) {
-          throw new java.lang.NullPointerException();
-        }
-        try {
-          boolean done = false;
-          while (!done) {
-            int tag = input.readTag();
-            switch (tag) {
-              case 0:
-                done = true;
-                break;
-              case 10: {
-                status_ = input.readStringRequireUtf8();
-                bitField0_ |= 0x00000001;
-                break;
-              } // case 10
-              default: {
-                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
-                  done = true; // was an endgroup tag
-                }
-                break;
-              } // default:
-            } // switch (tag)
-          } // while (!done)
-        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          throw e.unwrapIOException();
-        } finally {
-          onChanged();
-        } // finally
-        return this;
-      }
-      private int bitField0_;
-
-      private java.lang.Object status_ = "";
-      /**
-       * <code>string status = 1;</code>
-       * @return The status.
-       */
-      public java.lang.String getStatus() {
-        java.lang.Object ref = status_;
-        if (!(ref instanceof java.lang.String)) {
-          com.google.protobuf.ByteString bs =
-              (com.google.protobuf.ByteString) ref;
-          java.lang.String s = bs.toStringUtf8();
-          status_ = s;
-          return s;
-        } else {
-          return (java.lang.String) ref;
-        }
-      }
-      /**
-       * <code>string status = 1;</code>
-       * @return The bytes for status.
-       */
-      public com.google.protobuf.ByteString
-          getStatusBytes() {
-        java.lang.Object ref = status_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (java.lang.String) ref);
-          status_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
-      }
-      /**
-       * <code>string status = 1;</code>
-       * @param value The status to set.
-       * @return This builder for chaining.
-       */
-      public Builder setStatus(
-          java.lang.String value) {
-        if (value == null) { throw new NullPointerException(); }
-        status_ = value;
-        bitField0_ |= 0x00000001;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string status = 1;</code>
-       * @return This builder for chaining.
-       */
-      public Builder clearStatus() {
-        status_ = getDefaultInstance().getStatus();
-        bitField0_ = (bitField0_ & ~0x00000001);
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>string status = 1;</code>
-       * @param value The bytes for status to set.
-       * @return This builder for chaining.
-       */
-      public Builder setStatusBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) { throw new NullPointerException(); }
-        checkByteStringIsUtf8(value);
-        status_ = value;
-        bitField0_ |= 0x00000001;
-        onChanged();
-        return this;
-      }
-      @java.lang.Override
-      public final Builder setUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.setUnknownFields(unknownFields);
-      }
-
-      @java.lang.Override
-      public final Builder mergeUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.mergeUnknownFields(unknownFields);
-      }
-
-
-      // @@protoc_insertion_point(builder_scope:com.iotmining.services.notification.grpc.AlertResponse)
-    }
-
-    // @@protoc_insertion_point(class_scope:com.iotmining.services.notification.grpc.AlertResponse)
-    private static final com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse DEFAULT_INSTANCE;
-    static {
-      DEFAULT_INSTANCE = new com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse();
-    }
-
-    public static com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse getDefaultInstance() {
-      return DEFAULT_INSTANCE;
-    }
-
-    private static final com.google.protobuf.Parser<AlertResponse>
-        PARSER = new com.google.protobuf.AbstractParser<AlertResponse>() {
-      @java.lang.Override
-      public AlertResponse parsePartialFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws com.google.protobuf.InvalidProtocolBufferException {
-        Builder builder = newBuilder();
-        try {
-          builder.mergeFrom(input, extensionRegistry);
-        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          throw e.setUnfinishedMessage(builder.buildPartial());
-        } catch (com.google.protobuf.UninitializedMessageException e) {
-          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
-        } catch (java.io.IOException e) {
-          throw new com.google.protobuf.InvalidProtocolBufferException(e)
-              .setUnfinishedMessage(builder.buildPartial());
-        }
-        return builder.buildPartial();
-      }
-    };
-
-    public static com.google.protobuf.Parser<AlertResponse> parser() {
-      return PARSER;
-    }
-
-    @java.lang.Override
-    public com.google.protobuf.Parser<AlertResponse> getParserForType() {
-      return PARSER;
-    }
-
-    @java.lang.Override
-    public com.iotmining.services.notification.grpc.CriticalAlertProto.AlertResponse getDefaultInstanceForType() {
-      return DEFAULT_INSTANCE;
-    }
-
-  }
-
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_com_iotmining_services_notification_grpc_Meta_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_com_iotmining_services_notification_grpc_Meta_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_com_iotmining_services_notification_grpc_CriticalAlert_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_com_iotmining_services_notification_grpc_CriticalAlert_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_com_iotmining_services_notification_grpc_AlertResponse_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_com_iotmining_services_notification_grpc_AlertResponse_fieldAccessorTable;
-
-  public static com.google.protobuf.Descriptors.FileDescriptor
-      getDescriptor() {
-    return descriptor;
-  }
-  private static  com.google.protobuf.Descriptors.FileDescriptor
-      descriptor;
-  static {
-    java.lang.String[] descriptorData = {
-      "\n\'src/main/proto/vms_alert_critical.prot" +
-      "o\022(com.iotmining.services.notification.g" +
-      "rpc\"6\n\004Meta\022\020\n\010fcmToken\030\001 \001(\t\022\r\n\005email\030\002" +
-      " \001(\t\022\r\n\005phone\030\003 \001(\t\"\263\001\n\rCriticalAlert\022\016\n" +
-      "\006userId\030\001 \001(\t\022\014\n\004type\030\002 \001(\t\022\020\n\010priority\030" +
-      "\003 \001(\t\022\017\n\007message\030\004 \001(\t\022\021\n\ttimestamp\030\005 \001(" +
-      "\t\022\020\n\010channels\030\006 \003(\t\022<\n\004meta\030\007 \001(\0132..com." +
-      "iotmining.services.notification.grpc.Met" +
-      "a\"\037\n\rAlertResponse\022\016\n\006status\030\001 \001(\t2\236\001\n\024C" +
-      "riticalAlertService\022\205\001\n\021sendCriticalAler" +
-      "t\0227.com.iotmining.services.notification." +
-      "grpc.CriticalAlert\0327.com.iotmining.servi" +
-      "ces.notification.grpc.AlertResponseB>\n(c" +
-      "om.iotmining.services.notification.grpcB" +
-      "\022CriticalAlertProtob\006proto3"
-    };
-    descriptor = com.google.protobuf.Descriptors.FileDescriptor
-      .internalBuildGeneratedFileFrom(descriptorData,
-        new com.google.protobuf.Descriptors.FileDescriptor[] {
-        });
-    internal_static_com_iotmining_services_notification_grpc_Meta_descriptor =
-      getDescriptor().getMessageTypes().get(0);
-    internal_static_com_iotmining_services_notification_grpc_Meta_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
-        internal_static_com_iotmining_services_notification_grpc_Meta_descriptor,
-        new java.lang.String[] { "FcmToken", "Email", "Phone", });
-    internal_static_com_iotmining_services_notification_grpc_CriticalAlert_descriptor =
-      getDescriptor().getMessageTypes().get(1);
-    internal_static_com_iotmining_services_notification_grpc_CriticalAlert_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
-        internal_static_com_iotmining_services_notification_grpc_CriticalAlert_descriptor,
-        new java.lang.String[] { "UserId", "Type", "Priority", "Message", "Timestamp", "Channels", "Meta", });
-    internal_static_com_iotmining_services_notification_grpc_AlertResponse_descriptor =
-      getDescriptor().getMessageTypes().get(2);
-    internal_static_com_iotmining_services_notification_grpc_AlertResponse_fieldAccessorTable = new
-      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
-        internal_static_com_iotmining_services_notification_grpc_AlertResponse_descriptor,
-        new java.lang.String[] { "Status", });
-  }
-
-  // @@protoc_insertion_point(outer_class_scope)
-}
@@ -1,48 +1,185 @@
-//package com.iotmining.services.notification.grpc;
-//
-//import com.iotmining.services.notification.grpc.CriticalAlertProto;
-//import com.iotmining.services.notification.services.processor.NotificationProcessor;
-//import io.grpc.stub.StreamObserver;
-//import org.springframework.stereotype.Service;
-//
-//@Service
-//public class CriticalAlertServiceImpl extends CriticalAlertServiceGrpc.CriticalAlertServiceImplBase {
-//
-//    private final NotificationProcessor notificationProcessor;
-//
-//    // Constructor to inject dependencies
-//    public CriticalAlertServiceImpl(NotificationProcessor notificationProcessor) {
-//        this.notificationProcessor = notificationProcessor;
-//    }
-//
-//    @Override
-//    public void sendCriticalAlert(CriticalAlertProto.CriticalAlert request, StreamObserver<CriticalAlertProto.AlertResponse> responseObserver) {
-//        try {
-//            // Extract the data from the request
-//            String userId = request.getUserId();
-//            String message = request.getMessage();
-//            String priority = request.getPriority();
-//            String timestamp = request.getTimestamp();
-//            // Here you can add logic to send notifications (SMS, Email, etc.)
-//            notificationProcessor.processCriticalAlert(userId, message, priority, timestamp, request.getChannelsList(), request.getMetaMap());
-//
-//            // Create a successful response
-//            CriticalAlertProto.AlertResponse response = CriticalAlertProto.AlertResponse.newBuilder()
-//                    .setStatus("Success")
-//                    .setDetails("Critical alert sent successfully")
-//                    .build();
-//
-//            // Send the response back to the client
-//            responseObserver.onNext(response);
-//            responseObserver.onCompleted();
-//        } catch (Exception e) {
-//            // Handle error and send a failure response
-//            CriticalAlertProto.AlertResponse response = CriticalAlertProto.AlertResponse.newBuilder()
-//                    .setStatus("Failure")
-//                    .setDetails("Failed to send critical alert: " + e.getMessage())
-//                    .build();
-//            responseObserver.onNext(response);
-//            responseObserver.onCompleted();
-//        }
-//    }
-//}
+package com.iotmining.services.notification.grpc;
+
+import com.iotmining.services.notification.dto.BatchItemResult;
+import com.iotmining.services.notification.dto.MultiChannelNotificationResponse;
+import com.iotmining.services.notification.enums.DispatchLane;
+import com.iotmining.services.notification.services.dispatcher.BoundNotification;
+import com.iotmining.services.notification.services.dispatcher.NotificationDispatcher;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * gRPC entry point for inter-service critical alerts.
+ * <p>
+ * The call is fully asynchronous: the alert is mapped, handed to the CRITICAL dispatch lane and the call returns
+ * straight away; the response is sent from whichever thread completes the delivery. No gRPC or Netty thread waits
+ * for a channel to deliver.
+ * <p>
+ * Invalid alerts fail with {@code INVALID_ARGUMENT}. Otherwise the response's status is {@code Success} when every
+ * channel delivered, {@code Partial} when some did and {@code Failure} when none did (including a full CRITICAL lane),
+ * with the per-channel outcome in {@code details}.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "grpc.server.enabled", havingValue = "true", matchIfMissing = true)
+public class CriticalAlertServiceImpl extends CriticalAlertServiceGrpc.CriticalAlertServiceImplBase {
+
+    private final NotificationDispatcher dispatcher;
+    private final CriticalAlertMapper mapper;
+    private final int streamWindow;
+    private final int maxBatchSize;
+
+    public CriticalAlertServiceImpl(NotificationDispatcher dispatcher,
+                                    CriticalAlertMapper mapper,
+                                    @Value("${grpc.critical-alert.stream-window:256}") int streamWindow,
+                                    @Value("${grpc.critical-alert.max-batch-size:500}") int maxBatchSize) {
+        this.dispatcher = dispatcher;
+        this.mapper = mapper;
+        this.streamWindow = Math.max(1, streamWindow);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public void sendCriticalAlert(CriticalAlertProto.CriticalAlert request,
+                                  StreamObserver<CriticalAlertProto.AlertResponse> responseObserver) {
+        List<BoundNotification> targets;
+        try {
+            targets = mapper.toNotifications(request);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected critical alert for user {}: {}", request.getUserId(), e.getMessage());
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+
+        CompletableFuture<MultiChannelNotificationResponse> outcome;
+        try {
+            outcome = dispatcher.dispatchFanOutAsync(targets, DispatchLane.CRITICAL);
+        } catch (RuntimeException e) {
+            log.error("Failed to dispatch critical alert for user {}: {}", request.getUserId(), e.getMessage());
+            responseObserver.onError(Status.INTERNAL.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+        outcome.whenComplete((result, error) -> {
+            if (responseObserver instanceof ServerCallStreamObserver<?> call && call.isCancelled()) {
+                log.debug("Client cancelled critical alert call for Correlation-ID {}", targets.get(0).wrapper().getCorrelationId());
+                return;
+            }
+            if (error != null) {
+                responseObserver.onError(Status.INTERNAL.withDescription(error.getMessage()).asRuntimeException());
+                return;
+            }
+            responseObserver.onNext(toResponse(result));
+            responseObserver.onCompleted();
+        });
+    }
+
+    /**
+     * Bulk variant for long-lived clients such as edge gateways: alerts are streamed in and acked one by one.
+     * At most {@code grpc.critical-alert.stream-window} alerts per stream are in delivery at once; see
+     * {@link CriticalAlertStream} for the flow control.
+     */
+    @Override
+    public StreamObserver<CriticalAlertProto.CriticalAlert> streamCriticalAlerts(
+            StreamObserver<CriticalAlertProto.AlertResponse> responseObserver) {
+        return new CriticalAlertStream((ServerCallStreamObserver<CriticalAlertProto.AlertResponse>) responseObserver,
+                dispatcher, mapper, streamWindow);
+    }
+
+    /**
+     * Unary batch variant for clients that cannot stream. The channels of every alert go through the same bulk path
+     * as the HTTP batch endpoint (rate-limit tokens taken once per user, deliveries queued grouped by handler) on the
+     * CRITICAL lane, and the call completes once every alert has an outcome. {@code results[i]} answers
+     * {@code alerts[i]}; an invalid alert only fails its own result. Batches larger than
+     * {@code grpc.critical-alert.max-batch-size} fail with {@code INVALID_ARGUMENT}.
+     */
+    @Override
+    public void sendCriticalAlerts(CriticalAlertProto.CriticalAlertBatch request,
+                                   StreamObserver<CriticalAlertProto.CriticalAlertBatchResponse> responseObserver) {
+        int size = request.getAlertsCount();
+        if (size > maxBatchSize) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Batch of " + size + " alerts exceeds the limit of " + maxBatchSize)
+                    .asRuntimeException());
+            return;
+        }
+
+        // Flatten every alert's channels into one bulk dispatch, remembering which alert each channel belongs to
+        CriticalAlertProto.AlertResponse[] invalid = new CriticalAlertProto.AlertResponse[size];
+        List<BoundNotification> channels = new ArrayList<>();
+        int[] firstChannel = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            firstChannel[i] = channels.size();
+            CriticalAlertProto.CriticalAlert alert = request.getAlerts(i);
+            try {
+                channels.addAll(mapper.toNotifications(alert));
+            } catch (IllegalArgumentException e) {
+                log.warn("Rejected batched critical alert {} for user {}: {}", i, alert.getUserId(), e.getMessage());
+                invalid[i] = CriticalAlertProto.AlertResponse.newBuilder()
+                        .setStatus("Failure")
+                        .setDetails(e.getMessage())
+                        .setCorrelationId(alert.getCorrelationId())
+                        .build();
+            }
+        }
+        firstChannel[size] = channels.size();
+
+        CompletableFuture<List<BatchItemResult>> outcome = channels.isEmpty()
+                ? CompletableFuture.completedFuture(List.of())
+                : dispatcher.dispatchBatchAsync(channels, DispatchLane.CRITICAL);
+        outcome.whenComplete((results, error) -> {
+            if (responseObserver instanceof ServerCallStreamObserver<?> call && call.isCancelled()) {
+                return;
+            }
+            if (error != null) {
+                responseObserver.onError(Status.INTERNAL.withDescription(error.getMessage()).asRuntimeException());
+                return;
+            }
+            CriticalAlertProto.CriticalAlertBatchResponse.Builder response = CriticalAlertProto.CriticalAlertBatchResponse.newBuilder();
+            for (int i = 0; i < size; i++) {
+                response.addResults(invalid[i] != null
+                        ? invalid[i]
+                        : toResponse(results.subList(firstChannel[i], firstChannel[i + 1])));
+            }
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        });
+    }
+
+    /**
+     * Summarizes the per-channel batch results of one alert.
+     */
+    static CriticalAlertProto.AlertResponse toResponse(List<BatchItemResult> channels) {
+        long delivered = channels.stream().filter(BatchItemResult::isDelivered).count();
+        String status = delivered == channels.size() ? "Success" : delivered > 0 ? "Partial" : "Failure";
+        String details = channels.stream()
+                .map(r -> r.getChannel() + "=" + r.getStatus() + (r.isDelivered() || r.getMessage() == null ? "" : " (" + r.getMessage() + ")"))
+                .collect(Collectors.joining(", "));
+        return CriticalAlertProto.AlertResponse.newBuilder()
+                .setStatus(status)
+                .setDetails(details)
+                .setCorrelationId(channels.get(0).getCorrelationId().toString())
+                .build();
+    }
+
+    static CriticalAlertProto.AlertResponse toResponse(MultiChannelNotificationResponse result) {
+        String status = result.isDelivered() ? "Success" : result.getDeliveredCount() > 0 ? "Partial" : "Failure";
+        String details = "Correlation-ID " + result.getCorrelationId() + ": " + result.getChannels().entrySet().stream()
+                .map(e -> e.getKey() + "=" + (e.getValue().isDelivered() ? "delivered" : "failed (" + e.getValue().getMessage() + ")"))
+                .collect(Collectors.joining(", "));
+        return CriticalAlertProto.AlertResponse.newBuilder()
+                .setStatus(status)
+                .setDetails(details)
+                .setCorrelationId(result.getCorrelationId().toString())
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.iotmining.services.notification.grpc;
+
+import com.iotmining.services.notification.dto.MultiChannelNotificationResponse;
+import com.iotmining.services.notification.enums.DispatchLane;
+import com.iotmining.services.notification.services.dispatcher.BoundNotification;
+import com.iotmining.services.notification.services.dispatcher.NotificationDispatcher;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Server side of one {@code streamCriticalAlerts} call.
+ * <p>
+ * Inbound flow control is manual: the stream requests {@code window} alerts up front and one more each time an
+ * alert's delivery completes, so at most {@code window} alerts of this stream are in the pipeline at once and a slow
+ * pipeline slows the client down through HTTP/2 flow control instead of piling up here. While the client is not
+ * reading its acks ({@link ServerCallStreamObserver#isReady()} is false), further alerts are not requested until the
+ * transport becomes ready again, so unread acks cannot pile up either.
+ * <p>
+ * Every alert gets exactly one {@link CriticalAlertProto.AlertResponse}, in completion order and tagged with the
+ * alert's correlationId; an invalid alert is answered with a {@code Failure} ack instead of ending the stream.
+ * The response stream is completed once the client has half-closed and every alert has been acked.
+ */
+@Slf4j
+class CriticalAlertStream implements StreamObserver<CriticalAlertProto.CriticalAlert> {
+
+    private final ServerCallStreamObserver<CriticalAlertProto.AlertResponse> responses;
+    private final NotificationDispatcher dispatcher;
+    private final CriticalAlertMapper mapper;
+    private final Object lock = new Object();
+    private int inFlight;
+    private int owedRequests;
+    private boolean halfClosed;
+    private boolean finished;
+
+    CriticalAlertStream(ServerCallStreamObserver<CriticalAlertProto.AlertResponse> responses,
+                        NotificationDispatcher dispatcher,
+                        CriticalAlertMapper mapper,
+                        int window) {
+        this.responses = responses;
+        this.dispatcher = dispatcher;
+        this.mapper = mapper;
+        responses.disableAutoRequest();
+        responses.setOnReadyHandler(this::onReady);
+        responses.setOnCancelHandler(() -> {
+            synchronized (lock) {
+                finished = true;
+            }
+            log.debug("Critical alert stream cancelled by the client");
+        });
+        responses.request(window);
+    }
+
+    @Override
+    public void onNext(CriticalAlertProto.CriticalAlert alert) {
+        synchronized (lock) {
+            inFlight++;
+        }
+
+        List<BoundNotification> targets;
+        try {
+            targets = mapper.toNotifications(alert);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected streamed critical alert for user {}: {}", alert.getUserId(), e.getMessage());
+            acknowledge(failure(alert.getCorrelationId(), e.getMessage()));
+            return;
+        }
+
+        String correlationId = targets.get(0).wrapper().getCorrelationId().toString();
+        CompletableFuture<MultiChannelNotificationResponse> outcome;
+        try {
+            outcome = dispatcher.dispatchFanOutAsync(targets, DispatchLane.CRITICAL);
+        } catch (RuntimeException e) {
+            acknowledge(failure(correlationId, e.getMessage()));
+            return;
+        }
+        outcome.whenComplete((result, error) -> acknowledge(error != null
+                ? failure(correlationId, error.getMessage())
+                : CriticalAlertServiceImpl.toResponse(result)));
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        synchronized (lock) {
+            finished = true;
+        }
+        log.debug("Critical alert stream failed on the client side: {}", Status.fromThrowable(t));
+    }
+
+    @Override
+    public void onCompleted() {
+        synchronized (lock) {
+            halfClosed = true;
+            completeIfDrained();
+        }
+    }
+
+    /**
+     * Sends one ack and asks for the next alert, or defers the request while the client is not reading.
+     */
+    private void acknowledge(CriticalAlertProto.AlertResponse response) {
+        synchronized (lock) {
+            inFlight--;
+            if (finished) {
+                return;
+            }
+            responses.onNext(response);
+            if (responses.isReady()) {
+                responses.request(1);
+            } else {
+                owedRequests++;
+            }
+            completeIfDrained();
+        }
+    }
+
+    private void onReady() {
+        synchronized (lock) {
+            if (!finished && owedRequests > 0) {
+                responses.request(owedRequests);
+                owedRequests = 0;
+            }
+        }
+    }
+
+    /**
+     * Must be called with {@link #lock} held.
+     */
+    private void completeIfDrained() {
+        if (halfClosed && inFlight == 0 && !finished) {
+            finished = true;
+            responses.onCompleted();
+        }
+    }
+
+    private static CriticalAlertProto.AlertResponse failure(String correlationId, String details) {
+        return CriticalAlertProto.AlertResponse.newBuilder()
+                .setStatus("Failure")
+                .setDetails(details != null ? details : "Unknown error")
+                .setCorrelationId(correlationId)
+                .build();
+    }
+}
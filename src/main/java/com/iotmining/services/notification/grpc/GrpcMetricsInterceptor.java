@@ -0,0 +1,84 @@
+package com.iotmining.services.notification.grpc;
+
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes per-method call metrics of the gRPC server:
+ * <ul>
+ *     <li>{@code grpc.server.calls}: call latency from arrival until the server closes (or the client cancels) the
+ *     call, with p50/p99, tagged {@code method} and {@code status};</li>
+ *     <li>{@code grpc.server.calls.active}: calls currently open, tagged {@code method}.</li>
+ * </ul>
+ * For streaming calls the latency covers the whole stream.
+ */
+public class GrpcMetricsInterceptor implements ServerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> active = new ConcurrentHashMap<>();
+
+    public GrpcMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers, ServerCallHandler<Q, R> next) {
+        String method = call.getMethodDescriptor().getFullMethodName();
+        AtomicInteger open = active.computeIfAbsent(method, this::activeGauge);
+        open.incrementAndGet();
+        long start = System.nanoTime();
+        AtomicBoolean recorded = new AtomicBoolean();
+
+        ServerCall<Q, R> measured = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                record(method, status, start, recorded, open);
+                super.close(status, trailers);
+            }
+        };
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(next.startCall(measured, headers)) {
+            @Override
+            public void onCancel() {
+                record(method, Status.CANCELLED, start, recorded, open);
+                super.onCancel();
+            }
+        };
+    }
+
+    private void record(String method, Status status, long start, AtomicBoolean recorded, AtomicInteger open) {
+        if (!recorded.compareAndSet(false, true)) {
+            return;
+        }
+        open.decrementAndGet();
+        Timer.builder("grpc.server.calls")
+                .description("gRPC call latency until the call was closed")
+                .tag("method", method)
+                .tag("status", status.getCode().name())
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private AtomicInteger activeGauge(String method) {
+        AtomicInteger open = new AtomicInteger();
+        Gauge.builder("grpc.server.calls.active", open, AtomicInteger::get)
+                .description("gRPC calls currently open")
+                .tag("method", method)
+                .register(meterRegistry);
+        return open;
+    }
+}
@@ -0,0 +1,23 @@
+package com.iotmining.services.notification.handler;
+
+
+import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import com.iotmining.common.base.notifications.dto.NotificationWrapper;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A {@link NotificationHandler} that can deliver without holding the calling thread for the provider round trip.
+ * <p>
+ * The dispatcher calls {@link #handleAsync} for handlers implementing this interface. Plain handlers keep
+ * working unchanged: the dispatcher runs their blocking {@link #handle} on the notification executor instead.
+ */
+public interface AsyncNotificationHandler<T> extends NotificationHandler<T> {
+
+    CompletionStage<NotificationResponse> handleAsync(NotificationWrapper<T> request);
+
+    @Override
+    default NotificationResponse handle(NotificationWrapper<T> request) {
+        return handleAsync(request).toCompletableFuture().join();
+    }
+}
@@ -1,6 +1,20 @@
 package com.iotmining.services.notification.handler;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.iotmining.services.notification.utils.JwtUtil;
+import com.iotmining.services.notification.websocket.AckTracker;
+import com.iotmining.services.notification.websocket.BroadcastResult;
+import com.iotmining.services.notification.websocket.BufferedWebSocketSession;
+import com.iotmining.services.notification.websocket.FrameCoalescer;
+import com.iotmining.services.notification.websocket.InboxReplay;
+import com.iotmining.services.notification.websocket.NotificationInbox;
+import com.iotmining.services.notification.websocket.WebSocketBroadcaster;
+import com.iotmining.services.notification.websocket.WebSocketCluster;
+import com.iotmining.services.notification.websocket.WebSocketSendBuffers;
+import com.iotmining.services.notification.websocket.WebSocketSessionRegistry;
+import com.iotmining.services.notification.websocket.WebSocketTopicIndex;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
@@ -10,47 +24,151 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class RawWebSocketHandler extends TextWebSocketHandler {
 
-    // userId → WebSocketSession
-    private final Map<UUID, WebSocketSession> userSessions = new ConcurrentHashMap<>();
+    // userId → every open session of that user (tabs, devices)
+    private final WebSocketSessionRegistry sessionRegistry;
+    // bounded, non-blocking outbound buffer per session
+    private final WebSocketSendBuffers sendBuffers;
+    private final WebSocketBroadcaster broadcaster;
+    // topic (tenant, site, camera, severity) → subscribed sessions
+    private final WebSocketTopicIndex topicIndex;
+    private final ObjectMapper objectMapper;
+    // sessions of the same user on other nodes
+    private final WebSocketCluster cluster;
+    // recent notifications per user, replayed on reconnect
+    private final NotificationInbox inbox;
+    // notifications waiting for the client's ACK
+    private final AckTracker ackTracker;
+    // optional per-session batching of non-urgent notifications
+    private final FrameCoalescer coalescer;
 
-    // sessionId → userId (for cleanup)
-    private final Map<String, UUID> sessionIdToUserId = new ConcurrentHashMap<>();
+    public RawWebSocketHandler(WebSocketSessionRegistry sessionRegistry,
+                               WebSocketSendBuffers sendBuffers,
+                               WebSocketBroadcaster broadcaster,
+                               WebSocketTopicIndex topicIndex,
+                               ObjectMapper objectMapper,
+                               WebSocketCluster cluster,
+                               NotificationInbox inbox,
+                               AckTracker ackTracker,
+                               FrameCoalescer coalescer) {
+        this.sessionRegistry = sessionRegistry;
+        this.sendBuffers = sendBuffers;
+        this.broadcaster = broadcaster;
+        this.topicIndex = topicIndex;
+        this.objectMapper = objectMapper;
+        this.cluster = cluster;
+        this.inbox = inbox;
+        this.ackTracker = ackTracker;
+        this.coalescer = coalescer;
+    }
 
-    public void sendToUser(UUID userId, String message) {
-        WebSocketSession session = userSessions.get(userId);
-        if (session != null && session.isOpen()) {
-            try {
-                session.sendMessage(new TextMessage(message));
-            } catch (IOException e) {
-                System.err.println("❌ Error sending to user " + userId + ": " + e.getMessage());
-            }
-        } else {
-            System.out.println("⚠️ No open session found for userId = " + userId);
-        }
+    /**
+     * Queues {@code message} for every open session of {@code userId}, here and (through the {@link WebSocketCluster})
+     * on other nodes; never blocks on a slow client.
+     *
+     * @return the number of local sessions the message was buffered for plus the number of nodes it was relayed to.
+     */
+    public int sendToUser(UUID userId, String message) {
+        return sendToUser(userId, message, false);
     }
 
-    public void sendToAll(String message) {
-        for (WebSocketSession session : userSessions.values()) {
-            if (session.isOpen()) {
-                try {
-                    session.sendMessage(new TextMessage(message));
-                } catch (IOException e) {
-                    System.err.println("❌ Error sending message: " + e.getMessage());
+    /**
+     * Like {@link #sendToUser(UUID, String)}; unless {@code urgent}, local sessions may receive {@code message} batched
+     * with others when the {@link FrameCoalescer} is enabled. Urgent messages (CRITICAL alerts) are never delayed; they
+     * are sent right after any batch already pending for the session, so they do not overtake it.
+     */
+    public int sendToUser(UUID userId, String message, boolean urgent) {
+        return sendToUser(userId, message, urgent, null);
+    }
+
+    /**
+     * Like {@link #sendToUser(UUID, String, boolean)}, for a message the {@link AckTracker} expects to be
+     * acknowledged under {@code ackId}; a node it is relayed to routes the acknowledgement back here.
+     */
+    public int sendToUser(UUID userId, String message, boolean urgent, UUID ackId) {
+        List<WebSocketSession> sessions = sessionRegistry.sessionsOf(userId);
+        int relayed = cluster.relayToUser(userId, message, !sessions.isEmpty(), ackId);
+        if (sessions.isEmpty()) {
+            if (relayed == 0) {
+                System.out.println("⚠️ No open session found for userId = " + userId);
+            }
+            return relayed;
+        }
+        boolean coalescing = coalescer.isEnabled();
+        TextMessage textMessage = null;
+        int sent = 0;
+        for (WebSocketSession session : sessions) {
+            boolean queued;
+            if (coalescing && !urgent && session instanceof BufferedWebSocketSession buffered) {
+                queued = coalescer.offer(buffered, message);
+            } else {
+                if (coalescing && session instanceof BufferedWebSocketSession buffered) {
+                    coalescer.flush(buffered);
+                }
+                if (textMessage == null) {
+                    textMessage = WebSocketBroadcaster.encode(message);
                 }
+                queued = send(session, textMessage);
+            }
+            if (queued) {
+                sent++;
             }
         }
+        return sent + relayed;
+    }
+
+    /**
+     * Broadcasts {@code message} to every open session; the frame is encoded once and written in parallel.
+     *
+     * @return completes once every session has written or dropped the frame.
+     */
+    public CompletableFuture<BroadcastResult> sendToAll(String message) {
+        return broadcaster.broadcast(message);
+    }
+
+    /**
+     * Sends {@code message} once to every session of {@code tenantId} subscribed to at least one of {@code topics}
+     * (see {@link WebSocketTopicIndex}), e.g. the camera and the site of an alert, here and on the other nodes; only
+     * those sessions are visited. The sessions of {@code excludedUserId} are left out, e.g. because they were sent the
+     * notification directly.
+     *
+     * @return completes once every local subscriber has written or dropped the frame.
+     */
+    public CompletableFuture<BroadcastResult> sendToTopics(String tenantId, Collection<String> topics, String message,
+                                                           UUID excludedUserId) {
+        cluster.relayToTopics(tenantId, topics, message, excludedUserId);
+        return broadcaster.broadcast(topicIndex.subscribers(tenantId, topics, excludedUserId), message);
+    }
+
+    private boolean send(WebSocketSession session, TextMessage message) {
+        if (!session.isOpen()) {
+            return false;
+        }
+        if (session instanceof BufferedWebSocketSession buffered) {
+            return buffered.offer(message);
+        }
+        try {
+            session.sendMessage(message);
+            return true;
+        } catch (IOException e) {
+            System.err.println("❌ Error sending to session " + session.getId() + ": " + e.getMessage());
+            return false;
+        }
     }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
-        String token = getTokenFromQuery(session.getUri());
+        String token = getQueryParam(session.getUri(), "token");
 
         if (token == null) {
             System.err.println("❌ Missing token in query params, closing session: " + session.getId());
@@ -71,8 +189,23 @@ public class RawWebSocketHandler extends TextWebSocketHandler {
                 return;
             }
 
-            userSessions.put(userId, session);
-            sessionIdToUserId.put(session.getId(), userId);
+            Object tenantId = body.get("tenantId");
+            if (tenantId != null) {
+                session.getAttributes().put(WebSocketTopicIndex.TENANT_ID_ATTRIBUTE, tenantId.toString());
+            }
+            WebSocketSession buffered = sendBuffers.wrap(session);
+            sessionRegistry.register(userId, buffered);
+            cluster.userConnected(userId);
+
+            // Reconnecting clients pass the last sequence number they saw and get only the gap
+            String lastSeq = getQueryParam(session.getUri(), "lastSeq");
+            if (lastSeq != null) {
+                try {
+                    replay(buffered, userId, Long.parseLong(lastSeq));
+                } catch (NumberFormatException e) {
+                    System.err.println("⚠️ Ignoring invalid lastSeq '" + lastSeq + "' on session " + session.getId());
+                }
+            }
 
             System.out.println("🟢 Authenticated user: " + username + " (userId=" + userId + ") sessionId = " + session.getId());
 
@@ -84,9 +217,17 @@ public class RawWebSocketHandler extends TextWebSocketHandler {
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
-        UUID userId = sessionIdToUserId.remove(session.getId());
+        UUID userId = sessionRegistry.unregister(session);
+        topicIndex.unsubscribeAll(BufferedWebSocketSession.of(session));
+        if (BufferedWebSocketSession.of(session) instanceof BufferedWebSocketSession buffered) {
+            // Pending notifications stay in the inbox and are replayed on reconnect
+            coalescer.discard(buffered);
+            buffered.release();
+        }
         if (userId != null) {
-            userSessions.remove(userId);
+            if (sessionRegistry.sessionsOf(userId).isEmpty()) {
+                cluster.userDisconnected(userId);
+            }
             System.out.println("🔴 WebSocket closed: userId = " + userId + ", sessionId = " + session.getId());
         }
     }
@@ -101,18 +242,131 @@ public class RawWebSocketHandler extends TextWebSocketHandler {
         String payload = message.getPayload();
         System.out.println("📨 Received message from " + session.getId() + ": " + payload);
 
+        JsonNode command = readCommand(payload);
+        if (command != null && session.getAttributes().get(WebSocketSessionRegistry.USER_ID_ATTRIBUTE) instanceof UUID userId) {
+            switch (command.path("type").asText()) {
+                case "ACK" -> acknowledge(session, userId, command);
+                case "RESUME" -> replay(BufferedWebSocketSession.of(session), userId, command.path("lastSeq").asLong(0));
+                default -> handleSubscription(BufferedWebSocketSession.of(session), command);
+            }
+            return;
+        }
+
         try {
-            session.sendMessage(new TextMessage("Echo: " + payload));
+            // through the buffer, so the echo cannot interleave with a notification being written
+            BufferedWebSocketSession.of(session).sendMessage(new TextMessage("Echo: " + payload));
         } catch (IOException e) {
             System.err.println("❌ Failed to send echo: " + e.getMessage());
         }
     }
 
-    private String getTokenFromQuery(URI uri) {
+    /**
+     * Parses a client command: {@code {"type":"SUBSCRIBE"|"UNSUBSCRIBE","topics":["camera:cam-42",...]}},
+     * {@code {"type":"RESUME","lastSeq":41}} or {@code {"type":"ACK","id":"..."}} / {@code {"type":"ACK","ids":[...]}}.
+     *
+     * @return the command, or {@code null} if {@code payload} is not one.
+     */
+    private JsonNode readCommand(String payload) {
+        if (payload == null || !payload.stripLeading().startsWith("{")) return null;
+        try {
+            JsonNode node = objectMapper.readTree(payload);
+            String type = node.path("type").asText();
+            return switch (type) {
+                case "SUBSCRIBE", "UNSUBSCRIBE", "RESUME", "ACK" -> node;
+                default -> null;
+            };
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Records the client's acknowledgement of one ({@code id}) or several ({@code ids}) notification ids. Not answered,
+     * to keep acks cheap. Ids this node does not wait for are handed to the {@link WebSocketCluster}, in case another
+     * node relayed the notification; unknown or foreign ids are ignored.
+     */
+    private void acknowledge(WebSocketSession session, UUID userId, JsonNode command) {
+        List<String> ids = new ArrayList<>();
+        if (command.hasNonNull("id")) {
+            ids.add(command.get("id").asText());
+        }
+        for (JsonNode id : command.path("ids")) {
+            ids.add(id.asText());
+        }
+        for (String id : ids) {
+            try {
+                UUID ackId = UUID.fromString(id);
+                if (!ackTracker.acknowledge(ackId, userId)) {
+                    cluster.relayAck(ackId, userId);
+                }
+            } catch (IllegalArgumentException e) {
+                System.err.println("⚠️ Ignoring invalid ack id '" + id + "' on session " + session.getId());
+            }
+        }
+    }
+
+    /**
+     * Applies a subscription command and answers with the topics it applied to and the ones it rejected, e.g.
+     * {@code {"type":"SUBSCRIBED","topics":["camera:cam-42"],"rejected":{"tenant:other":"Not allowed ..."}}}.
+     */
+    private void handleSubscription(WebSocketSession session, JsonNode command) {
+        boolean subscribe = "SUBSCRIBE".equals(command.path("type").asText());
+        List<String> applied = new ArrayList<>();
+        Map<String, String> rejected = new LinkedHashMap<>();
+        for (JsonNode node : command.path("topics")) {
+            String topic = node.asText();
+            try {
+                if (subscribe) {
+                    topicIndex.subscribe(session, topic);
+                } else {
+                    topicIndex.unsubscribe(session, topic);
+                }
+                applied.add(topic);
+            } catch (IllegalArgumentException e) {
+                rejected.put(topic, e.getMessage());
+            }
+        }
+
+        Map<String, Object> reply = new LinkedHashMap<>();
+        reply.put("type", subscribe ? "SUBSCRIBED" : "UNSUBSCRIBED");
+        reply.put("topics", applied);
+        if (!rejected.isEmpty()) {
+            reply.put("rejected", rejected);
+        }
+        try {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(reply)));
+        } catch (IOException e) {
+            System.err.println("❌ Failed to answer subscription on session " + session.getId() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sends everything {@code userId} missed after {@code lastSeq} as one frame:
+     * {@code {"type":"NOTIFICATION_REPLAY","latestSeq":57,"reset":false,"truncated":false,
+     * "notifications":[{"seq":42,"payload":{...}},...]}}. {@code truncated} tells the client part of the gap is gone
+     * and it should reload over REST; {@code reset} that its sequence number was unknown.
+     */
+    private void replay(WebSocketSession session, UUID userId, long lastSeq) {
+        InboxReplay replay = inbox.since(userId, lastSeq);
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", "NOTIFICATION_REPLAY");
+        frame.put("latestSeq", replay.latestSeq());
+        frame.put("reset", replay.reset());
+        frame.put("truncated", replay.truncated());
+        frame.put("notifications", replay.entries());
+        try {
+            session.sendMessage(WebSocketBroadcaster.encode(objectMapper.writeValueAsString(frame)));
+        } catch (IOException e) {
+            System.err.println("❌ Failed to replay inbox on session " + session.getId() + ": " + e.getMessage());
+        }
+    }
+
+    private String getQueryParam(URI uri, String name) {
         if (uri == null || uri.getQuery() == null) return null;
+        String prefix = name + "=";
         for (String param : uri.getQuery().split("&")) {
-            if (param.startsWith("token=")) {
-                return param.substring("token=".length());
+            if (param.startsWith(prefix)) {
+                return param.substring(prefix.length());
             }
         }
         return null;
@@ -8,11 +8,13 @@ import com.iotmining.common.interfaces.notification.SmsProvider;
 import com.iotmining.services.notification.annotations.SmsRateLimited;
 import com.iotmining.common.base.notifications.dto.BaseRequest;
 import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import com.iotmining.services.notification.exceptions.DeadlineExceededException;
 import com.iotmining.services.notification.exceptions.RateLimitExceededException;
 import com.iotmining.services.notification.model.Plan;
 import com.iotmining.services.notification.model.Priority;
 import com.iotmining.services.notification.ratelimiter.Bucket4jRateLimiterService;
 import com.iotmining.services.notification.services.RateLimitMetricsService;
+import com.iotmining.services.notification.services.dispatcher.DeliveryContext;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -44,6 +46,8 @@ public class SmsNotificationHandler implements NotificationHandler<SmsPayload> {
 
         try {
             log.info("Attempting to send SMS for Correlation-ID: {}", correlationId);
+            // Don't spend SMS budget on a request whose caller has already given up
+            DeliveryContext.checkDeadline("SMS provider call");
             smsProvider.send(request);
             log.info("SMS notification sent successfully for Correlation-ID: {}", correlationId);
 
@@ -63,6 +67,8 @@ public class SmsNotificationHandler implements NotificationHandler<SmsPayload> {
                     .status(NotificationStatus.FAILURE)
                     .message("SMS failed: " + e.getMessage()) // Changed "Email failed" to "SMS failed"
                     .build();
+        } catch (DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
             // Log the error with full stack trace for better debugging
             log.error("Error sending SMS for Correlation-ID {}: {}", correlationId, e.getMessage(), e);
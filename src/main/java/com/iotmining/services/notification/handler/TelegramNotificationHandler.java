@@ -5,7 +5,9 @@ import com.iotmining.common.base.notifications.dto.payload.TelegramPayload;
 import com.iotmining.common.base.notifications.enums.NotificationType;
 import com.iotmining.common.data.notifications.NotificationStatus;
 import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import com.iotmining.services.notification.exceptions.PermanentDeliveryException;
 import com.iotmining.services.notification.externalapis.TelegramProperties;
+import com.iotmining.services.notification.services.dispatcher.DeliveryContext;
 import lombok.RequiredArgsConstructor;
 
 import lombok.extern.slf4j.Slf4j;
@@ -27,23 +29,24 @@ public class TelegramNotificationHandler implements NotificationHandler<Telegram
     private final TelegramProperties telegramProperties;
     private final RestTemplate restTemplate;
 
-    private static final int RETRIES = 3;
-    private static final long DELAY_MS = 2000L;
-
     @Override
     public NotificationType getType() {
         return NotificationType.TELEGRAM;
     }
 
     /**
-     * Attempts to send a Telegram notification with retry logic.
-     * Logs detailed information about each attempt and outcome.
+     * Makes a single attempt to send a Telegram notification.
+     * A failed attempt is not retried here: the retry subsystem re-schedules it through its delay tiers,
+     * so no request thread is held while waiting to try again. A 4xx response other than 429 (bad chat id, revoked
+     * bot token, malformed message) fails the same way on every attempt, so it is reported as a
+     * {@link PermanentDeliveryException} and dead-lettered right away instead.
      *
      * @param request The notification wrapper containing TelegramPayload and metadata.
      * @return A NotificationResponse indicating success or failure.
      */
     public NotificationResponse send(NotificationWrapper<TelegramPayload> request) {
         UUID correlationId = request.getCorrelationId();
+        int attempt = request.getRetryCount() + 1;
         // Null check for payload to prevent NullPointerException if message is null
         String messageContent = request.getPayload().getMessage();
         String messageSnippet = messageContent != null ?
@@ -53,72 +56,80 @@ public class TelegramNotificationHandler implements NotificationHandler<Telegram
         log.debug("Attempting to send Telegram notification for Correlation-ID: {}, Chat ID: {}, Message Snippet: '{}'",
                 correlationId, chatId, messageSnippet);
 
-        for (int attempt = 1; attempt <= RETRIES; attempt++) {
-            try {
-                String url = "https://api.telegram.org/bot" + telegramProperties.getBotToken() + "/sendMessage";
-
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_JSON);
-                headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        DeliveryContext.checkDeadline("Telegram API call");
+        String failure;
+        try {
+            String url = "https://api.telegram.org/bot" + telegramProperties.getBotToken() + "/sendMessage";
 
-                // Ensure messageContent is not null when building the body
-                String body = "{\"chat_id\":\"" + telegramProperties.getChatId() + "\",\"text\":\"" + (messageContent != null ? messageContent : "") + "\"}";
-                HttpEntity<String> httpRequest = new HttpEntity<>(body, headers);
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
 
-                log.debug("Sending Telegram API request (Attempt {}/{}) for Correlation-ID: {}", attempt, RETRIES, correlationId);
-                ResponseEntity<String> response = restTemplate.postForEntity(url, httpRequest, String.class);
+            // Ensure messageContent is not null when building the body
+            String body = "{\"chat_id\":\"" + telegramProperties.getChatId() + "\",\"text\":\"" + (messageContent != null ? messageContent : "") + "\"}";
+            HttpEntity<String> httpRequest = new HttpEntity<>(body, headers);
 
-                if (response.getStatusCode() == HttpStatus.OK) {
-                    log.info("Telegram notification sent successfully for Correlation-ID: {}. Chat ID: {}", correlationId, chatId);
-                    return NotificationResponse.builder()
-                            .status(NotificationStatus.SUCCESS)
-                            .delivered(true)
-                            .message("Telegram notification sent successfully.")
-                            .correlationId(correlationId) // Ensure correlationId is passed back
-                            .build();
-                } else {
-                    // Use response.getStatusCode().value() instead of getStatusCodeValue()
-                    log.warn("Telegram API responded with non-OK status (Attempt {}/{}). Correlation-ID: {}, Status: {}, Body: {}",
-                            attempt, RETRIES, correlationId, response.getStatusCode().value(), response.getBody());
-                }
+            log.debug("Sending Telegram API request (Attempt {}) for Correlation-ID: {}", attempt, correlationId);
+            ResponseEntity<String> response = restTemplate.postForEntity(url, httpRequest, String.class);
 
-            } catch (HttpClientErrorException | HttpServerErrorException e) {
-                // Log specific HTTP client/server errors with status code and response body
-                log.error("HTTP error (Attempt {}/{}) sending Telegram alert for Correlation-ID: {}. Status: {}, Body: {}, Error: {}",
-                        attempt, RETRIES, correlationId, e.getStatusCode().value(), e.getResponseBodyAsString(), e.getMessage());
-            } catch (ResourceAccessException e) {
-                // Log network/connection errors
-                log.error("Network/Resource access error (Attempt {}/{}) sending Telegram alert for Correlation-ID: {}. Error: {}",
-                        attempt, RETRIES, correlationId, e.getMessage());
-            } catch (Exception e) {
-                // Catch any other unexpected exceptions
-                log.error("Unhandled error (Attempt {}/{}) sending Telegram alert for Correlation-ID: {}: {}",
-                        attempt, RETRIES, correlationId, e.getMessage(), e); // Log stack trace for unexpected errors
+            if (response.getStatusCode() == HttpStatus.OK) {
+                log.info("Telegram notification sent successfully for Correlation-ID: {}. Chat ID: {}", correlationId, chatId);
+                return NotificationResponse.builder()
+                        .status(NotificationStatus.SUCCESS)
+                        .delivered(true)
+                        .message("Telegram notification sent successfully.")
+                        .correlationId(correlationId) // Ensure correlationId is passed back
+                        .build();
+            }
+            // Use response.getStatusCode().value() instead of getStatusCodeValue()
+            log.warn("Telegram API responded with non-OK status (Attempt {}). Correlation-ID: {}, Status: {}, Body: {}",
+                    attempt, correlationId, response.getStatusCode().value(), response.getBody());
+            failure = "Telegram API responded with status " + response.getStatusCode().value();
+            if (isPermanent(response.getStatusCode())) {
+                throw new PermanentDeliveryException("Telegram notification rejected: " + failure);
             }
 
-            if (attempt < RETRIES) {
-                log.info("Retrying Telegram notification for Correlation-ID: {} in {} ms...", correlationId, DELAY_MS);
-                try {
-                    Thread.sleep(DELAY_MS);
-                } catch (InterruptedException interruptedException) {
-                    Thread.currentThread().interrupt(); // Restore interrupt status
-                    log.warn("Thread interrupted during retry delay for Telegram alert. Correlation-ID: {}", correlationId);
-                    // If interrupted, don't continue retries, just break out
-                    break;
-                }
+        } catch (HttpClientErrorException e) {
+            log.error("HTTP error (Attempt {}) sending Telegram alert for Correlation-ID: {}. Status: {}, Body: {}, Error: {}",
+                    attempt, correlationId, e.getStatusCode().value(), e.getResponseBodyAsString(), e.getMessage());
+            failure = "HTTP error " + e.getStatusCode().value();
+            if (isPermanent(e.getStatusCode())) {
+                throw new PermanentDeliveryException("Telegram notification rejected: " + failure + " " + e.getResponseBodyAsString());
             }
+        } catch (HttpServerErrorException e) {
+            // Log specific HTTP client/server errors with status code and response body
+            log.error("HTTP error (Attempt {}) sending Telegram alert for Correlation-ID: {}. Status: {}, Body: {}, Error: {}",
+                    attempt, correlationId, e.getStatusCode().value(), e.getResponseBodyAsString(), e.getMessage());
+            failure = "HTTP error " + e.getStatusCode().value();
+        } catch (ResourceAccessException e) {
+            // Log network/connection errors
+            log.error("Network/Resource access error (Attempt {}) sending Telegram alert for Correlation-ID: {}. Error: {}",
+                    attempt, correlationId, e.getMessage());
+            failure = "Network error: " + e.getMessage();
+        } catch (PermanentDeliveryException e) {
+            throw e;
+        } catch (Exception e) {
+            // Catch any other unexpected exceptions
+            log.error("Unhandled error (Attempt {}) sending Telegram alert for Correlation-ID: {}: {}",
+                    attempt, correlationId, e.getMessage(), e); // Log stack trace for unexpected errors
+            failure = e.getMessage();
         }
 
-        // If loop completes, all retries failed
-        log.error("All {} retry attempts failed to send Telegram notification for Correlation-ID: {}. Giving up.", RETRIES, correlationId);
         return NotificationResponse.builder()
                 .status(NotificationStatus.FAILURE)
                 .delivered(false)
-                .message("Failed to send Telegram alert after " + RETRIES + " retries.")
+                .message("Failed to send Telegram alert (attempt " + attempt + "): " + failure)
                 .correlationId(correlationId) // Ensure correlationId is passed back even on failure
                 .build();
     }
 
+    /**
+     * True for client errors a retry cannot fix; 429 only asks to slow down and is retried like a server error.
+     */
+    private static boolean isPermanent(HttpStatusCode status) {
+        return status.is4xxClientError() && status.value() != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
     /**
      * Handles the initial request for Telegram notification.
      * Logs basic information about the incoming request.
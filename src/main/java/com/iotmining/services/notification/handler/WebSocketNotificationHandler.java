@@ -7,16 +7,55 @@ import com.iotmining.common.base.notifications.dto.NotificationWrapper;
 import com.iotmining.common.base.notifications.dto.payload.WebSocketPayload;
 import com.iotmining.common.base.notifications.enums.NotificationType;
 import com.iotmining.services.notification.dto.WsNotificationResponsePayload;
+import com.iotmining.services.notification.enums.DispatchLane;
+import com.iotmining.common.data.notifications.NotificationStatus;
+import com.iotmining.services.notification.services.dispatcher.DeliveryContext;
+import com.iotmining.services.notification.services.status.DeliveryStatusTracker;
 import com.iotmining.services.notification.utils.NotificationFactory;
+import com.iotmining.services.notification.websocket.AckTracker;
+import com.iotmining.services.notification.websocket.NotificationInbox;
+import com.iotmining.services.notification.websocket.WebSocketTopicIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
+/**
+ * Delivers WEB notifications over the user's WebSocket sessions.
+ * <p>
+ * By default a notification counts as delivered once it was queued for at least one session, here or on another node.
+ * With {@code notification.websocket.ack-required=true} (for clients that acknowledge notifications with
+ * {@code {"type":"ACK","id":"<payload id>"}}) it counts as delivered only once a client acknowledged it within the
+ * {@link AckTracker} timeout, capped by the notification's deadline. The handler does not wait for that: it answers
+ * as soon as the notification is queued, with delivered=false and the notification pending in the
+ * {@link DeliveryStatusTracker}, which records the acknowledgement outcome as final when it is known. Callers that
+ * escalate (e.g. to SMS) poll the status per correlationId. A notification nobody could take is not delivered, and
+ * stays in the inbox for replay.
+ * <p>
+ * A notification whose metadata names a {@code tenantId} and {@code topics} (e.g. {@code ["camera:cam-42","site:s1"]})
+ * is also sent, as {@code {"type":"TOPIC_NOTIFICATION","topics":[...],"payload":{...}}}, to the sessions of that tenant
+ * subscribed to any of those topics (see {@link WebSocketTopicIndex}), on every node. That copy is best effort: it has
+ * no sequence number, is not kept in the inbox and is not acknowledged, and the user's own sessions are left out since
+ * they got the notification itself.
+ * <p>
+ * With {@code notification.websocket.coalesce-enabled=true}, notifications may reach the client batched in a
+ * {@code NOTIFICATION_BATCH} frame; CRITICAL ones (by priority or severity) are always sent on their own, at once.
+ */
 @Component
-public class WebSocketNotificationHandler implements NotificationHandler<WebSocketPayload> {
+public class WebSocketNotificationHandler implements AsyncNotificationHandler<WebSocketPayload> {
+
+    private static final String CHANNEL = "WEB";
 
     @Autowired
     private RawWebSocketHandler webSocketHandler;
@@ -24,39 +63,154 @@ public class WebSocketNotificationHandler implements NotificationHandler<WebSock
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private NotificationInbox inbox;
+
+    @Autowired
+    private AckTracker ackTracker;
+
+    @Autowired
+    private DeliveryStatusTracker statusTracker;
+
+    @Value("${notification.websocket.ack-required:false}")
+    private boolean ackRequired;
+
     @Override
     public NotificationType getType() {
         return NotificationType.WEB;
     }
 
     @Override
-    public NotificationResponse handle(NotificationWrapper<WebSocketPayload> request) {
+    public CompletionStage<NotificationResponse> handleAsync(NotificationWrapper<WebSocketPayload> request) {
         UUID userId = request.getUserId();
         if (userId == null) throw new IllegalArgumentException("Missing userId for WebSocket");
 
-        try {
-            // Convert the incoming request into the full notification payload
-            WsNotificationResponsePayload payload = NotificationFactory.fromRequest(request.getPayload());
+        // Convert the incoming request into the full notification payload
+        WsNotificationResponsePayload payload = NotificationFactory.fromRequest(request.getPayload());
 
-            // ✅ Wrap it into { type: "NOTIFICATION", payload: {...} }
-            Map<String, Object> wrapper = new HashMap<>();
-            wrapper.put("type", "NOTIFICATION");
-            wrapper.put("payload", payload);
+        // Kept for replay whether or not the user is online; the client tracks the last seq it saw
+        long seq = inbox.append(userId, payload);
 
-            // Serialize the wrapped message
-            String message = objectMapper.writeValueAsString(wrapper);
+        // ✅ Wrap it into { type: "NOTIFICATION", seq: N, payload: {...} }
+        Map<String, Object> wrapper = new HashMap<>();
+        wrapper.put("type", "NOTIFICATION");
+        wrapper.put("seq", seq);
+        wrapper.put("payload", payload);
 
-            // Send to all or specific user
-            webSocketHandler.sendToUser(userId, message);
+        // Serialize the wrapped message
+        String message;
+        try {
+            message = objectMapper.writeValueAsString(wrapper);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize WebSocket payload", e);
+        }
+
+        // Expect the ack before sending, so a fast client cannot acknowledge before we listen
+        UUID correlationId = request.getCorrelationId();
+        CompletableFuture<AckTracker.Outcome> ack = null;
+        if (ackRequired) {
+            ack = ackTracker.expect(payload.getId(), userId, ackTimeout());
+            if (correlationId != null) {
+                statusTracker.awaitAck(correlationId, CHANNEL);
+            }
+        }
+
+        // Send to all or specific user; CRITICAL ones skip frame coalescing
+        int sent = webSocketHandler.sendToUser(userId, message, isCritical(request, payload),
+                ack != null ? payload.getId() : null);
 //            webSocketHandler.sendToAll(message);
 
+        publishToTopics(userId, payload);
+
+        if (sent == 0) {
+            if (ack != null) {
+                ackTracker.forget(payload.getId());
+            }
+            // Not delivered; the client gets it from the inbox when it reconnects
+            return CompletableFuture.completedFuture(
+                    response(request, false, "User offline, kept in inbox as seq " + seq, true));
+        }
+        if (ack == null) {
+            return CompletableFuture.completedFuture(response(request, true, null, true));
+        }
+        if (ack.isDone()) {
+            return CompletableFuture.completedFuture(ackResponse(request, ack.join(), sent, seq));
+        }
+        // The final outcome is recorded when the ack arrives or times out; nobody waits for it here
+        ack.thenAccept(outcome -> ackResponse(request, outcome, sent, seq));
+        return CompletableFuture.completedFuture(response(request, false,
+                "Sent to " + sent + " session(s), awaiting acknowledgement", false));
+    }
+
+    private NotificationResponse ackResponse(NotificationWrapper<?> request, AckTracker.Outcome outcome, int sent, long seq) {
+        return switch (outcome) {
+            case ACKNOWLEDGED -> response(request, true, null, true);
+            case TIMED_OUT -> response(request, false,
+                    "Sent to " + sent + " session(s) but not acknowledged, kept in inbox as seq " + seq, true);
+            case UNTRACKED -> response(request, true, "Sent to " + sent + " session(s), acknowledgement not tracked", true);
+        };
+    }
+
+    private void publishToTopics(UUID userId, WsNotificationResponsePayload payload) {
+        Map<String, Object> metadata = payload.getMetadata();
+        if (metadata == null || metadata.get("tenantId") == null || !(metadata.get("topics") instanceof Collection<?> raw)) {
+            return;
+        }
+        List<String> topics = raw.stream().filter(Objects::nonNull).map(String::valueOf).toList();
+        if (topics.isEmpty()) {
+            return;
+        }
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", "TOPIC_NOTIFICATION");
+        frame.put("topics", topics);
+        frame.put("payload", payload);
+        try {
+            webSocketHandler.sendToTopics(metadata.get("tenantId").toString(), topics,
+                    objectMapper.writeValueAsString(frame), userId);
         } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to serialize WebSocket payload", e);
+            throw new RuntimeException("Failed to serialize WebSocket topic payload", e);
+        }
+    }
+
+    private static boolean isCritical(NotificationWrapper<?> request, WsNotificationResponsePayload payload) {
+        return (request.getPriority() != null
+                && DispatchLane.forPriority(request.getPriority().name()) == DispatchLane.CRITICAL)
+                || "CRITICAL".equalsIgnoreCase(payload.getSeverity());
+    }
+
+    /**
+     * The ack timeout, shortened to the notification's deadline when it has one.
+     */
+    private Duration ackTimeout() {
+        Duration timeout = ackTracker.ackTimeout();
+        Instant deadline = DeliveryContext.deadline().orElse(null);
+        if (deadline != null) {
+            Duration remaining = Duration.between(Instant.now(), deadline);
+            if (remaining.compareTo(timeout) < 0) {
+                return remaining.isNegative() ? Duration.ZERO : remaining;
+            }
         }
+        return timeout;
+    }
 
-        NotificationResponse res = new NotificationResponse();
-        res.setDelivered(true);
-        res.setChannel("WEB");
+    /**
+     * Builds the response and records it in the {@link DeliveryStatusTracker}; a {@code last} one is the final outcome.
+     */
+    private NotificationResponse response(NotificationWrapper<?> request, boolean delivered, String message, boolean last) {
+        NotificationResponse res = NotificationResponse.builder()
+                .status(NotificationStatus.SUCCESS)
+                .delivered(delivered)
+                .message(message)
+                .correlationId(request.getCorrelationId())
+                .build();
+        res.setChannel(CHANNEL);
+        if (request.getCorrelationId() != null) {
+            if (last) {
+                statusTracker.settle(request.getCorrelationId(), res);
+            } else {
+                statusTracker.complete(request.getCorrelationId(), res);
+            }
+        }
         return res;
     }
 
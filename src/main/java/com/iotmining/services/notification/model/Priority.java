@@ -16,4 +16,19 @@ public enum Priority {
         this.value = value;
     }
 
+    /**
+     * Maps a declared request priority name onto the rate-limit priority it is charged under.
+     * Anything other than HIGH or CRITICAL shares the STANDARD bucket. Only for trusted internal callers
+     * (gRPC, Kafka): public requests are always charged as STANDARD, whatever priority they declare.
+     */
+    public static Priority forRateLimit(String requestPriority) {
+        if ("CRITICAL".equalsIgnoreCase(requestPriority)) {
+            return CRITICAL;
+        }
+        if ("HIGH".equalsIgnoreCase(requestPriority)) {
+            return HIGH;
+        }
+        return STANDARD;
+    }
+
 }
\ No newline at end of file
@@ -116,6 +116,27 @@ public class Bucket4jRateLimiterService {
             throw new RateLimitExceededException(String.format("Rate limit exceeded for user %s with plan %s and priority %s", userId, plan, priority));
         }
     }
+
+    /**
+     * Consumes up to {@code requested} tokens in one bucket operation and returns how many requests may proceed.
+     * Follows the same rules as {@link #executeWithRateLimit}: CRITICAL bypasses the bucket and HIGH is always
+     * allowed, but still draws whatever tokens are left.
+     */
+    public long consumeBulk(String userId, Plan plan, Priority priority, long requested) {
+        if (requested <= 0 || priority == Priority.CRITICAL) {
+            return Math.max(requested, 0);
+        }
+
+        long consumed = resolveBucket(userId, plan, priority).tryConsumeAsMuchAsPossible(requested);
+        if (priority == Priority.HIGH) {
+            return requested;
+        }
+        if (consumed < requested) {
+            log.debug("Bulk rate limit granted {}/{} tokens for user {} with plan {} and priority {}",
+                    consumed, requested, userId, plan, priority);
+        }
+        return consumed;
+    }
 }
 
 //@Service
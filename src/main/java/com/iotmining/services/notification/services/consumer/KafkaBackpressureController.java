@@ -0,0 +1,117 @@
+package com.iotmining.services.notification.services.consumer;
+
+import com.iotmining.services.notification.services.dispatcher.PriorityLaneExecutor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Holds back Kafka ingestion while the dispatch pipeline is saturated, without leaving the consumer group.
+ * <p>
+ * Load is the larger of the consumer's in-flight records relative to {@code kafka.consumer.backpressure.max-in-flight}
+ * and the utilization of the fullest dispatch lane. Every consumer thread hands over at most one poll at a time, so
+ * in-flight records never exceed {@code kafka.consumer.max-poll-records} × {@code kafka.consumer.concurrency}; that
+ * product is the default limit, and a configured limit above it is capped to it, since the watermarks could never be
+ * reached otherwise. Above the high watermark the listener container is paused:
+ * the consumer keeps polling (so it stays in the group and no rebalance happens) but receives no records.
+ * It is resumed once load drops below the low watermark; the gap between the two avoids flapping.
+ * <p>
+ * Records that hit a full lane in the middle of a batch are still nacked by {@link NotificationKafkaConsumer} and
+ * redelivered, so pausing only smooths the flow; it is not needed for correctness.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "kafka.consumer.enabled", havingValue = "true")
+public class KafkaBackpressureController {
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final NotificationKafkaConsumer consumer;
+    private final PriorityLaneExecutor laneExecutor;
+    private final int maxInFlight;
+    private final double highWatermark;
+    private final double lowWatermark;
+
+    public KafkaBackpressureController(KafkaListenerEndpointRegistry registry,
+                                       NotificationKafkaConsumer consumer,
+                                       PriorityLaneExecutor laneExecutor,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${kafka.consumer.max-poll-records:500}") int maxPollRecords,
+                                       @Value("${kafka.consumer.concurrency:3}") int concurrency,
+                                       @Value("${kafka.consumer.backpressure.max-in-flight:0}") int maxInFlight,
+                                       @Value("${kafka.consumer.backpressure.high-watermark:0.8}") double highWatermark,
+                                       @Value("${kafka.consumer.backpressure.low-watermark:0.5}") double lowWatermark) {
+        this.registry = registry;
+        this.consumer = consumer;
+        this.laneExecutor = laneExecutor;
+        this.maxInFlight = effectiveMaxInFlight(maxInFlight, maxPollRecords * concurrency);
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+
+        Gauge.builder("notification.kafka.paused.partitions", this, KafkaBackpressureController::pausedPartitions)
+                .description("Partitions of the notification listener currently paused by backpressure")
+                .register(meterRegistry);
+        Gauge.builder("notification.kafka.inflight", consumer, NotificationKafkaConsumer::inFlight)
+                .description("Kafka records handed to the dispatcher and not yet delivered")
+                .register(meterRegistry);
+        log.info("Kafka backpressure: max in-flight {}, watermarks {}/{}", this.maxInFlight, highWatermark, lowWatermark);
+    }
+
+    /**
+     * {@code configured}, or {@code ceiling} (the most records the consumers can have in flight) if it is unset or
+     * could never be reached.
+     */
+    static int effectiveMaxInFlight(int configured, int ceiling) {
+        if (configured <= 0) {
+            return ceiling;
+        }
+        if (configured > ceiling) {
+            log.warn("kafka.consumer.backpressure.max-in-flight={} can never be reached with at most {} records in "
+                    + "flight (max-poll-records x concurrency); using {}", configured, ceiling, ceiling);
+            return ceiling;
+        }
+        return configured;
+    }
+
+    @Scheduled(fixedDelayString = "${kafka.consumer.backpressure.check-interval-ms:200}")
+    public void check() {
+        MessageListenerContainer container = registry.getListenerContainer(NotificationKafkaConsumer.LISTENER_ID);
+        if (container == null || !container.isRunning()) {
+            return;
+        }
+
+        double load = load();
+        if (!container.isPauseRequested() && load >= highWatermark) {
+            log.warn("Pausing Kafka ingestion: load {} reached high watermark {} (in-flight: {}, fullest lane: {})",
+                    String.format("%.2f", load), highWatermark, consumer.inFlight(),
+                    String.format("%.2f", laneExecutor.maxUtilization()));
+            container.pause();
+        } else if (container.isPauseRequested() && load <= lowWatermark) {
+            log.info("Resuming Kafka ingestion: load {} dropped below low watermark {}", String.format("%.2f", load), lowWatermark);
+            container.resume();
+        }
+    }
+
+    private double load() {
+        double inFlightLoad = maxInFlight > 0 ? (double) consumer.inFlight() / maxInFlight : 0.0;
+        return Math.max(inFlightLoad, laneExecutor.maxUtilization());
+    }
+
+    private double pausedPartitions() {
+        MessageListenerContainer container = registry.getListenerContainer(NotificationKafkaConsumer.LISTENER_ID);
+        if (container == null) {
+            return 0;
+        }
+        // Pausing is only requested until each consumer thread applies it on its next poll
+        Collection<TopicPartition> paused = container.getPausedPartitions();
+        return paused == null ? 0 : paused.size();
+    }
+}
@@ -1,69 +1,227 @@
-//package com.iotmining.services.notification.services.consumer;
-//
-//
-//import com.fasterxml.jackson.databind.ObjectMapper;
-////import com.iotmining.common.base.notifications.NotificationDtoImpl;
-//import com.iotmining.services.notification.services.processor.NotificationProcessor;
-//import lombok.RequiredArgsConstructor;
-//import org.springframework.beans.factory.annotation.Qualifier;
-//import org.springframework.core.task.TaskExecutor;
-//import org.springframework.kafka.annotation.EnableKafka;
-//import org.springframework.kafka.annotation.KafkaListener;
-//import org.springframework.stereotype.Service;
-//
-//@Service
-//@EnableKafka
-//public class NotificationKafkaConsumer {
-//    private final TaskExecutor notificationExecutor;
-//    private final NotificationProcessor processor;
-//    private final ObjectMapper objectMapper = new ObjectMapper();
-//
-//    public NotificationKafkaConsumer(@Qualifier("notificationExecutor") TaskExecutor notificationExecutor, NotificationProcessor processor) {
-//        this.notificationExecutor = notificationExecutor;
-//        this.processor = processor;
-//    }
-//
-//    // Kafka listener that listens to the "vms-alerts" topic with a specified concurrency level
-//    @KafkaListener(topics = "vms-alerts", groupId = "vms-alert-group", concurrency = "3")
-//    public void listen(String message) {
-//        try {
-//            // Deserialize message to NotificationDtoImpl object
-//            NotificationDtoImpl dto = objectMapper.readValue(message, NotificationDtoImpl.class);
-//
-//            // Offload processing to the notification executor
-//            notificationExecutor.execute(() -> {
-//                try {
-//                    processor.process(dto);  // Process the notification (e.g., SMS, email)
-//                } catch (Exception e) {
-//                    // Log exception with proper message context
-//                    System.err.println("Error processing notification: " + e.getMessage());
-////                    e.printStackTrace();
-//                }
-//            });
-//        } catch (Exception e) {
-//            // Log the error when unable to deserialize the message
-//            System.err.println("Failed to deserialize message: " + e.getMessage());
-////            e.printStackTrace();
-//        }
-//    }
-//}
-//
-////@Service
-////@RequiredArgsConstructor
-////public class NotificationKafkaConsumer {
-////
-////    private final NotificationProcessor processor;
-////    private final ObjectMapper objectMapper = new ObjectMapper();
-////
-//////    @KafkaListener(topics = "${kafka.consumer.notification-topic}", groupId = "notification-service")
-////    @KafkaListener(topics = "vms-alerts", groupId = "vms-alert-group", concurrency = "3")
-////    public void listen(String message) {
-////        try {
-////            NotificationDtoImpl dto = objectMapper.readValue(message, NotificationDtoImpl.class);
-//////            System.out.println("🔥 VMS Alert Received: " + message);
-////            processor.process(dto);
-////        } catch (Exception e) {
-////            e.printStackTrace();
-////        }
-////    }
-////}
+package com.iotmining.services.notification.services.consumer;
+
+import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import com.iotmining.services.notification.services.dispatcher.BoundNotification;
+import com.iotmining.services.notification.services.dispatcher.KeyedOrderedExecutor;
+import com.iotmining.services.notification.services.dispatcher.NotificationDispatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Batch listener for the alert topics: the JSON request topic ({@code kafka.consumer.notification-topic}) and any
+ * protobuf VmsAlert topics ({@code kafka.consumer.protobuf-topics}). Each record is decoded according to its
+ * content type by {@link NotificationRecordDecoder}.
+ * <p>
+ * Each poll is dispatched concurrently through {@link NotificationDispatcher}, ordered per key by the
+ * {@link KeyedOrderedExecutor}: records with the same key (the record key, e.g. a cameraId, or else the request's
+ * userId) are delivered one after another in offset order, records with different keys in parallel.
+ * <p>
+ * The batch is acknowledged only after every record has an outcome. Records that could not be handed off (a full
+ * dispatch lane, or a batch that ran out of time) are negatively acknowledged from the first such record, so they and
+ * everything after them are redelivered; redelivered records that had already gone out are answered by the
+ * idempotency store instead of being sent twice. Malformed records and failed deliveries are logged and committed.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "kafka.consumer.enabled", havingValue = "true")
+public class NotificationKafkaConsumer {
+
+    public static final String LISTENER_ID = "notificationIngest";
+
+    private final NotificationDispatcher dispatcher;
+    private final NotificationRecordDecoder decoder;
+    private final KeyedOrderedExecutor orderedExecutor;
+    private final String notificationTopic;
+    private final Duration batchTimeout;
+    private final Duration redeliveryBackoff;
+    private final Timer batchTimer;
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter malformed;
+    private final Counter redelivered;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public NotificationKafkaConsumer(NotificationDispatcher dispatcher,
+                                     NotificationRecordDecoder decoder,
+                                     KeyedOrderedExecutor orderedExecutor,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${kafka.consumer.notification-topic}") String notificationTopic,
+                                     @Value("${kafka.consumer.batch-timeout:PT60S}") Duration batchTimeout,
+                                     @Value("${kafka.consumer.redelivery-backoff:PT1S}") Duration redeliveryBackoff) {
+        this.dispatcher = dispatcher;
+        this.decoder = decoder;
+        this.orderedExecutor = orderedExecutor;
+        this.notificationTopic = notificationTopic;
+        this.batchTimeout = batchTimeout;
+        this.redeliveryBackoff = redeliveryBackoff;
+        this.batchTimer = Timer.builder("notification.kafka.batch")
+                .description("Time to deliver one polled batch")
+                .register(meterRegistry);
+        this.delivered = recordCounter(meterRegistry, "delivered");
+        this.failed = recordCounter(meterRegistry, "failed");
+        this.malformed = recordCounter(meterRegistry, "malformed");
+        this.redelivered = recordCounter(meterRegistry, "redelivered");
+    }
+
+    @KafkaListener(
+            id = LISTENER_ID,
+            topics = "#{__listener.topics()}",
+            groupId = "${kafka.consumer.group-id}",
+            containerFactory = "notificationListenerContainerFactory"
+    )
+    public void onBatch(List<ConsumerRecord<String, byte[]>> records, Acknowledgment ack) {
+        long start = System.nanoTime();
+        int size = records.size();
+        log.debug("Received batch of {} record(s) from Kafka", size);
+
+        @SuppressWarnings("unchecked")
+        CompletableFuture<RecordOutcome>[] outcomes = new CompletableFuture[size];
+        Set<String> rejectedKeys = ConcurrentHashMap.newKeySet();
+
+        for (int i = 0; i < size; i++) {
+            ConsumerRecord<String, byte[]> record = records.get(i);
+            BoundNotification bound;
+            try {
+                bound = decoder.decode(record);
+            } catch (RuntimeException e) {
+                log.error("Skipping malformed record {}-{}@{}: {}", record.topic(), record.partition(), record.offset(), e.getMessage());
+                malformed.increment();
+                outcomes[i] = CompletableFuture.completedFuture(RecordOutcome.MALFORMED);
+                continue;
+            }
+
+            String key = record.key() != null ? record.key() : bound.wrapper().getUserId().toString();
+            // The executor runs records of the same key one after another; once a record is rejected, the rest of its
+            // key in this batch is rejected too so the redelivery keeps them in order. A key is marked before the
+            // rejected record's stage completes, so the next record of the key always sees it.
+            outcomes[i] = orderedExecutor
+                    .submit(key, () -> rejectedKeys.contains(key)
+                            ? CompletableFuture.completedFuture(RecordOutcome.REJECTED)
+                            : deliver(record, bound).thenApply(outcome -> markRejected(rejectedKeys, key, outcome)))
+                    .exceptionally(error -> markRejected(rejectedKeys, key, outcomeOf(record, null, error)));
+        }
+
+        int redeliverFrom = awaitBatch(outcomes);
+        if (redeliverFrom < 0) {
+            ack.acknowledge();
+        } else {
+            redelivered.increment(size - redeliverFrom);
+            log.warn("Redelivering {} of {} record(s) from offset {} of partition {}-{}", size - redeliverFrom, size,
+                    records.get(redeliverFrom).offset(), records.get(redeliverFrom).topic(), records.get(redeliverFrom).partition());
+            ack.nack(redeliverFrom, redeliveryBackoff);
+        }
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The JSON notification topic plus every protobuf topic; a topic listed as both is subscribed once.
+     */
+    public String[] topics() {
+        Set<String> topics = new LinkedHashSet<>();
+        topics.add(notificationTopic);
+        topics.addAll(decoder.protobufTopics());
+        return topics.toArray(String[]::new);
+    }
+
+    /**
+     * Number of records handed to the dispatcher whose delivery has not completed yet.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private CompletableFuture<RecordOutcome> deliver(ConsumerRecord<String, byte[]> record, BoundNotification bound) {
+        inFlight.incrementAndGet();
+        try {
+            return dispatcher.dispatchAsync(bound).handle((response, error) -> {
+                inFlight.decrementAndGet();
+                return outcomeOf(record, response, error);
+            });
+        } catch (RuntimeException e) {
+            inFlight.decrementAndGet();
+            return CompletableFuture.completedFuture(outcomeOf(record, null, e));
+        }
+    }
+
+    private static RecordOutcome markRejected(Set<String> rejectedKeys, String key, RecordOutcome outcome) {
+        if (outcome == RecordOutcome.REJECTED) {
+            rejectedKeys.add(key);
+        }
+        return outcome;
+    }
+
+    private RecordOutcome outcomeOf(ConsumerRecord<String, byte[]> record, NotificationResponse response, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RejectedExecutionException) {
+            return RecordOutcome.REJECTED;
+        }
+        if (cause != null) {
+            failed.increment();
+            log.error("Delivery failed for record {}-{}@{}: {}", record.topic(), record.partition(), record.offset(), cause.getMessage());
+            return RecordOutcome.FAILED;
+        }
+        if (response != null && response.isDelivered()) {
+            delivered.increment();
+        } else {
+            failed.increment();
+        }
+        return RecordOutcome.DELIVERED;
+    }
+
+    /**
+     * Waits for every record of the batch and returns the index to redeliver from, or -1 if the batch is done.
+     */
+    private int awaitBatch(CompletableFuture<RecordOutcome>[] outcomes) {
+        try {
+            CompletableFuture.allOf(outcomes).get(batchTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Batch did not complete within {}", batchTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Outcomes never complete exceptionally; handled per record below
+        }
+        for (int i = 0; i < outcomes.length; i++) {
+            RecordOutcome outcome = outcomes[i].getNow(RecordOutcome.REJECTED);
+            if (outcome == RecordOutcome.REJECTED) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Counter recordCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("notification.kafka.records")
+                .description("Kafka records processed by the notification listener")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private enum RecordOutcome {
+        DELIVERED,
+        FAILED,
+        MALFORMED,
+        REJECTED
+    }
+}
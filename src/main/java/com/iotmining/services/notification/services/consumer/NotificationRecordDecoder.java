@@ -0,0 +1,105 @@
+package com.iotmining.services.notification.services.consumer;
+
+import com.iotmining.services.notification.services.dispatcher.BoundNotification;
+import com.iotmining.services.notification.services.dispatcher.NotificationDispatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Turns a raw Kafka record into a {@link BoundNotification}, choosing the wire format per record so JSON and
+ * protobuf producers can share the listener.
+ * <p>
+ * The format is taken from the record's {@code content-type} header ({@value #PROTOBUF} or {@value #JSON}); records
+ * without one use their topic's default: protobuf for the topics listed in {@code kafka.consumer.protobuf-topics},
+ * JSON otherwise. JSON records are notification requests bound by the streaming reader; protobuf records are
+ * {@code VmsAlert}s mapped by {@link VmsAlertMapper}.
+ * <p>
+ * Decode time is recorded per format in {@code notification.kafka.decode}.
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.consumer.enabled", havingValue = "true")
+public class NotificationRecordDecoder {
+
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String PROTOBUF = "application/x-protobuf";
+    public static final String JSON = "application/json";
+
+    private final NotificationDispatcher dispatcher;
+    private final VmsAlertMapper vmsAlertMapper;
+    private final Set<String> protobufTopics;
+    private final Timer jsonTimer;
+    private final Timer protobufTimer;
+
+    public NotificationRecordDecoder(NotificationDispatcher dispatcher,
+                                     VmsAlertMapper vmsAlertMapper,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${kafka.consumer.protobuf-topics:}") String[] protobufTopics) {
+        this.dispatcher = dispatcher;
+        this.vmsAlertMapper = vmsAlertMapper;
+        this.protobufTopics = Arrays.stream(protobufTopics)
+                .map(String::trim)
+                .filter(topic -> !topic.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.jsonTimer = decodeTimer(meterRegistry, "json");
+        this.protobufTimer = decodeTimer(meterRegistry, "protobuf");
+    }
+
+    /**
+     * Topics whose records are protobuf unless a record says otherwise.
+     */
+    public Set<String> protobufTopics() {
+        return protobufTopics;
+    }
+
+    /**
+     * Decodes and binds one record.
+     *
+     * @throws IllegalArgumentException (or a parsing exception) if the record is malformed or of an unknown content type.
+     */
+    public BoundNotification decode(ConsumerRecord<String, byte[]> record) {
+        long start = System.nanoTime();
+        if (isProtobuf(record)) {
+            BoundNotification bound = vmsAlertMapper.toNotification(record);
+            protobufTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return bound;
+        }
+        BoundNotification bound = dispatcher.bind(record.value(), null);
+        jsonTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return bound;
+    }
+
+    private boolean isProtobuf(ConsumerRecord<String, byte[]> record) {
+        Header header = record.headers().lastHeader(CONTENT_TYPE_HEADER);
+        if (header == null || header.value() == null) {
+            return protobufTopics.contains(record.topic());
+        }
+        // Ignore parameters such as "; charset=utf-8" or "; proto=VmsAlert"
+        String contentType = new String(header.value(), StandardCharsets.UTF_8).toLowerCase(Locale.ROOT);
+        int separator = contentType.indexOf(';');
+        String mediaType = (separator >= 0 ? contentType.substring(0, separator) : contentType).trim();
+        return switch (mediaType) {
+            case PROTOBUF, "application/protobuf" -> true;
+            case JSON -> false;
+            default -> throw new IllegalArgumentException("Unsupported content-type: " + mediaType);
+        };
+    }
+
+    private static Timer decodeTimer(MeterRegistry meterRegistry, String format) {
+        return Timer.builder("notification.kafka.decode")
+                .description("Time to decode and bind one Kafka record")
+                .tag("format", format)
+                .register(meterRegistry);
+    }
+}
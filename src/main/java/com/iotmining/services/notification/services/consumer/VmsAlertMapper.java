@@ -0,0 +1,131 @@
+package com.iotmining.services.notification.services.consumer;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.iotmining.common.base.notifications.dto.BaseRequest;
+import com.iotmining.common.base.notifications.dto.NotificationWrapper;
+import com.iotmining.common.base.notifications.dto.payload.WebSocketPayload;
+import com.iotmining.common.base.notifications.enums.NotificationType;
+import com.iotmining.services.notification.proto.VmsAlertProto.VmsAlert;
+import com.iotmining.services.notification.services.dispatcher.BoundNotification;
+import com.iotmining.services.notification.services.dispatcher.NotificationDispatcher;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maps a protobuf {@link VmsAlert} record straight into a WEB notification, without going through a JSON tree.
+ * <p>
+ * The alert itself carries only camera data, so the routing fields come from the record:
+ * <ul>
+ *     <li>{@code userId}: the {@code userId} header, or else the record key if it is a UUID;</li>
+ *     <li>{@code correlationId}: the {@code correlationId} header, or else derived from the alert's content, so a
+ *     redelivered or re-published alert maps to the same id and is deduplicated by the idempotency store;</li>
+ *     <li>{@code priority}: the {@code priority} header, or else {@code kafka.consumer.vms-alert.priority}.</li>
+ * </ul>
+ */
+@Component
+public class VmsAlertMapper {
+
+    static final String USER_ID_HEADER = "userId";
+    static final String CORRELATION_ID_HEADER = "correlationId";
+    static final String PRIORITY_HEADER = "priority";
+    private static final String SOURCE_APP = "vms";
+
+    private final NotificationDispatcher dispatcher;
+    private final BaseRequest.Priority defaultPriority;
+
+    public VmsAlertMapper(NotificationDispatcher dispatcher,
+                          @Value("${kafka.consumer.vms-alert.priority:HIGH}") BaseRequest.Priority defaultPriority) {
+        this.dispatcher = dispatcher;
+        this.defaultPriority = defaultPriority;
+    }
+
+    /**
+     * Decodes the record value and binds it to the WEB handler.
+     *
+     * @throws IllegalArgumentException if the value is not a valid VmsAlert or no user can be resolved.
+     */
+    public BoundNotification toNotification(ConsumerRecord<String, byte[]> record) {
+        VmsAlert alert;
+        try {
+            alert = VmsAlert.parseFrom(record.value());
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalArgumentException("Invalid VmsAlert payload: " + e.getMessage(), e);
+        }
+
+        UUID userId = uuidOrNull(header(record, USER_ID_HEADER));
+        if (userId == null) {
+            userId = uuidOrNull(record.key());
+        }
+        if (userId == null) {
+            throw new IllegalArgumentException("VmsAlert for camera " + alert.getCameraId() + " has no userId header or UUID key");
+        }
+
+        UUID correlationId = uuidOrNull(header(record, CORRELATION_ID_HEADER));
+        if (correlationId == null) {
+            String identity = alert.getCameraId() + ':' + alert.getEventType() + ':' + alert.getTimestamp() + ':' + userId;
+            correlationId = UUID.nameUUIDFromBytes(identity.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String priorityHeader = header(record, PRIORITY_HEADER);
+        BaseRequest.Priority priority = priorityHeader != null
+                ? BaseRequest.Priority.valueOf(priorityHeader.trim().toUpperCase())
+                : defaultPriority;
+
+        NotificationWrapper<Object> wrapper = new NotificationWrapper<>();
+        wrapper.setType(NotificationType.WEB);
+        wrapper.setPayload(toPayload(alert, priority));
+        wrapper.setCorrelationId(correlationId);
+        wrapper.setUserId(userId);
+        wrapper.setSourceApp(SOURCE_APP);
+        wrapper.setRetryCount(0);
+        wrapper.setPriority(priority);
+        wrapper.setTimestamp(alert.getTimestamp() > 0 ? alert.getTimestamp() : System.currentTimeMillis());
+        return new BoundNotification(dispatcher.resolveHandler(NotificationType.WEB.name()), wrapper);
+    }
+
+    private static WebSocketPayload toPayload(VmsAlert alert, BaseRequest.Priority priority) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("cameraId", alert.getCameraId());
+        metadata.put("eventType", alert.getEventType());
+        metadata.put("eventTimestamp", alert.getTimestamp());
+        metadata.put("severity", severityOf(priority));
+
+        WebSocketPayload payload = new WebSocketPayload();
+        payload.setTitle(alert.getEventType());
+        payload.setMessage(alert.getEventType() + " detected by camera " + alert.getCameraId());
+        payload.setType("VMS_ALERT");
+        payload.setMetadata(metadata);
+        return payload;
+    }
+
+    private static String severityOf(BaseRequest.Priority priority) {
+        return switch (priority.name()) {
+            case "CRITICAL" -> "CRITICAL";
+            case "HIGH" -> "WARNING";
+            default -> "INFO";
+        };
+    }
+
+    private static String header(ConsumerRecord<String, byte[]> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null && header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static UUID uuidOrNull(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
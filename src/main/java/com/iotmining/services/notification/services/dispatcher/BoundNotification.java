@@ -0,0 +1,34 @@
+package com.iotmining.services.notification.services.dispatcher;
+
+import com.iotmining.common.base.notifications.dto.NotificationWrapper;
+import com.iotmining.services.notification.handler.NotificationHandler;
+
+import java.time.Instant;
+
+/**
+ * A notification request that has been parsed and bound to the handler responsible for its type.
+ * The wrapper's payload is already an instance of {@link NotificationHandler#payloadType()}.
+ * <p>
+ * {@code deadline} is the instant after which the caller no longer waits for the delivery (e.g. a gRPC deadline),
+ * or {@code null} if there is none. It travels next to the wrapper, which belongs to the shared DTO library.
+ */
+public record BoundNotification(NotificationHandler<?> handler, NotificationWrapper<Object> wrapper, Instant deadline) {
+
+    public BoundNotification(NotificationHandler<?> handler, NotificationWrapper<Object> wrapper) {
+        this(handler, wrapper, null);
+    }
+
+    /**
+     * A copy of this notification that must be delivered by {@code deadline}.
+     */
+    public BoundNotification withDeadline(Instant deadline) {
+        return new BoundNotification(handler, wrapper, deadline);
+    }
+
+    /**
+     * True if the notification has a deadline and it has passed.
+     */
+    public boolean isExpired() {
+        return deadline != null && !Instant.now().isBefore(deadline);
+    }
+}
@@ -0,0 +1,58 @@
+package com.iotmining.services.notification.services.dispatcher;
+
+import com.iotmining.services.notification.exceptions.DeadlineExceededException;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Per-attempt context visible to handlers and provider clients while the dispatcher invokes them, so they can check
+ * the notification's deadline right before spending a provider call (and its SMS budget) on it.
+ * <p>
+ * The context is bound to the thread that calls the handler, for the duration of the call. Async handlers that
+ * continue on other threads should read {@link #deadline()} up front.
+ */
+public final class DeliveryContext {
+
+    private static final ThreadLocal<Instant> DEADLINE = new ThreadLocal<>();
+
+    private DeliveryContext() {
+    }
+
+    /**
+     * Deadline of the notification being delivered on this thread, if it has one.
+     */
+    public static Optional<Instant> deadline() {
+        return Optional.ofNullable(DEADLINE.get());
+    }
+
+    /**
+     * Throws if the notification being delivered on this thread is past its deadline.
+     *
+     * @param what the work about to be done, for the exception message (e.g. "SMS provider call").
+     */
+    public static void checkDeadline(String what) {
+        Instant deadline = DEADLINE.get();
+        if (deadline != null && !Instant.now().isBefore(deadline)) {
+            throw new DeadlineExceededException("Deadline " + deadline + " passed before " + what);
+        }
+    }
+
+    static <T> T callWith(Instant deadline, Supplier<T> call) {
+        if (deadline == null) {
+            return call.get();
+        }
+        Instant previous = DEADLINE.get();
+        DEADLINE.set(deadline);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                DEADLINE.set(previous);
+            } else {
+                DEADLINE.remove();
+            }
+        }
+    }
+}
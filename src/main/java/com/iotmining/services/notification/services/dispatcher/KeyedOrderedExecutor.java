@@ -0,0 +1,258 @@
+package com.iotmining.services.notification.services.dispatcher;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Per-key ordering stage: work for the same key (a userId, a cameraId, ...) runs strictly one after another in
+ * submission order, while work for different keys runs in parallel.
+ * <p>
+ * Every key with outstanding work has a tail future, the completion of its latest task; a new task is chained behind
+ * it and becomes the new tail. A task starts only once the previous task's stage has completed, which keeps async
+ * deliveries in order too, but no thread ever waits for a delivery: the next task is started from the completion of
+ * the previous one, on a small pool of starter threads so the completing thread (an HTTP client, a timer) is released
+ * at once. Starting a task only runs it up to its first asynchronous step, so the pool needs few threads.
+ * A key without outstanding work holds no state. A task whose stage has not completed within
+ * {@code notification.ordering.task-timeout} stops holding up its key; it still completes on its own, but later tasks
+ * of its key may overtake it.
+ * <p>
+ * For accounting, keys are hashed to a fixed number of shards ({@code notification.ordering.shards}), each admitting at
+ * most {@code notification.ordering.capacity} waiting tasks; a full shard rejects new work with a
+ * {@link RejectedExecutionException}. Per shard, the stage publishes its number of waiting tasks
+ * ({@code notification.ordering.shard.depth}, tagged {@code shard}); {@code notification.ordering.imbalance} is the
+ * deepest shard divided by the mean depth (1.0 = perfectly even), which exposes hot keys.
+ */
+@Component
+@Slf4j
+public class KeyedOrderedExecutor {
+
+    // tails cannot hold a null key; a null key orders against itself under this one
+    private static final String NULL_KEY = "";
+
+    private final Shard[] shards;
+    private final ConcurrentMap<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final ExecutorService starter;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final Duration taskTimeout;
+    private final Duration shutdownTimeout;
+    private final Timer waitTimer;
+    private final Counter rejected;
+    private final Counter stalled;
+    private volatile boolean running = true;
+
+    public KeyedOrderedExecutor(MeterRegistry meterRegistry,
+                                @Value("${notification.ordering.shards:16}") int shardCount,
+                                @Value("${notification.ordering.capacity:1000}") int capacity,
+                                @Value("${notification.ordering.task-timeout:PT60S}") Duration taskTimeout,
+                                @Value("${notification.ordering.shutdown-timeout:PT10S}") Duration shutdownTimeout) {
+        this.taskTimeout = taskTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.shards = new Shard[Math.max(1, shardCount)];
+        AtomicInteger starterCount = new AtomicInteger();
+        this.starter = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, "NotifyOrdered-" + starterCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rejected = Counter.builder("notification.ordering.rejected")
+                .description("Tasks rejected because their ordering shard was full")
+                .register(meterRegistry);
+        this.stalled = Counter.builder("notification.ordering.stalled")
+                .description("Tasks that did not complete within the task timeout and stopped holding up their key")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("notification.ordering.wait")
+                .description("Time a task spent waiting behind earlier tasks of its key")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(i, capacity, meterRegistry);
+        }
+        Gauge.builder("notification.ordering.imbalance", this, KeyedOrderedExecutor::imbalance)
+                .description("Deepest ordering shard divided by the mean shard depth")
+                .register(meterRegistry);
+        log.info("KeyedOrderedExecutor started with {} shard(s) of capacity {}", shards.length, capacity);
+    }
+
+    /**
+     * Queues {@code task} behind every earlier task of the same {@code key}. The returned future completes with the
+     * outcome of the stage the task returns, or fails with a {@link RejectedExecutionException} if the key's shard
+     * is full. The caller's MDC is carried over for the duration of the task.
+     */
+    public <T> CompletableFuture<T> submit(String key, Supplier<? extends CompletionStage<T>> task) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Ordering shards are shut down"));
+        }
+        Shard shard = shards[shardOf(key)];
+        if (shard.waiting.incrementAndGet() > shard.capacity) {
+            shard.waiting.decrementAndGet();
+            rejected.increment();
+            log.debug("Ordering shard {} is full; rejecting task for key {}", shard.index, key);
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Ordering shard " + shard.index + " is full (" + shard.capacity + " queued)"));
+        }
+        outstanding.incrementAndGet();
+
+        KeyedTask<T> keyedTask = new KeyedTask<>(task, MDC.getCopyOfContextMap(), System.nanoTime());
+        CompletableFuture<Void> tail = new CompletableFuture<>();
+        String tailKey = key != null ? key : NULL_KEY;
+        CompletableFuture<Void> previous = tails.put(tailKey, tail);
+
+        Runnable start = () -> {
+            shard.waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - keyedTask.enqueuedNanos, TimeUnit.NANOSECONDS);
+            keyedTask.start();
+            // The key moves on once the task's stage completes, or once it has run for too long to keep holding it up
+            keyedTask.result
+                    .handle((value, error) -> Boolean.TRUE)
+                    .completeOnTimeout(Boolean.FALSE, taskTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .thenAccept(inTime -> {
+                        if (!inTime) {
+                            stalled.increment();
+                            log.warn("Task for key {} did not complete within {}; continuing with the next task", key, taskTimeout);
+                        }
+                        outstanding.decrementAndGet();
+                        tails.remove(tailKey, tail);
+                        tail.complete(null);
+                    });
+        };
+        if (previous == null) {
+            start.run();
+        } else {
+            previous.whenCompleteAsync((ignored, error) -> start.run(), starter);
+        }
+        return keyedTask.result;
+    }
+
+    /**
+     * Index of the shard accounting for {@code key}; a {@code null} key always maps to shard 0.
+     */
+    public int shardOf(String key) {
+        if (key == null) {
+            return 0;
+        }
+        // Spread the hash so keys that differ only in their high bits (e.g. sequential ids) do not share a shard
+        int h = key.hashCode() * 0x9E3779B9;
+        return Math.floorMod(h ^ (h >>> 16), shards.length);
+    }
+
+    /**
+     * Number of tasks on {@code shard} waiting behind an earlier task of their key, not counting the running ones.
+     */
+    public int depth(int shard) {
+        return shards[shard].waiting.get();
+    }
+
+    /**
+     * Deepest shard relative to the mean shard depth; 1.0 when the load is even or there is none.
+     */
+    public double imbalance() {
+        int max = 0;
+        long total = 0;
+        for (Shard shard : shards) {
+            int depth = shard.waiting.get();
+            max = Math.max(max, depth);
+            total += depth;
+        }
+        return total == 0 ? 1.0 : max / ((double) total / shards.length);
+    }
+
+    /**
+     * Stops accepting work and waits up to {@code notification.ordering.shutdown-timeout} for the tasks already
+     * submitted to settle.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        try {
+            while (outstanding.get() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (outstanding.get() > 0) {
+            log.warn("KeyedOrderedExecutor shut down with {} task(s) still outstanding", outstanding.get());
+        }
+        starter.shutdownNow();
+        log.info("KeyedOrderedExecutor shut down.");
+    }
+
+    private static final class Shard {
+        private final int index;
+        private final int capacity;
+        private final AtomicInteger waiting = new AtomicInteger();
+
+        private Shard(int index, int capacity, MeterRegistry meterRegistry) {
+            this.index = index;
+            this.capacity = capacity;
+            Gauge.builder("notification.ordering.shard.depth", waiting, AtomicInteger::get)
+                    .description("Tasks waiting behind an earlier task of their key on the ordering shard")
+                    .tag("shard", String.valueOf(index))
+                    .register(meterRegistry);
+        }
+    }
+
+    private static final class KeyedTask<T> {
+        private final Supplier<? extends CompletionStage<T>> work;
+        private final Map<String, String> mdc;
+        private final long enqueuedNanos;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private KeyedTask(Supplier<? extends CompletionStage<T>> work, Map<String, String> mdc, long enqueuedNanos) {
+            this.work = work;
+            this.mdc = mdc;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+
+        /**
+         * Runs the task; its result future completes once the task's stage has completed.
+         */
+        private void start() {
+            Map<String, String> callerMdc = MDC.getCopyOfContextMap();
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            } else {
+                MDC.clear();
+            }
+            try {
+                work.get().whenComplete((value, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            } finally {
+                if (callerMdc != null) {
+                    MDC.setContextMap(callerMdc);
+                } else {
+                    MDC.clear();
+                }
+            }
+        }
+    }
+}
@@ -1,38 +1,82 @@
 package com.iotmining.services.notification.services.dispatcher;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.iotmining.common.base.notifications.dto.BaseRequest;
 import com.iotmining.common.base.notifications.dto.NotificationWrapper;
 import com.iotmining.common.base.notifications.enums.NotificationType;
+import com.iotmining.common.data.notifications.NotificationStatus;
 import com.iotmining.common.interfaces.notification.NotificationSender;
 import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import com.iotmining.services.notification.dto.BatchItemResult;
+import com.iotmining.services.notification.dto.DeliveryStatus;
+import com.iotmining.services.notification.dto.MultiChannelNotificationResponse;
+import com.iotmining.services.notification.enums.DispatchLane;
+import com.iotmining.services.notification.exceptions.DeadlineExceededException;
+import com.iotmining.services.notification.exceptions.PermanentDeliveryException;
+import com.iotmining.services.notification.handler.AsyncNotificationHandler;
 import com.iotmining.services.notification.handler.NotificationHandler;
+import com.iotmining.services.notification.model.Plan;
+import com.iotmining.services.notification.model.Priority;
+import com.iotmining.services.notification.ratelimiter.Bucket4jRateLimiterService;
+import com.iotmining.services.notification.services.idempotency.IdempotencyStore;
+import com.iotmining.services.notification.services.retry.RetryCoordinator;
+import com.iotmining.services.notification.services.status.DeliveryStatusTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 public class NotificationDispatcher {
 
     private final Map<NotificationType, NotificationHandler<?>> handlerMap = new HashMap<>();
-    private final ObjectMapper mapper;
+    private final NotificationRequestReader requestReader;
+    private final Bucket4jRateLimiterService rateLimiterService;
+    private final DeliveryStatusTracker statusTracker;
+    private final PriorityLaneExecutor laneExecutor;
+    private final IdempotencyStore idempotencyStore;
+    private final RetryCoordinator retryCoordinator;
     private final List<NotificationSender> senders;
+    private final MeterRegistry meterRegistry;
+    private final int batchChunkSize;
 
     @Autowired
     public NotificationDispatcher(List<NotificationHandler<?>> handlers,
-                                  ObjectMapper mapper,
-                                  List<NotificationSender> senders) {
-        this.mapper = mapper;
+                                  NotificationRequestReader requestReader,
+                                  Bucket4jRateLimiterService rateLimiterService,
+                                  DeliveryStatusTracker statusTracker,
+                                  PriorityLaneExecutor laneExecutor,
+                                  IdempotencyStore idempotencyStore,
+                                  RetryCoordinator retryCoordinator,
+                                  List<NotificationSender> senders,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${notification.batch.chunk-size:500}") int batchChunkSize) {
+        this.requestReader = requestReader;
+        this.rateLimiterService = rateLimiterService;
+        this.statusTracker = statusTracker;
+        this.laneExecutor = laneExecutor;
+        this.idempotencyStore = idempotencyStore;
+        this.retryCoordinator = retryCoordinator;
         this.senders = senders;
+        this.meterRegistry = meterRegistry;
+        this.batchChunkSize = batchChunkSize;
         handlers.forEach(h -> {
             handlerMap.put(h.getType(), h);
             // Log that a handler has been registered during initialization
@@ -42,21 +86,313 @@ public class NotificationDispatcher {
         log.info("NotificationDispatcher initialized with {} handlers.", handlers.size());
     }
 
+    /**
+     * Dispatches a request that is already available as a JSON tree.
+     * Prefer {@link #dispatch(byte[])} on ingress paths: it binds the request without building a tree first.
+     */
     public NotificationResponse dispatch(JsonNode rawRequest) {
-        // Log the initiation of the dispatch process for a new request
         log.debug("Starting dispatch process for an incoming notification request.");
+        return dispatch(requestReader.read(rawRequest, this::resolveHandler, null));
+    }
+
+    /**
+     * Dispatches a request from its raw JSON body, binding envelope and payload in a single streaming pass.
+     */
+    public NotificationResponse dispatch(byte[] rawRequest) {
+        return dispatch(rawRequest, null);
+    }
 
-        // 1. Type resolution
-        String typeStr = rawRequest.path("type").asText(null);
-        if (typeStr == null) {
-            // Warn if the critical 'type' field is missing from the request
-            log.warn("Dispatch failed: Missing 'type' field in the raw request. Request body snippet: {}",
-                    rawRequest.toPrettyString().substring(0, Math.min(rawRequest.toPrettyString().length(), 200)));
-            throw new IllegalArgumentException("Missing 'type' field");
+    /**
+     * Same as {@link #dispatch(byte[])}, falling back to {@code defaultUserId} when the request carries no userId.
+     */
+    public NotificationResponse dispatch(byte[] rawRequest, String defaultUserId) {
+        log.debug("Starting dispatch process for an incoming notification request.");
+        return dispatch(requestReader.read(rawRequest, this::resolveHandler, defaultUserId));
+    }
+
+    /**
+     * Binds a raw JSON request without dispatching it, e.g. to validate it and learn its correlationId up front.
+     */
+    public BoundNotification bind(byte[] rawRequest, String defaultUserId) {
+        return requestReader.read(rawRequest, this::resolveHandler, defaultUserId);
+    }
+
+    /**
+     * Same as {@link #bind(byte[], String)}, for requests that arrive as text (e.g. Kafka record values).
+     */
+    public BoundNotification bind(String rawRequest, String defaultUserId) {
+        return requestReader.read(rawRequest, this::resolveHandler, defaultUserId);
+    }
+
+    /**
+     * Accepts a raw JSON request for asynchronous delivery. The request is bound (and therefore validated) on the
+     * calling thread; delivery happens in the background and its outcome is recorded in the
+     * {@link DeliveryStatusTracker} under the returned status' correlationId, readable only by {@code callerId}.
+     */
+    public DeliveryStatus submit(byte[] rawRequest, UUID callerId) {
+        BoundNotification bound = bind(rawRequest, null);
+        UUID correlationId = bound.wrapper().getCorrelationId();
+        DeliveryStatus status = statusTracker.pending(correlationId, callerId);
+
+        dispatchAsync(bound).whenComplete((response, error) -> {
+            if (error != null) {
+                statusTracker.fail(correlationId, unwrap(error));
+            } else {
+                statusTracker.complete(correlationId, response);
+            }
+        });
+        return status;
+    }
+
+    /**
+     * Dispatches a bound notification without blocking the caller, on the dispatch lane of its priority.
+     * {@link AsyncNotificationHandler}s are composed directly; blocking handlers run on a lane worker.
+     * The returned future fails with a {@link RejectedExecutionException} if the lane is full.
+     */
+    public CompletableFuture<NotificationResponse> dispatchAsync(BoundNotification bound) {
+        return dispatchAsync(bound, laneOf(bound));
+    }
+
+    /**
+     * Same as {@link #dispatchAsync(BoundNotification)}, on an explicitly chosen lane
+     * (e.g. CRITICAL for alerts that arrive on a dedicated channel, whatever priority they declare).
+     */
+    public CompletableFuture<NotificationResponse> dispatchAsync(BoundNotification bound, DispatchLane lane) {
+        NotificationWrapper<Object> wrapper = bound.wrapper();
+        log.info("📨 Dispatching NotificationType={} asynchronously on lane {} with Correlation-ID={}",
+                wrapper.getType(), lane, wrapper.getCorrelationId());
+        return enqueue(bound, lane);
+    }
+
+    /**
+     * Fans a raw JSON request out to every channel it names (a {@code channels} array, or a single {@code type}).
+     * The request is parsed once; all channels are delivered in parallel and the call returns when every channel
+     * has an outcome. A failing channel does not fail the others: its entry carries a FAILURE response instead.
+     */
+    public MultiChannelNotificationResponse dispatchFanOut(byte[] rawRequest, String defaultUserId) {
+        log.debug("Starting fan-out dispatch for an incoming notification request.");
+        List<BoundNotification> targets = requestReader.readFanOut(rawRequest, this::resolveHandler, defaultUserId);
+        return dispatchFanOutAsync(targets, null).join();
+    }
+
+    /**
+     * Delivers the bound channels of one notification in parallel, without blocking the caller.
+     *
+     * @param targets the channels, as returned by {@link NotificationRequestReader#readFanOut}.
+     * @param lane    the dispatch lane for every channel, or {@code null} to use each notification's priority.
+     * @return a future that always completes normally once every channel has an outcome.
+     */
+    public CompletableFuture<MultiChannelNotificationResponse> dispatchFanOutAsync(List<BoundNotification> targets,
+                                                                                   DispatchLane lane) {
+        UUID correlationId = targets.get(0).wrapper().getCorrelationId();
+        log.info("📨 Fanning out Correlation-ID={} to {} channel(s): {}", correlationId, targets.size(),
+                targets.stream().map(b -> b.wrapper().getType()).toList());
+
+        List<CompletableFuture<NotificationResponse>> pending = new ArrayList<>(targets.size());
+        for (BoundNotification bound : targets) {
+            NotificationWrapper<Object> wrapper = bound.wrapper();
+            pending.add(enqueue(bound, lane != null ? lane : laneOf(bound))
+                    .exceptionally(error -> channelFailure(wrapper, unwrap(error))));
         }
-        // Debug log confirming the raw type string extracted
-        log.debug("Extracted notification type string: {}", typeStr);
 
+        return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            Map<String, NotificationResponse> channels = new LinkedHashMap<>();
+            for (int i = 0; i < targets.size(); i++) {
+                String channel = targets.get(i).wrapper().getType().name();
+                NotificationResponse response = pending.get(i).join();
+                if (response.getChannel() == null) {
+                    response.setChannel(channel);
+                }
+                channels.put(channel, response);
+            }
+            MultiChannelNotificationResponse result = MultiChannelNotificationResponse.of(correlationId, channels);
+            log.info("Fan-out completed for Correlation-ID={}: {}/{} channel(s) delivered",
+                    correlationId, result.getDeliveredCount(), channels.size());
+            return result;
+        });
+    }
+
+    /**
+     * Dispatches a batch of raw JSON requests (e.g. the lines of an NDJSON body) and reports each item's
+     * outcome to {@code sink} as soon as its chunk completes.
+     * <p>
+     * Items are consumed in chunks of {@code notification.batch.chunk-size}, so memory stays bounded no matter
+     * how large the batch is. Within a chunk, rate-limit tokens are taken once per user for all of that user's
+     * items, and items are dispatched grouped by handler. Results are emitted in input order; blank lines are skipped
+     * and do not count towards the item index.
+     * <p>
+     * Every item is charged to {@code callerId}, the authenticated sender of the batch, whatever userId it targets,
+     * and under the STANDARD priority whatever priority it declares, like a single request on the public send
+     * endpoint; items without a userId are sent to the caller.
+     */
+    public void dispatchBatch(Stream<String> requests, UUID callerId, Consumer<BatchItemResult> sink) {
+        Objects.requireNonNull(callerId, "callerId");
+        Iterator<String> iterator = requests.iterator();
+        List<String> chunk = new ArrayList<>(batchChunkSize);
+        int baseIndex = 0;
+
+        while (iterator.hasNext()) {
+            String request = iterator.next();
+            if (request == null || request.isBlank()) {
+                continue;
+            }
+            chunk.add(request);
+            if (chunk.size() == batchChunkSize) {
+                dispatchChunk(chunk, baseIndex, callerId, sink);
+                baseIndex += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            dispatchChunk(chunk, baseIndex, callerId, sink);
+            baseIndex += chunk.size();
+        }
+        log.info("Batch dispatch completed for {} notification(s).", baseIndex);
+    }
+
+    /**
+     * Convenience variant of {@link #dispatchBatch(Stream, UUID, Consumer)} that collects all results.
+     */
+    public List<BatchItemResult> dispatchBatch(List<String> requests, UUID callerId) {
+        List<BatchItemResult> results = new ArrayList<>(requests.size());
+        dispatchBatch(requests.stream(), callerId, results::add);
+        return results;
+    }
+
+    private void dispatchChunk(List<String> requests, int baseIndex, UUID callerId, Consumer<BatchItemResult> sink) {
+        String defaultUserId = callerId.toString();
+        int size = requests.size();
+        BoundNotification[] bound = new BoundNotification[size];
+        BatchItemResult[] results = new BatchItemResult[size];
+
+        // 1. Bind every item; a malformed item only fails itself
+        for (int i = 0; i < size; i++) {
+            try {
+                bound[i] = requestReader.read(requests.get(i), this::resolveHandler, defaultUserId);
+            } catch (RuntimeException e) {
+                log.warn("Batch item {} rejected: {}", baseIndex + i, e.getMessage());
+                results[i] = BatchItemResult.failed(baseIndex + i, null, null, BatchItemResult.REJECTED, e.getMessage());
+            }
+        }
+
+        BatchItemResult[] done = dispatchBound(bound, results, baseIndex, null, defaultUserId, Priority.STANDARD).join();
+        for (BatchItemResult result : done) {
+            sink.accept(result);
+        }
+    }
+
+    /**
+     * Dispatches notifications that are already bound (e.g. the channels of a gRPC batch) the same way as a batch
+     * chunk: rate-limit tokens are taken once per user and items are queued grouped by handler. Does not block.
+     * <p>
+     * Only for trusted internal callers: each item is charged under its own declared priority.
+     *
+     * @param items the notifications; each one yields one result, at the same index.
+     * @param lane  the dispatch lane for every item, or {@code null} to use each notification's priority.
+     * @return a future that always completes normally once every item has an outcome.
+     */
+    public CompletableFuture<List<BatchItemResult>> dispatchBatchAsync(List<BoundNotification> items, DispatchLane lane) {
+        BoundNotification[] bound = items.toArray(BoundNotification[]::new);
+        return dispatchBound(bound, new BatchItemResult[bound.length], 0, lane, null, null).thenApply(List::of);
+    }
+
+    /**
+     * Steps shared by every batch path, for items whose {@code results} slot is still empty.
+     *
+     * @param rateLimitKey the user every item is charged to, or {@code null} to charge each item's own user.
+     * @param chargeAs     the priority every item is charged under, or {@code null} to use each item's declared one.
+     */
+    private CompletableFuture<BatchItemResult[]> dispatchBound(BoundNotification[] bound, BatchItemResult[] results,
+                                                               int baseIndex, DispatchLane lane, String rateLimitKey,
+                                                               Priority chargeAs) {
+        int size = bound.length;
+
+        // 2. Take rate-limit tokens once per user for the whole chunk
+        applyBulkRateLimit(bound, results, baseIndex, rateLimitKey, chargeAs);
+
+        // 3. Dispatch grouped by handler, preserving input order inside each group
+        Map<NotificationHandler<?>, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            if (results[i] == null) {
+                groups.computeIfAbsent(bound[i].handler(), h -> new ArrayList<>()).add(i);
+            }
+        }
+        // Items are queued on their priority lanes, so a batch of LOW items cannot hold up CRITICAL traffic
+        List<CompletableFuture<?>> pending = new ArrayList<>(size);
+        groups.forEach((handler, indexes) -> {
+            log.debug("Dispatching {} batch item(s) to handler {}", indexes.size(), handler.getClass().getSimpleName());
+            for (int i : indexes) {
+                int index = i;
+                NotificationWrapper<Object> wrapper = bound[i].wrapper();
+                CompletableFuture<NotificationResponse> delivery;
+                try {
+                    delivery = enqueue(bound[i], lane != null ? lane : laneOf(bound[i]));
+                } catch (RuntimeException e) {
+                    delivery = CompletableFuture.failedFuture(e);
+                }
+                pending.add(delivery.handle((response, error) -> {
+                    results[index] = batchItemResult(baseIndex + index, wrapper, response, error);
+                    return null;
+                }));
+            }
+        });
+
+        return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).thenApply(ignored -> results);
+    }
+
+    private static BatchItemResult batchItemResult(int index, NotificationWrapper<Object> wrapper,
+                                                   NotificationResponse response, Throwable error) {
+        if (error == null) {
+            return BatchItemResult.of(index, wrapper.getCorrelationId(), response);
+        }
+        Throwable cause = unwrap(error);
+        if (cause instanceof RejectedExecutionException) {
+            log.warn("Batch item {} rejected for Correlation-ID {}: {}", index, wrapper.getCorrelationId(), cause.getMessage());
+            return BatchItemResult.failed(index, wrapper.getCorrelationId(),
+                    wrapper.getType().name(), BatchItemResult.REJECTED, cause.getMessage());
+        }
+        log.error("Batch item {} failed for Correlation-ID {}: {}", index, wrapper.getCorrelationId(), cause.getMessage());
+        return BatchItemResult.failed(index, wrapper.getCorrelationId(),
+                wrapper.getType().name(), BatchItemResult.FAILED, cause.getMessage());
+    }
+
+    private void applyBulkRateLimit(BoundNotification[] bound, BatchItemResult[] results, int baseIndex,
+                                    String rateLimitKey, Priority chargeAs) {
+        // userId -> rate-limit priority -> item positions, in input order
+        Map<String, Map<Priority, List<Integer>>> byUser = new HashMap<>();
+        for (int i = 0; i < bound.length; i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            NotificationWrapper<Object> wrapper = bound[i].wrapper();
+            Priority priority = chargeAs != null ? chargeAs : Priority.forRateLimit(wrapper.getPriority().name());
+            String userId = rateLimitKey != null ? rateLimitKey : wrapper.getUserId().toString();
+            byUser.computeIfAbsent(userId, u -> new HashMap<>())
+                    .computeIfAbsent(priority, p -> new ArrayList<>())
+                    .add(i);
+        }
+
+        byUser.forEach((userId, byPriority) -> byPriority.forEach((priority, indexes) -> {
+            long granted = rateLimiterService.consumeBulk(userId, Plan.BASIC, priority, indexes.size());
+            for (int n = (int) granted; n < indexes.size(); n++) {
+                int i = indexes.get(n);
+                NotificationWrapper<Object> wrapper = bound[i].wrapper();
+                results[i] = BatchItemResult.failed(baseIndex + i, wrapper.getCorrelationId(), wrapper.getType().name(),
+                        BatchItemResult.RATE_LIMITED, "Rate limit exceeded for user " + userId);
+            }
+            if (granted < indexes.size()) {
+                log.warn("Rate limit exceeded for user {}: {} of {} batch item(s) rejected",
+                        userId, indexes.size() - granted, indexes.size());
+            }
+        }));
+    }
+
+    /**
+     * Resolves the handler registered for a raw {@code type} value.
+     *
+     * @throws RuntimeException if the type is unknown or has no handler.
+     */
+    public NotificationHandler<?> resolveHandler(String typeStr) {
         NotificationType type;
         try {
             type = NotificationType.valueOf(typeStr);
@@ -76,90 +412,132 @@ public class NotificationDispatcher {
         }
         // Debug log indicating which handler was found for the notification type
         log.debug("Identified handler for NotificationType {}: {}", type, handler.getClass().getName());
+        return handler;
+    }
 
+    private NotificationResponse dispatch(BoundNotification bound) {
+        NotificationWrapper<Object> wrapper = bound.wrapper();
 
-        // 2. Payload binding
-        Class<?> payloadClass = handler.payloadType();
-        // Debug log before attempting to bind the payload
-        log.debug("Attempting to bind raw payload to target type: {}", payloadClass.getName());
-        Object payload = mapper.convertValue(rawRequest.get("payload"), payloadClass);
-        // Debug log after successful payload binding (consider sensitive data before logging payload content)
-        log.debug("Payload successfully bound to type: {}", payload.getClass().getSimpleName());
-
+        // Log the main dispatch action
+        // This log serves as a key indicator of a notification being passed to its handler
+        log.info("📨 Dispatching NotificationType={} with Correlation-ID={}", wrapper.getType(), wrapper.getCorrelationId());
 
-        // 3. Build wrapper with metadata
-        NotificationWrapper<Object> wrapper = new NotificationWrapper<>();
-        wrapper.setType(type);
-        wrapper.setPayload(payload);
+        // Execute handler on the lane of the notification's priority and wait for the outcome
+        NotificationResponse response = await(enqueue(bound, laneOf(bound)));
+        // Debug log confirming handler execution completion
+        log.debug("Handler execution completed for NotificationType={} with Correlation-ID={}", wrapper.getType(), wrapper.getCorrelationId());
+        return response;
+    }
 
-        // Handle Correlation-ID: try to parse if textual, otherwise generate a new one
-        UUID correlationId;
-        JsonNode correlationNode = rawRequest.path("correlationId");
-        if (correlationNode.isTextual()) {
-            try {
-                correlationId = UUID.fromString(correlationNode.asText());
-                // Debug log if Correlation-ID was successfully parsed from request
-                log.debug("Parsed Correlation-ID from request: {}", correlationId);
-            } catch (IllegalArgumentException e) {
-                // Warn if Correlation-ID string is invalid, then generate a new one
-                correlationId = UUID.randomUUID();
-                log.warn("Invalid UUID format for Correlation-ID '{}' in request. Generating new ID: {}. Error: {}",
-                        correlationNode.asText(), correlationId, e.getMessage());
-            }
-        } else {
-            // Debug log if Correlation-ID is missing or not a string, generating a new one
-            correlationId = UUID.randomUUID();
-            log.debug("Correlation-ID missing or not textual in request. Generating new ID: {}", correlationId);
-        }
-        wrapper.setCorrelationId(correlationId); // Set the resolved/generated Correlation-ID
+    /**
+     * Queues a bound notification on {@code lane}, unless the same correlationId was already delivered
+     * (or is being delivered) on the same channel, in which case the earlier outcome is returned.
+     */
+    private CompletableFuture<NotificationResponse> enqueue(BoundNotification bound, DispatchLane lane) {
+        NotificationWrapper<Object> wrapper = bound.wrapper();
+        return idempotencyStore.deliverOnce(wrapper.getCorrelationId(), wrapper.getType().name(),
+                () -> submitToLane(bound, lane));
+    }
 
-        wrapper.setSourceApp(rawRequest.path("sourceApp").asText("unknown"));
-        wrapper.setRetryCount(rawRequest.path("retryCount").asInt(0));
+    /**
+     * Queues the actual delivery attempt. Its outcome goes to the retry subsystem, which re-schedules failed
+     * attempts in the background; the caller still gets this attempt's outcome right away. A permanent failure
+     * reaches the caller as a failed response, like any other failed attempt.
+     */
+    private CompletableFuture<NotificationResponse> submitToLane(BoundNotification bound, DispatchLane lane) {
+        return laneExecutor.submit(lane, () -> attempt(bound))
+                .whenComplete((response, error) -> retryCoordinator.onOutcome(bound, response, error))
+                .exceptionally(error -> {
+                    if (unwrap(error) instanceof PermanentDeliveryException permanent) {
+                        return channelFailure(bound.wrapper(), permanent);
+                    }
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                });
+    }
 
-        // Parse priority with default fallback
-        String priorityStr = rawRequest.path("priority").asText("MEDIUM");
+    /**
+     * Runs one delivery attempt on a lane worker. Work whose deadline passed while it was queued is discarded
+     * without calling the handler; otherwise the deadline is exposed to the handler and its provider client through
+     * {@link DeliveryContext}, so they can give up before the provider call.
+     */
+    private CompletionStage<NotificationResponse> attempt(BoundNotification bound) {
+        NotificationWrapper<Object> wrapper = bound.wrapper();
+        if (bound.isExpired()) {
+            deadlineExpired("queue", wrapper);
+            return CompletableFuture.failedFuture(new DeadlineExceededException(
+                    "Deadline " + bound.deadline() + " passed while queued for Correlation-ID " + wrapper.getCorrelationId()));
+        }
         try {
-            wrapper.setPriority(BaseRequest.Priority.valueOf(priorityStr.toUpperCase())); // Ensure case-insensitive parsing
-            // Debug log confirming the set priority
-            log.debug("Set priority to: {}", wrapper.getPriority());
-        } catch (IllegalArgumentException e) {
-            // Warn if priority value is invalid, defaulting to MEDIUM
-            log.warn("Invalid priority value received: '{}'. Defaulting to MEDIUM for Correlation-ID: {}. Error: {}",
-                    priorityStr, wrapper.getCorrelationId(), e.getMessage());
-            wrapper.setPriority(BaseRequest.Priority.MEDIUM); // Fallback to default
+            CompletionStage<NotificationResponse> stage = DeliveryContext.callWith(bound.deadline(), () ->
+                    bound.handler() instanceof AsyncNotificationHandler<?> asyncHandler
+                            ? dispatchTypedAsync(asyncHandler, wrapper)
+                            : CompletableFuture.completedFuture(dispatchTyped(bound.handler(), wrapper)));
+            return stage.whenComplete((response, error) -> {
+                if (unwrap(error) instanceof DeadlineExceededException) {
+                    deadlineExpired("handler", wrapper);
+                }
+            });
+        } catch (DeadlineExceededException e) {
+            deadlineExpired("handler", wrapper);
+            throw e;
         }
+    }
 
-        wrapper.setTimestamp(rawRequest.path("timestamp").asLong(System.currentTimeMillis()));
+    private void deadlineExpired(String stage, NotificationWrapper<?> wrapper) {
+        log.warn("Discarding {} delivery for Correlation-ID {}: deadline passed ({})", wrapper.getType(), wrapper.getCorrelationId(), stage);
+        Counter.builder("notification.deadline.expired")
+                .description("Deliveries discarded because the caller's deadline had passed")
+                .tag("stage", stage)
+                .tag("channel", wrapper.getType().name())
+                .register(meterRegistry)
+                .increment();
+    }
 
-        // Handle User-ID: ensure it's a textual UUID
-        JsonNode userIdNode = rawRequest.path("userId");
-        if (!userIdNode.isTextual()) {
-            // Warn if userId field is not textual and throw bad request
-            log.warn("Dispatch failed for Correlation-ID {}: 'userId' field is not textual. Value received: {}",
-                    wrapper.getCorrelationId(), userIdNode.toPrettyString());
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected UUID string for userId, got: " + userIdNode);
-        }
+    private static NotificationResponse channelFailure(NotificationWrapper<?> wrapper, Throwable error) {
+        log.error("Channel {} failed for Correlation-ID {}: {}", wrapper.getType(), wrapper.getCorrelationId(), error.getMessage());
+        NotificationResponse response = NotificationResponse.builder()
+                .status(NotificationStatus.FAILURE)
+                .delivered(false)
+                .message(error.getMessage())
+                .correlationId(wrapper.getCorrelationId())
+                .build();
+        response.setChannel(wrapper.getType().name());
+        return response;
+    }
+
+    private static DispatchLane laneOf(BoundNotification bound) {
+        return DispatchLane.forPriority(bound.wrapper().getPriority() != null ? bound.wrapper().getPriority().name() : null);
+    }
+
+    /**
+     * Waits for a dispatch and rethrows a handler's exception as it was thrown, not wrapped in a CompletionException.
+     */
+    private static NotificationResponse await(CompletableFuture<NotificationResponse> future) {
         try {
-            UUID userId = UUID.fromString(userIdNode.asText());
-            wrapper.setUserId(userId);
-            // Debug log confirming successful userId parsing
-            log.debug("Successfully parsed and set userId: {} for Correlation-ID: {}", userId, wrapper.getCorrelationId());
-        } catch (IllegalArgumentException e) {
-            // Warn if userId is not a valid UUID format and throw bad request
-            log.warn("Dispatch failed for Correlation-ID {}: Invalid UUID format for userId '{}'. Error: {}",
-                    wrapper.getCorrelationId(), userIdNode.asText(), e.getMessage());
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid UUID format for userId");
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause.getMessage(), cause);
         }
+    }
 
-        // 4. Log the main dispatch action
-        // This log serves as a key indicator of a notification being passed to its handler
-        log.info("📨 Dispatching NotificationType={} with Correlation-ID={}", type, wrapper.getCorrelationId());
+    private <T> CompletionStage<NotificationResponse> dispatchTypedAsync(AsyncNotificationHandler<T> handler,
+                                                                         NotificationWrapper<?> rawWrapper) {
+        @SuppressWarnings("unchecked")
+        NotificationWrapper<T> typedWrapper = (NotificationWrapper<T>) rawWrapper;
+        log.debug("Invoking handler {}.handleAsync() for NotificationType={} with Correlation-ID={}",
+                handler.getClass().getSimpleName(), typedWrapper.getType(), typedWrapper.getCorrelationId());
+        return handler.handleAsync(typedWrapper);
+    }
 
-        // 5. Execute handler
-        NotificationResponse response = dispatchTyped(handler, wrapper);
-        // Debug log confirming handler execution completion
-        log.debug("Handler execution completed for NotificationType={} with Correlation-ID={}", type, wrapper.getCorrelationId());
-        return response;
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
 
     private <T> NotificationResponse dispatchTyped(NotificationHandler<T> handler, NotificationWrapper<?> rawWrapper) {
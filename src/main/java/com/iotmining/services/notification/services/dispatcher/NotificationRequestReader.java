@@ -0,0 +1,376 @@
+package com.iotmining.services.notification.services.dispatcher;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.iotmining.common.base.notifications.dto.BaseRequest;
+import com.iotmining.common.base.notifications.dto.NotificationWrapper;
+import com.iotmining.services.notification.handler.NotificationHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Binds a notification request envelope and its typed payload into a {@link NotificationWrapper}
+ * in a single streaming pass over the JSON tokens.
+ * <p>
+ * The payload is bound straight from the parser when the {@code type} field precedes it, which is the
+ * layout every producer we know of uses. If the payload comes first it is copied into a {@link TokenBuffer}
+ * (a flat token list, not a tree) and bound once the type is known.
+ * Payload readers are cached per {@link NotificationHandler#payloadType()}.
+ * <p>
+ * {@link #readFanOut} additionally accepts a {@code channels} array naming several notification types. The envelope
+ * is resolved once and the payload is bound once per distinct payload class, then shared by every channel.
+ */
+@Component
+@Slf4j
+public class NotificationRequestReader {
+
+    private final ObjectMapper mapper;
+    private final Map<Class<?>, ObjectReader> payloadReaders = new ConcurrentHashMap<>();
+
+    public NotificationRequestReader(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Reads a request from its raw JSON bytes.
+     *
+     * @param body            the request body.
+     * @param handlerResolver resolves the handler for the {@code type} field; expected to throw for unknown types.
+     * @param defaultUserId   userId to use when the request carries none, or {@code null} to require one.
+     */
+    public BoundNotification read(byte[] body,
+                                  Function<String, NotificationHandler<?>> handlerResolver,
+                                  String defaultUserId) {
+        try (JsonParser parser = mapper.getFactory().createParser(body)) {
+            return read(parser, handlerResolver, defaultUserId, false).get(0);
+        } catch (IOException e) {
+            log.warn("Failed to parse notification request: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed notification request: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a request from a JSON string, e.g. one line of an NDJSON batch.
+     */
+    public BoundNotification read(String body,
+                                  Function<String, NotificationHandler<?>> handlerResolver,
+                                  String defaultUserId) {
+        try (JsonParser parser = mapper.getFactory().createParser(body)) {
+            return read(parser, handlerResolver, defaultUserId, false).get(0);
+        } catch (IOException e) {
+            log.warn("Failed to parse notification request: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed notification request: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a request that has already been materialized as a tree (kept for callers that build requests in code).
+     */
+    public BoundNotification read(JsonNode tree,
+                                  Function<String, NotificationHandler<?>> handlerResolver,
+                                  String defaultUserId) {
+        try (JsonParser parser = mapper.treeAsTokens(tree)) {
+            return read(parser, handlerResolver, defaultUserId, false).get(0);
+        } catch (IOException e) {
+            log.warn("Failed to bind notification request: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed notification request: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a request that may target several channels at once: either a {@code channels} array of notification
+     * types or, as for {@link #read(byte[], Function, String)}, a single {@code type}. When both are present,
+     * {@code channels} wins.
+     *
+     * @return one bound notification per distinct channel, in the order the channels were listed. All of them share
+     * the same correlationId and envelope metadata; channels with the same payload class share the bound payload.
+     */
+    public List<BoundNotification> readFanOut(byte[] body,
+                                              Function<String, NotificationHandler<?>> handlerResolver,
+                                              String defaultUserId) {
+        try (JsonParser parser = mapper.getFactory().createParser(body)) {
+            return read(parser, handlerResolver, defaultUserId, true);
+        } catch (IOException e) {
+            log.warn("Failed to parse notification request: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed notification request: " + e.getMessage());
+        }
+    }
+
+    private List<BoundNotification> read(JsonParser parser,
+                                         Function<String, NotificationHandler<?>> handlerResolver,
+                                         String defaultUserId,
+                                         boolean fanOut) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected a JSON object as notification request");
+        }
+
+        NotificationHandler<?> handler = null;
+        List<NotificationHandler<?>> channelHandlers = null;
+        Object payload = null;
+        TokenBuffer bufferedPayload = null;
+
+        String correlationStr = null;
+        String userIdStr = null;
+        String userIdRaw = "";
+        boolean userIdTextual = false;
+        boolean userIdPresent = false;
+        String priorityStr = null;
+        String sourceApp = null;
+        int retryCount = 0;
+        long timestamp = -1L;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+
+            switch (field) {
+                case "type" -> {
+                    String typeStr = scalarText(parser, token);
+                    if (typeStr == null) {
+                        log.warn("Dispatch failed: 'type' field is null in the raw request.");
+                        throw new IllegalArgumentException("Missing 'type' field");
+                    }
+                    log.debug("Extracted notification type string: {}", typeStr);
+                    handler = handlerResolver.apply(typeStr);
+                }
+                case "channels" -> {
+                    if (fanOut) {
+                        channelHandlers = resolveChannels(parser, token, handlerResolver);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "payload" -> {
+                    if (handler != null && !fanOut) {
+                        payload = bindPayload(handler, parser, token);
+                    } else {
+                        // The type has not been seen yet, or the payload may be bound to several classes (fan-out):
+                        // keep the payload as tokens, not as a tree.
+                        bufferedPayload = new TokenBuffer(parser);
+                        bufferedPayload.copyCurrentStructure(parser);
+                    }
+                }
+                case "correlationId" -> correlationStr = token == JsonToken.VALUE_STRING ? parser.getText() : skip(parser);
+                case "userId" -> {
+                    userIdTextual = token == JsonToken.VALUE_STRING;
+                    userIdPresent = token != JsonToken.VALUE_NULL;
+                    if (token == JsonToken.VALUE_NULL) {
+                        userIdRaw = "null";
+                    } else if (token.isScalarValue()) {
+                        userIdRaw = parser.getText();
+                        userIdStr = userIdTextual ? userIdRaw : null;
+                    } else {
+                        userIdRaw = token.asString();
+                        parser.skipChildren();
+                    }
+                }
+                case "priority" -> priorityStr = scalarText(parser, token);
+                case "sourceApp" -> sourceApp = scalarText(parser, token);
+                case "retryCount" -> retryCount = token.isScalarValue() ? parser.getValueAsInt(0) : skipInt(parser);
+                case "timestamp" -> timestamp = token.isScalarValue() && token != JsonToken.VALUE_NULL
+                        ? parser.getValueAsLong(-1L) : skipLong(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        // 1. Target channels
+        List<NotificationHandler<?>> targets;
+        if (channelHandlers != null && !channelHandlers.isEmpty()) {
+            targets = channelHandlers;
+        } else if (handler != null) {
+            targets = List.of(handler);
+        } else {
+            log.warn("Dispatch failed: Missing 'type' field in the raw request.");
+            throw new IllegalArgumentException(fanOut ? "Missing 'type' or 'channels' field" : "Missing 'type' field");
+        }
+
+        // 2. Payload, bound once per payload class
+        Map<Class<?>, Object> payloads = new HashMap<>(4);
+        if (payload != null) {
+            payloads.put(handler.payloadType(), payload);
+        }
+        for (NotificationHandler<?> target : targets) {
+            Object bound = payloads.get(target.payloadType());
+            if (bound == null && bufferedPayload != null) {
+                try (JsonParser buffered = bufferedPayload.asParser(mapper)) {
+                    bound = bindPayload(target, buffered, buffered.nextToken());
+                }
+            }
+            if (bound == null) {
+                log.warn("Dispatch failed: Missing 'payload' for NotificationType {}", target.getType());
+                throw new IllegalArgumentException("Missing 'payload' field");
+            }
+            payloads.put(target.payloadType(), bound);
+            log.debug("Payload successfully bound to type: {}", bound.getClass().getSimpleName());
+        }
+
+        // 3. Envelope metadata, resolved once for all channels
+        UUID correlationId = resolveCorrelationId(correlationStr);
+        BaseRequest.Priority priority = resolvePriority(priorityStr, correlationId);
+        long resolvedTimestamp = timestamp >= 0 ? timestamp : System.currentTimeMillis();
+
+        // 4. User-ID: must be a textual UUID, unless the caller supplies a default
+        if (defaultUserId != null && !userIdPresent) {
+            userIdTextual = true;
+            userIdStr = defaultUserId;
+        }
+        if (!userIdTextual) {
+            log.warn("Dispatch failed for Correlation-ID {}: 'userId' field is not textual. Value received: {}",
+                    correlationId, userIdRaw);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected UUID string for userId, got: " + userIdRaw);
+        }
+        UUID userId;
+        try {
+            userId = UUID.fromString(userIdStr);
+            log.debug("Successfully parsed and set userId: {} for Correlation-ID: {}", userId, correlationId);
+        } catch (IllegalArgumentException e) {
+            log.warn("Dispatch failed for Correlation-ID {}: Invalid UUID format for userId '{}'. Error: {}",
+                    correlationId, userIdStr, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid UUID format for userId");
+        }
+
+        // 5. One wrapper per channel, sharing the envelope
+        List<BoundNotification> result = new ArrayList<>(targets.size());
+        for (NotificationHandler<?> target : targets) {
+            NotificationWrapper<Object> wrapper = new NotificationWrapper<>();
+            wrapper.setType(target.getType());
+            wrapper.setPayload(payloads.get(target.payloadType()));
+            wrapper.setCorrelationId(correlationId);
+            wrapper.setSourceApp(sourceApp != null ? sourceApp : "unknown");
+            wrapper.setRetryCount(retryCount);
+            wrapper.setPriority(priority);
+            wrapper.setTimestamp(resolvedTimestamp);
+            wrapper.setUserId(userId);
+            result.add(new BoundNotification(target, wrapper));
+        }
+        return result;
+    }
+
+    /**
+     * Resolves a {@code channels} array to its handlers, dropping duplicates and keeping the listed order.
+     */
+    private static List<NotificationHandler<?>> resolveChannels(JsonParser parser, JsonToken token,
+                                                                Function<String, NotificationHandler<?>> handlerResolver)
+            throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected an array of notification types for 'channels'");
+        }
+        Map<Object, NotificationHandler<?>> handlers = new LinkedHashMap<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            String channel = scalarText(parser, parser.currentToken());
+            if (channel == null || channel.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Blank entry in 'channels'");
+            }
+            NotificationHandler<?> handler = handlerResolver.apply(channel);
+            handlers.putIfAbsent(handler.getType(), handler);
+        }
+        log.debug("Extracted fan-out channels: {}", handlers.keySet());
+        return new ArrayList<>(handlers.values());
+    }
+
+    /**
+     * Returns the cached reader for a payload class, creating it on first use.
+     */
+    public ObjectReader payloadReader(Class<?> payloadClass) {
+        return payloadReaders.computeIfAbsent(payloadClass, mapper::readerFor);
+    }
+
+    /**
+     * Binds a payload from fields that did not arrive as JSON (e.g. a protobuf message's map), streaming them
+     * through a {@link TokenBuffer} into the cached reader for {@code payloadClass}.
+     */
+    public Object bindPayload(Map<String, ?> fields, Class<?> payloadClass) {
+        try (TokenBuffer buffer = new TokenBuffer(mapper, false)) {
+            mapper.writeValue(buffer, fields);
+            try (JsonParser parser = buffer.asParser(mapper)) {
+                return payloadReader(payloadClass).readValue(parser);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot bind " + payloadClass.getSimpleName() + " payload: " + e.getMessage(), e);
+        }
+    }
+
+    private Object bindPayload(NotificationHandler<?> handler, JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        Class<?> payloadClass = handler.payloadType();
+        log.debug("Attempting to bind raw payload to target type: {}", payloadClass.getName());
+        return payloadReader(payloadClass).readValue(parser);
+    }
+
+    private UUID resolveCorrelationId(String correlationStr) {
+        if (correlationStr == null) {
+            UUID generated = UUID.randomUUID();
+            log.debug("Correlation-ID missing or not textual in request. Generating new ID: {}", generated);
+            return generated;
+        }
+        try {
+            UUID parsed = UUID.fromString(correlationStr);
+            log.debug("Parsed Correlation-ID from request: {}", parsed);
+            return parsed;
+        } catch (IllegalArgumentException e) {
+            UUID generated = UUID.randomUUID();
+            log.warn("Invalid UUID format for Correlation-ID '{}' in request. Generating new ID: {}. Error: {}",
+                    correlationStr, generated, e.getMessage());
+            return generated;
+        }
+    }
+
+    private BaseRequest.Priority resolvePriority(String priorityStr, UUID correlationId) {
+        String value = priorityStr != null ? priorityStr : "MEDIUM";
+        try {
+            BaseRequest.Priority priority = BaseRequest.Priority.valueOf(value.toUpperCase());
+            log.debug("Set priority to: {}", priority);
+            return priority;
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid priority value received: '{}'. Defaulting to MEDIUM for Correlation-ID: {}. Error: {}",
+                    value, correlationId, e.getMessage());
+            return BaseRequest.Priority.MEDIUM;
+        }
+    }
+
+    // Mirrors JsonNode.asText(null): scalars yield their text, null yields null, containers yield "".
+    private static String scalarText(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return "";
+    }
+
+    private static String skip(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        return null;
+    }
+
+    private static int skipInt(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        return 0;
+    }
+
+    private static long skipLong(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        return -1L;
+    }
+}
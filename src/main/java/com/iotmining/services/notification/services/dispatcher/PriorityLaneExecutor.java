@@ -0,0 +1,326 @@
+package com.iotmining.services.notification.services.dispatcher;
+
+import com.iotmining.services.notification.enums.DispatchLane;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Priority-laned dispatch stage in front of the notification handlers.
+ * <p>
+ * Every {@link DispatchLane} has its own bounded queue; a full lane rejects new work with a
+ * {@link RejectedExecutionException} instead of growing, so a LOW-priority storm cannot consume the memory
+ * or queue slots of the other lanes.
+ * <p>
+ * Workers always take CRITICAL work first. The remaining lanes are drained by smooth weighted round-robin
+ * ({@code notification.lanes.weight.*}), so HIGH gets most of the capacity without starving MEDIUM or LOW.
+ * Running tasks are never interrupted; instead, {@code notification.lanes.critical-workers} threads serve
+ * only the CRITICAL lane, so a CRITICAL alert never waits behind LOW work that is already executing.
+ * <p>
+ * Per lane, the stage publishes its queue depth, queue wait and execution time (with p50/p99) and the number of
+ * rejected tasks, tagged with {@code lane}.
+ */
+@Component
+@Slf4j
+public class PriorityLaneExecutor {
+
+    private final Map<DispatchLane, Lane> lanes = new EnumMap<>(DispatchLane.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final Condition criticalAvailable = lock.newCondition();
+    private final DispatchLane[] schedule;
+    private final List<Thread> workers = new ArrayList<>();
+    private final Duration shutdownTimeout;
+    private int scheduleCursor;
+    private boolean running = true;
+
+    public PriorityLaneExecutor(MeterRegistry meterRegistry,
+                                @Value("${notification.lanes.workers:32}") int workerCount,
+                                @Value("${notification.lanes.critical-workers:4}") int criticalWorkerCount,
+                                @Value("${notification.lanes.capacity.critical:1000}") int criticalCapacity,
+                                @Value("${notification.lanes.capacity.high:2000}") int highCapacity,
+                                @Value("${notification.lanes.capacity.medium:5000}") int mediumCapacity,
+                                @Value("${notification.lanes.capacity.low:10000}") int lowCapacity,
+                                @Value("${notification.lanes.weight.high:8}") int highWeight,
+                                @Value("${notification.lanes.weight.medium:4}") int mediumWeight,
+                                @Value("${notification.lanes.weight.low:1}") int lowWeight,
+                                @Value("${notification.lanes.shutdown-timeout:PT10S}") Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+        lanes.put(DispatchLane.CRITICAL, new Lane(DispatchLane.CRITICAL, criticalCapacity, meterRegistry));
+        lanes.put(DispatchLane.HIGH, new Lane(DispatchLane.HIGH, highCapacity, meterRegistry));
+        lanes.put(DispatchLane.MEDIUM, new Lane(DispatchLane.MEDIUM, mediumCapacity, meterRegistry));
+        lanes.put(DispatchLane.LOW, new Lane(DispatchLane.LOW, lowCapacity, meterRegistry));
+        this.schedule = weightedSchedule(Map.of(
+                DispatchLane.HIGH, Math.max(1, highWeight),
+                DispatchLane.MEDIUM, Math.max(1, mediumWeight),
+                DispatchLane.LOW, Math.max(1, lowWeight)));
+
+        for (int i = 0; i < criticalWorkerCount; i++) {
+            startWorker("NotifyLane-critical-" + i, true);
+        }
+        for (int i = 0; i < workerCount; i++) {
+            startWorker("NotifyLane-" + i, false);
+        }
+        log.info("PriorityLaneExecutor started with {} worker(s) and {} CRITICAL-only worker(s); weights HIGH:MEDIUM:LOW = {}:{}:{}",
+                workerCount, criticalWorkerCount, highWeight, mediumWeight, lowWeight);
+    }
+
+    /**
+     * Queues {@code task} on {@code lane}. The task runs on a lane worker; the returned future completes with the
+     * outcome of the stage it returns. If the lane is full, the returned future fails with a
+     * {@link RejectedExecutionException}.
+     * <p>
+     * The caller's MDC is carried over to the worker for the duration of the task.
+     */
+    public <T> CompletableFuture<T> submit(DispatchLane laneId, Supplier<? extends CompletionStage<T>> task) {
+        Lane lane = lanes.get(laneId);
+        LaneTask<T> laneTask = new LaneTask<>(task, MDC.getCopyOfContextMap(), System.nanoTime());
+
+        lock.lock();
+        try {
+            if (!running) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException("Dispatch lanes are shut down"));
+            }
+            if (lane.queue.size() >= lane.capacity) {
+                lane.rejected.increment();
+                log.debug("Dispatch lane {} is full ({} task(s)); rejecting task", laneId, lane.capacity);
+                return CompletableFuture.failedFuture(new RejectedExecutionException(
+                        "Dispatch lane " + laneId + " is full (" + lane.capacity + " queued)"));
+            }
+            lane.queue.addLast(laneTask);
+            lane.depth.incrementAndGet();
+            if (laneId == DispatchLane.CRITICAL) {
+                criticalAvailable.signal();
+            }
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        return laneTask.result;
+    }
+
+    /**
+     * Number of tasks currently queued on {@code lane}.
+     */
+    public int depth(DispatchLane lane) {
+        return lanes.get(lane).depth.get();
+    }
+
+    /**
+     * Fraction (0..1) of {@code lane}'s queue capacity currently in use.
+     */
+    public double utilization(DispatchLane lane) {
+        Lane l = lanes.get(lane);
+        return l.capacity == 0 ? 1.0 : (double) l.depth.get() / l.capacity;
+    }
+
+    /**
+     * Utilization of the fullest lane, i.e. how close the stage is to rejecting work on any lane.
+     */
+    public double maxUtilization() {
+        double max = 0.0;
+        for (DispatchLane lane : DispatchLane.values()) {
+            max = Math.max(max, utilization(lane));
+        }
+        return max;
+    }
+
+    /**
+     * Stops accepting work, lets the workers drain what is already queued and waits up to
+     * {@code notification.lanes.shutdown-timeout} for them to finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        lock.lock();
+        try {
+            running = false;
+            workAvailable.signalAll();
+            criticalAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Thread worker : workers) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            try {
+                if (remainingMillis > 0) {
+                    worker.join(remainingMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.stream().filter(Thread::isAlive).forEach(Thread::interrupt);
+        log.info("PriorityLaneExecutor shut down.");
+    }
+
+    private void startWorker(String name, boolean criticalOnly) {
+        Thread worker = new Thread(() -> runWorker(criticalOnly), name);
+        worker.setDaemon(true);
+        workers.add(worker);
+        worker.start();
+    }
+
+    private void runWorker(boolean criticalOnly) {
+        Condition available = criticalOnly ? criticalAvailable : workAvailable;
+        while (true) {
+            Lane lane;
+            LaneTask<?> task;
+            lock.lock();
+            try {
+                while ((lane = nextLane(criticalOnly)) == null) {
+                    if (!running) {
+                        return;
+                    }
+                    available.await();
+                }
+                task = lane.queue.pollFirst();
+                lane.depth.decrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            task.run(lane);
+        }
+    }
+
+    /**
+     * Picks the lane to take the next task from; must be called with {@link #lock} held.
+     * CRITICAL always wins, the other lanes follow the weighted schedule, skipping empty lanes.
+     */
+    private Lane nextLane(boolean criticalOnly) {
+        Lane critical = lanes.get(DispatchLane.CRITICAL);
+        if (!critical.queue.isEmpty()) {
+            return critical;
+        }
+        if (criticalOnly) {
+            return null;
+        }
+        for (int i = 0; i < schedule.length; i++) {
+            Lane lane = lanes.get(schedule[scheduleCursor]);
+            scheduleCursor = (scheduleCursor + 1) % schedule.length;
+            if (!lane.queue.isEmpty()) {
+                return lane;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds a smooth weighted round-robin sequence: with weights 8:4:1 the lanes are interleaved
+     * (H M H H M H ...) rather than served in bursts.
+     */
+    private static DispatchLane[] weightedSchedule(Map<DispatchLane, Integer> weights) {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        Map<DispatchLane, Integer> current = new EnumMap<>(DispatchLane.class);
+        weights.keySet().forEach(lane -> current.put(lane, 0));
+
+        DispatchLane[] sequence = new DispatchLane[total];
+        for (int slot = 0; slot < total; slot++) {
+            DispatchLane best = null;
+            for (DispatchLane lane : current.keySet()) {
+                current.merge(lane, weights.get(lane), Integer::sum);
+                if (best == null || current.get(lane) > current.get(best)) {
+                    best = lane;
+                }
+            }
+            current.merge(best, -total, Integer::sum);
+            sequence[slot] = best;
+        }
+        return sequence;
+    }
+
+    private static final class Lane {
+        private final int capacity;
+        private final ArrayDeque<LaneTask<?>> queue;
+        private final AtomicInteger depth = new AtomicInteger();
+        private final Timer waitTimer;
+        private final Timer executionTimer;
+        private final Counter rejected;
+
+        private Lane(DispatchLane lane, int capacity, MeterRegistry meterRegistry) {
+            this.capacity = capacity;
+            this.queue = new ArrayDeque<>(Math.min(capacity, 1024));
+            String tag = lane.name();
+            Gauge.builder("notification.dispatch.lane.depth", depth, AtomicInteger::get)
+                    .description("Tasks queued on the dispatch lane")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            this.waitTimer = Timer.builder("notification.dispatch.lane.wait")
+                    .description("Time a task spent queued on the dispatch lane")
+                    .tag("lane", tag)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            this.executionTimer = Timer.builder("notification.dispatch.lane.execution")
+                    .description("Time from a task leaving the lane until its delivery completed")
+                    .tag("lane", tag)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("notification.dispatch.lane.rejected")
+                    .description("Tasks rejected because the dispatch lane was full")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static final class LaneTask<T> {
+        private final Supplier<? extends CompletionStage<T>> work;
+        private final Map<String, String> mdc;
+        private final long enqueuedNanos;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private LaneTask(Supplier<? extends CompletionStage<T>> work, Map<String, String> mdc, long enqueuedNanos) {
+            this.work = work;
+            this.mdc = mdc;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+
+        private void run(Lane lane) {
+            long startNanos = System.nanoTime();
+            lane.waitTimer.record(startNanos - enqueuedNanos, TimeUnit.NANOSECONDS);
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                work.get().whenComplete((value, error) -> {
+                    lane.executionTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            } catch (Throwable t) {
+                lane.executionTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                result.completeExceptionally(t);
+            } finally {
+                MDC.clear();
+            }
+        }
+    }
+}
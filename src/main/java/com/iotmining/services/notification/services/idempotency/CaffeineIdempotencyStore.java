@@ -0,0 +1,69 @@
+package com.iotmining.services.notification.services.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Node-local {@link IdempotencyStore}: a bounded, expiring Caffeine cache of delivery futures.
+ * A duplicate that arrives while the first delivery is still running shares its future instead of sending again.
+ */
+@Slf4j
+public class CaffeineIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, CompletableFuture<NotificationResponse>> deliveries;
+    private final Counter duplicates;
+
+    public CaffeineIdempotencyStore(long maxEntries, Duration window, MeterRegistry meterRegistry) {
+        this.deliveries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(window)
+                .build();
+        this.duplicates = Counter.builder("notification.idempotency.duplicates")
+                .description("Deliveries suppressed as duplicates")
+                .tag("store", "local")
+                .register(meterRegistry);
+        log.info("Local idempotency store initialized (max entries: {}, window: {})", maxEntries, window);
+    }
+
+    @Override
+    public CompletableFuture<NotificationResponse> deliverOnce(UUID correlationId,
+                                                               String channel,
+                                                               Supplier<CompletableFuture<NotificationResponse>> delivery) {
+        String key = IdempotencyStore.key(correlationId, channel);
+        CompletableFuture<NotificationResponse> promise = new CompletableFuture<>();
+        CompletableFuture<NotificationResponse> existing = deliveries.asMap().putIfAbsent(key, promise);
+        if (existing != null) {
+            duplicates.increment();
+            log.info("Duplicate notification suppressed for Correlation-ID {} on channel {}", correlationId, channel);
+            return existing;
+        }
+
+        CompletableFuture<NotificationResponse> outcome;
+        try {
+            outcome = delivery.get();
+        } catch (RuntimeException e) {
+            outcome = CompletableFuture.failedFuture(e);
+        }
+        outcome.whenComplete((response, error) -> {
+            if (error != null || response == null || !response.isDelivered()) {
+                // Forget failed attempts so that a retry is delivered rather than answered from the cache
+                deliveries.asMap().remove(key, promise);
+            }
+            if (error != null) {
+                promise.completeExceptionally(error);
+            } else {
+                promise.complete(response);
+            }
+        });
+        return promise;
+    }
+}
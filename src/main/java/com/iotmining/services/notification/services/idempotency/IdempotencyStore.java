@@ -0,0 +1,29 @@
+package com.iotmining.services.notification.services.idempotency;
+
+import com.iotmining.common.base.notifications.dto.NotificationResponse;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Suppresses duplicate deliveries of the same notification on the same channel, e.g. after an upstream retry or a
+ * Kafka redelivery. Entries are keyed on {@code correlationId:channel} and kept for the dedup window
+ * ({@code notification.idempotency.window}).
+ * <p>
+ * Only delivered outcomes are remembered; a failed or undelivered attempt releases its key so that a retry can go out.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Runs {@code delivery} unless the same notification was already delivered on {@code channel} within the dedup
+     * window, or is being delivered right now. In that case the earlier outcome is returned instead.
+     */
+    CompletableFuture<NotificationResponse> deliverOnce(UUID correlationId,
+                                                        String channel,
+                                                        Supplier<CompletableFuture<NotificationResponse>> delivery);
+
+    static String key(UUID correlationId, String channel) {
+        return correlationId + ":" + channel;
+    }
+}
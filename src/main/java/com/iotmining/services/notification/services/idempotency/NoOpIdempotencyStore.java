@@ -0,0 +1,20 @@
+package com.iotmining.services.notification.services.idempotency;
+
+import com.iotmining.common.base.notifications.dto.NotificationResponse;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * {@link IdempotencyStore} used when deduplication is switched off ({@code notification.idempotency.store=none}).
+ */
+public class NoOpIdempotencyStore implements IdempotencyStore {
+
+    @Override
+    public CompletableFuture<NotificationResponse> deliverOnce(UUID correlationId,
+                                                               String channel,
+                                                               Supplier<CompletableFuture<NotificationResponse>> delivery) {
+        return delivery.get();
+    }
+}
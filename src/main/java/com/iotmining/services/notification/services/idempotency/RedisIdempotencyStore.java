@@ -0,0 +1,183 @@
+package com.iotmining.services.notification.services.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import com.iotmining.common.data.notifications.NotificationStatus;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cluster-wide {@link IdempotencyStore} for multi-node deployments.
+ * <p>
+ * A delivery claims its key with {@code SET NX PX window}. The marker is replaced with the serialized response once
+ * delivered, or deleted if the attempt failed. Duplicates on any node get the stored response back, or an
+ * "in progress" response while the first delivery is still running.
+ * If Redis is unreachable the store fails open and delivers: a possible duplicate is preferable to a lost alert.
+ * <p>
+ * All commands go through Lettuce's asynchronous API on the shared connection, so neither the caller (an HTTP, gRPC
+ * or Kafka thread) nor a lane worker ever waits on a Redis round trip. Once the claim is answered, the delivery is
+ * started on a small pool of continuation threads rather than on Lettuce's event loop, since the delivery supplier is
+ * the caller's code; starting a delivery only queues it, so the pool needs few threads.
+ */
+@Slf4j
+public class RedisIdempotencyStore implements IdempotencyStore, AutoCloseable {
+
+    private static final String KEY_PREFIX = "notification:idempotency:";
+    private static final String IN_FLIGHT = "IN_FLIGHT";
+    private static final byte[] IN_FLIGHT_BYTES = IN_FLIGHT.getBytes(StandardCharsets.UTF_8);
+
+    private final LettuceConnectionFactory connectionFactory;
+    private final ObjectReader responseReader;
+    private final ObjectWriter responseWriter;
+    private final Duration window;
+    private final Counter duplicates;
+    private final ExecutorService continuations;
+
+    public RedisIdempotencyStore(LettuceConnectionFactory connectionFactory, ObjectMapper mapper, Duration window,
+                                 MeterRegistry meterRegistry) {
+        this.connectionFactory = connectionFactory;
+        this.responseReader = mapper.readerFor(NotificationResponse.class);
+        this.responseWriter = mapper.writerFor(NotificationResponse.class);
+        this.window = window;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.continuations = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "idempotency-" + threadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.duplicates = Counter.builder("notification.idempotency.duplicates")
+                .description("Deliveries suppressed as duplicates")
+                .tag("store", "redis")
+                .register(meterRegistry);
+        log.info("Redis idempotency store initialized (window: {})", window);
+    }
+
+    @Override
+    public CompletableFuture<NotificationResponse> deliverOnce(UUID correlationId,
+                                                               String channel,
+                                                               Supplier<CompletableFuture<NotificationResponse>> delivery) {
+        String redisKey = KEY_PREFIX + IdempotencyStore.key(correlationId, channel);
+        byte[] key = redisKey.getBytes(StandardCharsets.UTF_8);
+        return call(redis -> redis.set(key, IN_FLIGHT_BYTES, SetArgs.Builder.nx().px(window.toMillis())))
+                .handleAsync((reply, error) -> {
+                    if (error != null) {
+                        log.warn("Idempotency check unavailable for Correlation-ID {} on channel {}, delivering without it: {}",
+                                correlationId, channel, error.getMessage());
+                        return delivery.get();
+                    }
+                    // SET NX answers OK when the key was claimed, nothing when it already existed
+                    if (!"OK".equals(reply)) {
+                        duplicates.increment();
+                        log.info("Duplicate notification suppressed for Correlation-ID {} on channel {}", correlationId, channel);
+                        return previousOutcome(key, correlationId, channel);
+                    }
+                    return deliverClaimed(key, redisKey, correlationId, channel, delivery);
+                }, continuations)
+                .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<NotificationResponse> deliverClaimed(byte[] key, String redisKey, UUID correlationId,
+                                                                   String channel,
+                                                                   Supplier<CompletableFuture<NotificationResponse>> delivery) {
+        CompletableFuture<NotificationResponse> outcome;
+        try {
+            outcome = delivery.get();
+        } catch (RuntimeException e) {
+            release(key, redisKey);
+            throw e;
+        }
+        return outcome.whenComplete((response, error) -> {
+            if (error != null || response == null || !response.isDelivered()) {
+                release(key, redisKey);
+                return;
+            }
+            byte[] stored;
+            try {
+                stored = responseWriter.writeValueAsBytes(response);
+            } catch (Exception e) {
+                log.warn("Failed to serialize delivery outcome for Correlation-ID {} on channel {}: {}",
+                        correlationId, channel, e.getMessage());
+                return;
+            }
+            call(redis -> redis.set(key, stored, SetArgs.Builder.px(window.toMillis())))
+                    .whenComplete((reply, storeError) -> {
+                        if (storeError != null) {
+                            // The IN_FLIGHT marker stays and still blocks duplicates until it expires
+                            log.warn("Failed to store delivery outcome for Correlation-ID {} on channel {}: {}",
+                                    correlationId, channel, storeError.getMessage());
+                        }
+                    });
+        });
+    }
+
+    private CompletableFuture<NotificationResponse> previousOutcome(byte[] key, UUID correlationId, String channel) {
+        return call(redis -> redis.get(key)).handle((stored, error) -> {
+            if (error != null) {
+                log.warn("Failed to read stored delivery outcome for Correlation-ID {} on channel {}: {}",
+                        correlationId, channel, error.getMessage());
+            } else if (stored != null && !IN_FLIGHT.equals(new String(stored, StandardCharsets.UTF_8))) {
+                try {
+                    return responseReader.readValue(stored);
+                } catch (Exception e) {
+                    log.warn("Failed to read stored delivery outcome for Correlation-ID {} on channel {}: {}",
+                            correlationId, channel, e.getMessage());
+                }
+            }
+            NotificationResponse response = NotificationResponse.builder()
+                    .status(NotificationStatus.SUCCESS)
+                    .delivered(false)
+                    .message("Duplicate request: delivery already in progress.")
+                    .correlationId(correlationId)
+                    .build();
+            response.setChannel(channel);
+            return response;
+        });
+    }
+
+    private void release(byte[] key, String redisKey) {
+        call(redis -> redis.del(key)).whenComplete((deleted, error) -> {
+            if (error != null) {
+                log.warn("Failed to release idempotency key {}: {}", redisKey, error.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Issues one command on the native asynchronous connection. With the factory's default shared connection,
+     * closing the Spring connection wrapper leaves the native connection and the pending command untouched.
+     */
+    private <T> CompletableFuture<T> call(Function<RedisClusterAsyncCommands<byte[], byte[]>, RedisFuture<T>> command) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            @SuppressWarnings("unchecked")
+            RedisClusterAsyncCommands<byte[], byte[]> redis =
+                    (RedisClusterAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+            return command.apply(redis).toCompletableFuture();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        continuations.shutdown();
+    }
+}
@@ -1,43 +1,144 @@
-//package com.iotmining.services.notification.services.producer;
-//
-//import com.fasterxml.jackson.databind.ObjectMapper;
-//import com.iotmining.common.base.notifications.NotificationDtoImpl;
-//import com.iotmining.common.data.notifications.NotificationChannel;
-//import org.apache.kafka.clients.producer.ProducerRecord;
-//import org.springframework.kafka.core.KafkaTemplate;
-//import org.springframework.beans.factory.annotation.Autowired;
-//import org.springframework.stereotype.Service;
-//
-//import java.util.Arrays;
-//import java.util.Collections;
-//
-//@Service
-//public class NotificationProducer {
-//
-//    @Autowired
-//    private KafkaTemplate<String, String> kafkaTemplate;
-//
-//    // Kafka topic name where notifications will be sent
-//    private static final String TOPIC = "notification-topic";
-//
-//    public void sendNotificationToKafka(String userId, String message, String fcmToken) {
-//        NotificationDtoImpl dto = new NotificationDtoImpl();
-//        dto.setUserId(userId);
-//        dto.setMessage(message);
-//        dto.setType("ALERT");
-//        dto.setPriority("high");
-//        dto.setTimestamp("2025-04-20T12:00:00Z");
-//        dto.setChannels(Arrays.asList(NotificationChannel.PUSH));
-//        dto.setMeta(Collections.singletonMap("fcmToken", fcmToken));
-//
-//        try {
-//            // Convert the NotificationDto to a JSON string and send to Kafka topic
-//            String jsonMessage = new ObjectMapper().writeValueAsString(dto);
-//            ProducerRecord<String, String> record = new ProducerRecord<>(TOPIC, jsonMessage);
-//            kafkaTemplate.send(record);
-//            System.out.println("Sent notification to Kafka!");
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//        }
-//    }
-//}
+package com.iotmining.services.notification.services.producer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.iotmining.common.base.notifications.dto.NotificationWrapper;
+import com.iotmining.services.notification.dto.DeliveryStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes notifications (re-queueing, retry topics) and delivery-status events to Kafka.
+ * <p>
+ * Values are serialized with shared, pre-built writers. Sends are asynchronous: each returns the send future, and a
+ * per-record callback records throughput, latency and errors ({@code notification.kafka.producer.*}, tagged by topic).
+ * The meters of a topic are registered on its first record and reused by every callback after that.
+ * Notifications are keyed by userId so that all of a user's records land on one partition, in order.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "kafka.consumer.enabled", havingValue = "true")
+public class NotificationProducer {
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ObjectWriter wrapperWriter;
+    private final ObjectWriter statusWriter;
+    private final String notificationTopic;
+    private final String statusTopic;
+    private final ConcurrentMap<String, TopicMeters> topicMeters = new ConcurrentHashMap<>();
+
+    public NotificationProducer(@Qualifier("notificationKafkaTemplate") KafkaTemplate<String, byte[]> kafkaTemplate,
+                                ObjectMapper mapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${kafka.consumer.notification-topic:vms-alerts}") String notificationTopic,
+                                @Value("${kafka.producer.status-topic:notification-status}") String statusTopic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.wrapperWriter = mapper.writerFor(NotificationWrapper.class);
+        this.statusWriter = mapper.writerFor(DeliveryStatus.class);
+        this.notificationTopic = notificationTopic;
+        this.statusTopic = statusTopic;
+    }
+
+    /**
+     * Puts a notification back on the ingestion topic.
+     */
+    public CompletableFuture<SendResult<String, byte[]>> requeue(NotificationWrapper<?> wrapper) {
+        return send(notificationTopic, wrapper);
+    }
+
+    /**
+     * Publishes a notification to {@code topic}, in the same envelope format the ingestion listener reads.
+     */
+    public CompletableFuture<SendResult<String, byte[]>> send(String topic, NotificationWrapper<?> wrapper) {
+        return send(topic, wrapper, null);
+    }
+
+    /**
+     * Publishes a notification to {@code topic} with additional record {@code headers} ({@code null} for none).
+     */
+    public CompletableFuture<SendResult<String, byte[]>> send(String topic, NotificationWrapper<?> wrapper, Iterable<Header> headers) {
+        String key = wrapper.getUserId() != null ? wrapper.getUserId().toString() : null;
+        try {
+            return send(new ProducerRecord<>(topic, null, key, wrapperWriter.writeValueAsBytes(wrapper), headers));
+        } catch (JsonProcessingException e) {
+            return serializationFailure(topic, e);
+        }
+    }
+
+    /**
+     * Publishes a delivery-status event, keyed by correlationId.
+     */
+    public CompletableFuture<SendResult<String, byte[]>> publishStatus(DeliveryStatus status) {
+        try {
+            return send(new ProducerRecord<>(statusTopic, status.getCorrelationId().toString(), statusWriter.writeValueAsBytes(status)));
+        } catch (JsonProcessingException e) {
+            return serializationFailure(statusTopic, e);
+        }
+    }
+
+    private CompletableFuture<SendResult<String, byte[]>> send(ProducerRecord<String, byte[]> record) {
+        long start = System.nanoTime();
+        String topic = record.topic();
+        TopicMeters meters = metersFor(topic);
+        return kafkaTemplate.send(record).whenComplete((result, error) -> {
+            if (error != null) {
+                meters.errors().increment();
+                log.error("Failed to publish record with key {} to topic {}: {}", record.key(), topic, error.getMessage());
+                return;
+            }
+            meters.latency().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            meters.sent().increment();
+            if (log.isDebugEnabled()) {
+                log.debug("Published record with key {} to {}-{}@{}", record.key(), topic,
+                        result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
+            }
+        });
+    }
+
+    private CompletableFuture<SendResult<String, byte[]>> serializationFailure(String topic, JsonProcessingException e) {
+        metersFor(topic).errors().increment();
+        log.error("Failed to serialize record for topic {}: {}", topic, e.getMessage());
+        return CompletableFuture.failedFuture(e);
+    }
+
+    private TopicMeters metersFor(String topic) {
+        return topicMeters.computeIfAbsent(topic, this::registerMeters);
+    }
+
+    private TopicMeters registerMeters(String topic) {
+        return new TopicMeters(
+                Timer.builder("notification.kafka.producer.latency")
+                        .description("Time from send until the broker acknowledged the record")
+                        .tag("topic", topic)
+                        .register(meterRegistry),
+                Counter.builder("notification.kafka.producer.sent")
+                        .description("Records acknowledged by the broker")
+                        .tag("topic", topic)
+                        .register(meterRegistry),
+                Counter.builder("notification.kafka.producer.errors")
+                        .description("Records that could not be serialized or were not acknowledged by the broker")
+                        .tag("topic", topic)
+                        .register(meterRegistry));
+    }
+
+    private record TopicMeters(Timer latency, Counter sent, Counter errors) {
+    }
+}
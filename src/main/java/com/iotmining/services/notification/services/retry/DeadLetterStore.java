@@ -0,0 +1,57 @@
+package com.iotmining.services.notification.services.retry;
+
+import com.iotmining.services.notification.dto.DeadLetter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Bounded in-memory store of the most recent dead letters, for inspection through the API.
+ * Once {@code notification.retry.dead-letter.max-entries} is reached, the oldest entry is evicted.
+ */
+@Component
+@Slf4j
+public class DeadLetterStore {
+
+    private final int maxEntries;
+    private final ArrayDeque<DeadLetter> entries = new ArrayDeque<>();
+
+    public DeadLetterStore(@Value("${notification.retry.dead-letter.max-entries:10000}") int maxEntries,
+                           MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        Gauge.builder("notification.retry.dead-letters", this, DeadLetterStore::size)
+                .description("Dead letters currently held in memory")
+                .register(meterRegistry);
+    }
+
+    public synchronized void add(DeadLetter deadLetter) {
+        if (entries.size() >= maxEntries) {
+            DeadLetter evicted = entries.pollFirst();
+            log.debug("Dead-letter store full; evicting entry for Correlation-ID {}", evicted.getCorrelationId());
+        }
+        entries.addLast(deadLetter);
+    }
+
+    /**
+     * Returns up to {@code limit} dead letters, newest first.
+     */
+    public synchronized List<DeadLetter> recent(int limit) {
+        List<DeadLetter> result = new ArrayList<>(Math.min(limit, entries.size()));
+        Iterator<DeadLetter> newestFirst = entries.descendingIterator();
+        while (newestFirst.hasNext() && result.size() < limit) {
+            result.add(newestFirst.next());
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,74 @@
+package com.iotmining.services.notification.services.retry;
+
+import com.iotmining.common.base.notifications.dto.NotificationWrapper;
+import com.iotmining.services.notification.services.dispatcher.BoundNotification;
+import com.iotmining.services.notification.services.dispatcher.NotificationDispatcher;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RetryScheduler} used when Kafka ingestion is disabled: retries wait on a single timer thread and are then
+ * dispatched through the priority lanes like any other notification, still bound to their handler and deadline.
+ * Pending retries do not survive a restart.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "kafka.consumer.enabled", havingValue = "false", matchIfMissing = true)
+public class InProcessRetryScheduler implements RetryScheduler {
+
+    // Looked up lazily: the dispatcher itself depends on the retry subsystem
+    private final ObjectProvider<NotificationDispatcher> dispatcher;
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "NotifyRetry-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public InProcessRetryScheduler(ObjectProvider<NotificationDispatcher> dispatcher) {
+        this.dispatcher = dispatcher;
+        log.info("Retries are scheduled in-process (Kafka ingestion disabled).");
+    }
+
+    @Override
+    public CompletableFuture<Void> schedule(BoundNotification retry, int tier, Duration delay) {
+        try {
+            timer.schedule(() -> dispatch(retry, delay), delay.toMillis(), TimeUnit.MILLISECONDS);
+            return CompletableFuture.completedFuture(null);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void dispatch(BoundNotification bound, Duration delay) {
+        NotificationDispatcher notificationDispatcher = dispatcher.getObject();
+        NotificationWrapper<Object> wrapper = bound.wrapper();
+        log.info("Retrying {} delivery for Correlation-ID {} (retry {})", wrapper.getType(), wrapper.getCorrelationId(), wrapper.getRetryCount());
+        notificationDispatcher.dispatchAsync(bound).whenComplete((response, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof RejectedExecutionException && !bound.isExpired() && !timer.isShutdown()) {
+                // The lane was full, so this retry was never attempted; try the same tier again later
+                log.warn("Retry for Correlation-ID {} rejected by a full dispatch lane; re-scheduling in {}", wrapper.getCorrelationId(), delay);
+                timer.schedule(() -> dispatch(bound, delay), delay.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        int pending = timer.shutdownNow().size();
+        if (pending > 0) {
+            log.warn("Discarding {} pending in-process retry task(s) on shutdown.", pending);
+        }
+    }
+}
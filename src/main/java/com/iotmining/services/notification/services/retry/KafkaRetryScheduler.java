@@ -0,0 +1,103 @@
+package com.iotmining.services.notification.services.retry;
+
+import com.iotmining.common.base.notifications.dto.NotificationWrapper;
+import com.iotmining.services.notification.services.dispatcher.BoundNotification;
+import com.iotmining.services.notification.services.producer.NotificationProducer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+/**
+ * {@link RetryScheduler} backed by one Kafka topic per retry tier ({@code <topic-prefix><tier>}).
+ * <p>
+ * A retry is published to its tier's topic right away; {@link RetryTopicListener} dispatches it once the record's
+ * timestamp plus the tier delay has passed. Because every record on a tier topic waits the same delay, records become
+ * due in offset order and the listener only ever waits for the head of a partition.
+ * The deadline of a retry, which is not part of the wrapper, travels in the {@value #DEADLINE_HEADER} record header
+ * as epoch milliseconds. Exhausted notifications are also published to the dead-letter topic.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "kafka.consumer.enabled", havingValue = "true")
+public class KafkaRetryScheduler implements RetryScheduler {
+
+    public static final String DEADLINE_HEADER = "notification-deadline";
+
+    private final NotificationProducer producer;
+    private final RetryPolicy policy;
+    private final String topicPrefix;
+    private final String deadLetterTopic;
+
+    public KafkaRetryScheduler(NotificationProducer producer,
+                               RetryPolicy policy,
+                               @Value("${notification.retry.topic-prefix:${kafka.consumer.notification-topic}-retry-}") String topicPrefix,
+                               @Value("${notification.retry.dead-letter-topic:${kafka.consumer.notification-topic}-dlt}") String deadLetterTopic) {
+        this.producer = producer;
+        this.policy = policy;
+        this.topicPrefix = topicPrefix;
+        this.deadLetterTopic = deadLetterTopic;
+        log.info("Retries are scheduled through Kafka topics {}0..{} (dead letters: {})",
+                topicPrefix, policy.maxRetries() - 1, deadLetterTopic);
+    }
+
+    @Override
+    public CompletableFuture<Void> schedule(BoundNotification retry, int tier, Duration delay) {
+        List<Header> headers = retry.deadline() == null ? List.of() : List.of(new RecordHeader(DEADLINE_HEADER,
+                String.valueOf(retry.deadline().toEpochMilli()).getBytes(StandardCharsets.UTF_8)));
+        return producer.send(topicFor(tier), retry.wrapper(), headers).thenApply(result -> null);
+    }
+
+    @Override
+    public void deadLetter(NotificationWrapper<Object> wrapper, String reason) {
+        producer.send(deadLetterTopic, wrapper);
+    }
+
+    /**
+     * Deadline carried by a retry record, or {@code null} if it has none.
+     */
+    public static Instant deadlineOf(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(DEADLINE_HEADER);
+        if (header == null || header.value() == null) {
+            return null;
+        }
+        try {
+            return Instant.ofEpochMilli(Long.parseLong(new String(header.value(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public String[] topics() {
+        return IntStream.range(0, policy.maxRetries()).mapToObj(this::topicFor).toArray(String[]::new);
+    }
+
+    /**
+     * Tier index of a retry topic, or -1 if {@code topic} is not one.
+     */
+    public int tierOf(String topic) {
+        if (!topic.startsWith(topicPrefix)) {
+            return -1;
+        }
+        try {
+            int tier = Integer.parseInt(topic.substring(topicPrefix.length()));
+            return tier < policy.maxRetries() ? tier : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String topicFor(int tier) {
+        return topicPrefix + tier;
+    }
+}
@@ -0,0 +1,125 @@
+package com.iotmining.services.notification.services.retry;
+
+import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import com.iotmining.common.base.notifications.dto.NotificationWrapper;
+import com.iotmining.services.notification.dto.DeadLetter;
+import com.iotmining.services.notification.exceptions.DeadlineExceededException;
+import com.iotmining.services.notification.exceptions.PermanentDeliveryException;
+import com.iotmining.services.notification.services.dispatcher.BoundNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Decides what happens after a failed delivery attempt: re-schedule it on the next retry tier, or, once
+ * {@link RetryPolicy#maxRetries()} retries have failed, move it to the dead-letter store.
+ * <p>
+ * Only channels listed in {@code notification.retry.channels} are retried. Attempts rejected by a full dispatch lane
+ * were never made and are left to the caller, which already sees the rejection. Attempts discarded for a passed
+ * deadline, and retries that would only run after the deadline, are dropped: the caller has already given up.
+ * Attempts that failed with a {@link PermanentDeliveryException} would fail the same way again and are dead-lettered
+ * at once.
+ */
+@Service
+@Slf4j
+public class RetryCoordinator {
+
+    private final RetryPolicy policy;
+    private final RetryScheduler scheduler;
+    private final DeadLetterStore deadLetters;
+    private final MeterRegistry meterRegistry;
+
+    public RetryCoordinator(RetryPolicy policy, RetryScheduler scheduler, DeadLetterStore deadLetters, MeterRegistry meterRegistry) {
+        this.policy = policy;
+        this.scheduler = scheduler;
+        this.deadLetters = deadLetters;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Called with the outcome of every delivery attempt.
+     */
+    public void onOutcome(BoundNotification bound, NotificationResponse response, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RejectedExecutionException || cause instanceof DeadlineExceededException) {
+            return;
+        }
+        if (cause == null && response != null && response.isDelivered()) {
+            return;
+        }
+        NotificationWrapper<Object> wrapper = bound.wrapper();
+        if (!policy.isRetryable(wrapper.getType())) {
+            return;
+        }
+
+        String reason = cause != null ? cause.getMessage() : response != null ? response.getMessage() : "No response from handler";
+        if (cause instanceof PermanentDeliveryException) {
+            deadLetter(wrapper, reason);
+            return;
+        }
+        int tier = wrapper.getRetryCount();
+        if (tier >= policy.maxRetries()) {
+            deadLetter(wrapper, reason);
+            return;
+        }
+
+        Duration delay = policy.delay(tier);
+        if (bound.deadline() != null && !Instant.now().plus(delay).isBefore(bound.deadline())) {
+            log.warn("Not retrying {} delivery for Correlation-ID {}: the retry in {} would run after its deadline {}",
+                    wrapper.getType(), wrapper.getCorrelationId(), delay, bound.deadline());
+            Counter.builder("notification.deadline.expired")
+                    .description("Deliveries discarded because the caller's deadline had passed")
+                    .tag("stage", "retry")
+                    .tag("channel", wrapper.getType().name())
+                    .register(meterRegistry)
+                    .increment();
+            return;
+        }
+        BoundNotification retry = new BoundNotification(bound.handler(), copyForRetry(wrapper), bound.deadline());
+        log.warn("Delivery of {} failed for Correlation-ID {} (retry {} of {}): {}. Retrying in {}",
+                wrapper.getType(), wrapper.getCorrelationId(), tier, policy.maxRetries(), reason, delay);
+        scheduler.schedule(retry, tier, delay).whenComplete((ignored, scheduleError) -> {
+            if (scheduleError != null) {
+                log.error("Failed to schedule retry for Correlation-ID {}: {}", wrapper.getCorrelationId(), scheduleError.getMessage());
+                deadLetter(wrapper, "Retry could not be scheduled: " + scheduleError.getMessage());
+            } else {
+                counter("notification.retry.scheduled", "Failed deliveries scheduled for a retry", wrapper).increment();
+            }
+        });
+    }
+
+    private void deadLetter(NotificationWrapper<Object> wrapper, String reason) {
+        log.error("Giving up on {} delivery for Correlation-ID {} after {} attempt(s): {}",
+                wrapper.getType(), wrapper.getCorrelationId(), wrapper.getRetryCount() + 1, reason);
+        deadLetters.add(new DeadLetter(wrapper.getCorrelationId(), wrapper.getType().name(), wrapper.getUserId(),
+                wrapper.getRetryCount() + 1, reason, System.currentTimeMillis(), wrapper));
+        scheduler.deadLetter(wrapper, reason);
+        counter("notification.retry.dead-lettered", "Deliveries given up after exhausting their retries or failing permanently", wrapper).increment();
+    }
+
+    private Counter counter(String name, String description, NotificationWrapper<?> wrapper) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("channel", wrapper.getType().name())
+                .register(meterRegistry);
+    }
+
+    private static NotificationWrapper<Object> copyForRetry(NotificationWrapper<Object> wrapper) {
+        NotificationWrapper<Object> retry = new NotificationWrapper<>();
+        retry.setType(wrapper.getType());
+        retry.setPayload(wrapper.getPayload());
+        retry.setCorrelationId(wrapper.getCorrelationId());
+        retry.setUserId(wrapper.getUserId());
+        retry.setSourceApp(wrapper.getSourceApp());
+        retry.setPriority(wrapper.getPriority());
+        retry.setTimestamp(wrapper.getTimestamp());
+        retry.setRetryCount(wrapper.getRetryCount() + 1);
+        return retry;
+    }
+}
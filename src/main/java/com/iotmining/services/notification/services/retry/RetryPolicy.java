@@ -0,0 +1,50 @@
+package com.iotmining.services.notification.services.retry;
+
+import com.iotmining.common.base.notifications.enums.NotificationType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Retry tiers and retryable channels, from {@code notification.retry.*}.
+ * <p>
+ * {@code delays} lists one delay per retry: with {@code PT5S,PT30S,PT2M} a failed delivery is retried after 5s,
+ * then 30s, then 2m, and dead-lettered if the third retry fails too. The attempt counter is
+ * {@code NotificationWrapper.retryCount}: the number of retries already made.
+ */
+@Component
+public class RetryPolicy {
+
+    private final List<Duration> delays;
+    private final Set<NotificationType> retryableChannels;
+
+    public RetryPolicy(@Value("${notification.retry.delays:PT5S,PT30S,PT2M}") String[] delays,
+                       @Value("${notification.retry.channels:SMS,TELEGRAM,PUSH}") String[] channels) {
+        this.delays = Arrays.stream(delays).map(String::trim).map(Duration::parse).toList();
+        this.retryableChannels = EnumSet.noneOf(NotificationType.class);
+        Arrays.stream(channels).map(String::trim).map(NotificationType::valueOf).forEach(retryableChannels::add);
+    }
+
+    public boolean isRetryable(NotificationType channel) {
+        return retryableChannels.contains(channel);
+    }
+
+    /**
+     * Number of retries after the first attempt.
+     */
+    public int maxRetries() {
+        return delays.size();
+    }
+
+    /**
+     * Delay before retry number {@code tier + 1}.
+     */
+    public Duration delay(int tier) {
+        return delays.get(tier);
+    }
+}
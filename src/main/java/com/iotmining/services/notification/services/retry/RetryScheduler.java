@@ -0,0 +1,28 @@
+package com.iotmining.services.notification.services.retry;
+
+import com.iotmining.common.base.notifications.dto.NotificationWrapper;
+import com.iotmining.services.notification.services.dispatcher.BoundNotification;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Carries a failed delivery to its next attempt after a delay, without holding any thread while it waits.
+ */
+public interface RetryScheduler {
+
+    /**
+     * Schedules {@code retry} (its wrapper already carrying the incremented retryCount) to be dispatched again after
+     * {@code delay}. The retry keeps the deadline of the failed attempt, so it is discarded rather than delivered
+     * once the caller has given up. The returned future completes once the retry is safely scheduled.
+     *
+     * @param tier index of the retry tier, i.e. the retryCount before this retry.
+     */
+    CompletableFuture<Void> schedule(BoundNotification retry, int tier, Duration delay);
+
+    /**
+     * Hands a notification whose retries are exhausted to any durable dead-letter destination of this scheduler.
+     */
+    default void deadLetter(NotificationWrapper<Object> wrapper, String reason) {
+    }
+}
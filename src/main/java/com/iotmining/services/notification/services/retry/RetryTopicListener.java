@@ -0,0 +1,237 @@
+package com.iotmining.services.notification.services.retry;
+
+import com.iotmining.services.notification.services.dispatcher.BoundNotification;
+import com.iotmining.services.notification.services.dispatcher.NotificationDispatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.BatchAcknowledgingConsumerAwareMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Consumes the retry tier topics written by {@link KafkaRetryScheduler} and re-dispatches records once they are due.
+ * <p>
+ * Every tier topic gets its own listener container, so a long tier delay never holds back a shorter one. Within a
+ * batch each partition is handled on its own: its records are dispatched in order until one is not due yet, and only
+ * that partition is sought back to the record and paused until it is due, while the other partitions keep flowing.
+ * A retry rejected by a full dispatch lane is redelivered the same way after a short pause. A retry keeps the deadline
+ * of its first attempt, read from the record's {@value KafkaRetryScheduler#DEADLINE_HEADER} header; once that has
+ * passed, the dispatcher discards it instead of delivering it. Offsets are committed per partition only after the
+ * dispatched retries have an outcome, so a crash replays them rather than losing them.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "kafka.consumer.enabled", havingValue = "true")
+public class RetryTopicListener implements SmartLifecycle {
+
+    private static final Duration REJECTED_WAIT = Duration.ofSeconds(1);
+
+    private final NotificationDispatcher dispatcher;
+    private final KafkaRetryScheduler scheduler;
+    private final RetryPolicy policy;
+    private final Duration batchTimeout;
+    private final List<ConcurrentMessageListenerContainer<String, byte[]>> containers = new ArrayList<>();
+    private final ScheduledExecutorService resumer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "NotifyRetry-resume");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean running;
+
+    public RetryTopicListener(NotificationDispatcher dispatcher,
+                              KafkaRetryScheduler scheduler,
+                              RetryPolicy policy,
+                              ConcurrentKafkaListenerContainerFactory<String, byte[]> notificationListenerContainerFactory,
+                              @Value("${kafka.consumer.group-id}") String groupId,
+                              @Value("${kafka.consumer.batch-timeout:PT60S}") Duration batchTimeout) {
+        this.dispatcher = dispatcher;
+        this.scheduler = scheduler;
+        this.policy = policy;
+        this.batchTimeout = batchTimeout;
+        for (String topic : scheduler.topics()) {
+            ConcurrentMessageListenerContainer<String, byte[]> container = notificationListenerContainerFactory.createContainer(topic);
+            container.setBeanName("notificationRetry-" + topic);
+            container.getContainerProperties().setGroupId(groupId + "-retry");
+            container.setupMessageListener((BatchAcknowledgingConsumerAwareMessageListener<String, byte[]>)
+                    (records, ack, consumer) -> onBatch(container, records, ack, consumer));
+            containers.add(container);
+        }
+    }
+
+    @Override
+    public void start() {
+        containers.forEach(ConcurrentMessageListenerContainer::start);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        containers.forEach(ConcurrentMessageListenerContainer::stop);
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stop together with the annotated listener containers
+        return AbstractMessageListenerContainer.DEFAULT_PHASE;
+    }
+
+    private void onBatch(ConcurrentMessageListenerContainer<String, byte[]> container,
+                         List<ConsumerRecord<String, byte[]>> records,
+                         Acknowledgment ack,
+                         Consumer<?, ?> consumer) {
+        Map<TopicPartition, PartitionBatch> partitions = new LinkedHashMap<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            partitions.computeIfAbsent(new TopicPartition(record.topic(), record.partition()), tp -> new PartitionBatch())
+                    .records.add(record);
+        }
+
+        long now = System.currentTimeMillis();
+        List<CompletableFuture<Boolean>> all = new ArrayList<>(records.size());
+        for (PartitionBatch batch : partitions.values()) {
+            for (ConsumerRecord<String, byte[]> record : batch.records) {
+                int tier = scheduler.tierOf(record.topic());
+                long remaining = tier < 0 ? 0 : record.timestamp() + policy.delay(tier).toMillis() - now;
+                if (remaining > 0) {
+                    // Later records on this partition were written after it, so none of them is due either
+                    batch.notDue = record;
+                    batch.wait = Duration.ofMillis(remaining);
+                    break;
+                }
+                CompletableFuture<Boolean> accepted = dispatch(record);
+                batch.accepted.add(accepted);
+                all.add(accepted);
+            }
+        }
+        awaitAll(all);
+
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        boolean complete = true;
+        for (Map.Entry<TopicPartition, PartitionBatch> entry : partitions.entrySet()) {
+            TopicPartition partition = entry.getKey();
+            PartitionBatch batch = entry.getValue();
+            ConsumerRecord<String, byte[]> redeliver = batch.redeliver();
+            if (redeliver == null) {
+                offsets.put(partition, new OffsetAndMetadata(batch.records.get(batch.records.size() - 1).offset() + 1));
+                continue;
+            }
+            complete = false;
+            if (redeliver.offset() > batch.records.get(0).offset()) {
+                offsets.put(partition, new OffsetAndMetadata(redeliver.offset()));
+            }
+            consumer.seek(partition, redeliver.offset());
+            pause(container, partition, batch.wait);
+        }
+
+        if (complete) {
+            ack.acknowledge();
+        } else if (!offsets.isEmpty()) {
+            consumer.commitSync(offsets);
+        }
+    }
+
+    /**
+     * Pauses one partition until {@code wait} has passed; the container applies it before its next poll.
+     */
+    private void pause(ConcurrentMessageListenerContainer<String, byte[]> container, TopicPartition partition, Duration wait) {
+        log.debug("Retry partition {} paused for {}", partition, wait);
+        container.pausePartition(partition);
+        resumer.schedule(() -> container.resumePartition(partition), wait.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Dispatches one retry; the future yields false if it was rejected by a full lane and must be redelivered.
+     */
+    private CompletableFuture<Boolean> dispatch(ConsumerRecord<String, byte[]> record) {
+        BoundNotification bound;
+        try {
+            bound = dispatcher.bind(record.value(), null);
+            Instant deadline = KafkaRetryScheduler.deadlineOf(record);
+            if (deadline != null) {
+                bound = bound.withDeadline(deadline);
+            }
+        } catch (RuntimeException e) {
+            log.error("Dropping malformed retry record {}-{}@{}: {}", record.topic(), record.partition(), record.offset(), e.getMessage());
+            return CompletableFuture.completedFuture(true);
+        }
+        log.info("Retrying {} delivery for Correlation-ID {} (retry {})",
+                bound.wrapper().getType(), bound.wrapper().getCorrelationId(), bound.wrapper().getRetryCount());
+        try {
+            return dispatcher.dispatchAsync(bound).handle((response, error) -> {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                return !(cause instanceof RejectedExecutionException);
+            });
+        } catch (RuntimeException e) {
+            log.error("Retry dispatch failed for Correlation-ID {}: {}", bound.wrapper().getCorrelationId(), e.getMessage());
+            return CompletableFuture.completedFuture(true);
+        }
+    }
+
+    /**
+     * Waits for the dispatched retries; one that has no outcome by then is redelivered.
+     */
+    private void awaitAll(List<CompletableFuture<Boolean>> accepted) {
+        try {
+            CompletableFuture.allOf(accepted.toArray(CompletableFuture[]::new)).get(batchTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Retry batch did not complete within {}", batchTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Futures never complete exceptionally
+        }
+    }
+
+    /**
+     * Records of one partition in a batch, in offset order, with the retries dispatched from them.
+     */
+    private static final class PartitionBatch {
+        private final List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+        private final List<CompletableFuture<Boolean>> accepted = new ArrayList<>();
+        private ConsumerRecord<String, byte[]> notDue;
+        private Duration wait = Duration.ZERO;
+
+        /**
+         * First record to redeliver: the first retry rejected by a full lane, else the first one not due yet.
+         */
+        private ConsumerRecord<String, byte[]> redeliver() {
+            for (int i = 0; i < accepted.size(); i++) {
+                if (!accepted.get(i).getNow(false)) {
+                    wait = REJECTED_WAIT;
+                    return records.get(i);
+                }
+            }
+            return notDue;
+        }
+    }
+}
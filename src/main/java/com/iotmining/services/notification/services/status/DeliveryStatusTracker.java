@@ -0,0 +1,152 @@
+package com.iotmining.services.notification.services.status;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import com.iotmining.services.notification.dto.DeliveryStatus;
+import com.iotmining.services.notification.enums.DeliveryState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps the delivery status of accepted notifications per correlationId, so clients that were answered with
+ * 202 Accepted can poll for the outcome. Entries are bounded in number and expire after
+ * {@code notification.status.ttl}.
+ */
+@Service
+@Slf4j
+public class DeliveryStatusTracker {
+
+    private static final String UNKNOWN_CHANNEL = "UNKNOWN";
+
+    private final Cache<UUID, DeliveryStatus> statuses;
+
+    public DeliveryStatusTracker(@Value("${notification.status.max-entries:100000}") long maxEntries,
+                                 @Value("${notification.status.ttl:PT15M}") Duration ttl) {
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Starts tracking a notification accepted for asynchronous delivery on behalf of {@code ownerId}.
+     *
+     * @throws ResponseStatusException (409) if another caller's notification is tracked under {@code correlationId}.
+     */
+    public DeliveryStatus pending(UUID correlationId, UUID ownerId) {
+        return statuses.asMap().compute(correlationId, (id, current) -> {
+            if (current != null && current.getOwnerId() != null && !current.getOwnerId().equals(ownerId)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "correlationId already in use: " + id);
+            }
+            return newStatus(id, ownerId);
+        });
+    }
+
+    /**
+     * Records a handler response. The notification counts as delivered once every channel reported so far delivered.
+     * A channel whose outcome was {@link #settle settled} keeps it, and one {@link #awaitAck awaiting an ack} keeps the
+     * notification pending.
+     */
+    public void complete(UUID correlationId, NotificationResponse response) {
+        record(correlationId, response, false);
+    }
+
+    /**
+     * Marks {@code channel} as sent but not yet acknowledged: the notification stays pending, whatever the channel's
+     * handler responds, until {@link #settle} records the final outcome. Call before sending, so the final outcome
+     * cannot arrive first.
+     */
+    public void awaitAck(UUID correlationId, String channel) {
+        statuses.asMap().compute(correlationId, (id, current) -> {
+            DeliveryStatus base = current != null ? current : newStatus(id, null);
+            if (base.getSettled().contains(channel)) {
+                return base;
+            }
+            Set<String> awaiting = new HashSet<>(base.getAwaitingAck());
+            awaiting.add(channel);
+            return new DeliveryStatus(id, DeliveryState.PENDING, base.getChannels(), base.getError(),
+                    base.getAcceptedAt(), System.currentTimeMillis(), awaiting, base.getSettled(), base.getOwnerId());
+        });
+    }
+
+    /**
+     * Records the final outcome of a channel (e.g. whether a WEB notification was acknowledged); later responses for
+     * the channel are ignored.
+     */
+    public void settle(UUID correlationId, NotificationResponse response) {
+        record(correlationId, response, true);
+    }
+
+    private void record(UUID correlationId, NotificationResponse response, boolean last) {
+        String channel = response.getChannel() != null ? response.getChannel() : UNKNOWN_CHANNEL;
+        statuses.asMap().compute(correlationId, (id, current) -> {
+            DeliveryStatus base = current != null ? current : newStatus(id, null);
+            if (base.getSettled().contains(channel)) {
+                return base;
+            }
+            // Entries are replaced, never mutated, so readers can hand them out without copying
+            Map<String, NotificationResponse> channels = new LinkedHashMap<>(base.getChannels());
+            channels.put(channel, response);
+            Set<String> awaiting = base.getAwaitingAck();
+            Set<String> settled = base.getSettled();
+            if (last) {
+                awaiting = new HashSet<>(awaiting);
+                awaiting.remove(channel);
+                settled = new HashSet<>(settled);
+                settled.add(channel);
+            }
+            return new DeliveryStatus(id, stateOf(channels, awaiting), channels, base.getError(),
+                    base.getAcceptedAt(), System.currentTimeMillis(), awaiting, settled, base.getOwnerId());
+        });
+        log.debug("Delivery status updated for Correlation-ID {} on channel {}: delivered={}{}",
+                correlationId, channel, response.isDelivered(), last ? " (final)" : "");
+    }
+
+    private static DeliveryState stateOf(Map<String, NotificationResponse> channels, Set<String> awaiting) {
+        if (!awaiting.isEmpty()) {
+            return DeliveryState.PENDING;
+        }
+        boolean allDelivered = channels.values().stream().allMatch(NotificationResponse::isDelivered);
+        return allDelivered ? DeliveryState.DELIVERED : DeliveryState.FAILED;
+    }
+
+    public void fail(UUID correlationId, Throwable error) {
+        statuses.asMap().compute(correlationId, (id, current) -> {
+            DeliveryStatus base = current != null ? current : newStatus(id, null);
+            return new DeliveryStatus(id, DeliveryState.FAILED, base.getChannels(), error.getMessage(),
+                    base.getAcceptedAt(), System.currentTimeMillis(), base.getAwaitingAck(), base.getSettled(),
+                    base.getOwnerId());
+        });
+        log.debug("Delivery marked as failed for Correlation-ID {}: {}", correlationId, error.getMessage());
+    }
+
+    public Optional<DeliveryStatus> find(UUID correlationId) {
+        return Optional.ofNullable(statuses.getIfPresent(correlationId));
+    }
+
+    /**
+     * Status of {@code correlationId} if it was submitted by {@code callerId}; empty for anyone else, so callers
+     * cannot tell another user's notification from an unknown one.
+     */
+    public Optional<DeliveryStatus> find(UUID correlationId, UUID callerId) {
+        return find(correlationId).filter(status -> callerId != null && callerId.equals(status.getOwnerId()));
+    }
+
+    private static DeliveryStatus newStatus(UUID correlationId, UUID ownerId) {
+        long now = System.currentTimeMillis();
+        return new DeliveryStatus(correlationId, DeliveryState.PENDING, Map.of(), null, now, now, Set.of(), Set.of(),
+                ownerId);
+    }
+}
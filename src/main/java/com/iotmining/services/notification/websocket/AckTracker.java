@@ -0,0 +1,158 @@
+package com.iotmining.services.notification.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks WebSocket notifications waiting for the client's acknowledgement.
+ * <p>
+ * With {@code notification.websocket.ack-required=true}, every sent notification is expected to be acknowledged with
+ * {@code {"type":"ACK","id":"<notification id>"}} within {@code notification.websocket.ack-timeout} (default 10s). Timeouts are scheduled on a hashed timer wheel
+ * ({@code ack-tick}, default 100ms per slot, 512 slots): scheduling and cancelling are O(1) and the wheel thread only
+ * visits the current slot, so millions of outstanding acks cost one small object each and no per-entry sorting.
+ * At most {@code ack-max-pending} (default 2,000,000) acks are tracked; beyond that, notifications are reported as
+ * {@link Outcome#UNTRACKED}.
+ * <p>
+ * Only the user a notification was sent to can acknowledge it. Acks for notifications relayed to another node come
+ * back through the {@link WebSocketCluster}.
+ * <p>
+ * Metrics: {@code notification.websocket.ack.pending}, {@code notification.websocket.ack.outcomes} tagged
+ * {@code outcome}, and {@code notification.websocket.ack.latency} from send to acknowledgement.
+ */
+@Component
+public class AckTracker {
+
+    public enum Outcome {
+        /** The client confirmed it received the notification. */
+        ACKNOWLEDGED,
+        /** No acknowledgement arrived in time. */
+        TIMED_OUT,
+        /** The tracker was full, so the outcome is unknown. */
+        UNTRACKED
+    }
+
+    private final HashedWheelTimer wheel;
+    private final Duration ackTimeout;
+    private final int maxPending;
+    private final ConcurrentMap<UUID, PendingAck> pending = new ConcurrentHashMap<>();
+    private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+    private final Timer latency;
+
+    public AckTracker(MeterRegistry meterRegistry,
+                      @Value("${notification.websocket.ack-timeout:PT10S}") Duration ackTimeout,
+                      @Value("${notification.websocket.ack-tick:PT0.1S}") Duration tick,
+                      @Value("${notification.websocket.ack-max-pending:2000000}") int maxPending) {
+        this.ackTimeout = ackTimeout;
+        this.maxPending = maxPending;
+        this.wheel = new HashedWheelTimer(new DefaultThreadFactory("ws-ack-wheel", true),
+                tick.toMillis(), TimeUnit.MILLISECONDS, 512, false);
+
+        Gauge.builder("notification.websocket.ack.pending", pending, Map::size)
+                .description("WebSocket notifications waiting for the client's acknowledgement")
+                .register(meterRegistry);
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("notification.websocket.ack.outcomes")
+                    .description("WebSocket notifications by acknowledgement outcome")
+                    .tag("outcome", outcome.name())
+                    .register(meterRegistry));
+        }
+        this.latency = Timer.builder("notification.websocket.ack.latency")
+                .description("Time from sending a WebSocket notification until the client acknowledged it")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public Duration ackTimeout() {
+        return ackTimeout;
+    }
+
+    /**
+     * Starts waiting for {@code userId} to acknowledge {@code notificationId}. Call before sending, so an
+     * acknowledgement cannot arrive before it is expected.
+     *
+     * @return completes with the outcome; never completes exceptionally.
+     */
+    public CompletableFuture<Outcome> expect(UUID notificationId, UUID userId, Duration timeout) {
+        if (pending.size() >= maxPending) {
+            outcomes.get(Outcome.UNTRACKED).increment();
+            return CompletableFuture.completedFuture(Outcome.UNTRACKED);
+        }
+        PendingAck ack = new PendingAck(userId, System.nanoTime());
+        pending.put(notificationId, ack);
+        ack.timeout = wheel.newTimeout(expired -> {
+            if (pending.remove(notificationId, ack)) {
+                // Off the wheel thread: whatever waits on the outcome must not delay the next tick
+                CompletableFuture.runAsync(() -> resolve(ack, Outcome.TIMED_OUT));
+            }
+        }, Math.max(timeout.toMillis(), 1), TimeUnit.MILLISECONDS);
+        return ack.result;
+    }
+
+    /**
+     * Records the acknowledgement of {@code notificationId} by {@code userId}.
+     *
+     * @return false if the notification was not pending for that user (unknown, already resolved, or someone else's).
+     */
+    public boolean acknowledge(UUID notificationId, UUID userId) {
+        PendingAck ack = pending.get(notificationId);
+        if (ack == null || !ack.userId.equals(userId) || !pending.remove(notificationId, ack)) {
+            return false;
+        }
+        Timeout timeout = ack.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        latency.record(System.nanoTime() - ack.sentAt, TimeUnit.NANOSECONDS);
+        resolve(ack, Outcome.ACKNOWLEDGED);
+        return true;
+    }
+
+    /**
+     * Stops waiting for {@code notificationId}, e.g. because it could not be sent at all; its future never completes.
+     */
+    public void forget(UUID notificationId) {
+        PendingAck ack = pending.remove(notificationId);
+        if (ack != null && ack.timeout != null) {
+            ack.timeout.cancel();
+        }
+    }
+
+    private void resolve(PendingAck ack, Outcome outcome) {
+        outcomes.get(outcome).increment();
+        ack.result.complete(outcome);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.stop();
+    }
+
+    private static final class PendingAck {
+        private final UUID userId;
+        private final long sentAt;
+        private final CompletableFuture<Outcome> result = new CompletableFuture<>();
+        private volatile Timeout timeout;
+
+        private PendingAck(UUID userId, long sentAt) {
+            this.userId = userId;
+            this.sentAt = sentAt;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.iotmining.services.notification.websocket;
+
+/**
+ * Outcome of one broadcast, once every targeted session has written, dropped or given up on the frame.
+ *
+ * @param sessions  sessions the broadcast was offered to.
+ * @param delivered sessions the frame was written to.
+ * @param dropped   sessions that dropped the frame (full buffer or slow client).
+ * @param closed    sessions that were closed before the frame could be written.
+ */
+public record BroadcastResult(int sessions, int delivered, int dropped, int closed) {
+}
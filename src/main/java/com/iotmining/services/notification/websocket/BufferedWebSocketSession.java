@@ -0,0 +1,231 @@
+package com.iotmining.services.notification.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A session whose sends never block the caller: {@link #sendMessage} only appends to a bounded outbound buffer, and a
+ * single drain task per session writes the buffer to the socket on the {@link WebSocketSendBuffers} sender threads.
+ * This keeps frames of one session in order, makes concurrent sends to the same session safe, and means one slow
+ * browser only delays its own frames.
+ * <p>
+ * The buffer is bounded in bytes; a frame that does not fit is handled by the session's {@link OverflowPolicy}.
+ * A session whose current write has been blocked for longer than the send-time limit is closed with
+ * {@link CloseStatus#SESSION_NOT_RELIABLE}, which also releases the blocked write.
+ * <p>
+ * The same message instance may be offered to any number of sessions; it is only read, never modified.
+ */
+@Slf4j
+public class BufferedWebSocketSession extends WebSocketSessionDecorator {
+
+    /** Session attribute referencing the buffered wrapper of a raw session. */
+    public static final String ATTRIBUTE = BufferedWebSocketSession.class.getName();
+
+    private final WebSocketSendBuffers buffers;
+    private final Deque<Pending> buffer = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger bufferedBytes = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closing = new AtomicBoolean();
+    private volatile long sendStartNanos;
+
+    BufferedWebSocketSession(WebSocketSession delegate, WebSocketSendBuffers buffers) {
+        super(delegate);
+        this.buffers = buffers;
+        delegate.getAttributes().put(ATTRIBUTE, this);
+    }
+
+    /**
+     * The buffered wrapper of {@code session}, or {@code session} itself if it has none.
+     */
+    public static WebSocketSession of(WebSocketSession session) {
+        return session.getAttributes().get(ATTRIBUTE) instanceof BufferedWebSocketSession buffered ? buffered : session;
+    }
+
+    /**
+     * Buffers {@code message} for sending; never blocks and never throws for a slow or closed client.
+     */
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        offer(message, null);
+    }
+
+    /**
+     * Buffers {@code message} for sending.
+     *
+     * @return false if the message was not buffered (session closed or closing, or dropped by the overflow policy).
+     */
+    public boolean offer(WebSocketMessage<?> message) {
+        return offer(message, null);
+    }
+
+    /**
+     * Buffers {@code message} for sending and reports its fate to {@code listener} (may be {@code null}), also when
+     * it is rejected right away.
+     *
+     * @return false if the message was not buffered (session closed or closing, or dropped by the overflow policy).
+     */
+    public boolean offer(WebSocketMessage<?> message, SendListener listener) {
+        if (closing.get() || !isOpen()) {
+            report(listener, SendListener.Outcome.CLOSED);
+            return false;
+        }
+        if (isSendTimeLimitExceeded()) {
+            buffers.recordDropped(1, "slow-consumer");
+            report(listener, SendListener.Outcome.DROPPED);
+            closeAsync(CloseStatus.SESSION_NOT_RELIABLE, "send blocked for more than " + buffers.sendTimeLimit());
+            return false;
+        }
+
+        // getPayloadLength() of a TextMessage built from a String encodes it on every call, so measure once
+        int size = message.getPayloadLength();
+        if (bufferedBytes.get() + size > buffers.bufferSizeLimit() && !makeRoom(size)) {
+            report(listener, SendListener.Outcome.DROPPED);
+            return false;
+        }
+        buffer.addLast(new Pending(message, size, listener));
+        adjust(size);
+        scheduleDrain();
+        return true;
+    }
+
+    /**
+     * Applies the overflow policy for a frame of {@code size} bytes.
+     *
+     * @return true if the frame may now be buffered.
+     */
+    private boolean makeRoom(int size) {
+        switch (buffers.overflowPolicy()) {
+            case DROP_NEWEST -> {
+                buffers.recordDropped(1, "overflow");
+                return false;
+            }
+            case DISCONNECT -> {
+                buffers.recordDropped(1, "overflow");
+                closeAsync(CloseStatus.SESSION_NOT_RELIABLE, "outbound buffer full");
+                return false;
+            }
+            default -> {
+                if (size > buffers.bufferSizeLimit()) {
+                    buffers.recordDropped(1, "overflow");
+                    return false;
+                }
+                int evicted = 0;
+                Pending oldest;
+                while (bufferedBytes.get() + size > buffers.bufferSizeLimit() && (oldest = buffer.pollFirst()) != null) {
+                    adjust(-oldest.size());
+                    report(oldest.listener(), SendListener.Outcome.DROPPED);
+                    evicted++;
+                }
+                if (evicted > 0) {
+                    buffers.recordDropped(evicted, "overflow");
+                }
+                return true;
+            }
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            buffers.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Pending pending = buffer.pollFirst();
+            if (pending == null) {
+                draining.set(false);
+                // A frame may have been added after the poll but before the flag was cleared
+                if (buffer.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            adjust(-pending.size());
+            if (closing.get()) {
+                report(pending.listener(), SendListener.Outcome.CLOSED);
+                continue;
+            }
+            sendStartNanos = System.nanoTime();
+            try {
+                getDelegate().sendMessage(pending.message());
+                report(pending.listener(), SendListener.Outcome.WRITTEN);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Send failed on WebSocket session {}: {}", getId(), e.getMessage());
+                report(pending.listener(), SendListener.Outcome.CLOSED);
+                closeAsync(CloseStatus.SERVER_ERROR, "send failed: " + e.getMessage());
+            } finally {
+                sendStartNanos = 0;
+            }
+        }
+    }
+
+    private boolean isSendTimeLimitExceeded() {
+        long start = sendStartNanos;
+        return start != 0 && System.nanoTime() - start > buffers.sendTimeLimit().toNanos();
+    }
+
+    private void closeAsync(CloseStatus status, String reason) {
+        if (!closing.compareAndSet(false, true)) {
+            return;
+        }
+        log.warn("Closing WebSocket session {}: {}", getId(), reason);
+        if (CloseStatus.SESSION_NOT_RELIABLE.equals(status)) {
+            buffers.recordDisconnect();
+        }
+        buffers.execute(() -> {
+            try {
+                getDelegate().close(status);
+            } catch (IOException e) {
+                log.debug("Error closing WebSocket session {}: {}", getId(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Discards whatever is still buffered; called once the connection is closed.
+     */
+    public void release() {
+        closing.set(true);
+        Pending pending;
+        while ((pending = buffer.pollFirst()) != null) {
+            adjust(-pending.size());
+            report(pending.listener(), SendListener.Outcome.CLOSED);
+        }
+    }
+
+    /**
+     * Bytes currently waiting in this session's buffer.
+     */
+    public int bufferedBytes() {
+        return bufferedBytes.get();
+    }
+
+    private void adjust(int delta) {
+        bufferedBytes.addAndGet(delta);
+        buffers.adjustBufferedBytes(delta);
+    }
+
+    private void report(SendListener listener, SendListener.Outcome outcome) {
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onOutcome(outcome);
+        } catch (RuntimeException e) {
+            log.warn("Send listener failed on WebSocket session {}: {}", getId(), e.getMessage());
+        }
+    }
+
+    private record Pending(WebSocketMessage<?> message, int size, SendListener listener) {
+    }
+}
@@ -0,0 +1,192 @@
+package com.iotmining.services.notification.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional coalescing of notification frames per session ({@code notification.websocket.coalesce-enabled}, off by
+ * default), so an alert storm reaches a browser as a few array frames instead of hundreds of single ones.
+ * <p>
+ * The first frame for a session opens a batch that is flushed {@code coalesce-window} (default 100ms) later, or
+ * as soon as it holds {@code coalesce-max-items} (default 50) frames, as
+ * {@code {"type":"NOTIFICATION_BATCH","items":[<frame>,<frame>,...]}}. The items are the serialized frames as they
+ * would have been sent alone, concatenated without re-serializing them. Frames that must not wait (CRITICAL) are not
+ * offered here and go straight to the session, right after the session's pending batch is {@link #flush flushed} so
+ * that they do not overtake it. When the connection closes, the pending batch is {@link #discard discarded}; its
+ * notifications are still in the inbox and are replayed when the client reconnects.
+ * <p>
+ * Metrics: {@code notification.websocket.coalesce.batch} (frames per flushed batch) and
+ * {@code notification.websocket.coalesce.discarded} (frames discarded with a closed session).
+ */
+@Component
+@Slf4j
+public class FrameCoalescer {
+
+    private static final String BATCH_ATTRIBUTE = FrameCoalescer.class.getName() + ".batch";
+    private static final String BATCH_PREFIX = "{\"type\":\"NOTIFICATION_BATCH\",\"items\":[";
+    private static final String BATCH_SUFFIX = "]}";
+
+    private final boolean enabled;
+    private final Duration window;
+    private final int maxItems;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ws-coalesce");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final DistributionSummary batchSize;
+    private final Counter discarded;
+
+    public FrameCoalescer(MeterRegistry meterRegistry,
+                          @Value("${notification.websocket.coalesce-enabled:false}") boolean enabled,
+                          @Value("${notification.websocket.coalesce-window:PT0.1S}") Duration window,
+                          @Value("${notification.websocket.coalesce-max-items:50}") int maxItems) {
+        this.enabled = enabled;
+        this.window = window;
+        this.maxItems = maxItems;
+        this.batchSize = DistributionSummary.builder("notification.websocket.coalesce.batch")
+                .description("Notification frames per coalesced WebSocket frame")
+                .register(meterRegistry);
+        this.discarded = Counter.builder("notification.websocket.coalesce.discarded")
+                .description("Coalesced frames discarded because their session closed before the batch was flushed")
+                .register(meterRegistry);
+        if (enabled) {
+            log.info("WebSocket frame coalescing enabled (window {}, max {} items)", window, maxItems);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Adds {@code frame}, a serialized JSON frame, to the pending batch of {@code session}.
+     *
+     * @return false if the session is closed.
+     */
+    public boolean offer(BufferedWebSocketSession session, String frame) {
+        if (!session.isOpen()) {
+            return false;
+        }
+        Batch batch = (Batch) session.getAttributes().computeIfAbsent(BATCH_ATTRIBUTE, key -> new Batch(session));
+        batch.add(frame);
+        return true;
+    }
+
+    /**
+     * Sends the pending batch of {@code session} now, if there is one; called before a frame that bypasses coalescing
+     * so the batch is not overtaken.
+     */
+    public void flush(BufferedWebSocketSession session) {
+        if (session.getAttributes().get(BATCH_ATTRIBUTE) instanceof Batch batch) {
+            batch.flush();
+        }
+    }
+
+    /**
+     * Drops the pending batch of {@code session}; called once the connection is closed and nothing can be sent.
+     */
+    public void discard(BufferedWebSocketSession session) {
+        if (session.getAttributes().remove(BATCH_ATTRIBUTE) instanceof Batch batch) {
+            int frames = batch.discard();
+            if (frames > 0) {
+                discarded.increment(frames);
+                log.debug("Discarded {} coalesced frame(s) of closed session {}", frames, session.getId());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private final class Batch {
+        private final BufferedWebSocketSession session;
+        private List<String> frames = new ArrayList<>();
+
+        private Batch(BufferedWebSocketSession session) {
+            this.session = session;
+        }
+
+        private void add(String frame) {
+            boolean schedule;
+            synchronized (this) {
+                schedule = frames.isEmpty();
+                frames.add(frame);
+                if (frames.size() >= maxItems) {
+                    send(take());
+                    schedule = false;
+                }
+            }
+            if (schedule) {
+                try {
+                    scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    flush();
+                }
+            }
+        }
+
+        /**
+         * Sends under the monitor (offering to the session never blocks), so a caller that flushes before sending a
+         * frame of its own knows that no batch taken earlier is still on its way to the session.
+         */
+        private synchronized void flush() {
+            List<String> pending = take();
+            if (!pending.isEmpty()) {
+                send(pending);
+            }
+        }
+
+        private int discard() {
+            synchronized (this) {
+                return take().size();
+            }
+        }
+
+        /**
+         * Must be called with the batch's monitor held.
+         */
+        private List<String> take() {
+            List<String> taken = frames;
+            frames = new ArrayList<>(Math.min(maxItems, 16));
+            return taken;
+        }
+
+        private void send(List<String> pending) {
+            batchSize.record(pending.size());
+            if (pending.size() == 1) {
+                session.offer(WebSocketBroadcaster.encode(pending.get(0)));
+                return;
+            }
+            int bytes = 0;
+            for (String item : pending) {
+                bytes += item.length();
+            }
+            StringBuilder frame = new StringBuilder(BATCH_PREFIX.length() + bytes + pending.size() + BATCH_SUFFIX.length());
+            frame.append(BATCH_PREFIX);
+            for (int i = 0; i < pending.size(); i++) {
+                if (i > 0) {
+                    frame.append(',');
+                }
+                frame.append(pending.get(i));
+            }
+            frame.append(BATCH_SUFFIX);
+            session.offer(WebSocketBroadcaster.encode(frame.toString()));
+        }
+    }
+}
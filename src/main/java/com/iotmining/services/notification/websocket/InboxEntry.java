@@ -0,0 +1,9 @@
+package com.iotmining.services.notification.websocket;
+
+import com.iotmining.services.notification.dto.WsNotificationResponsePayload;
+
+/**
+ * One notification in a user's {@link NotificationInbox}, with its per-user sequence number.
+ */
+public record InboxEntry(long seq, WsNotificationResponsePayload payload) {
+}
@@ -0,0 +1,15 @@
+package com.iotmining.services.notification.websocket;
+
+import java.util.List;
+
+/**
+ * What a reconnecting client missed since its last seen sequence number.
+ *
+ * @param entries   missed notifications, in sequence order.
+ * @param latestSeq latest sequence number of the user; the client continues from here.
+ * @param reset     the client's sequence number is unknown to the inbox (e.g. the inbox expired); {@code entries}
+ *                  holds everything retained and the client should start over from {@code latestSeq}.
+ * @param truncated part of the gap is no longer retained; the client should reload from REST.
+ */
+public record InboxReplay(List<InboxEntry> entries, long latestSeq, boolean reset, boolean truncated) {
+}
@@ -0,0 +1,28 @@
+package com.iotmining.services.notification.websocket;
+
+import java.util.UUID;
+
+/**
+ * Allocates the per-user sequence numbers of the {@link NotificationInbox}.
+ */
+public interface InboxSequence {
+
+    /**
+     * Allocates the next sequence number of {@code userId}.
+     *
+     * @param localLast highest sequence number this node has allocated or restored for the user.
+     */
+    long next(UUID userId, long localLast);
+
+    /**
+     * Latest sequence number allocated for {@code userId}.
+     *
+     * @param localLast highest sequence number this node has allocated or restored for the user.
+     */
+    long last(UUID userId, long localLast);
+
+    /**
+     * True if other nodes allocate from the same sequence, so this node's inbox only holds part of a user's entries.
+     */
+    boolean isShared();
+}
@@ -0,0 +1,26 @@
+package com.iotmining.services.notification.websocket;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persistent overflow of the {@link NotificationInbox}: receives the entries that no longer fit in memory, so a
+ * client that was away for long can still be replayed its gap.
+ */
+public interface InboxSpill {
+
+    /**
+     * Stores entries evicted from memory; may complete asynchronously.
+     */
+    void store(UUID userId, List<InboxEntry> entries);
+
+    /**
+     * Stored entries with {@code afterSeq < seq < beforeSeq}, in sequence order.
+     */
+    List<InboxEntry> range(UUID userId, long afterSeq, long beforeSeq);
+
+    /**
+     * Highest stored sequence number of {@code userId}, 0 if none.
+     */
+    long lastSeq(UUID userId);
+}
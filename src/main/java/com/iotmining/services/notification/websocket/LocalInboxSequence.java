@@ -0,0 +1,24 @@
+package com.iotmining.services.notification.websocket;
+
+import java.util.UUID;
+
+/**
+ * {@link InboxSequence} of a single node: sequence numbers simply continue from the last one the node allocated.
+ */
+public class LocalInboxSequence implements InboxSequence {
+
+    @Override
+    public long next(UUID userId, long localLast) {
+        return localLast + 1;
+    }
+
+    @Override
+    public long last(UUID userId, long localLast) {
+        return localLast;
+    }
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+}
@@ -0,0 +1,32 @@
+package com.iotmining.services.notification.websocket;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Single-node {@link WebSocketCluster}: every session is local, nothing is relayed.
+ */
+public class LocalWebSocketCluster implements WebSocketCluster {
+
+    @Override
+    public void userConnected(UUID userId) {
+    }
+
+    @Override
+    public void userDisconnected(UUID userId) {
+    }
+
+    @Override
+    public int relayToUser(UUID userId, String message, boolean hasLocalSessions, UUID ackId) {
+        return 0;
+    }
+
+    @Override
+    public boolean relayAck(UUID ackId, UUID userId) {
+        return false;
+    }
+
+    @Override
+    public void relayToTopics(String tenantId, Collection<String> topics, String message, UUID excludedUserId) {
+    }
+}
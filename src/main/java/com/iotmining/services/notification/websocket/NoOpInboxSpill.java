@@ -0,0 +1,24 @@
+package com.iotmining.services.notification.websocket;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link InboxSpill} that keeps nothing: the inbox is memory-only.
+ */
+public class NoOpInboxSpill implements InboxSpill {
+
+    @Override
+    public void store(UUID userId, List<InboxEntry> entries) {
+    }
+
+    @Override
+    public List<InboxEntry> range(UUID userId, long afterSeq, long beforeSeq) {
+        return List.of();
+    }
+
+    @Override
+    public long lastSeq(UUID userId) {
+        return 0;
+    }
+}
@@ -0,0 +1,172 @@
+package com.iotmining.services.notification.websocket;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.iotmining.services.notification.dto.WsNotificationResponsePayload;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Per-user inbox of recent WebSocket notifications, so a client that reconnects is sent only what it missed
+ * instead of reloading everything over REST.
+ * <p>
+ * Every notification gets the next sequence number of its user, online or not, and the live frame carries it; the
+ * client remembers the last one it saw and presents it when reconnecting ({@link #since}).
+ * <p>
+ * The last {@code notification.websocket.inbox-capacity} (default 100) notifications per user are kept in memory,
+ * for up to {@code notification.websocket.inbox-max-users} (default 100000) users that were active within
+ * {@code notification.websocket.inbox-retention} (default 24h). Entries pushed out of memory, and whole inboxes evicted
+ * from it, go to the {@link InboxSpill} ({@code notification.websocket.inbox-spill}: {@code none} by default, or
+ * {@code redis}).
+ * <p>
+ * Sequence numbers come from the {@link InboxSequence}: node-local by default, or one Redis counter per user with
+ * {@code notification.websocket.cluster=redis}, so a user's numbers are the same whichever node delivers. With a shared
+ * sequence this node's memory holds only the entries it delivered, so every entry is also written to the spill right
+ * away and replays are read from the spill; a cluster should therefore also use {@code inbox-spill=redis}, or replays
+ * report the entries delivered by other nodes as a truncated gap.
+ */
+@Component
+@Slf4j
+public class NotificationInbox {
+
+    private final Cache<UUID, UserInbox> inboxes;
+    private final InboxSpill spill;
+    private final InboxSequence sequence;
+    private final int capacity;
+    private final Counter appended;
+    private final Counter replayed;
+    private final Counter truncatedReplays;
+
+    public NotificationInbox(InboxSpill spill,
+                             InboxSequence sequence,
+                             MeterRegistry meterRegistry,
+                             @Value("${notification.websocket.inbox-capacity:100}") int capacity,
+                             @Value("${notification.websocket.inbox-max-users:100000}") long maxUsers,
+                             @Value("${notification.websocket.inbox-retention:PT24H}") Duration retention) {
+        this.spill = spill;
+        this.sequence = sequence;
+        this.capacity = capacity;
+        this.inboxes = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(retention)
+                .removalListener((UUID userId, UserInbox inbox, RemovalCause cause) -> {
+                    // With a shared sequence every entry has been written to the spill already
+                    if (cause.wasEvicted() && userId != null && inbox != null && !sequence.isShared()) {
+                        spill.store(userId, inbox.snapshot());
+                    }
+                })
+                .build();
+
+        Gauge.builder("notification.websocket.inbox.users", inboxes, Cache::estimatedSize)
+                .description("Users with an in-memory notification inbox")
+                .register(meterRegistry);
+        this.appended = Counter.builder("notification.websocket.inbox.appended")
+                .description("Notifications added to user inboxes")
+                .register(meterRegistry);
+        this.replayed = Counter.builder("notification.websocket.inbox.replayed")
+                .description("Notifications replayed to reconnecting clients")
+                .register(meterRegistry);
+        this.truncatedReplays = Counter.builder("notification.websocket.inbox.truncated")
+                .description("Replays that could not cover the client's whole gap")
+                .register(meterRegistry);
+        log.info("Notification inbox initialized (capacity per user: {}, max users: {}, retention: {})",
+                capacity, maxUsers, retention);
+    }
+
+    /**
+     * Adds {@code payload} to the inbox of {@code userId}.
+     *
+     * @return its sequence number.
+     */
+    public long append(UUID userId, WsNotificationResponsePayload payload) {
+        UserInbox inbox = inboxes.get(userId, id -> new UserInbox(spill.lastSeq(id)));
+        List<InboxEntry> evicted = new ArrayList<>(1);
+        InboxEntry entry = inbox.append(userId, payload, sequence, capacity, evicted);
+        if (sequence.isShared()) {
+            spill.store(userId, List.of(entry));
+        } else if (!evicted.isEmpty()) {
+            spill.store(userId, evicted);
+        }
+        appended.increment();
+        return entry.seq();
+    }
+
+    /**
+     * What {@code userId} missed after {@code lastSeq}.
+     */
+    public InboxReplay since(UUID userId, long lastSeq) {
+        UserInbox inbox = inboxes.getIfPresent(userId);
+        List<InboxEntry> memory = inbox != null ? inbox.snapshot() : List.of();
+        long latest = sequence.last(userId, inbox != null ? inbox.lastSeq() : spill.lastSeq(userId));
+
+        if (lastSeq > latest) {
+            replayed.increment(memory.size());
+            return new InboxReplay(memory, latest, true, false);
+        }
+
+        long oldestInMemory = memory.isEmpty() ? latest + 1 : memory.get(0).seq();
+        // With a shared sequence, entries delivered by other nodes sit between this node's; only the spill has them all
+        long spillBefore = sequence.isShared() ? latest + 1 : oldestInMemory;
+        TreeMap<Long, InboxEntry> entries = new TreeMap<>();
+        if (lastSeq + 1 < spillBefore) {
+            for (InboxEntry entry : spill.range(userId, lastSeq, spillBefore)) {
+                entries.put(entry.seq(), entry);
+            }
+        }
+        for (InboxEntry entry : memory) {
+            if (entry.seq() > lastSeq) {
+                entries.putIfAbsent(entry.seq(), entry);
+            }
+        }
+
+        boolean truncated = entries.size() < latest - lastSeq;
+        if (truncated) {
+            truncatedReplays.increment();
+        }
+        replayed.increment(entries.size());
+        return new InboxReplay(new ArrayList<>(entries.values()), latest, false, truncated);
+    }
+
+    private static final class UserInbox {
+        private final ArrayDeque<InboxEntry> entries = new ArrayDeque<>();
+        private long lastSeq;
+
+        private UserInbox(long lastSeq) {
+            this.lastSeq = lastSeq;
+        }
+
+        /**
+         * Allocates under the monitor so the entries stay in sequence order even when the sequence is shared.
+         */
+        private synchronized InboxEntry append(UUID userId, WsNotificationResponsePayload payload, InboxSequence sequence,
+                                               int capacity, List<InboxEntry> evicted) {
+            lastSeq = sequence.next(userId, lastSeq);
+            InboxEntry entry = new InboxEntry(lastSeq, payload);
+            entries.addLast(entry);
+            while (entries.size() > capacity) {
+                evicted.add(entries.pollFirst());
+            }
+            return entry;
+        }
+
+        private synchronized List<InboxEntry> snapshot() {
+            return new ArrayList<>(entries);
+        }
+
+        private synchronized long lastSeq() {
+            return lastSeq;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.iotmining.services.notification.websocket;
+
+/**
+ * What a session's outbound buffer does with a new frame when it is full.
+ */
+public enum OverflowPolicy {
+    /** Evict the oldest buffered frames until the new one fits. */
+    DROP_OLDEST,
+    /** Keep what is buffered and drop the new frame. */
+    DROP_NEWEST,
+    /** Close the session; the client reconnects and resynchronizes. */
+    DISCONNECT
+}
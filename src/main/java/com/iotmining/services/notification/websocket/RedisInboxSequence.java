@@ -0,0 +1,72 @@
+package com.iotmining.services.notification.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link InboxSequence} shared by all nodes of a cluster: {@code notification:ws:inbox-seq:<userId>} is a Redis
+ * counter, incremented for every notification and expiring {@code retention} after the last one, like the spilled
+ * inbox it numbers. A user's notifications therefore get one sequence whichever node delivers them.
+ * <p>
+ * If Redis is unavailable, the number continues from the node's own last one; it may then repeat a number allocated
+ * elsewhere, which a replay reports as a truncated gap at worst.
+ */
+@Slf4j
+public class RedisInboxSequence implements InboxSequence {
+
+    private static final String KEY_PREFIX = "notification:ws:inbox-seq:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration retention;
+
+    public RedisInboxSequence(StringRedisTemplate redisTemplate, Duration retention) {
+        this.redisTemplate = redisTemplate;
+        this.retention = retention;
+        log.info("Inbox sequence numbers are allocated in Redis (retention: {})", retention);
+    }
+
+    @Override
+    public long next(UUID userId, long localLast) {
+        String key = KEY_PREFIX + userId;
+        try {
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                redis.incr(key);
+                redis.expire(key, retention.toSeconds());
+                return null;
+            });
+            long seq = ((Number) results.get(0)).longValue();
+            if (seq <= localLast) {
+                // The counter expired or was lost while this node still remembers later numbers
+                redisTemplate.opsForValue().set(key, String.valueOf(localLast + 1), retention);
+                return localLast + 1;
+            }
+            return seq;
+        } catch (RuntimeException e) {
+            log.warn("Failed to allocate an inbox sequence number for user {} in Redis: {}", userId, e.getMessage());
+            return localLast + 1;
+        }
+    }
+
+    @Override
+    public long last(UUID userId, long localLast) {
+        try {
+            String value = redisTemplate.opsForValue().get(KEY_PREFIX + userId);
+            return value != null ? Math.max(localLast, Long.parseLong(value)) : localLast;
+        } catch (RuntimeException e) {
+            log.warn("Failed to read the inbox sequence of user {} from Redis: {}", userId, e.getMessage());
+            return localLast;
+        }
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+}
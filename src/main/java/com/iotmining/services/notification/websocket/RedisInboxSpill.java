@@ -0,0 +1,127 @@
+package com.iotmining.services.notification.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * {@link InboxSpill} in Redis: {@code notification:ws:inbox:<userId>} is a sorted set of serialized entries scored
+ * by sequence number, trimmed to the newest {@code capacity} entries and expiring {@code retention} after the last
+ * write. Writes are pipelined on a background thread so a dispatch never waits on Redis; reads are only made when a
+ * client reconnects with a gap the memory no longer covers.
+ * If Redis is unavailable, spilled entries are lost and replays report a truncated gap.
+ */
+@Slf4j
+public class RedisInboxSpill implements InboxSpill, AutoCloseable {
+
+    private static final String KEY_PREFIX = "notification:ws:inbox:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectReader entryReader;
+    private final ObjectWriter entryWriter;
+    private final int capacity;
+    private final Duration retention;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "inbox-spill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RedisInboxSpill(StringRedisTemplate redisTemplate, ObjectMapper mapper, int capacity, Duration retention) {
+        this.redisTemplate = redisTemplate;
+        this.entryReader = mapper.readerFor(InboxEntry.class);
+        this.entryWriter = mapper.writerFor(InboxEntry.class);
+        this.capacity = capacity;
+        this.retention = retention;
+        log.info("Redis inbox spill initialized (capacity per user: {}, retention: {})", capacity, retention);
+    }
+
+    @Override
+    public void store(UUID userId, List<InboxEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            writer.execute(() -> write(KEY_PREFIX + userId, entries));
+        } catch (RejectedExecutionException e) {
+            log.debug("Inbox spill is shut down, dropping {} entries of user {}", entries.size(), userId);
+        }
+    }
+
+    private void write(String key, List<InboxEntry> entries) {
+        try {
+            List<String> serialized = new ArrayList<>(entries.size());
+            for (InboxEntry entry : entries) {
+                serialized.add(entryWriter.writeValueAsString(entry));
+            }
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (int i = 0; i < entries.size(); i++) {
+                    redis.zAdd(key, entries.get(i).seq(), serialized.get(i));
+                }
+                redis.zRemRange(key, 0, -capacity - 1L);
+                redis.expire(key, retention.toSeconds());
+                return null;
+            });
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to spill {} inbox entries to {}: {}", entries.size(), key, e.getMessage());
+        }
+    }
+
+    @Override
+    public List<InboxEntry> range(UUID userId, long afterSeq, long beforeSeq) {
+        if (beforeSeq - afterSeq <= 1) {
+            return List.of();
+        }
+        try {
+            Set<String> values = redisTemplate.opsForZSet().rangeByScore(KEY_PREFIX + userId, afterSeq + 1, beforeSeq - 1);
+            if (values == null || values.isEmpty()) {
+                return List.of();
+            }
+            List<InboxEntry> entries = new ArrayList<>(values.size());
+            for (String value : values) {
+                entries.add(entryReader.readValue(value));
+            }
+            return entries;
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to read spilled inbox of user {}: {}", userId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    public long lastSeq(UUID userId) {
+        try {
+            Set<ZSetOperations.TypedTuple<String>> last = redisTemplate.opsForZSet()
+                    .reverseRangeWithScores(KEY_PREFIX + userId, 0, 0);
+            if (last == null || last.isEmpty()) {
+                return 0;
+            }
+            Double score = last.iterator().next().getScore();
+            return score != null ? score.longValue() : 0;
+        } catch (RuntimeException e) {
+            log.warn("Failed to read the last spilled sequence of user {}: {}", userId, e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public void close() {
+        writer.shutdown();
+    }
+}
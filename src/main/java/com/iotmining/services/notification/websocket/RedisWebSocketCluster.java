@@ -0,0 +1,525 @@
+package com.iotmining.services.notification.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link WebSocketCluster} for several notification nodes sharing one Redis.
+ * <p>
+ * <b>Directory.</b> {@code notification:ws:user:<userId>} is the set of nodes holding sessions of the user. A node
+ * adds itself when a user connects, removes itself when the user's last local session closes, and re-adds all its
+ * users on every heartbeat ({@code heartbeat}, default 30s) with a TTL ({@code entry-ttl}, default 2m), so entries of a
+ * crashed node expire on their own.
+ * <p>
+ * <b>Presence.</b> Directory changes and the heartbeat are also published on {@code notification:ws:presence}. Every
+ * node keeps an in-memory replica of the remote nodes per user from these events, so sending to a user that has
+ * local sessions never waits on Redis: the replica says whether other nodes must be relayed to as well. Only a user
+ * with no local sessions and no replica entry (e.g. right after this node started) is looked up in Redis. A lookup
+ * that finds no other node is remembered for {@code negative-lookup-ttl} (default 1s), or until a presence event
+ * announces the user, so notifications for offline users do not cost a Redis round trip each.
+ * <p>
+ * <b>Relay.</b> Frames for another node are queued per destination node and published on its channel
+ * {@code notification:ws:node:<nodeId>} as one batch per {@code batch-window} (default 5ms), at most
+ * {@code max-batch} (default 100) frames per message. The receiving node delivers them to its local sessions.
+ * Pub/sub is at-most-once: a frame relayed while the destination is down is lost, like a frame sent to a socket that
+ * is closing.
+ * <p>
+ * <b>Topics.</b> Topic frames are published on {@code notification:ws:topics}, which every node receives; each
+ * node hands them to its own subscribers of the topics (see {@link WebSocketTopicIndex}).
+ * <p>
+ * <b>Acknowledgements.</b> A relayed frame that the sending node's {@link AckTracker} waits for carries the sending
+ * node and the ack id. The receiving node remembers them for the ack timeout, and when its client acknowledges the
+ * frame, publishes the ack on the sender's channel {@code notification:ws:ack:<nodeId>}, where it resolves the wait.
+ * <p>
+ * Directory updates and the heartbeat run on a dedicated thread so WebSocket handshakes never wait on Redis either.
+ * Relay, topic and ack publishing run on a thread of their own, so a slow heartbeat over many users cannot hold up
+ * live frames.
+ */
+@Slf4j
+public class RedisWebSocketCluster implements WebSocketCluster, MessageListener, AutoCloseable {
+
+    public static final String PRESENCE_CHANNEL = "notification:ws:presence";
+    public static final String TOPIC_CHANNEL = "notification:ws:topics";
+    private static final String USER_KEY_PREFIX = "notification:ws:user:";
+    private static final String NODE_CHANNEL_PREFIX = "notification:ws:node:";
+    private static final String ACK_CHANNEL_PREFIX = "notification:ws:ack:";
+    // relayed frames awaiting an ack, remembered per ack id; more than this are not expected within one ack timeout
+    private static final long MAX_ACK_ORIGINS = 1_000_000;
+    private static final int PRESENCE_CHUNK = 1000;
+    // users remembered as having no session on another node; beyond this, the oldest are looked up again
+    private static final long MAX_NEGATIVE_LOOKUPS = 100_000;
+
+    private final String nodeId;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final WebSocketTopicIndex topicIndex;
+    private final AckTracker ackTracker;
+    private final Duration entryTtl;
+    private final Duration batchWindow;
+    private final int maxBatch;
+    private final ScheduledExecutorService executor;
+    private final ScheduledExecutorService relayExecutor;
+
+    // userId → remote node → last time the node announced the user (millis)
+    private final ConcurrentMap<UUID, ConcurrentMap<String, Long>> remoteNodes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Outbox> outboxes = new ConcurrentHashMap<>();
+    // ack id → node that sent the frame and waits for its ack
+    private final Cache<UUID, String> ackOrigins;
+    // users a directory lookup found on no other node
+    private final Cache<UUID, Boolean> offlineUsers;
+
+    private final Counter relayedFrames;
+    private final Counter relayedBatches;
+    private final Counter receivedFrames;
+    private final Counter directoryLookups;
+    private final Counter negativeLookupHits;
+    private final Counter relayedAcks;
+
+    public RedisWebSocketCluster(String nodeId,
+                                 StringRedisTemplate redisTemplate,
+                                 ObjectMapper objectMapper,
+                                 WebSocketSessionRegistry sessionRegistry,
+                                 WebSocketTopicIndex topicIndex,
+                                 AckTracker ackTracker,
+                                 Duration heartbeat,
+                                 Duration entryTtl,
+                                 Duration batchWindow,
+                                 int maxBatch,
+                                 Duration negativeLookupTtl,
+                                 MeterRegistry meterRegistry) {
+        this.nodeId = nodeId;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.sessionRegistry = sessionRegistry;
+        this.topicIndex = topicIndex;
+        this.ackTracker = ackTracker;
+        this.entryTtl = entryTtl;
+        this.ackOrigins = Caffeine.newBuilder()
+                .maximumSize(MAX_ACK_ORIGINS)
+                .expireAfterWrite(ackTracker.ackTimeout())
+                .build();
+        this.offlineUsers = Caffeine.newBuilder()
+                .maximumSize(MAX_NEGATIVE_LOOKUPS)
+                .expireAfterWrite(negativeLookupTtl)
+                .build();
+        this.batchWindow = batchWindow;
+        this.maxBatch = maxBatch;
+        this.executor = Executors.newSingleThreadScheduledExecutor(daemonThreads("ws-cluster"));
+        this.relayExecutor = Executors.newSingleThreadScheduledExecutor(daemonThreads("ws-cluster-relay"));
+        this.executor.scheduleWithFixedDelay(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+
+        this.relayedFrames = Counter.builder("notification.websocket.cluster.relayed")
+                .description("Frames relayed to other nodes")
+                .register(meterRegistry);
+        this.relayedBatches = Counter.builder("notification.websocket.cluster.batches")
+                .description("Relay messages published to other nodes")
+                .register(meterRegistry);
+        this.receivedFrames = Counter.builder("notification.websocket.cluster.received")
+                .description("Frames relayed to this node by other nodes")
+                .register(meterRegistry);
+        this.directoryLookups = Counter.builder("notification.websocket.cluster.lookups")
+                .description("Users looked up in the Redis session directory")
+                .register(meterRegistry);
+        this.negativeLookupHits = Counter.builder("notification.websocket.cluster.lookups.skipped")
+                .description("Directory lookups answered by a recent lookup that found the user on no other node")
+                .register(meterRegistry);
+        this.relayedAcks = Counter.builder("notification.websocket.cluster.acks")
+                .description("Client acknowledgements relayed back to the node that sent the frame")
+                .register(meterRegistry);
+        log.info("WebSocket cluster relay started on node {} (batch window {}, max batch {})", nodeId, batchWindow, maxBatch);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Channel this node receives relayed frames on.
+     */
+    public String nodeChannel() {
+        return NODE_CHANNEL_PREFIX + nodeId;
+    }
+
+    /**
+     * Channel this node receives the acknowledgements of its relayed frames on.
+     */
+    public String ackChannel() {
+        return ACK_CHANNEL_PREFIX + nodeId;
+    }
+
+    @Override
+    public void userConnected(UUID userId) {
+        execute(() -> {
+            String key = USER_KEY_PREFIX + userId;
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                redis.sAdd(key, nodeId);
+                redis.expire(key, entryTtl.toSeconds());
+                return null;
+            });
+            publishPresence(List.of(userId), List.of());
+        });
+    }
+
+    @Override
+    public void userDisconnected(UUID userId) {
+        execute(() -> {
+            // The user may have reconnected in the meantime
+            if (!sessionRegistry.sessionsOf(userId).isEmpty()) {
+                return;
+            }
+            redisTemplate.opsForSet().remove(USER_KEY_PREFIX + userId, nodeId);
+            publishPresence(List.of(), List.of(userId));
+        });
+    }
+
+    @Override
+    public int relayToUser(UUID userId, String message, boolean hasLocalSessions, UUID ackId) {
+        Set<String> nodes = knownRemoteNodes(userId);
+        if (nodes.isEmpty() && !hasLocalSessions) {
+            nodes = lookUp(userId);
+        }
+        if (nodes.isEmpty()) {
+            return 0;
+        }
+        RelayFrame frame = new RelayFrame(userId, message, ackId != null ? nodeId : null, ackId);
+        for (String node : nodes) {
+            outboxes.computeIfAbsent(node, Outbox::new).add(frame);
+        }
+        return nodes.size();
+    }
+
+    @Override
+    public boolean relayAck(UUID ackId, UUID userId) {
+        String origin = ackOrigins.asMap().remove(ackId);
+        if (origin == null) {
+            return false;
+        }
+        relayedAcks.increment();
+        relay(() -> publish(ACK_CHANNEL_PREFIX + origin, new RelayAck(ackId, userId)));
+        return true;
+    }
+
+    @Override
+    public void relayToTopics(String tenantId, Collection<String> topics, String message, UUID excludedUserId) {
+        TopicFrame frame = new TopicFrame(nodeId, tenantId, List.copyOf(topics), excludedUserId, message);
+        relay(() -> publish(TOPIC_CHANNEL, frame));
+    }
+
+    /**
+     * Receives relayed frames on {@link #nodeChannel()}, acknowledgements of frames this node relayed on
+     * {@link #ackChannel()}, topic frames on {@link #TOPIC_CHANNEL} and presence events on {@link #PRESENCE_CHANNEL}.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        try {
+            if (PRESENCE_CHANNEL.equals(channel)) {
+                onPresence(objectMapper.readValue(message.getBody(), Presence.class));
+            } else if (TOPIC_CHANNEL.equals(channel)) {
+                deliverLocally(objectMapper.readValue(message.getBody(), TopicFrame.class));
+            } else if (channel.startsWith(ACK_CHANNEL_PREFIX)) {
+                RelayAck ack = objectMapper.readValue(message.getBody(), RelayAck.class);
+                ackTracker.acknowledge(ack.ackId(), ack.userId());
+            } else {
+                deliverLocally(objectMapper.readValue(message.getBody(), new TypeReference<List<RelayFrame>>() {
+                }));
+            }
+        } catch (IOException e) {
+            log.warn("Ignoring malformed message on {}: {}", channel, e.getMessage());
+        }
+    }
+
+    private void onPresence(Presence presence) {
+        if (nodeId.equals(presence.node())) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (UUID userId : presence.online()) {
+            offlineUsers.invalidate(userId);
+            remoteNodes.computeIfAbsent(userId, id -> new ConcurrentHashMap<>()).put(presence.node(), now);
+        }
+        for (UUID userId : presence.offline()) {
+            remoteNodes.computeIfPresent(userId, (id, nodes) -> {
+                nodes.remove(presence.node());
+                return nodes.isEmpty() ? null : nodes;
+            });
+        }
+    }
+
+    private void deliverLocally(List<RelayFrame> frames) {
+        receivedFrames.increment(frames.size());
+        for (RelayFrame frame : frames) {
+            List<WebSocketSession> sessions = sessionRegistry.sessionsOf(frame.userId());
+            if (sessions.isEmpty()) {
+                continue;
+            }
+            if (frame.ackId() != null && frame.origin() != null) {
+                ackOrigins.put(frame.ackId(), frame.origin());
+            }
+            TextMessage message = WebSocketBroadcaster.encode(frame.message());
+            for (WebSocketSession session : sessions) {
+                if (session instanceof BufferedWebSocketSession buffered) {
+                    buffered.offer(message);
+                }
+            }
+        }
+    }
+
+    private void deliverLocally(TopicFrame frame) {
+        if (nodeId.equals(frame.origin())) {
+            return;
+        }
+        receivedFrames.increment();
+        TextMessage message = WebSocketBroadcaster.encode(frame.message());
+        for (WebSocketSession session : topicIndex.subscribers(frame.tenantId(), frame.topics(), frame.excludedUserId())) {
+            if (session instanceof BufferedWebSocketSession buffered) {
+                buffered.offer(message);
+            }
+        }
+    }
+
+    /**
+     * Remote nodes of {@code userId} according to the presence replica, ignoring announcements older than the
+     * directory TTL.
+     */
+    private Set<String> knownRemoteNodes(UUID userId) {
+        Map<String, Long> nodes = remoteNodes.get(userId);
+        if (nodes == null) {
+            return Set.of();
+        }
+        long oldest = System.currentTimeMillis() - entryTtl.toMillis();
+        nodes.values().removeIf(lastSeen -> lastSeen < oldest);
+        return Set.copyOf(nodes.keySet());
+    }
+
+    private Set<String> lookUp(UUID userId) {
+        if (offlineUsers.getIfPresent(userId) != null) {
+            negativeLookupHits.increment();
+            return Set.of();
+        }
+        directoryLookups.increment();
+        Set<String> members;
+        try {
+            members = redisTemplate.opsForSet().members(USER_KEY_PREFIX + userId);
+        } catch (RuntimeException e) {
+            log.warn("Session directory lookup failed for user {}: {}", userId, e.getMessage());
+            return Set.of();
+        }
+        if (members == null || members.isEmpty() || members.equals(Set.of(nodeId))) {
+            offlineUsers.put(userId, Boolean.TRUE);
+            return Set.of();
+        }
+        long now = System.currentTimeMillis();
+        ConcurrentMap<String, Long> known = remoteNodes.computeIfAbsent(userId, id -> new ConcurrentHashMap<>());
+        for (String node : members) {
+            if (!nodeId.equals(node)) {
+                known.putIfAbsent(node, now);
+            }
+        }
+        return Set.copyOf(known.keySet());
+    }
+
+    /**
+     * Refreshes this node's directory entries and re-announces its users, which also heals replicas that missed an
+     * event; prunes stale replica entries.
+     */
+    private void heartbeat() {
+        try {
+            List<UUID> users = new ArrayList<>(sessionRegistry.users());
+            long ttl = entryTtl.toSeconds();
+            for (int from = 0; from < users.size(); from += PRESENCE_CHUNK) {
+                List<UUID> chunk = users.subList(from, Math.min(from + PRESENCE_CHUNK, users.size()));
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection redis = (StringRedisConnection) connection;
+                    for (UUID userId : chunk) {
+                        redis.sAdd(USER_KEY_PREFIX + userId, nodeId);
+                        redis.expire(USER_KEY_PREFIX + userId, ttl);
+                    }
+                    return null;
+                });
+                publishPresence(chunk, List.of());
+            }
+
+            long oldest = System.currentTimeMillis() - entryTtl.toMillis();
+            remoteNodes.values().forEach(nodes -> nodes.values().removeIf(lastSeen -> lastSeen < oldest));
+            remoteNodes.values().removeIf(Map::isEmpty);
+        } catch (RuntimeException e) {
+            log.warn("WebSocket cluster heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    private void publishPresence(List<UUID> online, List<UUID> offline) {
+        publish(PRESENCE_CHANNEL, new Presence(nodeId, online, offline));
+    }
+
+    private void publish(String channel, Object payload) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to publish on {}: {}", channel, e.getMessage());
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.warn("WebSocket session directory update failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("WebSocket cluster is shut down, skipping directory update");
+        }
+    }
+
+    /**
+     * Runs a publish of live traffic on the relay thread, which never waits behind directory updates.
+     */
+    private void relay(Runnable task) {
+        try {
+            relayExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("WebSocket cluster is shut down, dropping relay message");
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Withdraws this node from the directory so other nodes stop relaying to it.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        relayExecutor.shutdownNow();
+        List<UUID> users = new ArrayList<>(sessionRegistry.users());
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (UUID userId : users) {
+                    redis.sRem(USER_KEY_PREFIX + userId, nodeId);
+                }
+                return null;
+            });
+            for (int from = 0; from < users.size(); from += PRESENCE_CHUNK) {
+                publishPresence(List.of(), users.subList(from, Math.min(from + PRESENCE_CHUNK, users.size())));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to withdraw node {} from the WebSocket session directory: {}", nodeId, e.getMessage());
+        }
+    }
+
+    /**
+     * Frames waiting to be relayed to one node; flushed at most {@code batchWindow} after the first one arrived.
+     */
+    private final class Outbox {
+        private final String channel;
+        private final Queue<RelayFrame> frames = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Outbox(String node) {
+            this.channel = NODE_CHANNEL_PREFIX + node;
+        }
+
+        private void add(RelayFrame frame) {
+            frames.add(frame);
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    relayExecutor.schedule(this::flush, batchWindow.toNanos(), TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    frames.clear();
+                }
+            }
+        }
+
+        private void flush() {
+            scheduled.set(false);
+            List<RelayFrame> batch = new ArrayList<>(Math.min(maxBatch, 64));
+            RelayFrame frame;
+            while ((frame = frames.poll()) != null) {
+                batch.add(frame);
+                if (batch.size() == maxBatch) {
+                    send(batch);
+                    batch = new ArrayList<>(maxBatch);
+                }
+            }
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        }
+
+        private void send(List<RelayFrame> batch) {
+            publish(channel, batch);
+            relayedBatches.increment();
+            relayedFrames.increment(batch.size());
+        }
+    }
+
+    /**
+     * One frame for the sessions of {@code userId} on the receiving node; {@code origin} and {@code ackId} are set
+     * when the sending node waits for the client to acknowledge it.
+     */
+    public record RelayFrame(UUID userId, String message, String origin, UUID ackId) {
+    }
+
+    /**
+     * A frame for the subscribers of {@code topics} within {@code tenantId} on every node but {@code origin}.
+     */
+    public record TopicFrame(String origin, String tenantId, List<String> topics, UUID excludedUserId, String message) {
+    }
+
+    /**
+     * The acknowledgement of a relayed frame by a client of {@code userId}.
+     */
+    public record RelayAck(UUID ackId, UUID userId) {
+    }
+
+    /**
+     * Users that came online on, or left, {@code node}.
+     */
+    public record Presence(String node, List<UUID> online, List<UUID> offline) {
+    }
+}
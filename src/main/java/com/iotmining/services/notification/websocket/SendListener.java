@@ -0,0 +1,20 @@
+package com.iotmining.services.notification.websocket;
+
+/**
+ * Told the fate of one frame offered to a {@link BufferedWebSocketSession}; called exactly once per frame, on
+ * whichever thread decided it, so it must be cheap and must not block.
+ */
+@FunctionalInterface
+public interface SendListener {
+
+    enum Outcome {
+        /** Written to the socket. */
+        WRITTEN,
+        /** Dropped by the overflow policy or because the client is too slow. */
+        DROPPED,
+        /** Not written because the session was closed, or closed while writing it. */
+        CLOSED
+    }
+
+    void onOutcome(Outcome outcome);
+}
@@ -0,0 +1,153 @@
+package com.iotmining.services.notification.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends one text frame to many sessions.
+ * <p>
+ * The frame is encoded to UTF-8 once and the same immutable {@link TextMessage} is handed to every session, so a
+ * broadcast to 50k dashboards costs one encoding and one allocation instead of one per session. The calling thread
+ * only appends the frame to each session's {@link BufferedWebSocketSession} buffer; the writes themselves happen on
+ * the sessions' sender threads, in parallel, and a slow session delays nobody else.
+ * <p>
+ * The returned future completes with a {@link BroadcastResult} once every session has written, dropped or given up
+ * on the frame. A session whose write hangs completes its part when it is closed for exceeding the send-time limit or
+ * when the container times the write out.
+ * <p>
+ * Metrics: {@code notification.websocket.broadcast} (time until every session has settled) and
+ * {@code notification.websocket.broadcast.frames} tagged {@code outcome}.
+ */
+@Component
+@Slf4j
+public class WebSocketBroadcaster {
+
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final Timer broadcastTimer;
+    private final Counter delivered;
+    private final Counter dropped;
+    private final Counter closed;
+
+    public WebSocketBroadcaster(WebSocketSessionRegistry sessionRegistry, MeterRegistry meterRegistry) {
+        this.sessionRegistry = sessionRegistry;
+        this.broadcastTimer = Timer.builder("notification.websocket.broadcast")
+                .description("Time from a broadcast until every session has written or dropped the frame")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.delivered = framesCounter(meterRegistry, "delivered");
+        this.dropped = framesCounter(meterRegistry, "dropped");
+        this.closed = framesCounter(meterRegistry, "closed");
+    }
+
+    /**
+     * Broadcasts {@code message} to every registered session.
+     */
+    public CompletableFuture<BroadcastResult> broadcast(String message) {
+        return broadcast(sessionRegistry.allSessions(), message);
+    }
+
+    /**
+     * Broadcasts {@code message} to {@code sessions}.
+     */
+    public CompletableFuture<BroadcastResult> broadcast(Collection<WebSocketSession> sessions, String message) {
+        TextMessage frame = encode(message);
+        Tracker tracker = new Tracker(sessions.size());
+        for (WebSocketSession session : sessions) {
+            if (session instanceof BufferedWebSocketSession buffered) {
+                buffered.offer(frame, tracker);
+            } else {
+                sendDirect(session, frame, tracker);
+            }
+        }
+        tracker.offered();
+        return tracker.result;
+    }
+
+    /**
+     * Encodes {@code message} once; the resulting frame can be offered to any number of sessions.
+     */
+    public static TextMessage encode(String message) {
+        return new TextMessage(message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Fallback for a session that was registered without a buffer; writes on the calling thread.
+     */
+    private static void sendDirect(WebSocketSession session, TextMessage frame, SendListener listener) {
+        if (!session.isOpen()) {
+            listener.onOutcome(SendListener.Outcome.CLOSED);
+            return;
+        }
+        try {
+            synchronized (session) {
+                session.sendMessage(frame);
+            }
+            listener.onOutcome(SendListener.Outcome.WRITTEN);
+        } catch (Exception e) {
+            log.debug("Broadcast to session {} failed: {}", session.getId(), e.getMessage());
+            listener.onOutcome(SendListener.Outcome.CLOSED);
+        }
+    }
+
+    private static Counter framesCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("notification.websocket.broadcast.frames")
+                .description("Broadcast frames by what became of them per session")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts the per-session outcomes of one broadcast. {@code pending} starts one above the session count so the
+     * result cannot complete while sessions are still being offered the frame.
+     */
+    private final class Tracker implements SendListener {
+        private final int sessions;
+        private final long start = System.nanoTime();
+        private final AtomicInteger pending;
+        private final AtomicInteger written = new AtomicInteger();
+        private final AtomicInteger droppedFrames = new AtomicInteger();
+        private final AtomicInteger closedSessions = new AtomicInteger();
+        private final CompletableFuture<BroadcastResult> result = new CompletableFuture<>();
+
+        private Tracker(int sessions) {
+            this.sessions = sessions;
+            this.pending = new AtomicInteger(sessions + 1);
+        }
+
+        @Override
+        public void onOutcome(Outcome outcome) {
+            switch (outcome) {
+                case WRITTEN -> written.incrementAndGet();
+                case DROPPED -> droppedFrames.incrementAndGet();
+                case CLOSED -> closedSessions.incrementAndGet();
+            }
+            settle();
+        }
+
+        private void offered() {
+            settle();
+        }
+
+        private void settle() {
+            if (pending.decrementAndGet() != 0) {
+                return;
+            }
+            broadcastTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            delivered.increment(written.get());
+            dropped.increment(droppedFrames.get());
+            closed.increment(closedSessions.get());
+            result.complete(new BroadcastResult(sessions, written.get(), droppedFrames.get(), closedSessions.get()));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.iotmining.services.notification.websocket;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Reaches WebSocket sessions held by other notification nodes.
+ * <p>
+ * {@link LocalWebSocketCluster} (the default, {@code notification.websocket.cluster=local}) is for a single node and
+ * does nothing. {@link RedisWebSocketCluster} ({@code notification.websocket.cluster=redis}) keeps a cluster session
+ * directory in Redis and relays frames to the nodes holding a user's sessions, and topic frames to every node, over
+ * Redis pub/sub.
+ */
+public interface WebSocketCluster {
+
+    /**
+     * Called after a session of {@code userId} has been registered on this node.
+     */
+    void userConnected(UUID userId);
+
+    /**
+     * Called after the last session of {@code userId} on this node has been unregistered.
+     */
+    void userDisconnected(UUID userId);
+
+    /**
+     * Relays {@code message} to the other nodes holding sessions of {@code userId}.
+     *
+     * @param hasLocalSessions whether this node delivered the message to local sessions itself.
+     * @return the number of nodes the message was relayed to.
+     */
+    default int relayToUser(UUID userId, String message, boolean hasLocalSessions) {
+        return relayToUser(userId, message, hasLocalSessions, null);
+    }
+
+    /**
+     * Like {@link #relayToUser(UUID, String, boolean)}, for a message whose acknowledgement this node's
+     * {@link AckTracker} expects under {@code ackId}; a node that delivers it routes the client's ACK back here
+     * ({@link #relayAck}).
+     *
+     * @param ackId the id the client acknowledges the message with, or {@code null} if no ack is expected.
+     */
+    int relayToUser(UUID userId, String message, boolean hasLocalSessions, UUID ackId);
+
+    /**
+     * Forwards an acknowledgement this node could not match to the node that sent the acknowledged message.
+     *
+     * @return false if the message was not relayed to this node (or no longer remembered).
+     */
+    boolean relayAck(UUID ackId, UUID userId);
+
+    /**
+     * Relays {@code message} to the sessions of {@code tenantId} on other nodes that are subscribed to any of
+     * {@code topics}, except those of {@code excludedUserId}.
+     */
+    void relayToTopics(String tenantId, Collection<String> topics, String message, UUID excludedUserId);
+}
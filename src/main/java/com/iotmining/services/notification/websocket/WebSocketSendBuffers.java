@@ -0,0 +1,139 @@
+package com.iotmining.services.notification.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates the {@link BufferedWebSocketSession} of every WebSocket connection and owns what they share: the limits,
+ * the sender threads and the metrics.
+ * <p>
+ * Configuration:
+ * <ul>
+ *     <li>{@code notification.websocket.send-time-limit} (default 10s): how long a single write may stay blocked
+ *     before the session is considered unreliable and closed;</li>
+ *     <li>{@code notification.websocket.buffer-size-limit} (default 512KB): outbound bytes buffered per session;</li>
+ *     <li>{@code notification.websocket.overflow-policy} (default {@code DROP_OLDEST}): see {@link OverflowPolicy};</li>
+ *     <li>{@code notification.websocket.sender-threads} (default 64): threads writing to the sockets.</li>
+ * </ul>
+ * Each session drains its buffer on one sender thread at a time, so at most one task per session is ever queued and
+ * the queue stays bounded by the number of sessions. A write blocked on a slow network holds its thread until the
+ * container's send timeout; the send-time limit closes such sessions on their next frame, so the pool is sized for
+ * the slow clients expected at once, not for the number of sessions.
+ * <p>
+ * Metrics: {@code notification.websocket.buffered.bytes} (bytes waiting across all sessions),
+ * {@code notification.websocket.frames.dropped} tagged {@code reason} ({@code overflow}, {@code slow-consumer}) and
+ * {@code notification.websocket.slow.disconnects}.
+ */
+@Component
+@Slf4j
+public class WebSocketSendBuffers {
+
+    private final Duration sendTimeLimit;
+    private final int bufferSizeLimit;
+    private final OverflowPolicy overflowPolicy;
+    private final ThreadPoolExecutor sender;
+
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private final Counter droppedOverflow;
+    private final Counter droppedSlowConsumer;
+    private final Counter slowDisconnects;
+
+    public WebSocketSendBuffers(MeterRegistry meterRegistry,
+                                @Value("${notification.websocket.send-time-limit:PT10S}") Duration sendTimeLimit,
+                                @Value("${notification.websocket.buffer-size-limit:512KB}") DataSize bufferSizeLimit,
+                                @Value("${notification.websocket.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+                                @Value("${notification.websocket.sender-threads:64}") int senderThreads) {
+        this.sendTimeLimit = sendTimeLimit;
+        this.bufferSizeLimit = (int) bufferSizeLimit.toBytes();
+        this.overflowPolicy = overflowPolicy;
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, senderThreads);
+        this.sender = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ws-send-" + threadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.sender.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("notification.websocket.buffered.bytes", bufferedBytes, AtomicLong::get)
+                .description("Outbound WebSocket bytes buffered and not yet written, across all sessions")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        droppedOverflow = droppedCounter(meterRegistry, "overflow");
+        droppedSlowConsumer = droppedCounter(meterRegistry, "slow-consumer");
+        slowDisconnects = Counter.builder("notification.websocket.slow.disconnects")
+                .description("WebSocket sessions closed because they could not keep up")
+                .register(meterRegistry);
+
+        log.info("WebSocket send buffers: limit {} per session, send-time limit {}, overflow policy {}, {} sender thread(s)",
+                bufferSizeLimit, sendTimeLimit, overflowPolicy, threads);
+    }
+
+    /**
+     * Wraps a newly opened session; the wrapper is also reachable from the session through
+     * {@link BufferedWebSocketSession#of}.
+     */
+    public BufferedWebSocketSession wrap(WebSocketSession session) {
+        return new BufferedWebSocketSession(session, this);
+    }
+
+    Duration sendTimeLimit() {
+        return sendTimeLimit;
+    }
+
+    int bufferSizeLimit() {
+        return bufferSizeLimit;
+    }
+
+    OverflowPolicy overflowPolicy() {
+        return overflowPolicy;
+    }
+
+    void execute(Runnable task) {
+        try {
+            sender.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("WebSocket sender is shut down, dropping task");
+        }
+    }
+
+    void adjustBufferedBytes(int delta) {
+        bufferedBytes.addAndGet(delta);
+    }
+
+    void recordDropped(int frames, String reason) {
+        ("overflow".equals(reason) ? droppedOverflow : droppedSlowConsumer).increment(frames);
+    }
+
+    void recordDisconnect() {
+        slowDisconnects.increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("notification.websocket.frames.dropped")
+                .description("Outbound WebSocket frames dropped instead of sent")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,165 @@
+package com.iotmining.services.notification.websocket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Open WebSocket sessions by user; a user may have any number of them (tabs, devices).
+ * <p>
+ * Registration and removal are lock-free: each user's sessions are an immutable array swapped with compare-and-set,
+ * so a reconnect storm after a deploy does not serialize on a map entry. A user entry that becomes empty is retired
+ * before it is removed from the map, so a concurrent registration never lands in a removed entry; it simply retries
+ * with a fresh one. Readers get a snapshot and never block writers.
+ */
+@Component
+@Slf4j
+public class WebSocketSessionRegistry {
+
+    /** Session attribute holding the authenticated userId. */
+    public static final String USER_ID_ATTRIBUTE = "userId";
+
+    private static final WebSocketSession[] NO_SESSIONS = new WebSocketSession[0];
+    /** Marks a retired entry; compared by identity. */
+    private static final WebSocketSession[] RETIRED = new WebSocketSession[0];
+
+    private final ConcurrentMap<UUID, UserSessions> users = new ConcurrentHashMap<>();
+    private final AtomicInteger sessionCount = new AtomicInteger();
+
+    public WebSocketSessionRegistry(MeterRegistry meterRegistry) {
+        Gauge.builder("notification.websocket.sessions", sessionCount, AtomicInteger::get)
+                .description("Open, authenticated WebSocket sessions")
+                .register(meterRegistry);
+        Gauge.builder("notification.websocket.users", users, ConcurrentMap::size)
+                .description("Users with at least one open WebSocket session")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers an authenticated session for {@code userId} and records the user on the session.
+     */
+    public void register(UUID userId, WebSocketSession session) {
+        session.getAttributes().put(USER_ID_ATTRIBUTE, userId);
+        while (true) {
+            UserSessions entry = users.computeIfAbsent(userId, id -> new UserSessions());
+            if (entry.add(session)) {
+                sessionCount.incrementAndGet();
+                return;
+            }
+            // The entry was retired by a concurrent removal of the user's last session; replace it and retry
+            users.remove(userId, entry);
+        }
+    }
+
+    /**
+     * Removes a session registered with {@link #register}; does nothing for unknown sessions.
+     *
+     * @return the session's user, or {@code null} if the session was not registered.
+     */
+    public UUID unregister(WebSocketSession session) {
+        if (!(session.getAttributes().get(USER_ID_ATTRIBUTE) instanceof UUID userId)) {
+            return null;
+        }
+        UserSessions entry = users.get(userId);
+        if (entry == null || !entry.remove(session)) {
+            return null;
+        }
+        sessionCount.decrementAndGet();
+        if (entry.retireIfEmpty()) {
+            users.remove(userId, entry);
+        }
+        return userId;
+    }
+
+    /**
+     * Snapshot of {@code userId}'s sessions; empty if the user has none.
+     */
+    public List<WebSocketSession> sessionsOf(UUID userId) {
+        UserSessions entry = users.get(userId);
+        return entry == null ? List.of() : Arrays.asList(entry.sessions.get());
+    }
+
+    /**
+     * Snapshot of every registered session.
+     */
+    public List<WebSocketSession> allSessions() {
+        List<WebSocketSession> all = new ArrayList<>(sessionCount.get());
+        for (UserSessions entry : users.values()) {
+            all.addAll(Arrays.asList(entry.sessions.get()));
+        }
+        return all;
+    }
+
+    /**
+     * Snapshot of the users with at least one registered session.
+     */
+    public Set<UUID> users() {
+        return Set.copyOf(users.keySet());
+    }
+
+    public int sessionCount() {
+        return sessionCount.get();
+    }
+
+    private static final class UserSessions {
+        private final AtomicReference<WebSocketSession[]> sessions = new AtomicReference<>(NO_SESSIONS);
+
+        /**
+         * @return false if this entry has been retired and must not be used anymore.
+         */
+        private boolean add(WebSocketSession session) {
+            while (true) {
+                WebSocketSession[] current = sessions.get();
+                if (current == RETIRED) {
+                    return false;
+                }
+                WebSocketSession[] next = Arrays.copyOf(current, current.length + 1);
+                next[current.length] = session;
+                if (sessions.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        private boolean remove(WebSocketSession session) {
+            while (true) {
+                WebSocketSession[] current = sessions.get();
+                int index = indexOf(current, session);
+                if (index < 0) {
+                    return false;
+                }
+                WebSocketSession[] next = current.length == 1 ? NO_SESSIONS : new WebSocketSession[current.length - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+                if (sessions.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        private boolean retireIfEmpty() {
+            return sessions.compareAndSet(NO_SESSIONS, RETIRED);
+        }
+
+        private static int indexOf(WebSocketSession[] sessions, WebSocketSession session) {
+            for (int i = 0; i < sessions.length; i++) {
+                if (sessions[i].getId().equals(session.getId())) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.iotmining.services.notification.websocket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Inverted index from topic to subscribed sessions, so targeted delivery touches only the subscribers of a topic
+ * instead of every open session.
+ * <p>
+ * A topic is {@code <kind>:<value>}, with kind one of {@link #KINDS} ({@code tenant}, {@code site}, {@code camera},
+ * {@code severity}), e.g. {@code camera:cam-42} or {@code severity:CRITICAL}. A session may hold at most
+ * {@code notification.websocket.max-subscriptions} (default 100) topics.
+ * <p>
+ * Every topic lives within a tenant: a session subscribes within the tenant of its token ({@value #TENANT_ID_ATTRIBUTE}
+ * session attribute), and is only found by publications to that tenant, so {@code camera:cam-42} of one tenant never
+ * reaches another tenant's sessions. Sessions without a tenant cannot subscribe; {@code tenant:<id>} is only allowed
+ * for the session's own tenant.
+ * <p>
+ * Each session's own topics are kept in a session attribute, so {@link #unsubscribeAll} on disconnect only visits
+ * that session's entries. A topic's entry is removed together with its last subscriber.
+ */
+@Component
+public class WebSocketTopicIndex {
+
+    /** Session attribute holding the tenant claim of the session's token, if any. */
+    public static final String TENANT_ID_ATTRIBUTE = "tenantId";
+
+    public static final Set<String> KINDS = Set.of("tenant", "site", "camera", "severity");
+
+    private static final String TOPICS_ATTRIBUTE = WebSocketTopicIndex.class.getName() + ".topics";
+
+    private final ConcurrentMap<String, Set<WebSocketSession>> subscribers = new ConcurrentHashMap<>();
+    private final int maxSubscriptions;
+
+    public WebSocketTopicIndex(MeterRegistry meterRegistry,
+                               @Value("${notification.websocket.max-subscriptions:100}") int maxSubscriptions) {
+        this.maxSubscriptions = maxSubscriptions;
+        Gauge.builder("notification.websocket.topics", subscribers, ConcurrentMap::size)
+                .description("WebSocket topics with at least one subscriber")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the topic of a {@code kind} and {@code value}, e.g. {@code topic("camera", cameraId)}.
+     */
+    public static String topic(String kind, Object value) {
+        return kind + ":" + value;
+    }
+
+    /**
+     * Key of {@code topic} within {@code tenantId} in the index.
+     */
+    private static String scoped(String tenantId, String topic) {
+        return "tenant/" + tenantId + "/" + topic;
+    }
+
+    /**
+     * Subscribes {@code session} to {@code topic} within its tenant.
+     *
+     * @throws IllegalArgumentException if the topic is malformed, not allowed for the session, or the session is at
+     *                                  its subscription limit.
+     */
+    public void subscribe(WebSocketSession session, String topic) {
+        String tenantId = validate(session, topic);
+        Set<String> own = topicsOf(session);
+        synchronized (own) {
+            if (own.contains(topic)) {
+                return;
+            }
+            if (own.size() >= maxSubscriptions) {
+                throw new IllegalArgumentException("Subscription limit of " + maxSubscriptions + " reached");
+            }
+            own.add(topic);
+        }
+        subscribers.compute(scoped(tenantId, topic), (t, sessions) -> {
+            Set<WebSocketSession> set = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+            set.add(session);
+            return set;
+        });
+        if (!session.isOpen()) {
+            // Closed concurrently; its unsubscribeAll may already have run
+            unsubscribe(session, topic);
+        }
+    }
+
+    /**
+     * Unsubscribes {@code session} from {@code topic}; does nothing if it was not subscribed.
+     */
+    public void unsubscribe(WebSocketSession session, String topic) {
+        Set<String> own = topicsOf(session);
+        synchronized (own) {
+            if (!own.remove(topic)) {
+                return;
+            }
+        }
+        remove(session, topic);
+    }
+
+    /**
+     * Removes every subscription of {@code session}; called when it disconnects.
+     */
+    public void unsubscribeAll(WebSocketSession session) {
+        if (!(session.getAttributes().get(TOPICS_ATTRIBUTE) instanceof Set<?> own)) {
+            return;
+        }
+        List<String> topics;
+        synchronized (own) {
+            topics = new ArrayList<>(own.size());
+            for (Object topic : own) {
+                topics.add((String) topic);
+            }
+            own.clear();
+        }
+        for (String topic : topics) {
+            remove(session, topic);
+        }
+    }
+
+    /**
+     * Snapshot of the sessions of {@code tenantId} subscribed to {@code topic}.
+     */
+    public List<WebSocketSession> subscribers(String tenantId, String topic) {
+        Set<WebSocketSession> sessions = subscribers.get(scoped(tenantId, topic));
+        return sessions == null ? List.of() : new ArrayList<>(sessions);
+    }
+
+    /**
+     * Snapshot of the sessions of {@code tenantId} subscribed to any of {@code topics}, leaving out the sessions of
+     * {@code excludedUserId} (if not {@code null}); a session subscribed to several of them appears once.
+     */
+    public List<WebSocketSession> subscribers(String tenantId, Collection<String> topics, UUID excludedUserId) {
+        Map<String, WebSocketSession> union = new LinkedHashMap<>();
+        for (String topic : topics) {
+            Set<WebSocketSession> sessions = subscribers.get(scoped(tenantId, topic));
+            if (sessions != null) {
+                for (WebSocketSession session : sessions) {
+                    if (excludedUserId == null
+                            || !excludedUserId.equals(session.getAttributes().get(WebSocketSessionRegistry.USER_ID_ATTRIBUTE))) {
+                        union.putIfAbsent(session.getId(), session);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(union.values());
+    }
+
+    /**
+     * Topics {@code session} is subscribed to.
+     */
+    public List<String> subscriptionsOf(WebSocketSession session) {
+        if (!(session.getAttributes().get(TOPICS_ATTRIBUTE) instanceof Set<?> own)) {
+            return List.of();
+        }
+        synchronized (own) {
+            return own.stream().map(String.class::cast).toList();
+        }
+    }
+
+    private void remove(WebSocketSession session, String topic) {
+        Object tenantId = session.getAttributes().get(TENANT_ID_ATTRIBUTE);
+        if (tenantId == null) {
+            return;
+        }
+        subscribers.computeIfPresent(scoped(tenantId.toString(), topic), (t, sessions) -> {
+            sessions.remove(session);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> topicsOf(WebSocketSession session) {
+        return (Set<String>) session.getAttributes().computeIfAbsent(TOPICS_ATTRIBUTE, key -> new HashSet<String>());
+    }
+
+    /**
+     * @return the session's tenant.
+     */
+    private static String validate(WebSocketSession session, String topic) {
+        int separator = topic == null ? -1 : topic.indexOf(':');
+        if (separator <= 0 || separator == topic.length() - 1) {
+            throw new IllegalArgumentException("Topic must be <kind>:<value>: " + topic);
+        }
+        String kind = topic.substring(0, separator);
+        if (!KINDS.contains(kind)) {
+            throw new IllegalArgumentException("Unknown topic kind '" + kind + "', expected one of " + KINDS);
+        }
+        Object tenantId = session.getAttributes().get(TENANT_ID_ATTRIBUTE);
+        if (tenantId == null) {
+            throw new IllegalArgumentException("Subscriptions require a tenantId claim in the token");
+        }
+        if ("tenant".equals(kind) && !topic.substring(separator + 1).equals(tenantId.toString())) {
+            throw new IllegalArgumentException("Not allowed to subscribe to " + topic);
+        }
+        return tenantId.toString();
+    }
+}
@@ -0,0 +1,213 @@
+package com.iotmining.services.notification.services.consumer;
+
+import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import com.iotmining.common.base.notifications.dto.NotificationWrapper;
+import com.iotmining.common.base.notifications.enums.NotificationType;
+import com.iotmining.common.data.notifications.NotificationStatus;
+import com.iotmining.services.notification.services.dispatcher.BoundNotification;
+import com.iotmining.services.notification.services.dispatcher.KeyedOrderedExecutor;
+import com.iotmining.services.notification.services.dispatcher.NotificationDispatcher;
+import com.iotmining.services.notification.services.idempotency.CaffeineIdempotencyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives {@link NotificationKafkaConsumer#onBatch} with an ordering stage of two shards that admit a single waiting
+ * task each, so a second record queued behind a running one fills its shard.
+ */
+class NotificationKafkaConsumerTest {
+
+    private static final String TOPIC = "notifications";
+    private static final String KEY_A = "camera-A";
+    private static final Duration BACKOFF = Duration.ofMillis(10);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StubDispatcher dispatcher = new StubDispatcher(meterRegistry);
+    private final NotificationRecordDecoder decoder = mock(NotificationRecordDecoder.class);
+    private KeyedOrderedExecutor orderedExecutor;
+    private String keyB;
+
+    @BeforeEach
+    void setUp() {
+        when(decoder.decode(any())).thenAnswer(invocation -> bound(invocation.getArgument(0)));
+        orderedExecutor = new KeyedOrderedExecutor(meterRegistry, 2, 1, Duration.ofSeconds(30), Duration.ofSeconds(1));
+        // A key that is accounted on the other shard, so it is not held up by a full shard of KEY_A
+        keyB = IntStream.range(0, 100)
+                .mapToObj(i -> "camera-B" + i)
+                .filter(key -> orderedExecutor.shardOf(key) != orderedExecutor.shardOf(KEY_A))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.outcomes.values().forEach(outcome -> outcome.complete(delivered()));
+        orderedExecutor.shutdown();
+    }
+
+    @Test
+    void laterRecordsOfARejectedKeyWaitForTheRedelivery() {
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+                record(0, KEY_A, "a0"), record(1, KEY_A, "a1"), record(2, KEY_A, "a2"), record(3, keyB, "b3"));
+        // a0 is still running when a1 queues behind it and fills the shard, so a2 is rejected
+        dispatcher.outcomes.put("a0", completeLater(delivered()));
+        RecordingAcknowledgment ack = new RecordingAcknowledgment();
+
+        consumer(Duration.ofSeconds(5)).onBatch(records, ack);
+
+        // a1 was admitted but must not overtake the rejected a2, so it is redelivered with it
+        assertThat(dispatcher.sent).containsExactly("a0", "b3");
+        assertThat(ack.acknowledged).isFalse();
+        assertThat(ack.nackIndex).isEqualTo(1);
+        assertThat(ack.nackSleep).isEqualTo(BACKOFF);
+    }
+
+    @Test
+    void redeliveredRecordsThatAlreadyWentOutAreNotSentTwice() {
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+                record(0, KEY_A, "a0"), record(1, KEY_A, "a1"), record(2, KEY_A, "a2"), record(3, keyB, "b3"));
+        dispatcher.outcomes.put("a0", completeLater(delivered()));
+        NotificationKafkaConsumer consumer = consumer(Duration.ofSeconds(5));
+        RecordingAcknowledgment first = new RecordingAcknowledgment();
+        consumer.onBatch(records, first);
+        assertThat(first.nackIndex).isEqualTo(1);
+
+        // Redeliver from each nack, as the container does, until the rest of the batch is acknowledged
+        List<ConsumerRecord<String, byte[]>> pending = records.subList(first.nackIndex, records.size());
+        RecordingAcknowledgment redelivery = new RecordingAcknowledgment();
+        for (int attempt = 0; attempt < 5 && !redelivery.acknowledged; attempt++) {
+            redelivery = new RecordingAcknowledgment();
+            consumer.onBatch(pending, redelivery);
+            if (!redelivery.acknowledged) {
+                pending = pending.subList(redelivery.nackIndex, pending.size());
+            }
+        }
+
+        // b3 is answered by the idempotency store; a1 and a2 go out in offset order
+        assertThat(redelivery.acknowledged).isTrue();
+        assertThat(dispatcher.sent).containsExactly("a0", "b3", "a1", "a2");
+    }
+
+    @Test
+    void recordsWithoutAnOutcomeInTimeAreRedelivered() {
+        List<ConsumerRecord<String, byte[]>> records = List.of(record(0, KEY_A, "a0"), record(1, keyB, "b1"));
+        dispatcher.outcomes.put("a0", new CompletableFuture<>());
+        RecordingAcknowledgment ack = new RecordingAcknowledgment();
+
+        consumer(Duration.ofMillis(200)).onBatch(records, ack);
+
+        assertThat(dispatcher.sent).containsExactly("a0", "b1");
+        assertThat(ack.acknowledged).isFalse();
+        assertThat(ack.nackIndex).isZero();
+    }
+
+    @Test
+    void completeBatchIsAcknowledged() {
+        List<ConsumerRecord<String, byte[]>> records = List.of(record(0, KEY_A, "a0"), record(1, KEY_A, "a1"));
+        RecordingAcknowledgment ack = new RecordingAcknowledgment();
+
+        consumer(Duration.ofSeconds(5)).onBatch(records, ack);
+
+        assertThat(dispatcher.sent).containsExactly("a0", "a1");
+        assertThat(ack.acknowledged).isTrue();
+        assertThat(ack.nackIndex).isEqualTo(-1);
+    }
+
+    private NotificationKafkaConsumer consumer(Duration batchTimeout) {
+        return new NotificationKafkaConsumer(dispatcher, decoder, orderedExecutor, meterRegistry, TOPIC, batchTimeout, BACKOFF);
+    }
+
+    private static ConsumerRecord<String, byte[]> record(long offset, String key, String label) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, key, label.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Binds a record to a notification named after its value; the correlationId is derived from it, so a redelivered
+     * record maps to the same notification.
+     */
+    private static BoundNotification bound(ConsumerRecord<String, byte[]> record) {
+        NotificationWrapper<Object> wrapper = new NotificationWrapper<>();
+        wrapper.setType(NotificationType.WEB);
+        wrapper.setCorrelationId(UUID.nameUUIDFromBytes(record.value()));
+        wrapper.setUserId(UUID.randomUUID());
+        wrapper.setSourceApp(new String(record.value(), StandardCharsets.UTF_8));
+        return new BoundNotification(null, wrapper);
+    }
+
+    private static CompletableFuture<NotificationResponse> completeLater(NotificationResponse response) {
+        CompletableFuture<NotificationResponse> outcome = new CompletableFuture<>();
+        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(() -> outcome.complete(response));
+        return outcome;
+    }
+
+    private static NotificationResponse delivered() {
+        return NotificationResponse.builder()
+                .status(NotificationStatus.SUCCESS)
+                .delivered(true)
+                .build();
+    }
+
+    /**
+     * Dispatcher that records what it sends, behind a real idempotency store. A notification completes with the
+     * outcome registered for its label, or is delivered at once.
+     */
+    private static final class StubDispatcher extends NotificationDispatcher {
+
+        private final CaffeineIdempotencyStore idempotencyStore;
+        private final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        private final Map<String, CompletableFuture<NotificationResponse>> outcomes = new ConcurrentHashMap<>();
+
+        private StubDispatcher(SimpleMeterRegistry meterRegistry) {
+            super(List.of(), null, null, null, null, null, null, List.of(), meterRegistry, 500);
+            this.idempotencyStore = new CaffeineIdempotencyStore(100, Duration.ofMinutes(1), meterRegistry);
+        }
+
+        @Override
+        public CompletableFuture<NotificationResponse> dispatchAsync(BoundNotification bound) {
+            NotificationWrapper<Object> wrapper = bound.wrapper();
+            return idempotencyStore.deliverOnce(wrapper.getCorrelationId(), wrapper.getType().name(), () -> {
+                sent.add(wrapper.getSourceApp());
+                return outcomes.getOrDefault(wrapper.getSourceApp(), CompletableFuture.completedFuture(delivered()));
+            });
+        }
+    }
+
+    private static final class RecordingAcknowledgment implements Acknowledgment {
+
+        private volatile boolean acknowledged;
+        private volatile int nackIndex = -1;
+        private volatile Duration nackSleep;
+
+        @Override
+        public void acknowledge() {
+            acknowledged = true;
+        }
+
+        @Override
+        public void nack(int index, Duration sleep) {
+            nackIndex = index;
+            nackSleep = sleep;
+        }
+    }
+}
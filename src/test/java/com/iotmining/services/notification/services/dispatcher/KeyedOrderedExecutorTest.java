@@ -0,0 +1,177 @@
+package com.iotmining.services.notification.services.dispatcher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyedOrderedExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private KeyedOrderedExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void tasksOfOneKeyStartOnlyAfterThePreviousStageCompleted() throws Exception {
+        executor = executor(4, 100, Duration.ofSeconds(30));
+        List<CompletableFuture<String>> stages = List.of(new CompletableFuture<>(), new CompletableFuture<>(), new CompletableFuture<>());
+        List<Integer> started = Collections.synchronizedList(new ArrayList<>());
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < stages.size(); i++) {
+            int index = i;
+            results.add(executor.submit("user-1", () -> {
+                started.add(index);
+                return stages.get(index);
+            }));
+        }
+        assertThat(started).containsExactly(0);
+        assertThat(executor.depth(executor.shardOf("user-1"))).isEqualTo(2);
+
+        stages.get(0).complete("first");
+        awaitTrue(() -> started.size() == 2);
+        assertThat(started).containsExactly(0, 1);
+        assertThat(results.get(0).get(5, TimeUnit.SECONDS)).isEqualTo("first");
+
+        stages.get(1).complete("second");
+        stages.get(2).complete("third");
+        assertThat(results.get(2).get(5, TimeUnit.SECONDS)).isEqualTo("third");
+        assertThat(started).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void differentKeysDoNotWaitForEachOther() throws Exception {
+        executor = executor(1, 100, Duration.ofSeconds(30));
+        CompletableFuture<String> blocked = new CompletableFuture<>();
+        executor.submit("user-1", () -> blocked);
+
+        assertThat(executor.submit("user-2", () -> CompletableFuture.completedFuture("other"))
+                .get(5, TimeUnit.SECONDS)).isEqualTo("other");
+        blocked.complete("done");
+    }
+
+    @Test
+    void failedTaskDoesNotHoldUpItsKey() throws Exception {
+        executor = executor(4, 100, Duration.ofSeconds(30));
+
+        CompletableFuture<Object> failed = executor.submit("user-1",
+                () -> CompletableFuture.failedFuture(new IllegalStateException("boom")));
+        CompletableFuture<Object> thrown = executor.submit("user-1", () -> {
+            throw new IllegalStateException("thrown");
+        });
+        CompletableFuture<String> next = executor.submit("user-1", () -> CompletableFuture.completedFuture("next"));
+
+        assertThat(next.get(5, TimeUnit.SECONDS)).isEqualTo("next");
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(thrown).isCompletedExceptionally();
+    }
+
+    @Test
+    void fullShardRejectsNewWork() {
+        executor = executor(1, 2, Duration.ofSeconds(30));
+        CompletableFuture<String> blocked = new CompletableFuture<>();
+        executor.submit("user-1", () -> blocked);
+        // The running task does not count against the capacity; the two behind it do
+        executor.submit("user-1", () -> CompletableFuture.completedFuture("queued"));
+        executor.submit("user-1", () -> CompletableFuture.completedFuture("queued"));
+
+        CompletableFuture<String> rejected = executor.submit("user-1", () -> CompletableFuture.completedFuture("rejected"));
+
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("notification.ordering.rejected").counter().count()).isEqualTo(1.0);
+        blocked.complete("done");
+    }
+
+    @Test
+    void stalledTaskStopsHoldingUpItsKeyAfterTheTimeout() throws Exception {
+        executor = executor(1, 100, Duration.ofMillis(100));
+        executor.submit("user-1", CompletableFuture::new);
+
+        assertThat(executor.submit("user-1", () -> CompletableFuture.completedFuture("after"))
+                .get(5, TimeUnit.SECONDS)).isEqualTo("after");
+        assertThat(meterRegistry.get("notification.ordering.stalled").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void manyKeysKeepTheirOwnOrder() throws Exception {
+        executor = executor(8, 10_000, Duration.ofSeconds(30));
+        int keys = 50;
+        int tasksPerKey = 40;
+        List<List<Integer>> seen = new ArrayList<>();
+        for (int k = 0; k < keys; k++) {
+            seen.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+        AtomicInteger completed = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < tasksPerKey; i++) {
+            for (int k = 0; k < keys; k++) {
+                int key = k;
+                int index = i;
+                results.add(executor.submit("user-" + key, () -> CompletableFuture.supplyAsync(() -> {
+                    seen.get(key).add(index);
+                    completed.incrementAndGet();
+                    return index;
+                })));
+            }
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+        assertThat(completed).hasValue(keys * tasksPerKey);
+        for (List<Integer> order : seen) {
+            assertThat(order).isSorted().hasSize(tasksPerKey);
+        }
+    }
+
+    @Test
+    void nullKeyOrdersAgainstItselfOnShardZero() throws Exception {
+        executor = executor(4, 100, Duration.ofSeconds(30));
+        CompletableFuture<String> blocked = new CompletableFuture<>();
+        executor.submit(null, () -> blocked);
+        CompletableFuture<String> next = executor.submit(null, () -> CompletableFuture.completedFuture("next"));
+
+        assertThat(executor.shardOf(null)).isZero();
+        assertThat(next).isNotDone();
+        blocked.complete("done");
+        assertThat(next.get(5, TimeUnit.SECONDS)).isEqualTo("next");
+    }
+
+    @Test
+    void shutdownRejectsNewWork() {
+        executor = executor(1, 100, Duration.ofSeconds(30));
+        executor.shutdown();
+
+        assertThatThrownBy(executor.submit("user-1", () -> CompletableFuture.completedFuture("late"))::join)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    private KeyedOrderedExecutor executor(int shards, int capacity, Duration taskTimeout) {
+        return new KeyedOrderedExecutor(meterRegistry, shards, capacity, taskTimeout, Duration.ofSeconds(5));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
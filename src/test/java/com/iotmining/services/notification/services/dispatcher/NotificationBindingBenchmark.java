@@ -0,0 +1,118 @@
+package com.iotmining.services.notification.services.dispatcher;
+
+import ch.qos.logback.classic.Level;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iotmining.common.base.notifications.dto.BaseRequest;
+import com.iotmining.common.base.notifications.dto.NotificationWrapper;
+import com.iotmining.common.base.notifications.enums.NotificationType;
+import com.iotmining.services.notification.handler.NotificationHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares binding a notification request with {@link NotificationRequestReader} (one streaming pass) against the
+ * former tree path: {@code readTree} of the whole body, then {@code convertValue} of the payload node and reading the
+ * envelope fields from the tree.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.iotmining.services.notification.services.dispatcher.NotificationBindingBenchmark}, or through
+ * any JMH runner on the test classpath. Add {@code -prof gc} to the options to compare allocation per request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationBindingBenchmark {
+
+    /** Number of metadata entries in the payload. */
+    @Param({"4", "200"})
+    public int metadataEntries;
+
+    private ObjectMapper mapper;
+    private NotificationRequestReader reader;
+    private NotificationHandler<?> handler;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws Exception {
+        // The reader logs at DEBUG; without the Spring Boot logging setup logback would print every line
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        mapper = new ObjectMapper();
+        reader = new NotificationRequestReader(mapper);
+        handler = new StubNotificationHandler(NotificationType.WEB);
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        for (int i = 0; i < metadataEntries; i++) {
+            metadata.put("key" + i, "value-" + i);
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("title", "Motion detected");
+        payload.put("message", "Motion detected by camera 42 in zone B");
+        payload.put("type", "VMS_ALERT");
+        payload.put("metadata", metadata);
+
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("type", "WEB");
+        request.put("userId", UUID.randomUUID().toString());
+        request.put("correlationId", UUID.randomUUID().toString());
+        request.put("priority", "HIGH");
+        request.put("sourceApp", "vms");
+        request.put("timestamp", System.currentTimeMillis());
+        request.put("retryCount", 0);
+        request.put("payload", payload);
+        body = mapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public BoundNotification streaming() {
+        return reader.read(body, type -> handler, null);
+    }
+
+    @Benchmark
+    public NotificationWrapper<Object> tree() throws Exception {
+        JsonNode rawRequest = mapper.readTree(body);
+        NotificationType type = NotificationType.valueOf(rawRequest.path("type").asText(null));
+        Object payload = mapper.convertValue(rawRequest.get("payload"), handler.payloadType());
+
+        NotificationWrapper<Object> wrapper = new NotificationWrapper<>();
+        wrapper.setType(type);
+        wrapper.setPayload(payload);
+        JsonNode correlationNode = rawRequest.path("correlationId");
+        wrapper.setCorrelationId(correlationNode.isTextual() ? UUID.fromString(correlationNode.asText()) : UUID.randomUUID());
+        wrapper.setSourceApp(rawRequest.path("sourceApp").asText("unknown"));
+        wrapper.setRetryCount(rawRequest.path("retryCount").asInt(0));
+        wrapper.setPriority(BaseRequest.Priority.valueOf(rawRequest.path("priority").asText("MEDIUM").toUpperCase()));
+        wrapper.setTimestamp(rawRequest.path("timestamp").asLong(System.currentTimeMillis()));
+        wrapper.setUserId(UUID.fromString(rawRequest.path("userId").asText()));
+        return wrapper;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NotificationBindingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,156 @@
+package com.iotmining.services.notification.services.dispatcher;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iotmining.common.base.notifications.dto.BaseRequest;
+import com.iotmining.common.base.notifications.dto.NotificationWrapper;
+import com.iotmining.common.base.notifications.dto.payload.WebSocketPayload;
+import com.iotmining.common.base.notifications.enums.NotificationType;
+import com.iotmining.services.notification.handler.NotificationHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationRequestReaderTest {
+
+    private static final String USER_ID = "6f1c2a52-6a3e-4f77-9d0c-1b1e8f9a2c11";
+    private static final String CORRELATION_ID = "0b9e5a0e-58a4-4b83-a3c4-3f3b8e2f6d90";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final NotificationRequestReader reader = new NotificationRequestReader(mapper);
+    private final Map<String, NotificationHandler<?>> handlers = Map.of(
+            "WEB", new StubNotificationHandler(NotificationType.WEB),
+            "PUSH", new StubNotificationHandler(NotificationType.PUSH));
+    private final Function<String, NotificationHandler<?>> resolver = type -> {
+        NotificationHandler<?> handler = handlers.get(type);
+        if (handler == null) {
+            throw new IllegalArgumentException("Unknown notification type: " + type);
+        }
+        return handler;
+    };
+
+    @Test
+    void bindsEnvelopeAndTypedPayload() {
+        BoundNotification bound = reader.read(bytes("""
+                {"type":"WEB","userId":"%s","correlationId":"%s","priority":"high","sourceApp":"vms",
+                 "timestamp":1700000000000,"retryCount":2,"ignored":{"nested":[1,2]},
+                 "payload":{"title":"Motion","message":"Camera 42","metadata":{"cameraId":"42"}}}
+                """.formatted(USER_ID, CORRELATION_ID)), resolver, null);
+
+        NotificationWrapper<Object> wrapper = bound.wrapper();
+        assertThat(bound.handler()).isSameAs(handlers.get("WEB"));
+        assertThat(bound.deadline()).isNull();
+        assertThat(wrapper.getType()).isEqualTo(NotificationType.WEB);
+        assertThat(wrapper.getUserId()).isEqualTo(UUID.fromString(USER_ID));
+        assertThat(wrapper.getCorrelationId()).isEqualTo(UUID.fromString(CORRELATION_ID));
+        assertThat(wrapper.getPriority()).isEqualTo(BaseRequest.Priority.HIGH);
+        assertThat(wrapper.getSourceApp()).isEqualTo("vms");
+        assertThat(wrapper.getTimestamp()).isEqualTo(1700000000000L);
+        assertThat(wrapper.getRetryCount()).isEqualTo(2);
+        WebSocketPayload payload = (WebSocketPayload) wrapper.getPayload();
+        assertThat(payload.getTitle()).isEqualTo("Motion");
+        assertThat(payload.getMessage()).isEqualTo("Camera 42");
+        assertThat(payload.getMetadata()).containsEntry("cameraId", "42");
+    }
+
+    @Test
+    void bindsPayloadThatPrecedesType() {
+        BoundNotification bound = reader.read("""
+                {"payload":{"title":"Motion"},"userId":"%s","type":"WEB"}
+                """.formatted(USER_ID), resolver, null);
+
+        assertThat(((WebSocketPayload) bound.wrapper().getPayload()).getTitle()).isEqualTo("Motion");
+    }
+
+    @Test
+    void bindsRequestFromTree() throws Exception {
+        BoundNotification bound = reader.read(mapper.readTree("""
+                {"type":"WEB","userId":"%s","payload":{"title":"Motion"}}
+                """.formatted(USER_ID)), resolver, null);
+
+        assertThat(((WebSocketPayload) bound.wrapper().getPayload()).getTitle()).isEqualTo("Motion");
+    }
+
+    @Test
+    void defaultsMissingEnvelopeFields() {
+        long before = System.currentTimeMillis();
+        NotificationWrapper<Object> wrapper = reader.read("""
+                {"type":"WEB","userId":"%s","correlationId":"not-a-uuid","priority":"URGENT","payload":{}}
+                """.formatted(USER_ID), resolver, null).wrapper();
+
+        assertThat(wrapper.getCorrelationId()).isNotNull();
+        assertThat(wrapper.getPriority()).isEqualTo(BaseRequest.Priority.MEDIUM);
+        assertThat(wrapper.getSourceApp()).isEqualTo("unknown");
+        assertThat(wrapper.getRetryCount()).isZero();
+        assertThat(wrapper.getTimestamp()).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    void usesDefaultUserIdOnlyWhenRequestHasNone() {
+        String caller = UUID.randomUUID().toString();
+
+        assertThat(reader.read("{\"type\":\"WEB\",\"payload\":{}}", resolver, caller).wrapper().getUserId())
+                .isEqualTo(UUID.fromString(caller));
+        assertThat(reader.read("{\"type\":\"WEB\",\"userId\":\"%s\",\"payload\":{}}".formatted(USER_ID), resolver, caller)
+                .wrapper().getUserId())
+                .isEqualTo(UUID.fromString(USER_ID));
+    }
+
+    @Test
+    void rejectsUserIdThatIsNotATextualUuid() {
+        assertThatThrownBy(() -> reader.read("{\"type\":\"WEB\",\"userId\":42,\"payload\":{}}", resolver, null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> reader.read("{\"type\":\"WEB\",\"userId\":\"nope\",\"payload\":{}}", resolver, null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void rejectsMissingTypeAndPayload() {
+        assertThatThrownBy(() -> reader.read("{\"userId\":\"%s\",\"payload\":{}}".formatted(USER_ID), resolver, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("type");
+        assertThatThrownBy(() -> reader.read("{\"type\":\"WEB\",\"userId\":\"%s\"}".formatted(USER_ID), resolver, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("payload");
+    }
+
+    @Test
+    void rejectsMalformedJson() {
+        assertThatThrownBy(() -> reader.read(bytes("{\"type\":\"WEB\","), resolver, null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> reader.read(bytes("[]"), resolver, null))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void fanOutBindsOncePerChannelAndSharesTheEnvelope() {
+        List<BoundNotification> bound = reader.readFanOut(bytes("""
+                {"channels":["PUSH","WEB","PUSH"],"userId":"%s","payload":{"title":"Motion"}}
+                """.formatted(USER_ID)), resolver, null);
+
+        assertThat(bound).extracting(b -> b.wrapper().getType()).containsExactly(NotificationType.PUSH, NotificationType.WEB);
+        assertThat(bound.get(0).wrapper().getCorrelationId()).isEqualTo(bound.get(1).wrapper().getCorrelationId());
+        // Both channels use the same payload class, so the payload is bound once
+        assertThat(bound.get(0).wrapper().getPayload()).isSameAs(bound.get(1).wrapper().getPayload());
+    }
+
+    @Test
+    void cachesOnePayloadReaderPerClass() {
+        assertThat(reader.payloadReader(WebSocketPayload.class)).isSameAs(reader.payloadReader(WebSocketPayload.class));
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,160 @@
+package com.iotmining.services.notification.services.dispatcher;
+
+import com.iotmining.services.notification.enums.DispatchLane;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PriorityLaneExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PriorityLaneExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void completesWithTheOutcomeOfTheTaskStage() throws Exception {
+        executor = executor(2, 1, 10, 1, 1, 1);
+
+        assertThat(executor.submit(DispatchLane.MEDIUM, () -> CompletableFuture.completedFuture("done"))
+                .get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThatThrownBy(() -> executor.submit(DispatchLane.MEDIUM,
+                () -> CompletableFuture.failedFuture(new IllegalStateException("boom"))).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> executor.submit(DispatchLane.MEDIUM, () -> {
+            throw new IllegalStateException("thrown");
+        }).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void fullLaneRejectsWithoutAffectingOtherLanes() throws Exception {
+        executor = executor(1, 0, 2, 1, 1, 1);
+        occupyWorker(DispatchLane.LOW);
+
+        executor.submit(DispatchLane.LOW, PriorityLaneExecutorTest::done);
+        executor.submit(DispatchLane.LOW, PriorityLaneExecutorTest::done);
+        CompletableFuture<Object> rejected = executor.submit(DispatchLane.LOW, PriorityLaneExecutorTest::done);
+        CompletableFuture<Object> high = executor.submit(DispatchLane.HIGH, PriorityLaneExecutorTest::done);
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(high).isNotCompletedExceptionally();
+        assertThat(executor.depth(DispatchLane.LOW)).isEqualTo(2);
+        assertThat(executor.utilization(DispatchLane.LOW)).isEqualTo(1.0);
+        assertThat(meterRegistry.get("notification.dispatch.lane.rejected").tag("lane", "LOW").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void criticalWorkersServeCriticalWhileRegularWorkersAreBusy() throws Exception {
+        executor = executor(1, 1, 10, 1, 1, 1);
+        occupyWorker(DispatchLane.LOW);
+
+        assertThat(executor.submit(DispatchLane.CRITICAL, () -> CompletableFuture.completedFuture("critical"))
+                .get(5, TimeUnit.SECONDS)).isEqualTo("critical");
+    }
+
+    @Test
+    void queuedCriticalWorkRunsBeforeEarlierLowerLanes() throws Exception {
+        executor = executor(1, 0, 10, 1, 1, 1);
+        List<DispatchLane> order = Collections.synchronizedList(new ArrayList<>());
+        occupyWorker(DispatchLane.CRITICAL);
+
+        List<CompletableFuture<Object>> tasks = new ArrayList<>();
+        for (DispatchLane lane : List.of(DispatchLane.LOW, DispatchLane.MEDIUM, DispatchLane.HIGH, DispatchLane.CRITICAL)) {
+            tasks.add(executor.submit(lane, () -> {
+                order.add(lane);
+                return done();
+            }));
+        }
+        release.countDown();
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        assertThat(order.get(0)).isEqualTo(DispatchLane.CRITICAL);
+    }
+
+    @Test
+    void lowerLanesShareWorkersByWeight() throws Exception {
+        executor = executor(1, 0, 10, 3, 1, 1);
+        List<DispatchLane> order = Collections.synchronizedList(new ArrayList<>());
+        // Occupy the worker on CRITICAL, which does not advance the weighted schedule
+        occupyWorker(DispatchLane.CRITICAL);
+
+        List<CompletableFuture<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            for (DispatchLane lane : List.of(DispatchLane.HIGH, DispatchLane.LOW)) {
+                tasks.add(executor.submit(lane, () -> {
+                    order.add(lane);
+                    return done();
+                }));
+            }
+        }
+        release.countDown();
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // HIGH:LOW = 3:1 while both have work, and LOW is never starved
+        List<DispatchLane> firstRound = order.subList(0, 8);
+        assertThat(firstRound).filteredOn(DispatchLane.HIGH::equals).hasSize(6);
+        assertThat(firstRound).contains(DispatchLane.LOW);
+    }
+
+    @Test
+    void shutdownDrainsQueuedWorkAndRejectsNewWork() throws Exception {
+        executor = executor(1, 0, 10, 1, 1, 1);
+        CompletableFuture<Object> queued = executor.submit(DispatchLane.MEDIUM, PriorityLaneExecutorTest::done);
+
+        executor.shutdown();
+
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(executor.submit(DispatchLane.MEDIUM, PriorityLaneExecutorTest::done)).isCompletedExceptionally();
+    }
+
+    private PriorityLaneExecutor executor(int workers, int criticalWorkers, int capacity,
+                                          int highWeight, int mediumWeight, int lowWeight) {
+        return new PriorityLaneExecutor(meterRegistry, workers, criticalWorkers, capacity, capacity, capacity, capacity,
+                highWeight, mediumWeight, lowWeight, Duration.ofSeconds(5));
+    }
+
+    /**
+     * Keeps the single regular worker busy until {@link #release} is counted down.
+     */
+    private void occupyWorker(DispatchLane lane) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.submit(lane, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return done();
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static CompletableFuture<Object> done() {
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,34 @@
+package com.iotmining.services.notification.services.dispatcher;
+
+import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import com.iotmining.common.base.notifications.dto.NotificationWrapper;
+import com.iotmining.common.base.notifications.dto.payload.WebSocketPayload;
+import com.iotmining.common.base.notifications.enums.NotificationType;
+import com.iotmining.services.notification.handler.NotificationHandler;
+
+/**
+ * Handler that only declares a type and a payload class, for binding requests without delivering them.
+ */
+class StubNotificationHandler implements NotificationHandler<WebSocketPayload> {
+
+    private final NotificationType type;
+
+    StubNotificationHandler(NotificationType type) {
+        this.type = type;
+    }
+
+    @Override
+    public NotificationType getType() {
+        return type;
+    }
+
+    @Override
+    public NotificationResponse handle(NotificationWrapper<WebSocketPayload> request) {
+        throw new UnsupportedOperationException("Stub handlers do not deliver");
+    }
+
+    @Override
+    public Class<WebSocketPayload> payloadType() {
+        return WebSocketPayload.class;
+    }
+}
@@ -0,0 +1,126 @@
+package com.iotmining.services.notification.services.dispatcher;
+
+import ch.qos.logback.classic.Level;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iotmining.common.base.notifications.dto.BaseRequest;
+import com.iotmining.common.base.notifications.enums.NotificationType;
+import com.iotmining.services.notification.proto.VmsAlertProto.VmsAlert;
+import com.iotmining.services.notification.services.consumer.NotificationRecordDecoder;
+import com.iotmining.services.notification.services.consumer.VmsAlertMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding the same camera alert through {@link NotificationRecordDecoder} as a protobuf {@code VmsAlert}
+ * record (mapped by {@link VmsAlertMapper}) and as the equivalent JSON notification request (bound by the streaming
+ * reader). Both records end up as the same WEB notification.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.iotmining.services.notification.services.dispatcher.VmsAlertDecodeBenchmark}, or through
+ * any JMH runner on the test classpath. Add {@code -prof gc} to the options to compare allocation per record.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VmsAlertDecodeBenchmark {
+
+    private static final String TOPIC = "vms-alerts";
+
+    private NotificationRecordDecoder decoder;
+    private ConsumerRecord<String, byte[]> protobufRecord;
+    private ConsumerRecord<String, byte[]> jsonRecord;
+
+    @Setup
+    public void setUp() throws Exception {
+        // The reader logs at DEBUG; without the Spring Boot logging setup logback would print every line
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        ObjectMapper mapper = new ObjectMapper();
+        // Binding only needs the handler registry and the reader; nothing is dispatched
+        NotificationDispatcher dispatcher = new NotificationDispatcher(
+                List.of(new StubNotificationHandler(NotificationType.WEB)), new NotificationRequestReader(mapper),
+                null, null, null, null, null, List.of(), new SimpleMeterRegistry(), 500);
+        VmsAlertMapper vmsAlertMapper = new VmsAlertMapper(dispatcher, BaseRequest.Priority.HIGH);
+        decoder = new NotificationRecordDecoder(dispatcher, vmsAlertMapper, new SimpleMeterRegistry(), new String[0]);
+
+        String userId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        VmsAlert alert = VmsAlert.newBuilder()
+                .setCameraId("camera-42")
+                .setTimestamp(timestamp)
+                .setEventType("MOTION")
+                .build();
+        protobufRecord = record(userId, alert.toByteArray(), NotificationRecordDecoder.PROTOBUF);
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("cameraId", alert.getCameraId());
+        metadata.put("eventType", alert.getEventType());
+        metadata.put("eventTimestamp", timestamp);
+        metadata.put("severity", "WARNING");
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("title", alert.getEventType());
+        payload.put("message", alert.getEventType() + " detected by camera " + alert.getCameraId());
+        payload.put("type", "VMS_ALERT");
+        payload.put("metadata", metadata);
+
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("type", "WEB");
+        request.put("userId", userId);
+        request.put("correlationId", UUID.randomUUID().toString());
+        request.put("priority", "HIGH");
+        request.put("sourceApp", "vms");
+        request.put("timestamp", timestamp);
+        request.put("retryCount", 0);
+        request.put("payload", payload);
+        jsonRecord = record(userId, mapper.writeValueAsBytes(request), NotificationRecordDecoder.JSON);
+    }
+
+    @Benchmark
+    public BoundNotification protobuf() {
+        return decoder.decode(protobufRecord);
+    }
+
+    @Benchmark
+    public BoundNotification json() {
+        return decoder.decode(jsonRecord);
+    }
+
+    private static ConsumerRecord<String, byte[]> record(String key, byte[] value, String contentType) {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(TOPIC, 0, 0L, key, value);
+        record.headers().add(new RecordHeader(NotificationRecordDecoder.CONTENT_TYPE_HEADER,
+                contentType.getBytes(StandardCharsets.UTF_8)));
+        return record;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VmsAlertDecodeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.iotmining.services.notification.services.idempotency;
+
+import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import com.iotmining.common.data.notifications.NotificationStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaffeineIdempotencyStoreTest {
+
+    private static final String CHANNEL = "SMS";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CaffeineIdempotencyStore store = new CaffeineIdempotencyStore(100, Duration.ofMinutes(1), meterRegistry);
+    private final AtomicInteger deliveries = new AtomicInteger();
+    private final UUID correlationId = UUID.randomUUID();
+
+    @Test
+    void duplicateAfterDeliveryGetsTheFirstOutcome() {
+        NotificationResponse delivered = response(true);
+        assertThat(store.deliverOnce(correlationId, CHANNEL, () -> deliver(delivered)).join()).isSameAs(delivered);
+
+        assertThat(store.deliverOnce(correlationId, CHANNEL, () -> deliver(response(true))).join()).isSameAs(delivered);
+        assertThat(deliveries).hasValue(1);
+        assertThat(duplicates()).isEqualTo(1.0);
+    }
+
+    @Test
+    void duplicateWhileInFlightSharesTheRunningDelivery() {
+        CompletableFuture<NotificationResponse> running = new CompletableFuture<>();
+        CompletableFuture<NotificationResponse> first = store.deliverOnce(correlationId, CHANNEL, () -> deliver(running));
+        CompletableFuture<NotificationResponse> duplicate = store.deliverOnce(correlationId, CHANNEL,
+                () -> deliver(response(true)));
+
+        assertThat(duplicate).isNotDone();
+        NotificationResponse delivered = response(true);
+        running.complete(delivered);
+
+        assertThat(first.join()).isSameAs(delivered);
+        assertThat(duplicate.join()).isSameAs(delivered);
+        assertThat(deliveries).hasValue(1);
+    }
+
+    @Test
+    void failedDeliveryReleasesTheKey() {
+        assertThat(store.deliverOnce(correlationId, CHANNEL,
+                () -> deliver(CompletableFuture.failedFuture(new IllegalStateException("provider down")))))
+                .isCompletedExceptionally();
+        assertThat(store.deliverOnce(correlationId, CHANNEL, () -> deliver(response(false))).join().isDelivered()).isFalse();
+
+        NotificationResponse delivered = response(true);
+        assertThat(store.deliverOnce(correlationId, CHANNEL, () -> deliver(delivered)).join()).isSameAs(delivered);
+        assertThat(deliveries).hasValue(3);
+        assertThat(duplicates()).isZero();
+    }
+
+    @Test
+    void channelsAreDeduplicatedSeparately() {
+        store.deliverOnce(correlationId, CHANNEL, () -> deliver(response(true))).join();
+        store.deliverOnce(correlationId, "TELEGRAM", () -> deliver(response(true))).join();
+
+        assertThat(deliveries).hasValue(2);
+    }
+
+    private CompletableFuture<NotificationResponse> deliver(NotificationResponse response) {
+        return deliver(CompletableFuture.completedFuture(response));
+    }
+
+    private CompletableFuture<NotificationResponse> deliver(CompletableFuture<NotificationResponse> outcome) {
+        deliveries.incrementAndGet();
+        return outcome;
+    }
+
+    private double duplicates() {
+        return meterRegistry.get("notification.idempotency.duplicates").counter().count();
+    }
+
+    private static NotificationResponse response(boolean delivered) {
+        return NotificationResponse.builder()
+                .status(delivered ? NotificationStatus.SUCCESS : NotificationStatus.FAILURE)
+                .delivered(delivered)
+                .build();
+    }
+}
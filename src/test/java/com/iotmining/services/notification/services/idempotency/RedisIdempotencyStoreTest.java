@@ -0,0 +1,178 @@
+package com.iotmining.services.notification.services.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import com.iotmining.common.data.notifications.NotificationStatus;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.protocol.CommandArgs;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the store against an in-memory stand-in for the Redis commands it issues (SET [NX] PX, GET, DEL).
+ */
+class RedisIdempotencyStoreTest {
+
+    private static final String CHANNEL = "SMS";
+
+    private final Map<String, byte[]> redis = new ConcurrentHashMap<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger deliveries = new AtomicInteger();
+    private final UUID correlationId = UUID.randomUUID();
+    private final LettuceConnectionFactory connectionFactory = mock(LettuceConnectionFactory.class);
+    private RedisIdempotencyStore store;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisClusterAsyncCommands<byte[], byte[]> commands = mock(RedisClusterAsyncCommands.class);
+        when(commands.set(any(), any(), any(SetArgs.class))).thenAnswer(invocation -> {
+            String key = new String(invocation.<byte[]>getArgument(0), StandardCharsets.UTF_8);
+            byte[] value = invocation.getArgument(1);
+            CommandArgs<byte[], byte[]> args = new CommandArgs<>(ByteArrayCodec.INSTANCE);
+            invocation.<SetArgs>getArgument(2).build(args);
+            if (args.toCommandString().contains("NX")) {
+                return reply(redis.putIfAbsent(key, value) == null ? "OK" : null);
+            }
+            redis.put(key, value);
+            return reply("OK");
+        });
+        when(commands.get(any())).thenAnswer(invocation ->
+                reply(redis.get(new String(invocation.<byte[]>getArgument(0), StandardCharsets.UTF_8))));
+        // The store only ever deletes one key at a time
+        when(commands.del(any(byte[].class))).thenAnswer(invocation ->
+                reply(redis.remove(new String(invocation.<byte[]>getArgument(0), StandardCharsets.UTF_8)) != null ? 1L : 0L));
+
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.getNativeConnection()).thenReturn(commands);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        store = new RedisIdempotencyStore(connectionFactory, new ObjectMapper(), Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void duplicateAfterDeliveryGetsTheStoredOutcome() {
+        NotificationResponse first = store.deliverOnce(correlationId, CHANNEL, () -> deliver(response(true, "sent"))).join();
+        assertThat(first.isDelivered()).isTrue();
+
+        NotificationResponse duplicate = store.deliverOnce(correlationId, CHANNEL,
+                () -> deliver(response(true, "sent again"))).join();
+        assertThat(duplicate.isDelivered()).isTrue();
+        assertThat(duplicate.getMessage()).isEqualTo("sent");
+        assertThat(deliveries).hasValue(1);
+        assertThat(duplicates()).isEqualTo(1.0);
+    }
+
+    @Test
+    void duplicateWhileInFlightIsAnsweredAsInProgress() {
+        CompletableFuture<NotificationResponse> running = new CompletableFuture<>();
+        CompletableFuture<NotificationResponse> first = store.deliverOnce(correlationId, CHANNEL, () -> deliver(running));
+
+        NotificationResponse duplicate = store.deliverOnce(correlationId, CHANNEL,
+                () -> deliver(response(true, "sent again"))).join();
+        assertThat(duplicate.isDelivered()).isFalse();
+        assertThat(duplicate.getMessage()).contains("in progress");
+        assertThat(duplicate.getChannel()).isEqualTo(CHANNEL);
+        assertThat(duplicate.getCorrelationId()).isEqualTo(correlationId);
+
+        running.complete(response(true, "sent"));
+        assertThat(first.join().isDelivered()).isTrue();
+        assertThat(deliveries).hasValue(1);
+    }
+
+    @Test
+    void failedDeliveryReleasesTheKey() {
+        CompletableFuture<NotificationResponse> failed = store.deliverOnce(correlationId, CHANNEL,
+                () -> deliver(CompletableFuture.failedFuture(new IllegalStateException("provider down"))));
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(redis).isEmpty();
+
+        assertThat(store.deliverOnce(correlationId, CHANNEL, () -> deliver(response(false, "rejected"))).join()
+                .isDelivered()).isFalse();
+        assertThat(redis).isEmpty();
+
+        NotificationResponse retried = store.deliverOnce(correlationId, CHANNEL, () -> deliver(response(true, "sent"))).join();
+        assertThat(retried.isDelivered()).isTrue();
+        assertThat(deliveries).hasValue(3);
+        assertThat(duplicates()).isZero();
+    }
+
+    @Test
+    void deliversWhenRedisIsUnavailable() {
+        when(connectionFactory.getConnection()).thenThrow(new RedisConnectionFailureException("down"));
+
+        store.deliverOnce(correlationId, CHANNEL, () -> deliver(response(true, "sent"))).join();
+        store.deliverOnce(correlationId, CHANNEL, () -> deliver(response(true, "sent"))).join();
+        assertThat(deliveries).hasValue(2);
+    }
+
+    private CompletableFuture<NotificationResponse> deliver(NotificationResponse response) {
+        return deliver(CompletableFuture.completedFuture(response));
+    }
+
+    private CompletableFuture<NotificationResponse> deliver(CompletableFuture<NotificationResponse> outcome) {
+        deliveries.incrementAndGet();
+        return outcome;
+    }
+
+    private double duplicates() {
+        return meterRegistry.get("notification.idempotency.duplicates").counter().count();
+    }
+
+    private static NotificationResponse response(boolean delivered, String message) {
+        return NotificationResponse.builder()
+                .status(delivered ? NotificationStatus.SUCCESS : NotificationStatus.FAILURE)
+                .delivered(delivered)
+                .message(message)
+                .build();
+    }
+
+    private static <T> RedisFuture<T> reply(T value) {
+        CompletedRedisFuture<T> future = new CompletedRedisFuture<>();
+        future.complete(value);
+        return future;
+    }
+
+    /**
+     * Already answered command, as Lettuce hands back once the reply has arrived.
+     */
+    private static final class CompletedRedisFuture<T> extends CompletableFuture<T> implements RedisFuture<T> {
+
+        @Override
+        public String getError() {
+            return null;
+        }
+
+        @Override
+        public boolean await(long timeout, TimeUnit unit) {
+            return isDone();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.iotmining.services.notification.services.producer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iotmining.common.base.notifications.dto.NotificationWrapper;
+import com.iotmining.common.base.notifications.enums.NotificationType;
+import com.iotmining.services.notification.configuration.KafkaProducerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link NotificationProducer} against an embedded broker with the producer settings of
+ * {@link KafkaProducerConfig}: records are batched, every send callback is counted, and a user's records stay on one
+ * partition in send order.
+ */
+@EmbeddedKafka(partitions = 3, topics = NotificationProducerTest.TOPIC)
+class NotificationProducerTest {
+
+    static final String TOPIC = "notification-producer-test";
+    private static final int USERS = 5;
+    private static final int RECORDS = 200;
+
+    private final EmbeddedKafkaBroker broker;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private SimpleMeterRegistry meterRegistry;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+    private NotificationProducer producer;
+
+    NotificationProducerTest(EmbeddedKafkaBroker broker) {
+        this.broker = broker;
+    }
+
+    @BeforeEach
+    void setUp() {
+        KafkaProducerConfig config = new KafkaProducerConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        ProducerFactory<String, byte[]> producerFactory = config.notificationProducerFactory(broker.getBrokersAsString(), 50, 65536, "lz4", 67108864L, 120000);
+        kafkaTemplate = config.notificationKafkaTemplate(producerFactory);
+        producer = new NotificationProducer(kafkaTemplate, mapper, meterRegistry, TOPIC, "notification-status-test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        kafkaTemplate.destroy();
+    }
+
+    @Test
+    void sendsAreBatchedAndCountedByTheirCallbacks() throws Exception {
+        List<UUID> users = users();
+        sendAll(users);
+
+        assertThat(meterRegistry.get("notification.kafka.producer.sent").tag("topic", TOPIC).counter().count())
+                .isEqualTo(RECORDS);
+        assertThat(meterRegistry.get("notification.kafka.producer.latency").tag("topic", TOPIC).timer().count())
+                .isEqualTo(RECORDS);
+        assertThat(meterRegistry.get("notification.kafka.producer.errors").tag("topic", TOPIC).counter().count())
+                .isZero();
+        // One set of meters per topic, however many records were sent
+        assertThat(meterRegistry.find("notification.kafka.producer.sent").counters()).hasSize(1);
+
+        double recordsPerRequest = kafkaTemplate.metrics().entrySet().stream()
+                .filter(metric -> metric.getKey().name().equals("records-per-request-avg")
+                        && metric.getKey().group().equals("producer-metrics"))
+                .mapToDouble(metric -> ((Number) metric.getValue().metricValue()).doubleValue())
+                .findFirst()
+                .orElseThrow();
+        assertThat(recordsPerRequest).isGreaterThan(1.0);
+    }
+
+    @Test
+    void recordsOfAUserStayOnOnePartitionInSendOrder() throws Exception {
+        List<UUID> users = users();
+        sendAll(users);
+        Set<String> keys = users.stream().map(UUID::toString).collect(Collectors.toSet());
+
+        Map<String, Object> props = KafkaTestUtils.consumerProps("notification-producer-test", "false", broker);
+        props.put("auto.offset.reset", "earliest");
+        try (Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new ByteArrayDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, TOPIC);
+
+            Map<String, Integer> partitionOfUser = new HashMap<>();
+            Map<String, Integer> lastIndexOfUser = new HashMap<>();
+            int count = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (count < RECORDS && System.nanoTime() < deadline) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(500))) {
+                    // The topic is shared with the other tests; only this test's users are checked
+                    if (!keys.contains(record.key())) {
+                        continue;
+                    }
+                    count++;
+                    assertThat(partitionOfUser.computeIfAbsent(record.key(), key -> record.partition()))
+                            .as("partition of user %s", record.key())
+                            .isEqualTo(record.partition());
+                    int index = mapper.readTree(record.value()).path("payload").path("index").asInt();
+                    assertThat(index).isGreaterThan(lastIndexOfUser.getOrDefault(record.key(), -1));
+                    lastIndexOfUser.put(record.key(), index);
+                }
+            }
+            assertThat(count).isEqualTo(RECORDS);
+            assertThat(partitionOfUser).hasSize(USERS);
+        }
+    }
+
+    private void sendAll(List<UUID> users) throws Exception {
+        List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            sends.add(producer.send(TOPIC, wrapper(users.get(i % USERS), i)));
+        }
+        // The futures returned by send complete only after their callback has run
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+    }
+
+    private static List<UUID> users() {
+        List<UUID> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(UUID.randomUUID());
+        }
+        return users;
+    }
+
+    private static NotificationWrapper<Object> wrapper(UUID userId, int index) {
+        NotificationWrapper<Object> wrapper = new NotificationWrapper<>();
+        wrapper.setType(NotificationType.WEB);
+        wrapper.setUserId(userId);
+        wrapper.setCorrelationId(UUID.randomUUID());
+        wrapper.setPayload(Map.of("index", index));
+        return wrapper;
+    }
+}
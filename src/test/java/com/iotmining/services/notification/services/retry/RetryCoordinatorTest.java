@@ -0,0 +1,100 @@
+package com.iotmining.services.notification.services.retry;
+
+import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import com.iotmining.common.base.notifications.dto.NotificationWrapper;
+import com.iotmining.common.base.notifications.enums.NotificationType;
+import com.iotmining.common.data.notifications.NotificationStatus;
+import com.iotmining.services.notification.exceptions.PermanentDeliveryException;
+import com.iotmining.services.notification.services.dispatcher.BoundNotification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryCoordinatorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<BoundNotification> scheduled = new ArrayList<>();
+    private final List<String> deadLettered = new ArrayList<>();
+    private final DeadLetterStore deadLetters = new DeadLetterStore(100, meterRegistry);
+    private final RetryCoordinator coordinator = new RetryCoordinator(
+            new RetryPolicy(new String[]{"PT5S", "PT30S"}, new String[]{"TELEGRAM"}),
+            new RetryScheduler() {
+                @Override
+                public CompletableFuture<Void> schedule(BoundNotification retry, int tier, Duration delay) {
+                    scheduled.add(retry);
+                    return CompletableFuture.completedFuture(null);
+                }
+
+                @Override
+                public void deadLetter(NotificationWrapper<Object> wrapper, String reason) {
+                    deadLettered.add(reason);
+                }
+            },
+            deadLetters,
+            meterRegistry);
+
+    @Test
+    void retriesATransientFailure() {
+        coordinator.onOutcome(bound(0), failed("HTTP error 429"), null);
+
+        assertThat(scheduled).singleElement()
+                .satisfies(retry -> assertThat(retry.wrapper().getRetryCount()).isEqualTo(1));
+        assertThat(deadLettered).isEmpty();
+    }
+
+    @Test
+    void deadLettersAPermanentFailureWithoutRetrying() {
+        PermanentDeliveryException error = new PermanentDeliveryException("Telegram notification rejected: HTTP error 400");
+
+        coordinator.onOutcome(bound(0), null, new CompletionException(error));
+
+        assertThat(scheduled).isEmpty();
+        assertThat(deadLettered).containsExactly(error.getMessage());
+        assertThat(deadLetters.size()).isEqualTo(1);
+        assertThat(meterRegistry.get("notification.retry.dead-lettered").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void deadLettersOnceTheRetriesAreExhausted() {
+        coordinator.onOutcome(bound(2), failed("HTTP error 503"), null);
+
+        assertThat(scheduled).isEmpty();
+        assertThat(deadLettered).containsExactly("HTTP error 503");
+    }
+
+    @Test
+    void leavesChannelsWithoutRetriesAlone() {
+        BoundNotification sms = bound(0);
+        sms.wrapper().setType(NotificationType.SMS);
+
+        coordinator.onOutcome(sms, null, new PermanentDeliveryException("rejected"));
+
+        assertThat(scheduled).isEmpty();
+        assertThat(deadLettered).isEmpty();
+    }
+
+    private static BoundNotification bound(int retryCount) {
+        NotificationWrapper<Object> wrapper = new NotificationWrapper<>();
+        wrapper.setType(NotificationType.TELEGRAM);
+        wrapper.setCorrelationId(UUID.randomUUID());
+        wrapper.setUserId(UUID.randomUUID());
+        wrapper.setRetryCount(retryCount);
+        return new BoundNotification(null, wrapper, null);
+    }
+
+    private static NotificationResponse failed(String message) {
+        return NotificationResponse.builder()
+                .status(NotificationStatus.FAILURE)
+                .delivered(false)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.iotmining.services.notification.services.status;
+
+import com.iotmining.common.base.notifications.dto.NotificationResponse;
+import com.iotmining.common.data.notifications.NotificationStatus;
+import com.iotmining.services.notification.enums.DeliveryState;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeliveryStatusTrackerTest {
+
+    private final DeliveryStatusTracker tracker = new DeliveryStatusTracker(100, Duration.ofMinutes(1));
+    private final UUID owner = UUID.randomUUID();
+    private final UUID other = UUID.randomUUID();
+
+    @Test
+    void statusIsOnlyVisibleToItsOwner() {
+        UUID correlationId = UUID.randomUUID();
+        tracker.pending(correlationId, owner);
+
+        assertThat(tracker.find(correlationId, owner)).isPresent();
+        assertThat(tracker.find(correlationId, other)).isEmpty();
+        assertThat(tracker.find(correlationId, null)).isEmpty();
+    }
+
+    @Test
+    void ownerIsKeptAcrossUpdates() {
+        UUID correlationId = UUID.randomUUID();
+        tracker.pending(correlationId, owner);
+        tracker.complete(correlationId, NotificationResponse.builder()
+                .status(NotificationStatus.SUCCESS)
+                .channel("SMS")
+                .delivered(true)
+                .build());
+
+        assertThat(tracker.find(correlationId, owner))
+                .hasValueSatisfying(status -> assertThat(status.getState()).isEqualTo(DeliveryState.DELIVERED));
+        assertThat(tracker.find(correlationId, other)).isEmpty();
+    }
+
+    @Test
+    void anotherCallerCannotTakeOverACorrelationId() {
+        UUID correlationId = UUID.randomUUID();
+        tracker.pending(correlationId, owner);
+
+        assertThatThrownBy(() -> tracker.pending(correlationId, other)).isInstanceOf(ResponseStatusException.class);
+        assertThat(tracker.find(correlationId, owner)).isPresent();
+    }
+
+    @Test
+    void statusWithoutOwnerIsNotExposed() {
+        UUID correlationId = UUID.randomUUID();
+        tracker.fail(correlationId, new IllegalStateException("boom"));
+
+        assertThat(tracker.find(correlationId)).isPresent();
+        assertThat(tracker.find(correlationId, owner)).isEmpty();
+    }
+}
@@ -0,0 +1,94 @@
+package com.iotmining.services.notification.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AckTrackerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AckTracker tracker = new AckTracker(meterRegistry, Duration.ofSeconds(10), Duration.ofMillis(10), 2);
+    private final UUID user = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        tracker.shutdown();
+    }
+
+    @Test
+    void completesWhenTheUserAcknowledges() {
+        UUID notification = UUID.randomUUID();
+        CompletableFuture<AckTracker.Outcome> outcome = tracker.expect(notification, user, Duration.ofSeconds(10));
+
+        assertThat(tracker.acknowledge(notification, user)).isTrue();
+
+        assertThat(outcome).isCompletedWithValue(AckTracker.Outcome.ACKNOWLEDGED);
+        assertThat(tracker.acknowledge(notification, user)).isFalse();
+        assertThat(outcomeCount(AckTracker.Outcome.ACKNOWLEDGED)).isEqualTo(1.0);
+        assertThat(pending()).isZero();
+    }
+
+    @Test
+    void ignoresAnAcknowledgementFromAnotherUser() {
+        UUID notification = UUID.randomUUID();
+        CompletableFuture<AckTracker.Outcome> outcome = tracker.expect(notification, user, Duration.ofSeconds(10));
+
+        assertThat(tracker.acknowledge(notification, UUID.randomUUID())).isFalse();
+        assertThat(tracker.acknowledge(UUID.randomUUID(), user)).isFalse();
+
+        assertThat(outcome).isNotDone();
+        assertThat(pending()).isEqualTo(1.0);
+    }
+
+    @Test
+    void timesOutWithoutAnAcknowledgement() throws Exception {
+        UUID notification = UUID.randomUUID();
+        CompletableFuture<AckTracker.Outcome> outcome = tracker.expect(notification, user, Duration.ofMillis(50));
+
+        assertThat(outcome.get(5, TimeUnit.SECONDS)).isEqualTo(AckTracker.Outcome.TIMED_OUT);
+        assertThat(tracker.acknowledge(notification, user)).isFalse();
+        assertThat(outcomeCount(AckTracker.Outcome.TIMED_OUT)).isEqualTo(1.0);
+        assertThat(pending()).isZero();
+    }
+
+    @Test
+    void doesNotTrackBeyondMaxPending() {
+        tracker.expect(UUID.randomUUID(), user, Duration.ofSeconds(10));
+        tracker.expect(UUID.randomUUID(), user, Duration.ofSeconds(10));
+
+        CompletableFuture<AckTracker.Outcome> outcome = tracker.expect(UUID.randomUUID(), user, Duration.ofSeconds(10));
+
+        assertThat(outcome).isCompletedWithValue(AckTracker.Outcome.UNTRACKED);
+        assertThat(outcomeCount(AckTracker.Outcome.UNTRACKED)).isEqualTo(1.0);
+        assertThat(pending()).isEqualTo(2.0);
+    }
+
+    @Test
+    void forgetStopsWaitingWithoutAnOutcome() throws Exception {
+        UUID notification = UUID.randomUUID();
+        CompletableFuture<AckTracker.Outcome> outcome = tracker.expect(notification, user, Duration.ofMillis(50));
+
+        tracker.forget(notification);
+        Thread.sleep(200);
+
+        assertThat(outcome).isNotDone();
+        assertThat(tracker.acknowledge(notification, user)).isFalse();
+        assertThat(outcomeCount(AckTracker.Outcome.TIMED_OUT)).isZero();
+        assertThat(pending()).isZero();
+    }
+
+    private double outcomeCount(AckTracker.Outcome outcome) {
+        return meterRegistry.get("notification.websocket.ack.outcomes").tag("outcome", outcome.name()).counter().count();
+    }
+
+    private double pending() {
+        return meterRegistry.get("notification.websocket.ack.pending").gauge().value();
+    }
+}
@@ -0,0 +1,181 @@
+package com.iotmining.services.notification.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BufferedWebSocketSessionTest {
+
+    /** Four 40-byte frames do not fit into the 100-byte buffer used below; two do. */
+    private static final int FRAME_BYTES = 40;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StubWebSocketSession raw = new StubWebSocketSession("session-1");
+    private final Map<String, SendListener.Outcome> outcomes = new ConcurrentHashMap<>();
+    private WebSocketSendBuffers buffers;
+
+    @AfterEach
+    void tearDown() {
+        raw.unblockSends();
+        if (buffers != null) {
+            buffers.shutdown();
+        }
+    }
+
+    @Test
+    void writesFramesInOrder() throws Exception {
+        BufferedWebSocketSession session = session(OverflowPolicy.DROP_OLDEST, Duration.ofSeconds(10));
+
+        for (String frame : List.of("f1", "f2", "f3")) {
+            assertThat(offer(session, frame)).isTrue();
+        }
+
+        awaitTrue(() -> outcomes.size() == 3);
+        assertThat(raw.sentPayloads()).containsExactly(frame("f1"), frame("f2"), frame("f3"));
+        assertThat(outcomes).containsOnlyKeys("f1", "f2", "f3").allSatisfy((frame, outcome) ->
+                assertThat(outcome).isEqualTo(SendListener.Outcome.WRITTEN));
+        awaitTrue(() -> session.bufferedBytes() == 0);
+    }
+
+    @Test
+    void dropOldestEvictsBufferedFramesToMakeRoom() throws Exception {
+        BufferedWebSocketSession session = stalledSession(OverflowPolicy.DROP_OLDEST);
+        offer(session, "f2");
+        offer(session, "f3");
+
+        assertThat(offer(session, "f4")).isTrue();
+        assertThat(outcomes).containsEntry("f2", SendListener.Outcome.DROPPED);
+
+        raw.unblockSends();
+        awaitTrue(() -> raw.sentPayloads().size() == 3);
+        assertThat(raw.sentPayloads()).containsExactly(frame("f1"), frame("f3"), frame("f4"));
+        assertThat(dropped("overflow")).isEqualTo(1.0);
+    }
+
+    @Test
+    void dropOldestStillDropsAFrameLargerThanTheWholeBuffer() throws Exception {
+        BufferedWebSocketSession session = stalledSession(OverflowPolicy.DROP_OLDEST);
+        offer(session, "f2");
+
+        assertThat(session.offer(new TextMessage("x".repeat(200)))).isFalse();
+        assertThat(session.bufferedBytes()).isEqualTo(FRAME_BYTES);
+        assertThat(dropped("overflow")).isEqualTo(1.0);
+    }
+
+    @Test
+    void dropNewestKeepsWhatIsBuffered() throws Exception {
+        BufferedWebSocketSession session = stalledSession(OverflowPolicy.DROP_NEWEST);
+        offer(session, "f2");
+        offer(session, "f3");
+
+        assertThat(offer(session, "f4")).isFalse();
+        assertThat(outcomes).containsEntry("f4", SendListener.Outcome.DROPPED);
+
+        raw.unblockSends();
+        awaitTrue(() -> raw.sentPayloads().size() == 3);
+        assertThat(raw.sentPayloads()).containsExactly(frame("f1"), frame("f2"), frame("f3"));
+        assertThat(dropped("overflow")).isEqualTo(1.0);
+    }
+
+    @Test
+    void disconnectClosesTheSessionWhenTheBufferOverflows() throws Exception {
+        BufferedWebSocketSession session = stalledSession(OverflowPolicy.DISCONNECT);
+        offer(session, "f2");
+        offer(session, "f3");
+
+        assertThat(offer(session, "f4")).isFalse();
+
+        awaitTrue(() -> raw.closeStatus() != null);
+        assertThat(raw.closeStatus()).isEqualTo(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(offer(session, "f5")).isFalse();
+        awaitTrue(() -> outcomes.size() == 5);
+        assertThat(outcomes).containsEntry("f2", SendListener.Outcome.CLOSED)
+                .containsEntry("f3", SendListener.Outcome.CLOSED)
+                .containsEntry("f4", SendListener.Outcome.DROPPED)
+                .containsEntry("f5", SendListener.Outcome.CLOSED);
+        assertThat(meterRegistry.get("notification.websocket.slow.disconnects").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void closesASessionWhoseWriteIsBlockedPastTheSendTimeLimit() throws Exception {
+        BufferedWebSocketSession session = session(OverflowPolicy.DROP_OLDEST, Duration.ofMillis(50));
+        raw.blockSends();
+        offer(session, "f1");
+        assertThat(raw.awaitSending()).isTrue();
+        Thread.sleep(100);
+
+        assertThat(offer(session, "f2")).isFalse();
+
+        awaitTrue(() -> raw.closeStatus() != null);
+        assertThat(raw.closeStatus()).isEqualTo(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(dropped("slow-consumer")).isEqualTo(1.0);
+    }
+
+    @Test
+    void releaseDiscardsWhatIsStillBuffered() throws Exception {
+        BufferedWebSocketSession session = stalledSession(OverflowPolicy.DROP_OLDEST);
+        offer(session, "f2");
+
+        session.release();
+
+        assertThat(session.bufferedBytes()).isZero();
+        assertThat(outcomes).containsEntry("f2", SendListener.Outcome.CLOSED);
+        assertThat(offer(session, "f3")).isFalse();
+    }
+
+    @Test
+    void wrapperIsReachableFromTheRawSession() {
+        BufferedWebSocketSession session = session(OverflowPolicy.DROP_OLDEST, Duration.ofSeconds(10));
+
+        assertThat(BufferedWebSocketSession.of(raw)).isSameAs(session);
+        assertThat(BufferedWebSocketSession.of(new StubWebSocketSession("plain"))).isNotInstanceOf(BufferedWebSocketSession.class);
+    }
+
+    private BufferedWebSocketSession session(OverflowPolicy policy, Duration sendTimeLimit) {
+        buffers = new WebSocketSendBuffers(meterRegistry, sendTimeLimit, DataSize.ofBytes(100), policy, 4);
+        return buffers.wrap(raw);
+    }
+
+    /**
+     * A session whose first frame, f1, is stuck in a write, so later frames stay in the buffer.
+     */
+    private BufferedWebSocketSession stalledSession(OverflowPolicy policy) throws InterruptedException {
+        BufferedWebSocketSession session = session(policy, Duration.ofSeconds(10));
+        raw.blockSends();
+        offer(session, "f1");
+        assertThat(raw.awaitSending()).isTrue();
+        return session;
+    }
+
+    private boolean offer(BufferedWebSocketSession session, String name) {
+        return session.offer(new TextMessage(frame(name)), outcome -> outcomes.put(name, outcome));
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("notification.websocket.frames.dropped").tag("reason", reason).counter().count();
+    }
+
+    private static String frame(String name) {
+        return name + "-".repeat(FRAME_BYTES - name.length());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
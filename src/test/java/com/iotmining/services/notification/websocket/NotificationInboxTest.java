@@ -0,0 +1,206 @@
+package com.iotmining.services.notification.websocket;
+
+import com.iotmining.services.notification.dto.WsNotificationResponsePayload;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationInboxTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UUID user = UUID.randomUUID();
+
+    @Test
+    void replaysTheGapFromMemory() {
+        NotificationInbox inbox = inbox(new NoOpInboxSpill(), new LocalInboxSequence(), 10);
+        appendAll(inbox, 5);
+
+        InboxReplay replay = inbox.since(user, 2);
+
+        assertThat(seqs(replay)).containsExactly(3L, 4L, 5L);
+        assertThat(replay.latestSeq()).isEqualTo(5);
+        assertThat(replay.reset()).isFalse();
+        assertThat(replay.truncated()).isFalse();
+    }
+
+    @Test
+    void replaysNothingToAnUpToDateClient() {
+        NotificationInbox inbox = inbox(new NoOpInboxSpill(), new LocalInboxSequence(), 10);
+        appendAll(inbox, 3);
+
+        InboxReplay replay = inbox.since(user, 3);
+
+        assertThat(replay.entries()).isEmpty();
+        assertThat(replay.truncated()).isFalse();
+    }
+
+    @Test
+    void reportsAGapBeyondTheCapacityAsTruncated() {
+        NotificationInbox inbox = inbox(new NoOpInboxSpill(), new LocalInboxSequence(), 3);
+        appendAll(inbox, 5);
+
+        InboxReplay replay = inbox.since(user, 0);
+
+        assertThat(seqs(replay)).containsExactly(3L, 4L, 5L);
+        assertThat(replay.truncated()).isTrue();
+        assertThat(meterRegistry.get("notification.websocket.inbox.truncated").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void readsEntriesPushedOutOfMemoryBackFromTheSpill() {
+        InMemorySpill spill = new InMemorySpill();
+        NotificationInbox inbox = inbox(spill, new LocalInboxSequence(), 3);
+        appendAll(inbox, 5);
+
+        InboxReplay replay = inbox.since(user, 0);
+
+        assertThat(spill.seqs(user)).containsExactly(1L, 2L);
+        assertThat(seqs(replay)).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(replay.truncated()).isFalse();
+    }
+
+    @Test
+    void resetsAClientAheadOfTheInbox() {
+        NotificationInbox inbox = inbox(new NoOpInboxSpill(), new LocalInboxSequence(), 10);
+        appendAll(inbox, 2);
+
+        InboxReplay replay = inbox.since(user, 42);
+
+        assertThat(replay.reset()).isTrue();
+        assertThat(replay.latestSeq()).isEqualTo(2);
+        assertThat(seqs(replay)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void numbersContinueFromTheSpillForAUserWithoutAnInbox() {
+        InMemorySpill spill = new InMemorySpill();
+        spill.store(user, List.of(new InboxEntry(7, payload(7))));
+        NotificationInbox inbox = inbox(spill, new LocalInboxSequence(), 10);
+
+        assertThat(inbox.since(user, 7).latestSeq()).isEqualTo(7);
+        assertThat(inbox.append(user, payload(8))).isEqualTo(8);
+    }
+
+    @Test
+    void sharedSequenceReplaysEntriesDeliveredByOtherNodes() {
+        InMemorySpill spill = new InMemorySpill();
+        SharedSequence sequence = new SharedSequence();
+        NotificationInbox nodeA = inbox(spill, sequence, 10);
+        NotificationInbox nodeB = inbox(spill, sequence, 10);
+
+        assertThat(nodeA.append(user, payload(1))).isEqualTo(1);
+        assertThat(nodeB.append(user, payload(2))).isEqualTo(2);
+        assertThat(nodeA.append(user, payload(3))).isEqualTo(3);
+
+        InboxReplay replay = nodeA.since(user, 0);
+
+        assertThat(seqs(replay)).containsExactly(1L, 2L, 3L);
+        assertThat(replay.latestSeq()).isEqualTo(3);
+        assertThat(replay.truncated()).isFalse();
+        assertThat(seqs(nodeB.since(user, 1))).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void sharedSequenceWithoutASpillReportsOtherNodesEntriesAsTruncated() {
+        SharedSequence sequence = new SharedSequence();
+        NotificationInbox nodeA = inbox(new NoOpInboxSpill(), sequence, 10);
+        NotificationInbox nodeB = inbox(new NoOpInboxSpill(), sequence, 10);
+        nodeA.append(user, payload(1));
+        nodeB.append(user, payload(2));
+        nodeA.append(user, payload(3));
+
+        InboxReplay replay = nodeA.since(user, 0);
+
+        assertThat(seqs(replay)).containsExactly(1L, 3L);
+        assertThat(replay.truncated()).isTrue();
+    }
+
+    private NotificationInbox inbox(InboxSpill spill, InboxSequence sequence, int capacity) {
+        return new NotificationInbox(spill, sequence, meterRegistry, capacity, 1_000, Duration.ofHours(1));
+    }
+
+    private void appendAll(NotificationInbox inbox, int count) {
+        for (int i = 1; i <= count; i++) {
+            assertThat(inbox.append(user, payload(i))).isEqualTo(i);
+        }
+    }
+
+    private static WsNotificationResponsePayload payload(int n) {
+        WsNotificationResponsePayload payload = new WsNotificationResponsePayload();
+        payload.setId(UUID.randomUUID());
+        payload.setTitle("notification " + n);
+        return payload;
+    }
+
+    private static List<Long> seqs(InboxReplay replay) {
+        return replay.entries().stream().map(InboxEntry::seq).toList();
+    }
+
+    private static final class InMemorySpill implements InboxSpill {
+        private final ConcurrentMap<UUID, NavigableMap<Long, InboxEntry>> entries = new ConcurrentHashMap<>();
+
+        @Override
+        public void store(UUID userId, List<InboxEntry> stored) {
+            NavigableMap<Long, InboxEntry> userEntries = entries.computeIfAbsent(userId, id -> new ConcurrentSkipListMap<>());
+            for (InboxEntry entry : stored) {
+                userEntries.put(entry.seq(), entry);
+            }
+        }
+
+        @Override
+        public List<InboxEntry> range(UUID userId, long afterSeq, long beforeSeq) {
+            NavigableMap<Long, InboxEntry> userEntries = entries.get(userId);
+            if (userEntries == null || afterSeq + 1 >= beforeSeq) {
+                return List.of();
+            }
+            return new ArrayList<>(userEntries.subMap(afterSeq, false, beforeSeq, false).values());
+        }
+
+        @Override
+        public long lastSeq(UUID userId) {
+            NavigableMap<Long, InboxEntry> userEntries = entries.get(userId);
+            return userEntries == null || userEntries.isEmpty() ? 0 : userEntries.lastKey();
+        }
+
+        private List<Long> seqs(UUID userId) {
+            return new ArrayList<>(entries.getOrDefault(userId, new ConcurrentSkipListMap<>()).keySet());
+        }
+    }
+
+    /**
+     * One counter per user shared by every inbox using it, like the Redis counters shared by the nodes of a cluster.
+     */
+    private static final class SharedSequence implements InboxSequence {
+        private final ConcurrentMap<UUID, AtomicLong> counters = new ConcurrentHashMap<>();
+
+        @Override
+        public long next(UUID userId, long localLast) {
+            return counter(userId).incrementAndGet();
+        }
+
+        @Override
+        public long last(UUID userId, long localLast) {
+            return Math.max(counter(userId).get(), localLast);
+        }
+
+        @Override
+        public boolean isShared() {
+            return true;
+        }
+
+        private AtomicLong counter(UUID userId) {
+            return counters.computeIfAbsent(userId, id -> new AtomicLong());
+        }
+    }
+}
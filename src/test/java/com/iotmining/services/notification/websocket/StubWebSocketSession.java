@@ -0,0 +1,180 @@
+package com.iotmining.services.notification.websocket;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory {@link WebSocketSession} standing in for a container session. A write reads the payload length, as a
+ * container encoding the frame would; with {@link #blockSends()} every write waits until {@link #unblockSends()} or
+ * {@link #close}, like a write to a client that stopped reading.
+ */
+class StubWebSocketSession implements WebSocketSession {
+
+    private final String id;
+    private final boolean recordMessages;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final Queue<WebSocketMessage<?>> sent = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sentBytes = new AtomicLong();
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private volatile CountDownLatch gate;
+    private volatile boolean open = true;
+    private volatile CloseStatus closeStatus;
+
+    StubWebSocketSession(String id) {
+        this(id, true);
+    }
+
+    /**
+     * @param recordMessages false to only count the bytes written, e.g. when a benchmark writes millions of frames.
+     */
+    StubWebSocketSession(String id, boolean recordMessages) {
+        this.id = id;
+        this.recordMessages = recordMessages;
+    }
+
+    void blockSends() {
+        gate = new CountDownLatch(1);
+    }
+
+    void unblockSends() {
+        CountDownLatch current = gate;
+        if (current != null) {
+            current.countDown();
+        }
+    }
+
+    /**
+     * Waits until a write has started, e.g. the one now blocked by {@link #blockSends()}.
+     */
+    boolean awaitSending() throws InterruptedException {
+        return sending.await(5, TimeUnit.SECONDS);
+    }
+
+    List<String> sentPayloads() {
+        return sent.stream().map(message -> String.valueOf(message.getPayload())).toList();
+    }
+
+    long sentBytes() {
+        return sentBytes.get();
+    }
+
+    CloseStatus closeStatus() {
+        return closeStatus;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        sending.countDown();
+        CountDownLatch current = gate;
+        if (current != null) {
+            try {
+                current.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!open) {
+            throw new IllegalStateException("Session " + id + " is closed");
+        }
+        sentBytes.addAndGet(message.getPayloadLength());
+        if (recordMessages) {
+            sent.add(message);
+        }
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public URI getUri() {
+        return null;
+    }
+
+    @Override
+    public HttpHeaders getHandshakeHeaders() {
+        return HttpHeaders.EMPTY;
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public Principal getPrincipal() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return null;
+    }
+
+    @Override
+    public String getAcceptedProtocol() {
+        return null;
+    }
+
+    @Override
+    public void setTextMessageSizeLimit(int messageSizeLimit) {
+    }
+
+    @Override
+    public int getTextMessageSizeLimit() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+    }
+
+    @Override
+    public int getBinaryMessageSizeLimit() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public List<WebSocketExtension> getExtensions() {
+        return List.of();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        close(CloseStatus.NORMAL);
+    }
+
+    @Override
+    public void close(CloseStatus status) {
+        closeStatus = status;
+        open = false;
+        // Closing the connection also ends a write blocked on it
+        unblockSends();
+    }
+}
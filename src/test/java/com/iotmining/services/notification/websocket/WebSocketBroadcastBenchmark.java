@@ -0,0 +1,109 @@
+package com.iotmining.services.notification.websocket;
+
+import ch.qos.logback.classic.Level;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.TextMessage;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Broadcasts one notification frame to 10k in-process sessions: {@link WebSocketBroadcaster} (encode once, parallel
+ * writes through the sessions' buffers, measured until every session has written) against the former loop that
+ * builds a {@code TextMessage} from the String and writes it to each session in turn on the calling thread.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.iotmining.services.notification.websocket.WebSocketBroadcastBenchmark}, or through any JMH
+ * runner on the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebSocketBroadcastBenchmark {
+
+    @Param({"10000"})
+    public int sessions;
+
+    @Param({"512", "4096"})
+    public int frameBytes;
+
+    private WebSocketSendBuffers sendBuffers;
+    private WebSocketBroadcaster broadcaster;
+    private List<StubWebSocketSession> rawSessions;
+    private String message;
+
+    @Setup
+    public void setUp() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        sendBuffers = new WebSocketSendBuffers(meterRegistry, Duration.ofSeconds(10), DataSize.ofMegabytes(1),
+                OverflowPolicy.DROP_OLDEST, 64);
+        WebSocketSessionRegistry registry = new WebSocketSessionRegistry(meterRegistry);
+        broadcaster = new WebSocketBroadcaster(registry, meterRegistry);
+
+        rawSessions = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            StubWebSocketSession raw = new StubWebSocketSession("raw-" + i, false);
+            rawSessions.add(raw);
+            registry.register(UUID.randomUUID(), sendBuffers.wrap(new StubWebSocketSession("buffered-" + i, false)));
+        }
+
+        StringBuilder frame = new StringBuilder("{\"type\":\"NOTIFICATION\",\"payload\":{\"message\":\"");
+        while (frame.length() < frameBytes - 3) {
+            frame.append("Motion detected by camera ");
+        }
+        frame.setLength(frameBytes - 3);
+        message = frame.append("\"}}").toString();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sendBuffers.shutdown();
+    }
+
+    @Benchmark
+    public BroadcastResult broadcaster() {
+        return broadcaster.broadcast(message).join();
+    }
+
+    @Benchmark
+    public int perSessionLoop() throws Exception {
+        int sent = 0;
+        for (StubWebSocketSession session : rawSessions) {
+            session.sendMessage(new TextMessage(message));
+            sent++;
+        }
+        return sent;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WebSocketBroadcastBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
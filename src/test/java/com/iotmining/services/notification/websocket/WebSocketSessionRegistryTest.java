@@ -0,0 +1,121 @@
+package com.iotmining.services.notification.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebSocketSessionRegistryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WebSocketSessionRegistry registry = new WebSocketSessionRegistry(meterRegistry);
+
+    @Test
+    void keepsEverySessionOfAUser() {
+        UUID user = UUID.randomUUID();
+        StubWebSocketSession tab = new StubWebSocketSession("tab");
+        StubWebSocketSession phone = new StubWebSocketSession("phone");
+
+        registry.register(user, tab);
+        registry.register(user, phone);
+
+        assertThat(registry.sessionsOf(user)).containsExactly(tab, phone);
+        assertThat(tab.getAttributes()).containsEntry(WebSocketSessionRegistry.USER_ID_ATTRIBUTE, user);
+        assertThat(registry.sessionCount()).isEqualTo(2);
+        assertThat(registry.users()).containsExactly(user);
+        assertThat(meterRegistry.get("notification.websocket.sessions").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void removesTheUserWithItsLastSession() {
+        UUID user = UUID.randomUUID();
+        StubWebSocketSession tab = new StubWebSocketSession("tab");
+        StubWebSocketSession phone = new StubWebSocketSession("phone");
+        registry.register(user, tab);
+        registry.register(user, phone);
+
+        assertThat(registry.unregister(tab)).isEqualTo(user);
+        assertThat(registry.sessionsOf(user)).containsExactly(phone);
+        assertThat(registry.unregister(phone)).isEqualTo(user);
+
+        assertThat(registry.sessionsOf(user)).isEmpty();
+        assertThat(registry.users()).isEmpty();
+        assertThat(registry.sessionCount()).isZero();
+    }
+
+    @Test
+    void ignoresUnknownAndAlreadyRemovedSessions() {
+        UUID user = UUID.randomUUID();
+        StubWebSocketSession tab = new StubWebSocketSession("tab");
+        registry.register(user, tab);
+
+        assertThat(registry.unregister(new StubWebSocketSession("unknown"))).isNull();
+        assertThat(registry.unregister(tab)).isEqualTo(user);
+        assertThat(registry.unregister(tab)).isNull();
+        assertThat(registry.sessionCount()).isZero();
+    }
+
+    @Test
+    void snapshotsAreNotAffectedByLaterChanges() {
+        UUID user = UUID.randomUUID();
+        StubWebSocketSession tab = new StubWebSocketSession("tab");
+        registry.register(user, tab);
+
+        List<WebSocketSession> snapshot = registry.sessionsOf(user);
+        registry.register(user, new StubWebSocketSession("phone"));
+        registry.unregister(tab);
+
+        assertThat(snapshot).containsExactly(tab);
+    }
+
+    @Test
+    void concurrentConnectsAndDisconnectsLoseNoSession() throws Exception {
+        int threads = 8;
+        int sessionsPerThread = 2_000;
+        // Few users, so registrations and removals keep racing on the same entries
+        List<UUID> users = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<StubWebSocketSession>>> kept = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                kept.add(pool.submit(() -> {
+                    start.await();
+                    List<StubWebSocketSession> remaining = new ArrayList<>();
+                    for (int i = 0; i < sessionsPerThread; i++) {
+                        UUID user = users.get(i % users.size());
+                        StubWebSocketSession session = new StubWebSocketSession(thread + "-" + i);
+                        registry.register(user, session);
+                        if (i % 2 == 0) {
+                            assertThat(registry.unregister(session)).isEqualTo(user);
+                        } else {
+                            remaining.add(session);
+                        }
+                    }
+                    return remaining;
+                }));
+            }
+            start.countDown();
+
+            List<StubWebSocketSession> remaining = new ArrayList<>();
+            for (Future<List<StubWebSocketSession>> future : kept) {
+                remaining.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+            assertThat(registry.sessionCount()).isEqualTo(remaining.size());
+            assertThat(registry.allSessions()).containsExactlyInAnyOrderElementsOf(remaining);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}